@@ -1,5 +1,6 @@
 package com.multikube_rest_service.advice;
 
+import com.multikube_rest_service.exceptions.ClusterUnavailableException;
 import com.multikube_rest_service.exceptions.ResourceNotFoundException;
 import com.multikube_rest_service.exceptions.UnauthorizedException;
 import com.multikube_rest_service.rest.RestErrorResponse;
@@ -26,6 +27,11 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(new RestErrorResponse(ex.getMessage()));
     }
 
+    @ExceptionHandler(ClusterUnavailableException.class)
+    public ResponseEntity<RestErrorResponse> handleClusterUnavailableException(ClusterUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new RestErrorResponse(ex.getMessage()));
+    }
+
     @ExceptionHandler(IllegalStateException.class)
     public ResponseEntity<RestErrorResponse> handleUnauthorizedException(IllegalStateException ex) {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(new RestErrorResponse(ex.getMessage()));
@@ -0,0 +1,11 @@
+package com.multikube_rest_service.common.enums;
+
+/**
+ * The encoding of the metadata listing that follows a deletecollection, see
+ * {@link com.multikube_rest_service.services.kubernetes.KubernetesClientService#deleteCollections}. Informers, watches,
+ * applies and every other call always use JSON.
+ */
+public enum ApiContentType {
+    JSON,     // application/json, supported by every API server and kind
+    PROTOBUF  // application/vnd.kubernetes.protobuf, for built-in core/apps/rbac/networking kinds; other kinds use JSON
+}
@@ -0,0 +1,22 @@
+package com.multikube_rest_service.common.enums;
+
+/**
+ * The bucket sizes cluster health probes are downsampled into.
+ */
+public enum HealthResolution {
+    MINUTE(60_000L),
+    HOUR(3_600_000L);
+
+    private final long bucketMs;
+
+    HealthResolution(long bucketMs) {
+        this.bucketMs = bucketMs;
+    }
+
+    /**
+     * @return The length of one bucket in milliseconds.
+     */
+    public long bucketMs() {
+        return bucketMs;
+    }
+}
@@ -0,0 +1,19 @@
+package com.multikube_rest_service.common.enums;
+
+/**
+ * A Kubernetes side effect recorded in the outbox, see {@link com.multikube_rest_service.services.tenant.KubernetesOutboxRelay}.
+ */
+public enum OutboxOperation {
+    /**
+     * Create a tenant namespace in its cluster and apply its configurations.
+     */
+    CREATE_NAMESPACE,
+    /**
+     * Apply a tenant workload.
+     */
+    APPLY_WORKLOAD,
+    /**
+     * Apply the workloads of a bundle in dependency order; the resource ID is the bundle ID.
+     */
+    APPLY_WORKLOAD_BUNDLE
+}
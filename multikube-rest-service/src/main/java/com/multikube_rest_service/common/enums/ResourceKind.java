@@ -0,0 +1,10 @@
+package com.multikube_rest_service.common.enums;
+
+/**
+ * The kinds of resources whose status changes are streamed to clients.
+ */
+public enum ResourceKind {
+    CLUSTER,
+    NAMESPACE,
+    WORKLOAD
+}
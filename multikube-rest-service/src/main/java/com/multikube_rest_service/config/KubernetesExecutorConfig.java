@@ -0,0 +1,21 @@
+package com.multikube_rest_service.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Provides the executor used to run Kubernetes API calls concurrently.
+ * Calls spend nearly all their time waiting on the network, so each one runs on its own virtual thread
+ * instead of occupying a platform thread.
+ */
+@Configuration
+public class KubernetesExecutorConfig {
+
+    @Bean(name = "kubernetesTaskExecutor", destroyMethod = "shutdown")
+    public ExecutorService kubernetesTaskExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("k8s-call-", 0).factory());
+    }
+}
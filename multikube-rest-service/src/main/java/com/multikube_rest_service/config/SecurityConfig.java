@@ -2,6 +2,7 @@ package com.multikube_rest_service.config;
 
 import com.multikube_rest_service.auth.JwtUtil;
 import com.multikube_rest_service.filters.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod; // Import HttpMethod
@@ -43,6 +44,9 @@ public class SecurityConfig {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches (e.g. of event streams) continue a request that was already authorized;
+                        // the JWT filter does not run for them, so they must not be authorized again.
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(
                                 "/swagger-ui/**",
                                 "/swagger-ui.html",
@@ -53,6 +57,8 @@ public class SecurityConfig {
                                 "/configuration/security"
                         ).permitAll()
                         .requestMatchers("/api/v1/auth/login", "/api/v1/auth/logout").permitAll() // Allow login and logout for all
+                        // Orchestrator probes do not authenticate
+                        .requestMatchers("/actuator/health/liveness", "/actuator/health/readiness").permitAll()
                         // Secure the register endpoint
                         // Option 1: Using HttpSecurity (if not using @PreAuthorize on controller method)
                         .requestMatchers(HttpMethod.POST, "/api/v1/auth/register").hasAuthority("PROVIDER_ADMIN")
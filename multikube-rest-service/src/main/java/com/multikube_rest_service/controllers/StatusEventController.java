@@ -0,0 +1,64 @@
+package com.multikube_rest_service.controllers;
+
+import com.multikube_rest_service.auth.JwtUserDetails;
+import com.multikube_rest_service.common.SecurityContextHelper;
+import com.multikube_rest_service.common.enums.RoleType;
+import com.multikube_rest_service.services.events.EventAudience;
+import com.multikube_rest_service.services.events.StatusEventBroadcaster;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST controller streaming status changes of clusters, namespaces and workloads as Server-Sent Events.
+ * Providers receive the events of the clusters they registered; tenant users those of their tenant's allocated
+ * clusters, namespaces and workloads.
+ */
+@RestController
+@RequestMapping("/api/v1/events")
+@Tag(name = "Events", description = "Stream of status changes")
+@SecurityRequirement(name = "bearerAuth")
+public class StatusEventController {
+
+    private final StatusEventBroadcaster eventBroadcaster;
+
+    public StatusEventController(StatusEventBroadcaster eventBroadcaster) {
+        this.eventBroadcaster = eventBroadcaster;
+    }
+
+    /**
+     * Opens a stream of status change events for the authenticated user.
+     * Each event is named 'status' and carries a StatusEventDto; bursts of changes to one resource are coalesced.
+     * A client reconnecting with the Last-Event-ID header receives the events it missed, or a 'reset' event if they
+     * are no longer available, in which case it should reload its lists.
+     *
+     * @param lastEventId The ID of the last event received before reconnecting, if any.
+     * @return The event stream.
+     */
+    @Operation(summary = "Stream status changes as Server-Sent Events")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream opened"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token is missing or invalid.")
+    })
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(
+            @Parameter(description = "ID of the last received event, sent automatically by EventSource on reconnect")
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        JwtUserDetails userDetails = SecurityContextHelper.getAuthenticatedUser();
+        boolean isProvider = userDetails.getAuthorities().stream()
+                .anyMatch(auth -> auth.getAuthority().equals(RoleType.PROVIDER_ADMIN.toString()));
+        EventAudience audience = isProvider
+                ? new EventAudience(userDetails.getUserId(), null)
+                : new EventAudience(null, userDetails.getTenantId());
+        return eventBroadcaster.subscribe(audience, lastEventId);
+    }
+}
@@ -3,9 +3,12 @@ package com.multikube_rest_service.controllers.provider;
 import com.multikube_rest_service.common.utils.FilterStringParser;
 import com.multikube_rest_service.dtos.requests.provider.ClusterAllocationRequest;
 import com.multikube_rest_service.dtos.requests.provider.ClusterRegistrationRequest;
+import com.multikube_rest_service.dtos.responses.provider.ClusterAvailabilityDto;
 import com.multikube_rest_service.dtos.responses.provider.ClusterDto;
+import com.multikube_rest_service.dtos.responses.provider.ClusterLatencyDto;
 import com.multikube_rest_service.rest.RestMessageResponse;
 import com.multikube_rest_service.rest.RestResponsePage;
+import com.multikube_rest_service.services.provider.ClusterHealthService;
 import com.multikube_rest_service.services.provider.ProviderClusterService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -20,6 +23,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -35,14 +40,17 @@ import java.util.Map;
 public class ProviderClusterController {
 
     private final ProviderClusterService providerClusterService;
+    private final ClusterHealthService clusterHealthService;
 
     /**
-     * Constructs the controller with the necessary service.
+     * Constructs the controller with the necessary services.
      *
      * @param providerClusterService The service for cluster management operations.
+     * @param clusterHealthService   The service for cluster health history queries.
      */
-    public ProviderClusterController(ProviderClusterService providerClusterService) {
+    public ProviderClusterController(ProviderClusterService providerClusterService, ClusterHealthService clusterHealthService) {
         this.providerClusterService = providerClusterService;
+        this.clusterHealthService = clusterHealthService;
     }
 
     /**
@@ -55,10 +63,11 @@ public class ProviderClusterController {
     @Operation(
             summary = "Register a new Kubernetes cluster",
             description = "Allows a provider admin to register a new Kubernetes cluster by providing its name, description, and kubeconfig. " +
-                    "The system will attempt an initial verification of the cluster's connectivity."
+                    "The cluster is returned as PENDING_VERIFICATION; its connectivity is verified in the background, " +
+                    "and the result is available from the cluster's status or its status event."
     )
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "201", description = "Cluster registered successfully and initial verification attempted."),
+            @ApiResponse(responseCode = "201", description = "Cluster registered successfully and initial verification queued."),
             @ApiResponse(responseCode = "400", description = "Invalid input data (e.g., missing name, kubeconfig, duplicate name, or invalid kubeconfig format)."),
             @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token is missing or invalid."),
             @ApiResponse(responseCode = "403", description = "Forbidden - User does not have the 'PROVIDER_ADMIN' role.")
@@ -84,6 +93,53 @@ public class ProviderClusterController {
         return ResponseEntity.ok(clusterResponse);
     }
 
+    /**
+     * Retrieves the availability of a cluster over a recent time window, i.e. the share of its health probes
+     * that found it ACTIVE.
+     *
+     * @param clusterId The ID of the cluster.
+     * @param window    The length of the window ending now, as an ISO-8601 duration.
+     * @return A ResponseEntity containing the availability of the cluster.
+     */
+    @Operation(summary = "Get cluster availability over a time window")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Availability computed from the cluster's health history"),
+            @ApiResponse(responseCode = "400", description = "Invalid window"),
+            @ApiResponse(responseCode = "404", description = "Cluster not found for this provider")
+    })
+    @GetMapping("/{clusterId}/availability")
+    public ResponseEntity<ClusterAvailabilityDto> getClusterAvailability(
+            @Parameter(description = "ID of the cluster") @PathVariable Long clusterId,
+            @Parameter(description = "Length of the window ending now, e.g. 'PT1H' or 'P7D'")
+            @RequestParam(defaultValue = "P7D") Duration window) {
+        return ResponseEntity.ok(clusterHealthService.getAvailability(clusterId, window));
+    }
+
+    /**
+     * Retrieves latency percentiles of a cluster's health probes over a recent time window.
+     *
+     * @param clusterId   The ID of the cluster.
+     * @param window      The length of the window ending now, as an ISO-8601 duration.
+     * @param percentiles The percentiles to estimate.
+     * @return A ResponseEntity containing the latency percentiles of the cluster.
+     */
+    @Operation(summary = "Get cluster probe latency percentiles over a time window",
+            description = "Percentiles are estimated from a latency histogram and reported as the upper bound of their bin.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Percentiles computed from the cluster's health history"),
+            @ApiResponse(responseCode = "400", description = "Invalid window or percentile"),
+            @ApiResponse(responseCode = "404", description = "Cluster not found for this provider")
+    })
+    @GetMapping("/{clusterId}/latency")
+    public ResponseEntity<ClusterLatencyDto> getClusterLatency(
+            @Parameter(description = "ID of the cluster") @PathVariable Long clusterId,
+            @Parameter(description = "Length of the window ending now, e.g. 'PT1H' or 'P7D'")
+            @RequestParam(defaultValue = "P7D") Duration window,
+            @Parameter(description = "Percentiles to estimate, e.g. '50,90,99'")
+            @RequestParam(defaultValue = "50,90,99") List<Double> percentiles) {
+        return ResponseEntity.ok(clusterHealthService.getLatency(clusterId, window, percentiles));
+    }
+
     /**
      * Lists clusters registered by the authenticated provider, with optional filtering and pagination.
      * The filter string should be in the format "key1==value1,key2==value2".
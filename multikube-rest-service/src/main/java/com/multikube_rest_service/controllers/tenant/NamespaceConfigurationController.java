@@ -4,6 +4,7 @@ import com.multikube_rest_service.dtos.responses.tenant.NamespaceConfigurationDt
 import com.multikube_rest_service.dtos.responses.tenant.NamespaceConfigurationSummaryDto;
 import com.multikube_rest_service.rest.RestErrorResponse;
 import com.multikube_rest_service.rest.RestResponsePage;
+import com.multikube_rest_service.services.kubernetes.PropagationPolicy;
 import com.multikube_rest_service.services.tenant.NamespaceConfigurationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -16,18 +17,20 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
- * REST controller for tenant administrators to view configuration resources
+ * REST controller for tenant administrators to view and tear down configuration resources
  * within a specific namespace.
  */
 @RestController
 @RequestMapping("/api/v1/tenant/namespaces/{namespaceId}/configurations")
-@Tag(name = "Tenant - Namespace Configurations", description = "Endpoints for viewing namespace configuration resources.")
+@Tag(name = "Tenant - Namespace Configurations", description = "Endpoints for viewing and deleting namespace configuration resources.")
 @SecurityRequirement(name = "bearerAuth")
 @PreAuthorize("hasAuthority('TENANT_ADMIN')")
 public class NamespaceConfigurationController {
@@ -89,4 +92,31 @@ public class NamespaceConfigurationController {
         NamespaceConfigurationDto dto = configurationService.getConfiguration(namespaceId, configurationId);
         return ResponseEntity.ok(dto);
     }
-}
\ No newline at end of file
+
+    /**
+     * Deletes all configuration resources of a namespace from its cluster and then their records.
+     *
+     * @param namespaceId The ID of the parent namespace.
+     * @param propagationPolicy How dependents of the resources are deleted.
+     * @return An empty response.
+     */
+    @Operation(summary = "Delete all configurations of a namespace",
+        description = "Deletes all configuration resources of a namespace from the cluster, with one call per kind, and then the configuration records.",
+        responses = {
+            @ApiResponse(responseCode = "204", description = "Configurations deleted successfully."),
+            @ApiResponse(responseCode = "404", description = "Parent namespace not found.",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "The cluster refused the deletion; the configurations are kept.",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorResponse.class)))
+        })
+    @DeleteMapping
+    public ResponseEntity<Void> deleteConfigurations(
+            @Parameter(description = "The unique identifier of the parent namespace.", required = true)
+            @PathVariable Long namespaceId,
+            @Parameter(description = "How dependents of the resources are deleted.")
+            @RequestParam(defaultValue = "BACKGROUND") PropagationPolicy propagationPolicy) {
+
+        configurationService.deleteConfigurations(namespaceId, propagationPolicy);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -5,6 +5,7 @@ import com.multikube_rest_service.dtos.responses.tenant.TenantWorkloadDto;
 import com.multikube_rest_service.dtos.responses.tenant.TenantWorkloadSummaryDto;
 import com.multikube_rest_service.rest.RestErrorResponse;
 import com.multikube_rest_service.rest.RestResponsePage;
+import com.multikube_rest_service.services.kubernetes.PropagationPolicy;
 import com.multikube_rest_service.services.tenant.TenantWorkloadService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -21,6 +22,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * REST controller for tenants to manage their application workloads within a namespace.
  */
@@ -87,20 +90,61 @@ public class TenantWorkloadController {
         return new ResponseEntity<>(createdWorkload, HttpStatus.CREATED);
     }
 
+    @Operation(summary = "Create a workload bundle",
+        description = "Creates one workload per document of a multi-document ('---' separated) YAML manifest. " +
+                "Resources are applied in dependency order (e.g. RBAC, ConfigMaps, Secrets and Services before Deployments), " +
+                "with independent resources of the same stage applied concurrently. The workloads are returned as PROCESSING and the bundle " +
+                "is applied in the background.",
+        responses = {
+            @ApiResponse(responseCode = "201", description = "Workloads created. Each workload reports the status of its own resource once the bundle is applied."),
+            @ApiResponse(responseCode = "400", description = "Invalid request data (e.g., YAML is invalid, a resource already exists or is repeated).", content = @Content(schema = @Schema(implementation = RestErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Parent namespace not found.", content = @Content(schema = @Schema(implementation = RestErrorResponse.class)))
+        })
+    @PostMapping("/bundle")
+    public ResponseEntity<List<TenantWorkloadDto>> createWorkloadBundle(
+            @Parameter(description = "The unique identifier of the parent namespace.", required = true)
+            @PathVariable Long namespaceId,
+            @Valid @RequestBody CreateWorkloadRequest request) {
+        List<TenantWorkloadDto> createdWorkloads = workloadService.createWorkloadBundle(namespaceId, request);
+        return new ResponseEntity<>(createdWorkloads, HttpStatus.CREATED);
+    }
+
     @Operation(summary = "Delete a workload",
-        description = "Deletes a workload. TENANT_ADMINs can delete any workload. TENANT_USERs can only delete workloads they created.",
+        description = "Deletes a workload's resource from the cluster and then the workload. TENANT_ADMINs can delete any workload. TENANT_USERs can only delete workloads they created.",
         responses = {
             @ApiResponse(responseCode = "204", description = "Workload deleted successfully."),
             @ApiResponse(responseCode = "403", description = "Forbidden - User does not have permission to delete this workload.", content = @Content(schema = @Schema(implementation = RestErrorResponse.class))),
-            @ApiResponse(responseCode = "404", description = "Parent namespace or specific workload not found.", content = @Content(schema = @Schema(implementation = RestErrorResponse.class)))
+            @ApiResponse(responseCode = "404", description = "Parent namespace or specific workload not found.", content = @Content(schema = @Schema(implementation = RestErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "The workload is still being applied, or the cluster refused the deletion; the workload is kept.", content = @Content(schema = @Schema(implementation = RestErrorResponse.class)))
         })
     @DeleteMapping("/{workloadId}")
     public ResponseEntity<Void> deleteWorkload(
             @Parameter(description = "The unique identifier of the parent namespace.", required = true)
             @PathVariable Long namespaceId,
             @Parameter(description = "The unique identifier of the workload to delete.", required = true)
-            @PathVariable Long workloadId) {
-        workloadService.deleteWorkload(namespaceId, workloadId);
+            @PathVariable Long workloadId,
+            @Parameter(description = "How dependents of the resource (e.g. a Deployment's Pods) are deleted.")
+            @RequestParam(defaultValue = "BACKGROUND") PropagationPolicy propagationPolicy) {
+        workloadService.deleteWorkload(namespaceId, workloadId, propagationPolicy);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Delete all workloads in a namespace",
+        description = "Deletes the resources of all workloads in a namespace from the cluster, with one call per kind, and then the workloads. Only TENANT_ADMINs can do this.",
+        responses = {
+            @ApiResponse(responseCode = "204", description = "Workloads deleted successfully."),
+            @ApiResponse(responseCode = "403", description = "Forbidden - User is not a TENANT_ADMIN.", content = @Content(schema = @Schema(implementation = RestErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Parent namespace not found.", content = @Content(schema = @Schema(implementation = RestErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "A workload is still being applied, or the cluster refused the deletion; the workloads are kept.", content = @Content(schema = @Schema(implementation = RestErrorResponse.class)))
+        })
+    @DeleteMapping
+    @PreAuthorize("hasAuthority('TENANT_ADMIN')")
+    public ResponseEntity<Void> deleteWorkloads(
+            @Parameter(description = "The unique identifier of the parent namespace.", required = true)
+            @PathVariable Long namespaceId,
+            @Parameter(description = "How dependents of the resources (e.g. a Deployment's Pods) are deleted.")
+            @RequestParam(defaultValue = "BACKGROUND") PropagationPolicy propagationPolicy) {
+        workloadService.deleteWorkloads(namespaceId, propagationPolicy);
         return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
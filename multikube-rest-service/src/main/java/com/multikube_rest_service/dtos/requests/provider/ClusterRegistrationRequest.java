@@ -1,5 +1,6 @@
 package com.multikube_rest_service.dtos.requests.provider;
 
+import com.multikube_rest_service.common.enums.ApiContentType;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -11,4 +12,5 @@ public class ClusterRegistrationRequest {
     private String name;
     private String description;
     private String kubeconfig;
+    private ApiContentType apiContentType; // Optional, defaults to JSON; only used when deleting collections
 }
\ No newline at end of file
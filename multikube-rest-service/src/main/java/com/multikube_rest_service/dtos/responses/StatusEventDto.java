@@ -0,0 +1,22 @@
+package com.multikube_rest_service.dtos.responses;
+
+import com.multikube_rest_service.common.enums.ResourceKind;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+
+/**
+ * DTO for a status change pushed over the event stream.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusEventDto {
+    private ResourceKind kind;
+    private Long resourceId;
+    private Long clusterId;
+    private String status;
+    private Timestamp occurredAt;
+}
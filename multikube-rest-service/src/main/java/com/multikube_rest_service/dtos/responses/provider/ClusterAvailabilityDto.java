@@ -0,0 +1,25 @@
+package com.multikube_rest_service.dtos.responses.provider;
+
+import com.multikube_rest_service.common.enums.HealthResolution;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+
+/**
+ * DTO for the availability of a cluster over a time window, as observed by its health probes.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClusterAvailabilityDto {
+    private Long clusterId;
+    private Timestamp from;
+    private Timestamp to;
+    private HealthResolution resolution;
+    private int probes;
+    private int successfulProbes;
+    // Share of probes that found the cluster available (ACTIVE or DEGRADED), in [0, 1]; null if there were no probes in the window.
+    private Double availability;
+}
@@ -1,6 +1,7 @@
 package com.multikube_rest_service.dtos.responses.provider;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.multikube_rest_service.common.enums.ApiContentType;
 import com.multikube_rest_service.common.enums.ClusterStatus;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -18,6 +19,10 @@ public class ClusterDto {
     private Long providerUserId;
     private String providerUsername;
     private ClusterStatus status;
+    private ApiContentType apiContentType;
+    private Long apiLatencyMs;
+    private String serverVersion;
+    private Timestamp lastProbedAt;
     private Timestamp createdAt;
     private Timestamp updatedAt;
 
@@ -0,0 +1,25 @@
+package com.multikube_rest_service.dtos.responses.provider;
+
+import com.multikube_rest_service.common.enums.HealthResolution;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+import java.util.Map;
+
+/**
+ * DTO for the probe latency percentiles of a cluster over a time window.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClusterLatencyDto {
+    private Long clusterId;
+    private Timestamp from;
+    private Timestamp to;
+    private HealthResolution resolution;
+    private long samples;
+    // Percentile name (e.g. "p99") to latency in milliseconds; values are null if there were no samples.
+    private Map<String, Long> percentilesMs;
+}
@@ -1,7 +1,9 @@
 package com.multikube_rest_service.entities.provider;
+import com.multikube_rest_service.common.enums.ApiContentType;
 import com.multikube_rest_service.common.enums.ClusterStatus;
 import com.multikube_rest_service.entities.User;
 import com.multikube_rest_service.entities.tenant.TenantNamespace;
+import com.multikube_rest_service.services.kubernetes.clients.KubernetesClusterClientListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -15,6 +17,7 @@ import java.util.Set;
 
 @Entity
 @Table(name = "kubernetes_clusters")
+@EntityListeners(KubernetesClusterClientListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -43,6 +46,29 @@ public class KubernetesCluster {
     @Column(nullable = false, length = 50)
     private ClusterStatus status = ClusterStatus.PENDING_VERIFICATION;
 
+    /**
+     * The encoding of the metadata listing after a deletecollection; every other call uses JSON.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "api_content_type", nullable = false, length = 20)
+    private ApiContentType apiContentType = ApiContentType.JSON;
+
+    /**
+     * Round-trip latency of the latest successful health probe; null if the latest probe failed.
+     */
+    @Column(name = "api_latency_ms")
+    private Long apiLatencyMs;
+
+    /**
+     * The API server's version (gitVersion). Probes only read it when it is unknown or the cluster was not reachable
+     * before, e.g. after an upgrade that took the API server down.
+     */
+    @Column(name = "server_version", length = 64)
+    private String serverVersion;
+
+    @Column(name = "last_probed_at")
+    private Timestamp lastProbedAt;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private Timestamp createdAt;
@@ -51,6 +77,10 @@ public class KubernetesCluster {
     @Column(name = "updated_at")
     private Timestamp updatedAt;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "kubernetesCluster", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private Set<TenantNamespace> tenantNamespaces = new HashSet<>();
 }
\ No newline at end of file
@@ -42,6 +42,31 @@ public class TenantWorkload {
     @Column(name = "yaml_content", nullable = false, columnDefinition = "TEXT")
     private String yamlContent;
 
+    /**
+     * The canonical hash of the YAML content, see {@link com.multikube_rest_service.services.kubernetes.ManifestNormalizer}.
+     */
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    /**
+     * The canonical hash of the YAML content last applied successfully, or null if it never was.
+     */
+    @Column(name = "applied_hash", length = 64)
+    private String appliedHash;
+
+    /**
+     * The object's metadata.generation after the last successful apply, or null if its kind has none.
+     */
+    @Column(name = "applied_generation")
+    private Long appliedGeneration;
+
+    /**
+     * The ID of the first workload created from the same multi-document manifest, or null if this workload was created
+     * on its own.
+     */
+    @Column(name = "bundle_id")
+    private Long bundleId;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private ResourceStatus status;
@@ -0,0 +1,7 @@
+package com.multikube_rest_service.exceptions;
+
+public class ClusterUnavailableException extends RuntimeException {
+    public ClusterUnavailableException(String message) {
+        super(message);
+    }
+}
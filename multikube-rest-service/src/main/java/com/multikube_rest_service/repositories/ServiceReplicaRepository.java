@@ -0,0 +1,87 @@
+package com.multikube_rest_service.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * JDBC access to the leases of the running service replicas. All times are taken from the database clock, so
+ * replicas agree on lease expiry even if their own clocks drift apart. The statements stick to standard SQL, so the
+ * leases work on any database the replicas share.
+ */
+@Repository
+public class ServiceReplicaRepository {
+
+    private static final String NOW = "SELECT CURRENT_TIMESTAMP";
+
+    private static final String RENEW = "UPDATE service_replicas SET heartbeat_at = CURRENT_TIMESTAMP WHERE replica_id = ?";
+
+    private static final String INSERT =
+            "INSERT INTO service_replicas (replica_id, heartbeat_at) VALUES (?, CURRENT_TIMESTAMP)";
+
+    private static final String FIND_LIVE =
+            "SELECT replica_id FROM service_replicas WHERE heartbeat_at > ? ORDER BY replica_id";
+
+    private static final String DELETE_EXPIRED = "DELETE FROM service_replicas WHERE heartbeat_at <= ?";
+
+    private static final String DELETE = "DELETE FROM service_replicas WHERE replica_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ServiceReplicaRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Creates or renews the lease of a replica. Only the replica itself inserts its row, so the insert cannot race.
+     *
+     * @param replicaId The ID of the replica.
+     */
+    @Transactional
+    public void renew(String replicaId) {
+        if (jdbcTemplate.update(RENEW, replicaId) == 0) {
+            jdbcTemplate.update(INSERT, replicaId);
+        }
+    }
+
+    /**
+     * @param leaseTtlMs How long a lease stays valid after its last renewal.
+     * @return The IDs of the replicas whose lease is still valid, in ascending order.
+     */
+    @Transactional(readOnly = true)
+    public List<String> findLive(long leaseTtlMs) {
+        return jdbcTemplate.queryForList(FIND_LIVE, String.class, databaseTimeAgo(leaseTtlMs));
+    }
+
+    /**
+     * Deletes the leases that expired longer than the given time ago.
+     *
+     * @param olderThanMs How long ago the leases must have been renewed last.
+     * @return The number of deleted leases.
+     */
+    @Transactional
+    public int deleteExpired(long olderThanMs) {
+        return jdbcTemplate.update(DELETE_EXPIRED, databaseTimeAgo(olderThanMs));
+    }
+
+    /**
+     * Releases the lease of a replica, e.g. on shutdown.
+     *
+     * @param replicaId The ID of the replica.
+     */
+    @Transactional
+    public void delete(String replicaId) {
+        jdbcTemplate.update(DELETE, replicaId);
+    }
+
+    /**
+     * @return The database time the given number of milliseconds ago.
+     */
+    private Timestamp databaseTimeAgo(long ms) {
+        Timestamp now = jdbcTemplate.queryForObject(NOW, Timestamp.class);
+        return new Timestamp(now.getTime() - ms);
+    }
+}
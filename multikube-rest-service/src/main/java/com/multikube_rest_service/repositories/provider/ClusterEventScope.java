@@ -0,0 +1,11 @@
+package com.multikube_rest_service.repositories.provider;
+
+/**
+ * Who may see the events of a cluster.
+ *
+ * @param clusterId      The ID of the cluster.
+ * @param providerUserId The ID of the provider user that registered the cluster.
+ * @param tenantId       The ID of the tenant the cluster is allocated to, or null if it is not allocated.
+ */
+public record ClusterEventScope(Long clusterId, Long providerUserId, Long tenantId) {
+}
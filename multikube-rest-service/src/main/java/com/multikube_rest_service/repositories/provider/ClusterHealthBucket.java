@@ -0,0 +1,17 @@
+package com.multikube_rest_service.repositories.provider;
+
+import com.multikube_rest_service.common.enums.HealthResolution;
+
+/**
+ * The aggregated health probes of one cluster within one time bucket.
+ *
+ * @param clusterId      The ID of the cluster.
+ * @param resolution     The bucket size.
+ * @param bucketStart    The start of the bucket in epoch milliseconds.
+ * @param probes         The number of probes that observed a status.
+ * @param successes      The number of those probes that found the cluster ACTIVE.
+ * @param latencyCounts  The number of answered probes per latency bin.
+ */
+public record ClusterHealthBucket(Long clusterId, HealthResolution resolution, long bucketStart, int probes, int successes,
+                                  int[] latencyCounts) {
+}
@@ -0,0 +1,115 @@
+package com.multikube_rest_service.repositories.provider;
+
+import com.multikube_rest_service.common.enums.HealthResolution;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * JDBC access to the persisted cluster health buckets. Every replica writes the probes it recorded since its last
+ * flush as increments on top of the stored buckets, so they are kept out of JPA. The statements stick to standard
+ * SQL, so the buckets work on any database the replicas share.
+ */
+@Repository
+public class ClusterHealthBucketRepository {
+
+    private static final String FIND_FOR_UPDATE =
+            "SELECT cluster_id, bucket_start, probes, successes, latency_histogram FROM cluster_health_buckets " +
+            "WHERE cluster_id = ? AND resolution = ? AND bucket_start = ? FOR UPDATE";
+
+    private static final String INSERT =
+            "INSERT INTO cluster_health_buckets (cluster_id, resolution, bucket_start, probes, successes, latency_histogram) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE =
+            "UPDATE cluster_health_buckets SET probes = ?, successes = ?, latency_histogram = ? " +
+            "WHERE cluster_id = ? AND resolution = ? AND bucket_start = ?";
+
+    private static final String FIND_BETWEEN =
+            "SELECT cluster_id, bucket_start, probes, successes, latency_histogram FROM cluster_health_buckets " +
+            "WHERE cluster_id = ? AND resolution = ? AND bucket_start >= ? AND bucket_start < ?";
+
+    private static final String DELETE_BEFORE =
+            "DELETE FROM cluster_health_buckets WHERE resolution = ? AND bucket_start < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ClusterHealthBucketRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Adds the given buckets to the stored buckets with the same cluster, resolution and start, inserting the ones
+     * that are not stored yet. The stored rows are locked while they are added to, so the increments of several
+     * replicas (e.g. around a shard hand-over) add up instead of overwriting each other. If two replicas insert the
+     * same bucket at once, one of them fails and none of its buckets are written.
+     *
+     * @param buckets The probes to add, as buckets.
+     */
+    @Transactional
+    public void saveAll(List<ClusterHealthBucket> buckets) {
+        for (ClusterHealthBucket bucket : buckets) {
+            Timestamp start = new Timestamp(bucket.bucketStart());
+            List<ClusterHealthBucket> stored = jdbcTemplate.query(FIND_FOR_UPDATE, (rs, rowNum) -> map(rs, bucket.resolution()),
+                    bucket.clusterId(), bucket.resolution().name(), start);
+            if (stored.isEmpty()) {
+                jdbcTemplate.update(INSERT, bucket.clusterId(), bucket.resolution().name(), start, bucket.probes(),
+                        bucket.successes(), format(bucket.latencyCounts()));
+                continue;
+            }
+            ClusterHealthBucket current = stored.get(0);
+            int[] latencyCounts = Arrays.copyOf(current.latencyCounts(), Math.max(current.latencyCounts().length, bucket.latencyCounts().length));
+            for (int bin = 0; bin < bucket.latencyCounts().length; bin++) {
+                latencyCounts[bin] += bucket.latencyCounts()[bin];
+            }
+            jdbcTemplate.update(UPDATE, current.probes() + bucket.probes(), current.successes() + bucket.successes(),
+                    format(latencyCounts), bucket.clusterId(), bucket.resolution().name(), start);
+        }
+    }
+
+    /**
+     * @param clusterId  The ID of the cluster.
+     * @param resolution The bucket size.
+     * @param from       The earliest bucket start to return, in epoch milliseconds.
+     * @param to         The bucket start to stop before, in epoch milliseconds.
+     * @return The stored buckets of the cluster with the given resolution that start within [from, to).
+     */
+    @Transactional(readOnly = true)
+    public List<ClusterHealthBucket> findBetween(Long clusterId, HealthResolution resolution, long from, long to) {
+        return jdbcTemplate.query(FIND_BETWEEN, (rs, rowNum) -> map(rs, resolution),
+                clusterId, resolution.name(), new Timestamp(from), new Timestamp(to));
+    }
+
+    /**
+     * Deletes the buckets with the given resolution that start before the given time.
+     *
+     * @param resolution The bucket size.
+     * @param before     The retention cutoff in epoch milliseconds.
+     * @return The number of deleted buckets.
+     */
+    @Transactional
+    public int deleteBefore(HealthResolution resolution, long before) {
+        return jdbcTemplate.update(DELETE_BEFORE, resolution.name(), new Timestamp(before));
+    }
+
+    private static ClusterHealthBucket map(ResultSet rs, HealthResolution resolution) throws SQLException {
+        return new ClusterHealthBucket(
+                rs.getLong("cluster_id"),
+                resolution,
+                rs.getTimestamp("bucket_start").getTime(),
+                rs.getInt("probes"),
+                rs.getInt("successes"),
+                Arrays.stream(rs.getString("latency_histogram").split(",")).mapToInt(Integer::parseInt).toArray());
+    }
+
+    private static String format(int[] latencyCounts) {
+        return Arrays.stream(latencyCounts).mapToObj(Integer::toString).collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,14 @@
+package com.multikube_rest_service.repositories.provider;
+
+import java.sql.Timestamp;
+
+/**
+ * The observational results of a cluster health probe, written regardless of status changes.
+ *
+ * @param clusterId     The ID of the cluster.
+ * @param latencyMs     The round-trip latency of the probe call, or null if the cluster did not answer.
+ * @param serverVersion The API server's version, or null to keep the last known version.
+ * @param probedAt      When the probe ran.
+ */
+public record ClusterProbeObservation(Long clusterId, Long latencyMs, String serverVersion, Timestamp probedAt) {
+}
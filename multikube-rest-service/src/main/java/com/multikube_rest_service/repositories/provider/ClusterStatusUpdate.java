@@ -0,0 +1,13 @@
+package com.multikube_rest_service.repositories.provider;
+
+import com.multikube_rest_service.common.enums.ClusterStatus;
+
+/**
+ * A status write that only applies if the cluster row has not changed since it was read.
+ *
+ * @param clusterId       The ID of the cluster.
+ * @param expectedVersion The version of the cluster row when its status was read.
+ * @param status          The new status.
+ */
+public record ClusterStatusUpdate(Long clusterId, Long expectedVersion, ClusterStatus status) {
+}
@@ -5,12 +5,17 @@ import com.multikube_rest_service.entities.provider.KubernetesCluster;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface KubernetesClusterRepository extends JpaRepository<KubernetesCluster, Long> {
+public interface KubernetesClusterRepository extends JpaRepository<KubernetesCluster, Long>, KubernetesClusterRepositoryCustom {
 
     /**
      * Finds a cluster by its unique name.
@@ -69,4 +74,45 @@ public interface KubernetesClusterRepository extends JpaRepository<KubernetesClu
      * @return A page of KubernetesCluster entities.
      */
     Page<KubernetesCluster> findByProviderUser_IdAndNameContainingIgnoreCaseAndStatus(Long providerUserId, String nameFilter, ClusterStatus status, Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * Finds all clusters in one of the given statuses.
+     *
+     * @param statuses The statuses to filter by.
+     * @return The matching clusters.
+     */
+    List<KubernetesCluster> findByStatusIn(Collection<ClusterStatus> statuses);
+
+    /**
+     * @return The IDs of all registered clusters, without loading the clusters themselves.
+     */
+    @Query("SELECT c.id FROM KubernetesCluster c")
+    List<Long> findAllIds();
+
+    /**
+     * Finds who may see the events of the given clusters: the provider that registered each cluster and, if it is
+     * allocated, the tenant it is allocated to.
+     *
+     * @param clusterIds The IDs of the clusters.
+     * @return One scope per existing cluster.
+     */
+    @Query("SELECT new com.multikube_rest_service.repositories.provider.ClusterEventScope(c.id, c.providerUser.id, a.tenant.id) " +
+            "FROM KubernetesCluster c LEFT JOIN ClusterAllocation a ON a.kubernetesCluster = c WHERE c.id IN :clusterIds")
+    List<ClusterEventScope> findEventScopes(@Param("clusterIds") Collection<Long> clusterIds);
+
+    /**
+     * Sets the status of a cluster, but only if its current status is one of the given ones.
+     * Used for automatic status transitions that must not override a status set by a provider (e.g. INACTIVE).
+     *
+     * @param clusterId The ID of the cluster.
+     * @param status The new status.
+     * @param fromStatuses The statuses the cluster may currently be in for the update to apply.
+     * @return The number of updated rows, 0 or 1.
+     */
+    @Modifying
+    @Query("UPDATE KubernetesCluster c SET c.status = :status, c.version = c.version + 1, c.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE c.id = :clusterId AND c.status IN :fromStatuses")
+    int updateStatusIfIn(@Param("clusterId") Long clusterId,
+                         @Param("status") ClusterStatus status,
+                         @Param("fromStatuses") Collection<ClusterStatus> fromStatuses);
+}
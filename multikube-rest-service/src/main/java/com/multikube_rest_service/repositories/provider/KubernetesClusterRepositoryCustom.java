@@ -0,0 +1,28 @@
+package com.multikube_rest_service.repositories.provider;
+
+import java.util.List;
+
+/**
+ * Repository operations for {@link com.multikube_rest_service.entities.provider.KubernetesCluster} that cannot be
+ * expressed as derived or annotated queries.
+ */
+public interface KubernetesClusterRepositoryCustom {
+
+    /**
+     * Writes many status changes in a single JDBC batch, with optimistic concurrency: a row is only updated if its
+     * version still equals the expected version, so a concurrent edit (by a provider, or by another status update)
+     * always wins over the stale write. Every applied update increments the row's version.
+     *
+     * @param updates The status changes to write.
+     * @return The updates that were applied; the rest were skipped because their row had changed.
+     */
+    List<ClusterStatusUpdate> updateStatusesIfUnchanged(List<ClusterStatusUpdate> updates);
+
+    /**
+     * Writes the latency, server version and probe time of many health probes in a single JDBC batch.
+     * These are observations rather than edits, so they neither check nor increment the row's version.
+     *
+     * @param observations The probe results to write.
+     */
+    void recordProbeObservations(List<ClusterProbeObservation> observations);
+}
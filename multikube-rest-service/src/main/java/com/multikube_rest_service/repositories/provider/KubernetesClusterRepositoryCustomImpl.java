@@ -0,0 +1,61 @@
+package com.multikube_rest_service.repositories.provider;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * JDBC implementation of {@link KubernetesClusterRepositoryCustom}. Plain JDBC is used so that the status writes of a
+ * whole sweep go to the database as one batch, without loading the entities first.
+ */
+public class KubernetesClusterRepositoryCustomImpl implements KubernetesClusterRepositoryCustom {
+
+    private static final String UPDATE_STATUS_IF_UNCHANGED =
+            "UPDATE kubernetes_clusters SET status = ?, version = version + 1, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE id = ? AND version = ?";
+
+    private static final String RECORD_PROBE_OBSERVATION =
+            "UPDATE kubernetes_clusters SET api_latency_ms = ?, server_version = COALESCE(?, server_version), last_probed_at = ? " +
+            "WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public KubernetesClusterRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public List<ClusterStatusUpdate> updateStatusesIfUnchanged(List<ClusterStatusUpdate> updates) {
+        if (updates.isEmpty()) {
+            return List.of();
+        }
+        int[] counts = jdbcTemplate.batchUpdate(UPDATE_STATUS_IF_UNCHANGED, updates, updates.size(), (statement, update) -> {
+            statement.setString(1, update.status().name());
+            statement.setLong(2, update.clusterId());
+            statement.setLong(3, update.expectedVersion());
+        })[0];
+        return IntStream.range(0, updates.size())
+                .filter(i -> counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO)
+                .mapToObj(updates::get)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void recordProbeObservations(List<ClusterProbeObservation> observations) {
+        if (observations.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(RECORD_PROBE_OBSERVATION, observations, observations.size(), (statement, observation) -> {
+            statement.setObject(1, observation.latencyMs(), Types.BIGINT);
+            statement.setString(2, observation.serverVersion());
+            statement.setTimestamp(3, observation.probedAt());
+            statement.setLong(4, observation.clusterId());
+        });
+    }
+}
@@ -0,0 +1,11 @@
+package com.multikube_rest_service.repositories.provider;
+
+/**
+ * The last resourceVersion seen by the watch of a kind in a cluster.
+ *
+ * @param clusterId       The ID of the cluster.
+ * @param kind            The watched kind, e.g. 'Deployment'.
+ * @param resourceVersion The resourceVersion.
+ */
+public record WatchBookmark(Long clusterId, String kind, String resourceVersion) {
+}
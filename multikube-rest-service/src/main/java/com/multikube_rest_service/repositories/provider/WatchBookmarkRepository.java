@@ -0,0 +1,70 @@
+package com.multikube_rest_service.repositories.provider;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JDBC access to the persisted watch bookmarks, the last resourceVersion seen per cluster and kind. The bookmarks
+ * are overwritten on every flush, so they are kept out of JPA. The statements stick to standard SQL.
+ */
+@Repository
+public class WatchBookmarkRepository {
+
+    private static final String UPDATE =
+            "UPDATE watch_bookmarks SET resource_version = ?, updated_at = ? WHERE cluster_id = ? AND kind = ?";
+
+    private static final String INSERT =
+            "INSERT INTO watch_bookmarks (cluster_id, kind, resource_version, updated_at) VALUES (?, ?, ?, ?)";
+
+    private static final String FIND_BY_CLUSTER = "SELECT kind, resource_version FROM watch_bookmarks WHERE cluster_id = ?";
+
+    private static final String DELETE = "DELETE FROM watch_bookmarks WHERE cluster_id = ? AND kind = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public WatchBookmarkRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param clusterId The ID of the cluster.
+     * @return The stored resourceVersion per kind.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, String> findByCluster(Long clusterId) {
+        Map<String, String> bookmarks = new HashMap<>();
+        jdbcTemplate.query(FIND_BY_CLUSTER, rs -> {
+            bookmarks.put(rs.getString("kind"), rs.getString("resource_version"));
+        }, clusterId);
+        return bookmarks;
+    }
+
+    /**
+     * Inserts or replaces the given bookmark.
+     *
+     * @param bookmark The bookmark to write.
+     */
+    @Transactional
+    public void save(WatchBookmark bookmark) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        if (jdbcTemplate.update(UPDATE, bookmark.resourceVersion(), now, bookmark.clusterId(), bookmark.kind()) == 0) {
+            jdbcTemplate.update(INSERT, bookmark.clusterId(), bookmark.kind(), bookmark.resourceVersion(), now);
+        }
+    }
+
+    /**
+     * Deletes the bookmark of a cluster and kind, if any.
+     *
+     * @param clusterId The ID of the cluster.
+     * @param kind      The watched kind.
+     */
+    @Transactional
+    public void delete(Long clusterId, String kind) {
+        jdbcTemplate.update(DELETE, clusterId, kind);
+    }
+}
@@ -0,0 +1,21 @@
+package com.multikube_rest_service.repositories.tenant;
+
+import com.multikube_rest_service.common.enums.OutboxOperation;
+
+/**
+ * A pending Kubernetes side effect.
+ *
+ * @param id         The ID of the entry.
+ * @param operation  The side effect.
+ * @param resourceId The ID of the tenant namespace, workload or workload bundle it applies to.
+ * @param attempts   The number of dispatch attempts so far.
+ */
+public record KubernetesOutboxEntry(Long id, OutboxOperation operation, Long resourceId, int attempts) {
+
+    /**
+     * @return This entry after one more attempt was claimed.
+     */
+    public KubernetesOutboxEntry nextAttempt() {
+        return new KubernetesOutboxEntry(id, operation, resourceId, attempts + 1);
+    }
+}
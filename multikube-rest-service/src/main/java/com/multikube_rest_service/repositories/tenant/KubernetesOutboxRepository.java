@@ -0,0 +1,125 @@
+package com.multikube_rest_service.repositories.tenant;
+
+import com.multikube_rest_service.common.enums.OutboxOperation;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * JDBC access to the Kubernetes outbox. All times are taken from the database clock, so the replicas agree on when
+ * an entry is due and when a claim expires.
+ */
+@Repository
+public class KubernetesOutboxRepository {
+
+    private static final String INSERT =
+            "INSERT INTO kubernetes_outbox (operation, resource_id, next_attempt_at) VALUES (?, ?, CURRENT_TIMESTAMP)";
+
+    private static final String FIND_DUE =
+            "SELECT id, operation, resource_id, attempts FROM kubernetes_outbox WHERE next_attempt_at <= CURRENT_TIMESTAMP " +
+            "ORDER BY id LIMIT ?";
+
+    private static final String NOW = "SELECT CURRENT_TIMESTAMP";
+
+    private static final String CLAIM =
+            "UPDATE kubernetes_outbox SET attempts = attempts + 1, next_attempt_at = ? " +
+            "WHERE id = ? AND attempts = ? AND next_attempt_at <= CURRENT_TIMESTAMP";
+
+    private static final String RESCHEDULE = "UPDATE kubernetes_outbox SET next_attempt_at = ?, last_error = ? WHERE id = ?";
+
+    private static final String DELETE = "DELETE FROM kubernetes_outbox WHERE id = ?";
+
+    private static final int MAX_ERROR_LENGTH = 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public KubernetesOutboxRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Records a side effect, due right away. Must be called within the transaction whose change it belongs to.
+     *
+     * @param operation  The side effect.
+     * @param resourceId The ID of the tenant namespace, workload or workload bundle.
+     * @return The new entry.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public KubernetesOutboxEntry add(OutboxOperation operation, Long resourceId) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT, new String[]{"id"});
+            statement.setString(1, operation.name());
+            statement.setLong(2, resourceId);
+            return statement;
+        }, keyHolder);
+        return new KubernetesOutboxEntry(keyHolder.getKey().longValue(), operation, resourceId, 0);
+    }
+
+    /**
+     * @param limit The maximum number of entries to return.
+     * @return The entries that are due and not claimed, oldest first.
+     */
+    @Transactional(readOnly = true)
+    public List<KubernetesOutboxEntry> findDue(int limit) {
+        return jdbcTemplate.query(FIND_DUE, (rs, rowNum) -> new KubernetesOutboxEntry(
+                rs.getLong("id"),
+                OutboxOperation.valueOf(rs.getString("operation")),
+                rs.getLong("resource_id"),
+                rs.getInt("attempts")
+        ), limit);
+    }
+
+    /**
+     * Claims an entry for one dispatch attempt. The claim expires after the given time, after which the entry is due
+     * again, so an attempt lost with its replica is retried. Always commits on its own, as it is also called after the
+     * recording transaction committed, when joining that transaction would never commit the claim.
+     *
+     * @param entry   The entry as read.
+     * @param claimMs How long the claim lasts.
+     * @return Whether the entry was claimed; false if it was claimed, rescheduled or completed meanwhile.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean claim(KubernetesOutboxEntry entry, long claimMs) {
+        return jdbcTemplate.update(CLAIM, databaseTimeIn(claimMs), entry.id(), entry.attempts()) > 0;
+    }
+
+    /**
+     * Makes an entry due again after a failed attempt.
+     *
+     * @param id      The ID of the entry.
+     * @param delayMs The time until the next attempt.
+     * @param error   The error of the failed attempt.
+     */
+    @Transactional
+    public void reschedule(Long id, long delayMs, String error) {
+        String lastError = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        jdbcTemplate.update(RESCHEDULE, databaseTimeIn(delayMs), lastError, id);
+    }
+
+    /**
+     * Deletes a completed entry. Called within the transaction that records the result.
+     *
+     * @param id The ID of the entry.
+     * @return Whether the entry was deleted; false if it was completed by another attempt already.
+     */
+    @Transactional
+    public boolean delete(Long id) {
+        return jdbcTemplate.update(DELETE, id) > 0;
+    }
+
+    /**
+     * @return The database time the given number of milliseconds from now.
+     */
+    private Timestamp databaseTimeIn(long ms) {
+        Timestamp now = jdbcTemplate.queryForObject(NOW, Timestamp.class);
+        return new Timestamp(now.getTime() + ms);
+    }
+}
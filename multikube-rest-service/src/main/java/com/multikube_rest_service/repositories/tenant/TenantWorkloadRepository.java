@@ -6,6 +6,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -43,6 +44,14 @@ public interface TenantWorkloadRepository extends JpaRepository<TenantWorkload,
      * @return An Optional containing the workload if found.
      */
     Optional<TenantWorkload> findByIdAndTenantNamespaceId(Long id, Long tenantNamespaceId);
+
+    /**
+     * Finds the workloads created together from one multi-document manifest.
+     *
+     * @param bundleId The ID of the bundle's first workload.
+     * @return The workloads of the bundle, in document order.
+     */
+    List<TenantWorkload> findByBundleIdOrderById(Long bundleId);
     
     /**
      * Checks if a workload with a given Kubernetes resource name and kind already exists
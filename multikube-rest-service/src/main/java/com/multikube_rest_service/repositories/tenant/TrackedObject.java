@@ -0,0 +1,25 @@
+package com.multikube_rest_service.repositories.tenant;
+
+import com.multikube_rest_service.common.enums.SyncStatus;
+
+/**
+ * A workload or namespace configuration whose live object is checked for drift.
+ *
+ * @param source      Which table the record is stored in.
+ * @param id          The ID of the record.
+ * @param namespace   The name of the Kubernetes namespace the object was applied to.
+ * @param kind        The kind of the object, e.g. 'Deployment'.
+ * @param name        The name of the object.
+ * @param yamlContent The stored manifest.
+ * @param syncStatus  The stored sync status.
+ * @param appliedHash The canonical hash of the manifest last applied successfully, or null if unknown.
+ * @param appliedGeneration The object's metadata.generation after that apply, or null.
+ */
+public record TrackedObject(Source source, Long id, String namespace, String kind, String name, String yamlContent,
+                            SyncStatus syncStatus, String appliedHash, Long appliedGeneration) {
+
+    public enum Source {
+        WORKLOAD,
+        CONFIGURATION
+    }
+}
@@ -0,0 +1,151 @@
+package com.multikube_rest_service.repositories.tenant;
+
+import com.multikube_rest_service.common.enums.SyncStatus;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * JDBC access to the workloads and namespace configurations checked for drift and reconciled. Drift detection reads
+ * and writes these records in bulk, per cluster and namespace, so they are kept out of JPA here.
+ */
+@Repository
+public class TrackedObjectRepository {
+
+    // Only records that were applied successfully, in namespaces that are not being torn down, are checked.
+    private static final String SELECT =
+            "SELECT 'WORKLOAD' AS source, w.id, n.name AS namespace, w.k8s_kind, w.k8s_name, w.yaml_content, w.sync_status, " +
+            "w.applied_hash, w.applied_generation " +
+            "FROM tenant_workloads w JOIN tenant_namespaces n ON n.id = w.tenant_namespace_id " +
+            "WHERE n.cluster_id = :clusterId AND w.status = 'ACTIVE' AND n.status = 'ACTIVE' %1$s " +
+            "UNION ALL " +
+            "SELECT 'CONFIGURATION' AS source, c.id, n.name AS namespace, c.k8s_kind, c.k8s_name, c.yaml_content, c.sync_status, " +
+            "c.applied_hash, c.applied_generation " +
+            "FROM tenant_namespace_configurations c JOIN tenant_namespaces n ON n.id = c.tenant_namespace_id " +
+            "WHERE n.cluster_id = :clusterId AND c.status = 'ACTIVE' AND n.status = 'ACTIVE' %1$s";
+
+    private static final String SELECT_ONE =
+            "SELECT * FROM (" + SELECT.formatted("") + ") t WHERE t.namespace = :namespace AND t.k8s_kind = :kind AND t.k8s_name = :name";
+
+    private static final String UPDATE_SYNC_STATUS = "UPDATE %s SET sync_status = :syncStatus WHERE id = :id";
+
+    private static final String UPDATE_APPLIED =
+            "UPDATE %s SET sync_status = 'IN_SYNC', content_hash = :contentHash, applied_hash = :contentHash, " +
+            "applied_generation = :generation WHERE id = :id";
+
+    // Keeps the IN lists well below the database's parameter limits.
+    private static final int NAMESPACE_CHUNK = 500;
+
+    private static final RowMapper<TrackedObject> ROW_MAPPER = (rs, rowNum) -> new TrackedObject(
+            TrackedObject.Source.valueOf(rs.getString("source")),
+            rs.getLong("id"),
+            rs.getString("namespace"),
+            rs.getString("k8s_kind"),
+            rs.getString("k8s_name"),
+            rs.getString("yaml_content"),
+            SyncStatus.valueOf(rs.getString("sync_status")),
+            rs.getString("applied_hash"),
+            rs.getObject("applied_generation", Long.class));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public TrackedObjectRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param clusterId The ID of the cluster.
+     * @return All tracked records of the cluster.
+     */
+    @Transactional(readOnly = true)
+    public List<TrackedObject> findByCluster(Long clusterId) {
+        return jdbcTemplate.query(SELECT.formatted(""), Map.of("clusterId", clusterId), ROW_MAPPER);
+    }
+
+    /**
+     * @param clusterId  The ID of the cluster.
+     * @param namespaces The names of the namespaces.
+     * @return The tracked records of the cluster in the given namespaces.
+     */
+    @Transactional(readOnly = true)
+    public List<TrackedObject> findByClusterAndNamespaces(Long clusterId, Collection<String> namespaces) {
+        List<String> names = List.copyOf(namespaces);
+        List<TrackedObject> found = new ArrayList<>();
+        for (int from = 0; from < names.size(); from += NAMESPACE_CHUNK) {
+            MapSqlParameterSource parameters = new MapSqlParameterSource()
+                    .addValue("clusterId", clusterId)
+                    .addValue("namespaces", names.subList(from, Math.min(from + NAMESPACE_CHUNK, names.size())));
+            found.addAll(jdbcTemplate.query(SELECT.formatted("AND n.name IN (:namespaces)"), parameters, ROW_MAPPER));
+        }
+        return found;
+    }
+
+    /**
+     * @param clusterId The ID of the cluster.
+     * @param namespace The name of the Kubernetes namespace.
+     * @param kind      The kind of the object.
+     * @param name      The name of the object.
+     * @return The tracked record of the object, if any.
+     */
+    @Transactional(readOnly = true)
+    public Optional<TrackedObject> findOne(Long clusterId, String namespace, String kind, String name) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("clusterId", clusterId)
+                .addValue("namespace", namespace)
+                .addValue("kind", kind)
+                .addValue("name", name);
+        return jdbcTemplate.query(SELECT_ONE, parameters, ROW_MAPPER).stream().findFirst();
+    }
+
+    /**
+     * Records that a record's manifest was applied successfully: it is in sync, with the given hash and generation.
+     *
+     * @param object      The record, as read before the apply.
+     * @param contentHash The canonical hash of the applied manifest.
+     * @param generation  The object's metadata.generation after the apply, or null.
+     * @return Whether the record was updated; false if it was deleted meanwhile.
+     */
+    @Transactional
+    public boolean recordApplied(TrackedObject object, String contentHash, Long generation) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("id", object.id())
+                .addValue("contentHash", contentHash)
+                .addValue("generation", generation);
+        return jdbcTemplate.update(UPDATE_APPLIED.formatted(tableOf(object.source())), parameters) > 0;
+    }
+
+    /**
+     * Writes the sync status of many records, in one batch per table.
+     *
+     * @param changes The records with their new sync status.
+     */
+    @Transactional
+    public void updateSyncStatuses(Map<TrackedObject, SyncStatus> changes) {
+        for (TrackedObject.Source source : TrackedObject.Source.values()) {
+            MapSqlParameterSource[] batch = changes.entrySet().stream()
+                    .filter(entry -> entry.getKey().source() == source)
+                    .map(entry -> new MapSqlParameterSource()
+                            .addValue("id", entry.getKey().id())
+                            .addValue("syncStatus", entry.getValue().name()))
+                    .toArray(MapSqlParameterSource[]::new);
+            if (batch.length > 0) {
+                jdbcTemplate.batchUpdate(UPDATE_SYNC_STATUS.formatted(tableOf(source)), batch);
+            }
+        }
+    }
+
+    private static String tableOf(TrackedObject.Source source) {
+        return switch (source) {
+            case WORKLOAD -> "tenant_workloads";
+            case CONFIGURATION -> "tenant_namespace_configurations";
+        };
+    }
+}
@@ -0,0 +1,191 @@
+package com.multikube_rest_service.schedulers;
+
+import com.multikube_rest_service.common.enums.ClusterStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides when each cluster is probed next, keeping the clusters in a priority queue ordered by their next due time.
+ * <p>
+ * A stable cluster is probed every base interval. A cluster whose status changed within the flap window is probed
+ * more often, the more changes the faster (down to the min interval), so flapping clusters are tracked closely.
+ * A cluster that stays UNREACHABLE backs off exponentially up to the max interval. Every interval is jittered, and new
+ * clusters get a random first due time, so that probes spread over the interval instead of all firing at once.
+ * <p>
+ * All times are epoch milliseconds passed in by the caller.
+ */
+@Component
+public class ClusterProbeSchedule {
+
+    private final long baseIntervalMs;
+    private final long minIntervalMs;
+    private final long maxIntervalMs;
+    private final long flapWindowMs;
+    private final double jitter;
+
+    private final Map<Long, ProbeState> states = new HashMap<>();
+    private final PriorityQueue<Due> queue = new PriorityQueue<>();
+
+    public ClusterProbeSchedule(@Value("${multikube.cluster.status.check.rate.ms:300000}") long baseIntervalMs,
+                                @Value("${multikube.cluster.status.check.min.interval.ms:15000}") long minIntervalMs,
+                                @Value("${multikube.cluster.status.check.max.interval.ms:900000}") long maxIntervalMs,
+                                @Value("${multikube.cluster.status.check.flap.window.ms:600000}") long flapWindowMs,
+                                @Value("${multikube.cluster.status.check.jitter:0.2}") double jitter) {
+        this.baseIntervalMs = baseIntervalMs;
+        this.minIntervalMs = Math.min(minIntervalMs, baseIntervalMs);
+        this.maxIntervalMs = Math.max(maxIntervalMs, baseIntervalMs);
+        this.flapWindowMs = flapWindowMs;
+        this.jitter = jitter;
+    }
+
+    /**
+     * Aligns the schedule with the registered clusters: new clusters are scheduled at a random point within the
+     * first jitter span, and clusters that no longer exist are dropped.
+     *
+     * @param clusterIds The IDs of all registered clusters.
+     * @param now        The current time.
+     */
+    public synchronized void sync(Collection<Long> clusterIds, long now) {
+        Set<Long> known = new HashSet<>(clusterIds);
+        states.keySet().retainAll(known);
+        queue.removeIf(due -> !known.contains(due.clusterId()));
+        for (Long clusterId : known) {
+            if (!states.containsKey(clusterId)) {
+                ProbeState state = new ProbeState();
+                schedule(clusterId, state, now + (long) (baseIntervalMs * jitter * random()));
+                states.put(clusterId, state);
+            }
+        }
+    }
+
+    /**
+     * Makes the given scheduled clusters due right away, e.g. for the initial probe after startup. Clusters that are
+     * not scheduled, or whose probe is in progress, are left alone.
+     *
+     * @param clusterIds The IDs of the clusters.
+     * @param now        The current time.
+     */
+    public synchronized void expedite(Collection<Long> clusterIds, long now) {
+        for (Long clusterId : clusterIds) {
+            ProbeState state = states.get(clusterId);
+            if (state != null && state.dueAt != Long.MAX_VALUE && state.dueAt > now) {
+                schedule(clusterId, state, now);
+            }
+        }
+    }
+
+    /**
+     * Removes and returns the clusters whose probe is due. Each of them must be handed back through
+     * {@link #record} to be scheduled again.
+     *
+     * @param now The current time.
+     * @return The IDs of the due clusters, most overdue first.
+     */
+    public synchronized List<Long> pollDue(long now) {
+        List<Long> dueIds = new ArrayList<>();
+        while (!queue.isEmpty() && queue.peek().dueAt() <= now) {
+            Due due = queue.poll();
+            ProbeState state = states.get(due.clusterId());
+            // Skip stale entries left behind by a reschedule.
+            if (state != null && state.dueAt == due.dueAt()) {
+                state.dueAt = Long.MAX_VALUE;
+                dueIds.add(due.clusterId());
+            }
+        }
+        return dueIds;
+    }
+
+    /**
+     * Records the outcome of a due cluster's probe and schedules its next one.
+     *
+     * @param clusterId The ID of the cluster.
+     * @param previous  The cluster's status before the probe, or null if unknown.
+     * @param observed  The status the probe observed, or null if the cluster was not probed (e.g. it was rate limited,
+     *                  missed the sweep's deadline, or is in a status that is not probed).
+     * @param now       The current time.
+     * @return The time the cluster is due next, or -1 if the cluster is no longer scheduled.
+     */
+    public synchronized long record(Long clusterId, ClusterStatus previous, ClusterStatus observed, long now) {
+        ProbeState state = states.get(clusterId);
+        if (state == null) {
+            return -1;
+        }
+
+        if (observed != null && previous != null && observed != previous) {
+            state.changes.addLast(now);
+        }
+        while (!state.changes.isEmpty() && state.changes.peekFirst() < now - flapWindowMs) {
+            state.changes.removeFirst();
+        }
+        if (observed == ClusterStatus.UNREACHABLE) {
+            state.unreachableStreak++;
+        } else if (observed != null) {
+            state.unreachableStreak = 0;
+        }
+
+        long dueAt = now + jittered(intervalFor(state));
+        schedule(clusterId, state, dueAt);
+        return dueAt;
+    }
+
+    /**
+     * @return The number of scheduled clusters.
+     */
+    public synchronized int size() {
+        return states.size();
+    }
+
+    /**
+     * Returns a random value in [0, 1). Overridden in tests to make the jitter deterministic.
+     */
+    double random() {
+        return ThreadLocalRandom.current().nextDouble();
+    }
+
+    private long intervalFor(ProbeState state) {
+        if (state.unreachableStreak > 1) {
+            // Back off: base, 2x, 4x, ... for a cluster that keeps failing, up to the max interval.
+            int exponent = Math.min(state.unreachableStreak - 1, 30);
+            return Math.min(maxIntervalMs, baseIntervalMs << exponent);
+        }
+        if (!state.changes.isEmpty()) {
+            // One recent change halves the interval, two divide it by three, and so on.
+            return Math.max(minIntervalMs, baseIntervalMs / (1 + state.changes.size()));
+        }
+        return baseIntervalMs;
+    }
+
+    private long jittered(long intervalMs) {
+        return Math.max(1, Math.round(intervalMs * (1 + jitter * (2 * random() - 1))));
+    }
+
+    private void schedule(Long clusterId, ProbeState state, long dueAt) {
+        state.dueAt = dueAt;
+        queue.add(new Due(clusterId, dueAt));
+    }
+
+    private static final class ProbeState {
+        private long dueAt;
+        private int unreachableStreak;
+        private final Deque<Long> changes = new ArrayDeque<>();
+    }
+
+    private record Due(Long clusterId, long dueAt) implements Comparable<Due> {
+        @Override
+        public int compareTo(Due other) {
+            return Long.compare(dueAt, other.dueAt);
+        }
+    }
+}
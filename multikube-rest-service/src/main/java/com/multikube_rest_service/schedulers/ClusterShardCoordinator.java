@@ -0,0 +1,162 @@
+package com.multikube_rest_service.schedulers;
+
+import com.multikube_rest_service.repositories.ServiceReplicaRepository;
+import com.multikube_rest_service.services.kubernetes.drift.DriftDetector;
+import com.multikube_rest_service.services.kubernetes.informers.ClusterInformerCache;
+import com.multikube_rest_service.services.kubernetes.informers.ClusterNodeWatcher;
+import com.multikube_rest_service.services.kubernetes.reconcile.ReconcileQueue;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Shards cluster probing across the running service replicas, so that each cluster is probed by exactly one replica.
+ * <p>
+ * Every replica holds a lease in the service_replicas table and renews it on each heartbeat. After renewing, it
+ * reads the replicas whose lease is still valid and places them on a {@link ConsistentHashRing}; a cluster belongs to
+ * the replica the ring maps its ID to. When a replica stops renewing its lease (or releases it on shutdown), the
+ * remaining replicas pick up its clusters on their next heartbeat, and only those clusters move. A replica that fails
+ * to renew its own lease stops owning clusters once its last view of the ring is older than the lease, so that it does
+ * not keep probing clusters the others have taken over.
+ * <p>
+ * Probing a cluster starts its informers and node watch, which keep running between probes. So that a cluster is
+ * watched, drift-checked and reconciled by its owner alone, each heartbeat also stops the informers, node watch,
+ * pending drift checks, queued reconciliations and watch bookmarks of the clusters this replica no longer owns.
+ */
+@Component
+public class ClusterShardCoordinator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterShardCoordinator.class);
+
+    private final ServiceReplicaRepository replicaRepository;
+    private final ClusterInformerCache informerCache;
+    private final ClusterNodeWatcher nodeWatcher;
+    private final DriftDetector driftDetector;
+    private final ReconcileQueue reconcileQueue;
+    private final String replicaId;
+    private final long leaseTtlMs;
+    private final int virtualNodes;
+
+    private volatile ConsistentHashRing ring = new ConsistentHashRing(List.of(), 0);
+    private volatile long ringUpdatedAt;
+
+    public ClusterShardCoordinator(ServiceReplicaRepository replicaRepository,
+                                   ClusterInformerCache informerCache,
+                                   ClusterNodeWatcher nodeWatcher,
+                                   DriftDetector driftDetector,
+                                   ReconcileQueue reconcileQueue,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${multikube.cluster.sharding.replica.id:}") String replicaId,
+                                   @Value("${multikube.cluster.sharding.lease.ttl.ms:30000}") long leaseTtlMs,
+                                   @Value("${multikube.cluster.sharding.virtual.nodes:64}") int virtualNodes) {
+        this.replicaRepository = replicaRepository;
+        this.informerCache = informerCache;
+        this.nodeWatcher = nodeWatcher;
+        this.driftDetector = driftDetector;
+        this.reconcileQueue = reconcileQueue;
+        this.replicaId = StringUtils.hasText(replicaId) ? replicaId : UUID.randomUUID().toString();
+        this.leaseTtlMs = leaseTtlMs;
+        this.virtualNodes = virtualNodes;
+
+        Gauge.builder("multikube.cluster.sharding.replicas", this, coordinator -> coordinator.ring.members().size())
+                .description("Number of live service replicas sharing the cluster probes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Renews this replica's lease, rebuilds the ring from the replicas that are still live and releases the clusters
+     * this replica no longer owns.
+     * Runs on startup and then at the heartbeat interval, which should be well below the lease TTL.
+     */
+    @Scheduled(fixedDelayString = "${multikube.cluster.sharding.heartbeat.ms:10000}")
+    public void heartbeat() {
+        try {
+            replicaRepository.renew(replicaId);
+            List<String> live = replicaRepository.findLive(leaseTtlMs);
+            // Expired leases are kept for a while so that a replica which only missed a heartbeat finds its own row.
+            replicaRepository.deleteExpired(leaseTtlMs * 10);
+            updateRing(live);
+        } catch (DataAccessException e) {
+            logger.warn("Failed to renew the lease of replica {}. Error: {}", replicaId, e.getMessage());
+        }
+        // Also after a failed renewal, as this replica stops owning clusters once its view of the ring is too old.
+        releaseUnowned();
+    }
+
+    /**
+     * @param clusterId The ID of a cluster.
+     * @return Whether this replica is responsible for probing the cluster.
+     */
+    public boolean owns(Long clusterId) {
+        if (now() - ringUpdatedAt > leaseTtlMs) {
+            return false;
+        }
+        return replicaId.equals(ring.ownerOf(clusterId));
+    }
+
+    /**
+     * @return The ID of this replica.
+     */
+    public String getReplicaId() {
+        return replicaId;
+    }
+
+    /**
+     * Releases this replica's lease on shutdown, so the others take over its clusters right away.
+     */
+    @PreDestroy
+    public void release() {
+        try {
+            replicaRepository.delete(replicaId);
+        } catch (DataAccessException e) {
+            logger.warn("Failed to release the lease of replica {}. Error: {}", replicaId, e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the current time in milliseconds. Overridden in tests.
+     */
+    long now() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * Stops watching the clusters another replica owns now, e.g. after a hand-over, or after this replica verified a
+     * newly registered cluster it does not own.
+     */
+    private void releaseUnowned() {
+        Set<Long> watched = new HashSet<>(informerCache.clusterIds());
+        watched.addAll(nodeWatcher.clusterIds());
+        for (Long clusterId : watched) {
+            if (owns(clusterId)) {
+                continue;
+            }
+            logger.info("Replica {} no longer owns cluster ID: {}. Stopping its informers and node watch.", replicaId, clusterId);
+            informerCache.invalidate(clusterId);
+            nodeWatcher.invalidate(clusterId);
+            driftDetector.invalidate(clusterId);
+            reconcileQueue.invalidate(clusterId);
+        }
+    }
+
+    private void updateRing(List<String> live) {
+        Set<String> previous = ring.members();
+        if (!previous.equals(Set.copyOf(live))) {
+            ring = new ConsistentHashRing(live, virtualNodes);
+            logger.info("Cluster probes of replica {} are now sharded across {} live replica(s): {}", replicaId, live.size(), live);
+        }
+        ringUpdatedAt = now();
+    }
+}
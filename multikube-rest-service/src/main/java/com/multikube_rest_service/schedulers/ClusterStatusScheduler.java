@@ -2,75 +2,304 @@ package com.multikube_rest_service.schedulers;
 
 import com.multikube_rest_service.common.enums.ClusterStatus;
 import com.multikube_rest_service.entities.provider.KubernetesCluster;
+import com.multikube_rest_service.repositories.provider.ClusterProbeObservation;
+import com.multikube_rest_service.repositories.provider.ClusterStatusUpdate;
 import com.multikube_rest_service.repositories.provider.KubernetesClusterRepository;
+import com.multikube_rest_service.services.events.StatusChangeEvent;
+import com.multikube_rest_service.services.kubernetes.resilience.RequestPriority;
+import com.multikube_rest_service.services.kubernetes.resilience.RequestPriorityContext;
+import com.multikube_rest_service.services.provider.ClusterProbeResult;
 import com.multikube_rest_service.services.provider.ProviderClusterService; // Ensure this import is correct
+import com.multikube_rest_service.services.provider.health.ClusterHealthHistory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service; // Still a Spring-managed service/component
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 
 /**
  * Scheduled service to periodically check and update the status of registered Kubernetes clusters.
+ * <p>
+ * The scheduler ticks frequently, but each tick only probes the clusters that the {@link ClusterProbeSchedule}
+ * reports as due, so stable clusters are probed at the base rate, flapping ones more often and long-unreachable
+ * ones less often, with the probes spread over time. With several service replicas, each one only schedules the
+ * clusters the {@link ClusterShardCoordinator} assigns to it.
+ * <p>
+ * A sweep runs in three phases, none of which holds a transaction across network I/O: a read-only scan of the
+ * clusters (including their versions), the probes themselves outside of any transaction, and a single batched write
+ * of only those statuses that changed. The write is optimistic: a cluster edited since the scan (e.g. by its
+ * provider) keeps its edit, and its next sweep will probe it again. The latency, server version and time of every
+ * completed probe are written in a second batch, so cluster listings can show them without calling the clusters,
+ * and every probe result is added to the {@link ClusterHealthHistory}.
+ * <p>
+ * The clusters of a sweep are probed concurrently, each on its own virtual thread, with at most a configured number
+ * of probes in flight. A sweep has an overall deadline: probes still queued when it expires are skipped, and probes
+ * still running are no longer waited for (they are bounded by the API client's own timeouts). Both count as
+ * timeouts, so a few unreachable clusters cannot make one sweep overrun the next; their results are discarded.
  */
 @Service // It's still a service/component that Spring needs to manage
 public class ClusterStatusScheduler {
 
     private static final Logger logger = LoggerFactory.getLogger(ClusterStatusScheduler.class);
 
+    static final Set<ClusterStatus> CHECKED_STATUSES = EnumSet.of(
+            ClusterStatus.ACTIVE, ClusterStatus.DEGRADED, ClusterStatus.UNREACHABLE, ClusterStatus.PENDING_VERIFICATION,
+            ClusterStatus.ERROR);
+
     private final KubernetesClusterRepository clusterRepository;
     private final ProviderClusterService providerClusterService;
+    private final ClusterProbeSchedule probeSchedule;
+    private final ClusterHealthHistory healthHistory;
+    private final ClusterShardCoordinator shardCoordinator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExecutorService kubernetesTaskExecutor;
+    private final int maxParallelism;
+    private final long sweepDeadlineMs;
+
+    private final Timer sweepTimer;
+    private final Counter probeCounter;
+    private final Counter timeoutCounter;
+    private volatile double lastProbesPerSecond;
 
     /**
      * Constructs the ClusterStatusScheduler.
      *
      * @param clusterRepository      The repository for Kubernetes cluster data.
      * @param providerClusterService The service containing cluster verification logic.
+     * @param probeSchedule          The schedule deciding which clusters are due for a probe.
+     * @param healthHistory          The time series every probe result is recorded in.
+     * @param shardCoordinator       The coordinator deciding which clusters this replica probes.
+     * @param eventPublisher         The publisher of cluster status change events.
+     * @param kubernetesTaskExecutor The virtual-thread executor the probes run on.
+     * @param meterRegistry          The registry for the sweep metrics.
+     * @param maxParallelism         The maximum number of probes in flight at once.
+     * @param sweepDeadlineMs        The time after which a sweep stops waiting for its probes.
      */
     public ClusterStatusScheduler(KubernetesClusterRepository clusterRepository,
-                                  ProviderClusterService providerClusterService) {
+                                  ProviderClusterService providerClusterService,
+                                  ClusterProbeSchedule probeSchedule,
+                                  ClusterHealthHistory healthHistory,
+                                  ClusterShardCoordinator shardCoordinator,
+                                  ApplicationEventPublisher eventPublisher,
+                                  @Qualifier("kubernetesTaskExecutor") ExecutorService kubernetesTaskExecutor,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${multikube.cluster.status.check.max.parallelism:32}") int maxParallelism,
+                                  @Value("${multikube.cluster.status.check.deadline.ms:50000}") long sweepDeadlineMs) {
         this.clusterRepository = clusterRepository;
         this.providerClusterService = providerClusterService;
+        this.probeSchedule = probeSchedule;
+        this.healthHistory = healthHistory;
+        this.shardCoordinator = shardCoordinator;
+        this.eventPublisher = eventPublisher;
+        this.kubernetesTaskExecutor = kubernetesTaskExecutor;
+        this.maxParallelism = maxParallelism;
+        this.sweepDeadlineMs = sweepDeadlineMs;
+
+        this.sweepTimer = Timer.builder("multikube.cluster.sweep.duration")
+                .description("Duration of a cluster health sweep")
+                .register(meterRegistry);
+        this.probeCounter = Counter.builder("multikube.cluster.sweep.probes")
+                .description("Cluster health probes completed within their sweep's deadline")
+                .register(meterRegistry);
+        this.timeoutCounter = Counter.builder("multikube.cluster.sweep.timeouts")
+                .description("Cluster health probes not finished within their sweep's deadline")
+                .register(meterRegistry);
+        Gauge.builder("multikube.cluster.sweep.probes.per.second", this, scheduler -> scheduler.lastProbesPerSecond)
+                .description("Probe throughput of the last cluster health sweep")
+                .register(meterRegistry);
     }
 
     /**
-     * Periodically checks the status of all registered Kubernetes clusters.
-     * This method is scheduled to run at a fixed rate.
-     * It fetches all clusters that are not in a terminal error state or pending verification indefinitely.
+     * Periodically checks the status of the registered Kubernetes clusters that are due for a probe.
+     * This method is scheduled to run with a fixed delay between ticks.
+     * Due clusters that are not in a terminal error state or pending verification indefinitely are probed; the others
+     * are just rescheduled.
      */
-    @Scheduled(fixedRateString = "${multikube.cluster.status.check.rate.ms:300000}")
-    @Transactional
+    @Scheduled(fixedDelayString = "${multikube.cluster.status.check.tick.ms:5000}")
     public void updateClusterStatuses() {
-        logger.info("Starting scheduled task to update cluster statuses.");
+        // Only this replica's shard is scheduled; clusters handed over to another replica drop out of the schedule.
+        probeSchedule.sync(ownedClusterIds(), System.currentTimeMillis());
+        List<Long> dueIds = probeSchedule.pollDue(System.currentTimeMillis());
+        if (dueIds.isEmpty()) {
+            return;
+        }
 
-        List<KubernetesCluster> clustersToCheck = clusterRepository.findAll();
+        logger.info("Starting scheduled task to update cluster statuses.");
+        Map<Long, ClusterStatus> previousStatuses = new HashMap<>();
+        List<KubernetesCluster> clustersToCheck = new ArrayList<>();
+        for (KubernetesCluster cluster : clusterRepository.findAllById(dueIds)) {
+            previousStatuses.put(cluster.getId(), cluster.getStatus());
+            if (CHECKED_STATUSES.contains(cluster.getStatus())) {
+                clustersToCheck.add(cluster);
+            } else {
+                logger.debug("Skipping status check for cluster ID: {} with current status: {}", cluster.getId(), cluster.getStatus());
+            }
+        }
 
         if (clustersToCheck.isEmpty()) {
             logger.info("No clusters found to check status.");
+            reschedule(dueIds, previousStatuses, Map.of());
             return;
         }
 
         logger.info("Found {} clusters to check.", clustersToCheck.size());
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(sweepDeadlineMs);
+        Semaphore permits = new Semaphore(maxParallelism);
+        List<CompletableFuture<ProbeResult>> probes = clustersToCheck.stream()
+                .map(cluster -> CompletableFuture.supplyAsync(() -> probe(cluster, permits, deadline), kubernetesTaskExecutor))
+                .toList();
 
-        for (KubernetesCluster cluster : clustersToCheck) {
-            if (cluster.getStatus() == ClusterStatus.ACTIVE ||
-                cluster.getStatus() == ClusterStatus.UNREACHABLE ||
-                cluster.getStatus() == ClusterStatus.PENDING_VERIFICATION ||
-                cluster.getStatus() == ClusterStatus.ERROR) {
-
-                logger.debug("Checking status for cluster ID: {}, Name: {}", cluster.getId(), cluster.getName());
-                try {
-                    providerClusterService.tryToVerifyConnectivity(cluster);
-                    logger.info("Status check complete for cluster ID: {}. New status: {}", cluster.getId(), cluster.getStatus());
-                } catch (Exception e) {
-                    logger.error("Unexpected error during status check for cluster ID: {}: {}", cluster.getId(), e.getMessage(), e);
-                }
-            } else {
-                logger.debug("Skipping status check for cluster ID: {} with current status: {}", cluster.getId(), cluster.getStatus());
+        try {
+            CompletableFuture.allOf(probes.toArray(CompletableFuture[]::new)).get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Stragglers finish in the background; they are reported as timeouts of this sweep.
+        } catch (ExecutionException e) {
+            // Not thrown: probes catch their own failures.
+            logger.error("Unexpected error during cluster status sweep: {}", e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Cluster status sweep was interrupted.");
+            return;
+        }
+
+        List<ProbeResult> results = probes.stream()
+                .filter(CompletableFuture::isDone)
+                .map(CompletableFuture::join)
+                .filter(ProbeResult::completed)
+                .toList();
+        int completed = results.size();
+        int timedOut = clustersToCheck.size() - completed;
+        long elapsedNanos = System.nanoTime() - start;
+        double elapsedSeconds = elapsedNanos / 1_000_000_000.0;
+        lastProbesPerSecond = elapsedSeconds > 0 ? completed / elapsedSeconds : 0;
+        sweepTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        probeCounter.increment(completed);
+        timeoutCounter.increment(timedOut);
+
+        reschedule(dueIds, previousStatuses, results.stream()
+                .filter(result -> result.observed() != null)
+                .collect(Collectors.toMap(ProbeResult::clusterId, ProbeResult::observed)));
+
+        if (timedOut > 0) {
+            logger.warn("Cluster status sweep hit its deadline of {} ms; {} of {} probe(s) timed out.", sweepDeadlineMs, timedOut, clustersToCheck.size());
+        }
+
+        List<ClusterStatusUpdate> changes = results.stream()
+                .map(ProbeResult::update)
+                .filter(Objects::nonNull)
+                .toList();
+        clusterRepository.recordProbeObservations(results.stream()
+                .map(ProbeResult::observation)
+                .filter(Objects::nonNull)
+                .toList());
+        List<ClusterStatusUpdate> applied = clusterRepository.updateStatusesIfUnchanged(changes);
+        applied.forEach(update -> eventPublisher.publishEvent(StatusChangeEvent.cluster(update.clusterId(), update.status())));
+        int written = applied.size();
+        if (written < changes.size()) {
+            logger.info("{} of {} status change(s) were not written because their cluster was edited during the sweep.",
+                    changes.size() - written, changes.size());
+        }
+        logger.info("Finished scheduled task to update cluster statuses: {} probe(s) in {} ms ({} probes/s), {} timed out, {} status change(s) written.",
+                completed, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), String.format("%.1f", lastProbesPerSecond), timedOut, written);
+    }
+
+    /**
+     * Probes all clusters of this replica's shard right away instead of at their scheduled time, e.g. to learn the
+     * reachability of every cluster after a restart. Runs as one sweep on the calling thread.
+     */
+    public void probeAllNow() {
+        long now = System.currentTimeMillis();
+        List<Long> owned = ownedClusterIds();
+        probeSchedule.sync(owned, now);
+        probeSchedule.expedite(owned, now);
+        updateClusterStatuses();
+    }
+
+    private List<Long> ownedClusterIds() {
+        return clusterRepository.findAllIds().stream().filter(shardCoordinator::owns).toList();
+    }
+
+    /**
+     * Hands every due cluster back to the schedule; clusters that were not probed are rescheduled at their usual interval.
+     */
+    private void reschedule(List<Long> dueIds, Map<Long, ClusterStatus> previousStatuses, Map<Long, ClusterStatus> observedStatuses) {
+        long now = System.currentTimeMillis();
+        for (Long clusterId : dueIds) {
+            probeSchedule.record(clusterId, previousStatuses.get(clusterId), observedStatuses.get(clusterId), now);
+        }
+    }
+
+    private ProbeResult probe(KubernetesCluster cluster, Semaphore permits, long deadline) {
+        try {
+            if (!permits.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                logger.debug("Skipping status check for cluster ID: {}; the sweep's deadline expired.", cluster.getId());
+                return ProbeResult.skipped(cluster.getId());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ProbeResult.skipped(cluster.getId());
+        }
+        try {
+            logger.debug("Checking status for cluster ID: {}, Name: {}", cluster.getId(), cluster.getName());
+            // Probes run at low priority so that they never starve user requests to the same cluster.
+            ClusterProbeResult result = RequestPriorityContext.callWith(RequestPriority.HEALTH_PROBE,
+                    () -> providerClusterService.probeConnectivity(cluster));
+            if (result == null) {
+                return ProbeResult.notProbed(cluster.getId());
             }
+            logger.debug("Status check complete for cluster ID: {}. Observed status: {}", cluster.getId(), result.status());
+            healthHistory.record(cluster.getId(), result);
+            ClusterProbeObservation observation = new ClusterProbeObservation(cluster.getId(), result.latencyMs(),
+                    result.serverVersion(), result.probedAt());
+            ClusterStatusUpdate update = result.status() == cluster.getStatus()
+                    ? null
+                    : new ClusterStatusUpdate(cluster.getId(), cluster.getVersion(), result.status());
+            return new ProbeResult(cluster.getId(), true, result.status(), update, observation);
+        } catch (Exception e) {
+            logger.error("Unexpected error during status check for cluster ID: {}: {}", cluster.getId(), e.getMessage(), e);
+            return ProbeResult.notProbed(cluster.getId());
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * @param clusterId   The ID of the probed cluster.
+     * @param completed   Whether the probe ran; false if it was skipped because the sweep's deadline expired while it was queued.
+     * @param observed    The observed status, or null if the cluster was not probed.
+     * @param update      The status change to write, or null if the status did not change.
+     * @param observation The probe's latency and server version to write, or null if the cluster was not probed.
+     */
+    private record ProbeResult(Long clusterId, boolean completed, ClusterStatus observed, ClusterStatusUpdate update,
+                               ClusterProbeObservation observation) {
+        static ProbeResult skipped(Long clusterId) {
+            return new ProbeResult(clusterId, false, null, null, null);
+        }
+
+        static ProbeResult notProbed(Long clusterId) {
+            return new ProbeResult(clusterId, true, null, null, null);
         }
-        logger.info("Finished scheduled task to update cluster statuses.");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,159 @@
+package com.multikube_rest_service.schedulers;
+
+import com.multikube_rest_service.entities.provider.KubernetesCluster;
+import com.multikube_rest_service.repositories.provider.KubernetesClusterRepository;
+import com.multikube_rest_service.services.kubernetes.clients.KubernetesApiClientPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Warms up the cluster connections after startup, in the background, so the service serves requests right away with
+ * the last known cluster statuses.
+ * <p>
+ * The warm-up first builds the pooled API clients of all clusters that are probed, in parallel, so the first request
+ * to a cluster does not pay for decoding its kubeconfig and setting up its client. It then probes all clusters of this
+ * replica's shard at once instead of waiting for their scheduled probes. Its progress is reported as the
+ * 'clusterWarmup' health component, which is part of the readiness group; it reports UP throughout unless the
+ * readiness gate is enabled, in which case it reports OUT_OF_SERVICE until the warm-up is done.
+ */
+@Component
+public class ClusterWarmup implements HealthIndicator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterWarmup.class);
+
+    /**
+     * The stages of the warm-up, in order.
+     */
+    public enum Phase {
+        PENDING,
+        BUILDING_CLIENTS,
+        PROBING,
+        COMPLETED
+    }
+
+    private final KubernetesClusterRepository clusterRepository;
+    private final KubernetesApiClientPool apiClientPool;
+    private final ClusterStatusScheduler statusScheduler;
+    private final ClusterShardCoordinator shardCoordinator;
+    private final ExecutorService kubernetesTaskExecutor;
+    private final boolean enabled;
+    private final boolean gateReadiness;
+    private final int maxParallelism;
+
+    private volatile Phase phase = Phase.PENDING;
+    private volatile int clusterCount;
+    private final AtomicInteger clientsBuilt = new AtomicInteger();
+    private final AtomicInteger clientsFailed = new AtomicInteger();
+    private volatile long durationMs;
+
+    public ClusterWarmup(KubernetesClusterRepository clusterRepository,
+                         KubernetesApiClientPool apiClientPool,
+                         ClusterStatusScheduler statusScheduler,
+                         ClusterShardCoordinator shardCoordinator,
+                         @Qualifier("kubernetesTaskExecutor") ExecutorService kubernetesTaskExecutor,
+                         @Value("${multikube.cluster.warmup.enabled:true}") boolean enabled,
+                         @Value("${multikube.cluster.warmup.gate.readiness:false}") boolean gateReadiness,
+                         @Value("${multikube.cluster.status.check.max.parallelism:32}") int maxParallelism) {
+        this.clusterRepository = clusterRepository;
+        this.apiClientPool = apiClientPool;
+        this.statusScheduler = statusScheduler;
+        this.shardCoordinator = shardCoordinator;
+        this.kubernetesTaskExecutor = kubernetesTaskExecutor;
+        this.enabled = enabled;
+        this.gateReadiness = gateReadiness;
+        this.maxParallelism = maxParallelism;
+    }
+
+    /**
+     * Starts the warm-up in the background once the application is ready to serve requests.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            phase = Phase.COMPLETED;
+            return;
+        }
+        kubernetesTaskExecutor.submit(this::warmUp);
+    }
+
+    /**
+     * Builds the clients of all probed clusters, then probes this replica's shard. Runs on the calling thread.
+     */
+    void warmUp() {
+        long start = System.nanoTime();
+        try {
+            phase = Phase.BUILDING_CLIENTS;
+            List<KubernetesCluster> clusters = clusterRepository.findByStatusIn(ClusterStatusScheduler.CHECKED_STATUSES);
+            clusterCount = clusters.size();
+            logger.info("Warming up the API clients of {} cluster(s).", clusters.size());
+            Semaphore permits = new Semaphore(maxParallelism);
+            CompletableFuture.allOf(clusters.stream()
+                    .map(cluster -> CompletableFuture.runAsync(() -> buildClient(cluster, permits), kubernetesTaskExecutor))
+                    .toArray(CompletableFuture[]::new)).join();
+
+            phase = Phase.PROBING;
+            // Learn this replica's shard now rather than at the first scheduled heartbeat.
+            shardCoordinator.heartbeat();
+            statusScheduler.probeAllNow();
+        } catch (RuntimeException e) {
+            logger.error("Cluster warm-up failed; clusters are probed at their scheduled time. Error: {}", e.getMessage(), e);
+        } finally {
+            durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            phase = Phase.COMPLETED;
+        }
+        logger.info("Cluster warm-up completed in {} ms: {} client(s) built, {} failed.",
+                durationMs, clientsBuilt.get(), clientsFailed.get());
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = phase == Phase.COMPLETED || !gateReadiness ? Health.up() : Health.outOfService();
+        builder.withDetail("phase", phase)
+                .withDetail("clusters", clusterCount)
+                .withDetail("clientsBuilt", clientsBuilt.get())
+                .withDetail("clientsFailed", clientsFailed.get());
+        if (phase == Phase.COMPLETED) {
+            builder.withDetail("durationMs", durationMs);
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return The current stage of the warm-up.
+     */
+    public Phase getPhase() {
+        return phase;
+    }
+
+    private void buildClient(KubernetesCluster cluster, Semaphore permits) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            apiClientPool.getClient(cluster);
+            clientsBuilt.incrementAndGet();
+        } catch (RuntimeException e) {
+            clientsFailed.incrementAndGet();
+            logger.warn("Failed to build the API client for cluster ID: {}. Error: {}", cluster.getId(), e.getMessage());
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.multikube_rest_service.schedulers;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * An immutable consistent-hash ring mapping keys to members. Each member is placed on the ring at a number of virtual
+ * nodes, so keys spread evenly, and adding or removing a member only moves the keys that member gains or loses.
+ * Positions are derived from SHA-256, so every replica computes the same ring from the same members.
+ */
+final class ConsistentHashRing {
+
+    private final TreeMap<Long, String> ring = new TreeMap<>();
+    private final Set<String> members;
+
+    ConsistentHashRing(Collection<String> members, int virtualNodes) {
+        this.members = Set.copyOf(new TreeSet<>(members));
+        for (String member : this.members) {
+            for (int node = 0; node < virtualNodes; node++) {
+                ring.putIfAbsent(hash(member + "#" + node), member);
+            }
+        }
+    }
+
+    /**
+     * @param key The key, e.g. a cluster ID.
+     * @return The member owning the key, or null if the ring has no members.
+     */
+    String ownerOf(Object key) {
+        if (ring.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash(String.valueOf(key)));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    Set<String> members() {
+        return members;
+    }
+
+    private static long hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.multikube_rest_service.services.events;
+
+/**
+ * Whose events a stream subscriber receives: the cluster events of a provider's clusters, and/or the events of a
+ * tenant's allocated clusters, namespaces and workloads.
+ *
+ * @param providerUserId The ID of the provider user, or null.
+ * @param tenantId       The ID of the tenant, or null.
+ */
+public record EventAudience(Long providerUserId, Long tenantId) {
+
+    boolean canSee(Long eventProviderUserId, Long eventTenantId) {
+        return (providerUserId != null && providerUserId.equals(eventProviderUserId))
+                || (tenantId != null && tenantId.equals(eventTenantId));
+    }
+}
@@ -0,0 +1,48 @@
+package com.multikube_rest_service.services.events;
+
+import com.multikube_rest_service.common.enums.ClusterStatus;
+import com.multikube_rest_service.common.enums.ResourceKind;
+import com.multikube_rest_service.entities.tenant.TenantNamespace;
+import com.multikube_rest_service.entities.tenant.TenantWorkload;
+
+import java.time.Instant;
+
+/**
+ * Application event published whenever the status of a cluster, namespace or workload changes.
+ * Events are delivered to the {@link StatusEventBroadcaster} only once the publishing transaction commits.
+ *
+ * @param kind       The kind of the resource.
+ * @param resourceId The ID of the resource.
+ * @param clusterId  The ID of the cluster the resource lives on (for clusters, the cluster itself).
+ * @param tenantId   The ID of the tenant owning the resource; null for clusters, whose audience is looked up on delivery.
+ * @param status     The new status, or DELETED if the resource was removed.
+ * @param occurredAt When the change happened.
+ */
+public record StatusChangeEvent(ResourceKind kind, Long resourceId, Long clusterId, Long tenantId, String status,
+                                Instant occurredAt) {
+
+    public static final String DELETED = "DELETED";
+
+    public static StatusChangeEvent cluster(Long clusterId, ClusterStatus status) {
+        return new StatusChangeEvent(ResourceKind.CLUSTER, clusterId, clusterId, null, status.name(), Instant.now());
+    }
+
+    public static StatusChangeEvent namespace(TenantNamespace namespace) {
+        return new StatusChangeEvent(ResourceKind.NAMESPACE, namespace.getId(), namespace.getKubernetesCluster().getId(),
+                namespace.getTenant().getId(), namespace.getStatus().name(), Instant.now());
+    }
+
+    public static StatusChangeEvent workload(TenantWorkload workload) {
+        return workload(workload, workload.getStatus().name());
+    }
+
+    public static StatusChangeEvent workloadDeleted(TenantWorkload workload) {
+        return workload(workload, DELETED);
+    }
+
+    private static StatusChangeEvent workload(TenantWorkload workload, String status) {
+        TenantNamespace namespace = workload.getTenantNamespace();
+        return new StatusChangeEvent(ResourceKind.WORKLOAD, workload.getId(), namespace.getKubernetesCluster().getId(),
+                namespace.getTenant().getId(), status, Instant.now());
+    }
+}
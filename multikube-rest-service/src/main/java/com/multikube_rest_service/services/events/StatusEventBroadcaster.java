@@ -0,0 +1,304 @@
+package com.multikube_rest_service.services.events;
+
+import com.multikube_rest_service.common.enums.ResourceKind;
+import com.multikube_rest_service.dtos.responses.StatusEventDto;
+import com.multikube_rest_service.repositories.provider.ClusterEventScope;
+import com.multikube_rest_service.repositories.provider.KubernetesClusterRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes committed {@link StatusChangeEvent}s to the subscribed Server-Sent Events streams.
+ * <p>
+ * Events are not sent one by one: they are collected per resource and flushed at a short interval, so a burst of
+ * changes to the same resource (e.g. a flapping cluster, or a bundle of workloads going from PROCESSING to ACTIVE)
+ * reaches the clients as its latest status only. Each flushed event gets an increasing ID and is kept in a bounded
+ * replay buffer, so a client that reconnects with a Last-Event-ID receives the events it missed. If the missed events
+ * are no longer buffered (or the ID stems from before a restart), the client receives a {@value #RESET_EVENT} event
+ * instead and should reload its lists.
+ * <p>
+ * Cluster events are visible to the provider that registered the cluster and to the tenant it is allocated to;
+ * namespace and workload events to their tenant. Events are only delivered to the streams of this replica.
+ * <p>
+ * Each stream has its own outgoing queue, drained on the Kubernetes task executor, so a slow or stalled client neither
+ * holds up the flush nor the other streams. A stream that falls further behind than the replay buffer is closed; its
+ * client reconnects and receives a {@value #RESET_EVENT} event.
+ */
+@Component
+public class StatusEventBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatusEventBroadcaster.class);
+
+    static final String STATUS_EVENT = "status";
+    static final String RESET_EVENT = "reset";
+
+    private final KubernetesClusterRepository clusterRepository;
+    private final Executor kubernetesTaskExecutor;
+    private final long emitterTimeoutMs;
+    private final int replayCapacity;
+
+    // Event IDs start at the boot time, so IDs handed out before a restart are recognized as unknown afterwards.
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final Map<PendingKey, StatusChangeEvent> pending = new LinkedHashMap<>();
+    private final Deque<DeliveredEvent> replay = new ArrayDeque<>();
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    public StatusEventBroadcaster(KubernetesClusterRepository clusterRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Qualifier("kubernetesTaskExecutor") Executor kubernetesTaskExecutor,
+                                  @Value("${multikube.events.emitter.timeout.ms:1800000}") long emitterTimeoutMs,
+                                  @Value("${multikube.events.replay.capacity:1000}") int replayCapacity) {
+        this.clusterRepository = clusterRepository;
+        this.kubernetesTaskExecutor = kubernetesTaskExecutor;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.replayCapacity = replayCapacity;
+
+        Gauge.builder("multikube.events.subscribers", subscribers, List::size)
+                .description("Number of open status event streams")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a status change once its transaction has committed (or right away if it was published outside of one),
+     * replacing any queued change of the same resource.
+     *
+     * @param event The status change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(StatusChangeEvent event) {
+        synchronized (pending) {
+            PendingKey key = new PendingKey(event.kind(), event.resourceId());
+            // Re-insert, so that the coalesced event keeps the position of the latest change.
+            pending.remove(key);
+            pending.put(key, event);
+        }
+    }
+
+    /**
+     * Opens a stream for the given audience.
+     *
+     * @param audience    Whose events the stream receives.
+     * @param lastEventId The ID of the last event the client received before reconnecting, or null for a new stream.
+     * @return The emitter the events are sent to.
+     */
+    public SseEmitter subscribe(EventAudience audience, Long lastEventId) {
+        SseEmitter emitter = createEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(audience, emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        synchronized (replay) {
+            if (lastEventId != null) {
+                long firstRetained = replay.isEmpty() ? sequence.get() + 1 : replay.peekFirst().id();
+                if (lastEventId > sequence.get() || lastEventId < firstRetained - 1) {
+                    subscriber.sendReset(sequence.get());
+                } else {
+                    subscriber.sendAll(replay.stream().filter(event -> event.id() > lastEventId).toList());
+                }
+            }
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    /**
+     * Hands the queued status changes to the subscribed streams.
+     */
+    @Scheduled(fixedDelayString = "${multikube.events.coalesce.ms:500}")
+    public void flush() {
+        List<StatusChangeEvent> events;
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            events = new ArrayList<>(pending.values());
+            pending.clear();
+        }
+
+        List<Long> clusterIds = events.stream()
+                .filter(event -> event.kind() == ResourceKind.CLUSTER)
+                .map(StatusChangeEvent::resourceId)
+                .toList();
+        Map<Long, ClusterEventScope> scopes = clusterIds.isEmpty()
+                ? Map.of()
+                : clusterRepository.findEventScopes(clusterIds).stream()
+                .collect(Collectors.toMap(ClusterEventScope::clusterId, Function.identity()));
+
+        List<DeliveredEvent> batch = new ArrayList<>(events.size());
+        synchronized (replay) {
+            for (StatusChangeEvent event : events) {
+                Long providerUserId = null;
+                Long tenantId = event.tenantId();
+                if (event.kind() == ResourceKind.CLUSTER) {
+                    ClusterEventScope scope = scopes.get(event.resourceId());
+                    if (scope == null) {
+                        // The cluster was deleted meanwhile.
+                        continue;
+                    }
+                    providerUserId = scope.providerUserId();
+                    tenantId = scope.tenantId();
+                }
+                DeliveredEvent delivered = new DeliveredEvent(sequence.incrementAndGet(), providerUserId, tenantId,
+                        new StatusEventDto(event.kind(), event.resourceId(), event.clusterId(), event.status(),
+                                Timestamp.from(event.occurredAt())));
+                replay.addLast(delivered);
+                batch.add(delivered);
+            }
+            while (replay.size() > replayCapacity) {
+                replay.removeFirst();
+            }
+        }
+
+        for (Subscriber subscriber : subscribers) {
+            subscriber.sendAll(batch);
+        }
+        logger.debug("Queued {} status event(s) for {} stream(s).", batch.size(), subscribers.size());
+    }
+
+    /**
+     * Periodically sends a comment to every stream, so that idle connections are not closed by proxies and
+     * disconnected clients are noticed.
+     */
+    @Scheduled(fixedDelayString = "${multikube.events.keepalive.ms:20000}")
+    public void keepAlive() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.send(SseEmitter.event().comment("keepalive"));
+        }
+    }
+
+    /**
+     * @return The number of open streams.
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Creates the emitter of a new stream. Overridden in tests to capture the sent events.
+     */
+    SseEmitter createEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    private record PendingKey(ResourceKind kind, Long resourceId) {
+    }
+
+    private record DeliveredEvent(long id, Long providerUserId, Long tenantId, StatusEventDto payload) {
+    }
+
+    /**
+     * A subscribed stream. Events are queued under the stream's monitor and sent by at most one drain task at a time,
+     * so they reach the client in order. Events up to the last queued ID are skipped, so an event both replayed on
+     * subscription and flushed concurrently is sent only once.
+     */
+    private final class Subscriber {
+        private final EventAudience audience;
+        private final SseEmitter emitter;
+        private final Deque<SseEmitter.SseEventBuilder> outbox = new ArrayDeque<>();
+        private long lastQueuedId = Long.MIN_VALUE;
+        private boolean draining;
+        private boolean closed;
+
+        private Subscriber(EventAudience audience, SseEmitter emitter) {
+            this.audience = audience;
+            this.emitter = emitter;
+        }
+
+        synchronized void sendAll(List<DeliveredEvent> events) {
+            for (DeliveredEvent event : events) {
+                if (event.id() <= lastQueuedId) {
+                    continue;
+                }
+                lastQueuedId = event.id();
+                if (audience.canSee(event.providerUserId(), event.tenantId())) {
+                    send(SseEmitter.event().id(Long.toString(event.id())).name(STATUS_EVENT).data(event.payload()));
+                }
+            }
+        }
+
+        synchronized void sendReset(long currentId) {
+            lastQueuedId = currentId;
+            send(SseEmitter.event().id(Long.toString(currentId)).name(RESET_EVENT).data(""));
+        }
+
+        synchronized void send(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return;
+            }
+            if (outbox.size() >= replayCapacity) {
+                // The client cannot catch up from the replay buffer anymore; it gets a reset when it reconnects.
+                logger.debug("Closing a status event stream that fell {} event(s) behind.", outbox.size());
+                close(null);
+                return;
+            }
+            outbox.addLast(event);
+            if (!draining) {
+                draining = true;
+                try {
+                    kubernetesTaskExecutor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down.
+                    close(null);
+                }
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder event;
+                synchronized (this) {
+                    event = outbox.pollFirst();
+                    if (event == null || closed) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    // The client went away; the emitter's callbacks may not fire for a broken connection.
+                    synchronized (this) {
+                        draining = false;
+                        close(e);
+                    }
+                    return;
+                }
+            }
+        }
+
+        private void close(Throwable error) {
+            closed = true;
+            outbox.clear();
+            subscribers.remove(this);
+            if (error == null) {
+                emitter.complete();
+            } else {
+                emitter.completeWithError(error);
+            }
+        }
+    }
+}
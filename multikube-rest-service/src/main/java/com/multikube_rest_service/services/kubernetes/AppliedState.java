@@ -0,0 +1,10 @@
+package com.multikube_rest_service.services.kubernetes;
+
+/**
+ * What Multikube last applied successfully for an object, used to skip applies that would change nothing.
+ *
+ * @param contentHash The canonical hash of the applied manifest (see {@link ManifestNormalizer#canonicalHash(String)}).
+ * @param generation  The object's metadata.generation after that apply, or null if its kind has none.
+ */
+public record AppliedState(String contentHash, Long generation) {
+}
@@ -0,0 +1,28 @@
+package com.multikube_rest_service.services.kubernetes;
+
+import com.multikube_rest_service.services.kubernetes.factories.KubernetesResource;
+
+/**
+ * The outcome of applying a single object as part of a bundle.
+ *
+ * @param resource   The resource that was applied.
+ * @param applied    Whether the object is in the cluster as declared, either because it was applied or because it was
+ *                   unchanged since its last apply.
+ * @param skipped    Whether the apply was skipped because the object was unchanged.
+ * @param generation The object's metadata.generation after the apply, or null if it was not applied or its kind has none.
+ * @param error      The failure message if the object was not applied, otherwise null.
+ */
+public record ApplyResult(KubernetesResource resource, boolean applied, boolean skipped, Long generation, String error) {
+
+    public static ApplyResult success(KubernetesResource resource, Long generation) {
+        return new ApplyResult(resource, true, false, generation, null);
+    }
+
+    public static ApplyResult unchanged(KubernetesResource resource, Long generation) {
+        return new ApplyResult(resource, true, true, generation, null);
+    }
+
+    public static ApplyResult failure(KubernetesResource resource, String error) {
+        return new ApplyResult(resource, false, false, null, error);
+    }
+}
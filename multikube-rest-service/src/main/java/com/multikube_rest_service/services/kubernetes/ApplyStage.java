@@ -0,0 +1,72 @@
+package com.multikube_rest_service.services.kubernetes;
+
+import java.util.Map;
+
+/**
+ * Groups Kubernetes kinds into ordered stages for applying a multi-object bundle.
+ * Every object of a stage only depends on objects of earlier stages, so stages are applied in order
+ * while the objects inside a stage can be applied concurrently.
+ */
+public enum ApplyStage {
+    /**
+     * Namespaces and definitions other objects are created in or typed by.
+     */
+    FOUNDATION,
+    /**
+     * Identities, RBAC and namespace-wide policies.
+     */
+    RBAC_AND_POLICY,
+    /**
+     * Configuration and storage consumed by workloads.
+     */
+    CONFIGURATION,
+    /**
+     * Services that workloads and ingresses refer to.
+     */
+    SERVICE,
+    /**
+     * Pod-creating controllers.
+     */
+    WORKLOAD,
+    /**
+     * Anything else, e.g. ingresses, autoscalers and custom resources.
+     */
+    OTHER;
+
+    private static final Map<String, ApplyStage> STAGES_BY_KIND = Map.ofEntries(
+            Map.entry("Namespace", FOUNDATION),
+            Map.entry("CustomResourceDefinition", FOUNDATION),
+            Map.entry("PriorityClass", FOUNDATION),
+            Map.entry("StorageClass", FOUNDATION),
+            Map.entry("ServiceAccount", RBAC_AND_POLICY),
+            Map.entry("Role", RBAC_AND_POLICY),
+            Map.entry("ClusterRole", RBAC_AND_POLICY),
+            Map.entry("RoleBinding", RBAC_AND_POLICY),
+            Map.entry("ClusterRoleBinding", RBAC_AND_POLICY),
+            Map.entry("ResourceQuota", RBAC_AND_POLICY),
+            Map.entry("LimitRange", RBAC_AND_POLICY),
+            Map.entry("NetworkPolicy", RBAC_AND_POLICY),
+            Map.entry("ConfigMap", CONFIGURATION),
+            Map.entry("Secret", CONFIGURATION),
+            Map.entry("PersistentVolume", CONFIGURATION),
+            Map.entry("PersistentVolumeClaim", CONFIGURATION),
+            Map.entry("Service", SERVICE),
+            Map.entry("Deployment", WORKLOAD),
+            Map.entry("StatefulSet", WORKLOAD),
+            Map.entry("DaemonSet", WORKLOAD),
+            Map.entry("ReplicaSet", WORKLOAD),
+            Map.entry("Job", WORKLOAD),
+            Map.entry("CronJob", WORKLOAD),
+            Map.entry("Pod", WORKLOAD)
+    );
+
+    /**
+     * Resolves the stage a kind belongs to.
+     *
+     * @param kind The Kubernetes kind, e.g. 'Deployment'.
+     * @return The matching stage, or {@link #OTHER} for unknown kinds.
+     */
+    public static ApplyStage forKind(String kind) {
+        return STAGES_BY_KIND.getOrDefault(kind, OTHER);
+    }
+}
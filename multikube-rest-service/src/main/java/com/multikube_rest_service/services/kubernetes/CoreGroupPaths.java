@@ -0,0 +1,35 @@
+package com.multikube_rest_service.services.kubernetes;
+
+import io.kubernetes.client.openapi.ApiClient;
+import okhttp3.Call;
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+
+/**
+ * Calls for built-in kinds are sometimes built through the custom objects API, which offers options the typed and
+ * dynamic clients lack (e.g. deletecollection, or watch bookmarks), but always requests '/apis/{group}/...'. The
+ * core group has an empty name and is served under '/api/...' instead.
+ */
+public final class CoreGroupPaths {
+
+    /**
+     * Points a call built through the custom objects API at the path serving its group.
+     *
+     * @param apiClient The client the call was built with.
+     * @param group     The API group of the resource; empty for the core group.
+     * @param call      The built call, not yet executed.
+     * @return The call itself for a named group, or a new call to the '/api/...' path for the core group.
+     */
+    public static Call forGroup(ApiClient apiClient, String group, Call call) {
+        if (!group.isEmpty()) {
+            return call;
+        }
+        Request request = call.request();
+        HttpUrl url = request.url();
+        String corePath = url.encodedPath().replaceFirst("^/apis//", "/api/");
+        return apiClient.getHttpClient().newCall(request.newBuilder().url(url.newBuilder().encodedPath(corePath).build()).build());
+    }
+
+    private CoreGroupPaths() {
+    }
+}
@@ -1,13 +1,24 @@
 package com.multikube_rest_service.services.kubernetes;
 
 import com.multikube_rest_service.entities.provider.KubernetesCluster;
+import com.multikube_rest_service.services.kubernetes.factories.KubernetesResource;
 import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.util.generic.dynamic.DynamicKubernetesObject;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A service for interacting with a Kubernetes cluster via its API.
  * This abstracts the complexities of the Kubernetes Java client.
+ * <p>
+ * Most operations have an asynchronous variant returning a {@link CompletableFuture}. These run on virtual threads,
+ * so the service layer can compose and fan out calls (e.g. a namespace and then its default configurations) without
+ * tying up a platform thread per call. A failed call completes its future exceptionally with a
+ * {@link java.util.concurrent.CompletionException} wrapping the exception the synchronous variant would have thrown.
  */
 public interface KubernetesClientService {
 
@@ -20,16 +31,187 @@ public interface KubernetesClientService {
      */
     void createNamespace(KubernetesCluster cluster, String namespaceName) throws ApiException;
 
+    /**
+     * Checks whether a namespace exists and is labeled as managed by Multikube (see {@link KubernetesLabels}), e.g.
+     * to tell a namespace created by an earlier attempt from someone else's namespace of the same name.
+     *
+     * @param cluster The target KubernetesCluster entity.
+     * @param namespaceName The name of the namespace.
+     * @return Whether the namespace exists and carries the {@link KubernetesLabels#MANAGED_BY_SELECTOR} label.
+     * @throws io.kubernetes.client.openapi.ApiException if the API call fails other than with 404 Not Found.
+     */
+    boolean isManagedNamespace(KubernetesCluster cluster, String namespaceName) throws ApiException;
+
     /**
      * Applies a YAML manifest to a specific namespace within a cluster.
-     * This is designed to be idempotent, similar to `kubectl apply`. It will attempt to
-     * create the resource, and if it already exists, it will attempt to replace it.
+     * This is idempotent, like `kubectl apply --server-side`: the object is sent in a single server-side apply
+     * PATCH, which creates it if missing and otherwise merges only the fields Multikube manages.
+     * Any namespaced kind served by the cluster can be applied, including custom resources; cluster-scoped kinds are
+     * refused. Fields the manifest sets that another field manager owns are not taken over: the apply fails with
+     * 409 Conflict instead. The object is labeled as managed by Multikube (see {@link KubernetesLabels}).
      *
      * @param cluster The target KubernetesCluster entity.
      * @param namespace The namespace where the resource will be applied.
      * @param yamlContent A string containing the full YAML manifest of the resource.
+     * @return The object's metadata.generation after the apply, or null if its kind has none (e.g. ConfigMaps).
+     * @throws io.kubernetes.client.openapi.ApiException if the API call fails, e.g. with 409 on a field conflict.
+     * @throws java.io.IOException if the YAML content is invalid.
+     * @throws IllegalArgumentException if the cluster serves the kind as cluster-scoped.
+     */
+    Long apply(KubernetesCluster cluster, String namespace, String yamlContent) throws IOException, ApiException;
+
+    /**
+     * Applies a YAML manifest like {@link #apply(KubernetesCluster, String, String)}, additionally setting the given
+     * labels on the object, e.g. a {@link KubernetesLabels#COMPONENT} label so the object can later be selected
+     * by {@link #deleteCollection}.
+     *
+     * @param cluster The target KubernetesCluster entity.
+     * @param namespace The namespace where the resource will be applied.
+     * @param yamlContent A string containing the full YAML manifest of the resource.
+     * @param labels Labels to set on the object; they win over labels of the same key in the manifest.
+     * @return The object's metadata.generation after the apply, or null if its kind has none (e.g. ConfigMaps).
+     * @throws io.kubernetes.client.openapi.ApiException if the API call fails.
+     * @throws java.io.IOException if the YAML content is invalid.
+     */
+    Long apply(KubernetesCluster cluster, String namespace, String yamlContent, Map<String, String> labels) throws IOException, ApiException;
+
+    /**
+     * Applies a resource like {@link #apply(KubernetesCluster, String, String, Map)}, unless the apply would change
+     * nothing: the canonical hash of the manifest (see {@link ManifestNormalizer#canonicalHash(String)}) equals the hash
+     * last applied, and the live object in the informer cache still has the generation that apply produced. As edits
+     * to kinds without a generation (e.g. ConfigMaps) cannot be told from it, such objects are instead skipped only if
+     * the cached object still matches the manifest. Objects that are not in the cache are always applied.
+     * <p>
+     * This re-applies objects Multikube applied before, so unlike {@link #apply} it takes back fields another field
+     * manager has taken over since, e.g. with {@code kubectl edit}.
+     *
+     * @param cluster     The target KubernetesCluster entity.
+     * @param namespace   The namespace where the resource will be applied.
+     * @param resource    The resource to apply.
+     * @param labels      Labels to set on the object.
+     * @param lastApplied What was last applied successfully for the object, or null if it never was.
+     * @return The result, telling whether the apply was skipped; failures are reported in the result rather than thrown.
+     */
+    ApplyResult applyIfChanged(KubernetesCluster cluster, String namespace, KubernetesResource resource, Map<String, String> labels,
+                               AppliedState lastApplied);
+
+    /**
+     * Applies a bundle of resources to a specific namespace within a cluster.
+     * Resources are grouped by {@link ApplyStage} and the stages are applied in order, so that e.g. RBAC, ConfigMaps,
+     * Secrets and Services exist before the Deployments that use them. Resources within the same stage are applied
+     * concurrently. If any resource of a stage fails, the remaining stages are not applied.
+     *
+     * @param cluster   The target KubernetesCluster entity.
+     * @param namespace The namespace where the resources will be applied.
+     * @param resources The resources to apply, typically parsed from a multi-document YAML stream.
+     * @return One result per resource, in the same order as the given resources.
+     */
+    List<ApplyResult> applyAll(KubernetesCluster cluster, String namespace, List<KubernetesResource> resources);
+
+    /**
+     * Applies a bundle of resources like {@link #applyAll(KubernetesCluster, String, List)}, additionally setting
+     * the given labels on every object.
+     *
+     * @param cluster   The target KubernetesCluster entity.
+     * @param namespace The namespace where the resources will be applied.
+     * @param resources The resources to apply, typically parsed from a multi-document YAML stream.
+     * @param labels    Labels to set on every object.
+     * @return One result per resource, in the same order as the given resources.
+     */
+    List<ApplyResult> applyAll(KubernetesCluster cluster, String namespace, List<KubernetesResource> resources, Map<String, String> labels);
+
+    /**
+     * Deletes the object described by a YAML manifest from a specific namespace within a cluster.
+     * Deleting an object that does not exist is not an error.
+     *
+     * @param cluster The target KubernetesCluster entity.
+     * @param namespace The namespace of the resource; objects of cluster-scoped kinds are left in place.
+     * @param yamlContent The YAML manifest of the resource; only 'apiVersion', 'kind' and 'metadata.name' are used.
+     * @param propagationPolicy How the dependents of the object (e.g. a Deployment's Pods) are deleted.
      * @throws io.kubernetes.client.openapi.ApiException if the API call fails.
      * @throws java.io.IOException if the YAML content is invalid.
      */
-    void apply(KubernetesCluster cluster, String namespace, String yamlContent) throws IOException, ApiException;
-}
\ No newline at end of file
+    void delete(KubernetesCluster cluster, String namespace, String yamlContent, PropagationPolicy propagationPolicy)
+            throws IOException, ApiException;
+
+    /**
+     * Deletes every object of a kind matching a label selector with a single deletecollection call.
+     *
+     * @param cluster The target KubernetesCluster entity.
+     * @param namespace The namespace to delete from; objects of cluster-scoped kinds are left in place.
+     * @param apiVersion The apiVersion of the kind, e.g. 'apps/v1'.
+     * @param kind The kind, e.g. 'Deployment'.
+     * @param labelSelector The label selector the objects must match, e.g. {@link KubernetesLabels#componentSelector}.
+     * @param propagationPolicy How the dependents of the objects are deleted.
+     * @throws io.kubernetes.client.openapi.ApiException if the API call fails.
+     * @throws java.io.IOException if the API call fails.
+     * @throws IllegalArgumentException if the label selector is empty, as that would delete every object of the kind.
+     */
+    void deleteCollection(KubernetesCluster cluster, String namespace, String apiVersion, String kind, String labelSelector,
+                          PropagationPolicy propagationPolicy) throws IOException, ApiException;
+
+    /**
+     * Tears down a set of objects, e.g. all workloads of a namespace, with one deletecollection call per distinct
+     * apiVersion/kind of the given manifests rather than one call per object. Every namespaced object of those kinds
+     * that matches the label selector is deleted, including objects not among the manifests. The objects of the
+     * manifests still listed afterwards, e.g. ones applied before they were labeled, are then deleted by name, so all of
+     * them are gone (or terminating) once this returns. That listing only reads metadata, and built-in kinds of clusters
+     * set to {@link com.multikube_rest_service.common.enums.ApiContentType#PROTOBUF} are listed with the protobuf encoding. Objects of cluster-scoped kinds are left in place.
+     *
+     * @param cluster The target KubernetesCluster entity.
+     * @param namespace The namespace to delete from.
+     * @param yamlContents The YAML manifests of the objects; only 'apiVersion', 'kind' and 'metadata.name' are used.
+     * @param labelSelector The label selector the objects must match.
+     * @param propagationPolicy How the dependents of the objects are deleted.
+     * @throws io.kubernetes.client.openapi.ApiException if an API call fails.
+     * @throws java.io.IOException if any YAML content is invalid.
+     */
+    void deleteCollections(KubernetesCluster cluster, String namespace, Collection<String> yamlContents, String labelSelector,
+                           PropagationPolicy propagationPolicy) throws IOException, ApiException;
+
+    /**
+     * Lists the live objects of a kind within a cluster.
+     *
+     * @param cluster The target KubernetesCluster entity.
+     * @param namespace The namespace to list; ignored for cluster-scoped kinds.
+     * @param apiVersion The apiVersion of the kind, e.g. 'apps/v1'.
+     * @param kind The kind, e.g. 'Deployment'.
+     * @return The objects as returned by the API server.
+     * @throws io.kubernetes.client.openapi.ApiException if the API call fails.
+     * @throws java.io.IOException if the API call fails.
+     */
+    List<DynamicKubernetesObject> list(KubernetesCluster cluster, String namespace, String apiVersion, String kind) throws IOException, ApiException;
+
+    /**
+     * Asynchronous variant of {@link #createNamespace(KubernetesCluster, String)}.
+     */
+    CompletableFuture<Void> createNamespaceAsync(KubernetesCluster cluster, String namespaceName);
+
+    /**
+     * Asynchronous variant of {@link #apply(KubernetesCluster, String, String, Map)}.
+     */
+    CompletableFuture<Long> applyAsync(KubernetesCluster cluster, String namespace, String yamlContent, Map<String, String> labels);
+
+    /**
+     * Asynchronous variant of {@link #applyAll(KubernetesCluster, String, List, Map)}. The future never completes
+     * exceptionally for a failed resource; failures are reported in the results.
+     */
+    CompletableFuture<List<ApplyResult>> applyAllAsync(KubernetesCluster cluster, String namespace, List<KubernetesResource> resources,
+                                                       Map<String, String> labels);
+
+    /**
+     * Asynchronous variant of {@link #delete(KubernetesCluster, String, String, PropagationPolicy)}.
+     */
+    CompletableFuture<Void> deleteAsync(KubernetesCluster cluster, String namespace, String yamlContent, PropagationPolicy propagationPolicy);
+
+    /**
+     * Asynchronous variant of {@link #deleteCollection(KubernetesCluster, String, String, String, String, PropagationPolicy)}.
+     */
+    CompletableFuture<Void> deleteCollectionAsync(KubernetesCluster cluster, String namespace, String apiVersion, String kind,
+                                                  String labelSelector, PropagationPolicy propagationPolicy);
+
+    /**
+     * Asynchronous variant of {@link #list(KubernetesCluster, String, String, String)}.
+     */
+    CompletableFuture<List<DynamicKubernetesObject>> listAsync(KubernetesCluster cluster, String namespace, String apiVersion, String kind);
+}
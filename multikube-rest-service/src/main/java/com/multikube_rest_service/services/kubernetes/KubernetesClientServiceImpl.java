@@ -1,175 +1,611 @@
 package com.multikube_rest_service.services.kubernetes;
 
-import com.multikube_rest_service.common.encryption.KubeconfigEncryptor;
+import com.multikube_rest_service.common.enums.ApiContentType;
 import com.multikube_rest_service.entities.provider.KubernetesCluster;
+import com.multikube_rest_service.services.kubernetes.clients.KubernetesApiClientPool;
+import com.multikube_rest_service.services.kubernetes.dynamic.ApiResourceRef;
+import com.multikube_rest_service.services.kubernetes.dynamic.ApiResourceResolver;
+import com.multikube_rest_service.services.kubernetes.encoding.ProtobufLister;
+import com.multikube_rest_service.services.kubernetes.factories.KubernetesResource;
+import com.multikube_rest_service.services.kubernetes.informers.ClusterInformerCache;
+import com.multikube_rest_service.services.kubernetes.resilience.ClusterCallGuard;
+import com.multikube_rest_service.services.kubernetes.resilience.ClusterRetryPolicy;
+import com.multikube_rest_service.services.kubernetes.resilience.KubernetesCall;
+import com.multikube_rest_service.services.kubernetes.resilience.RequestPriority;
+import com.multikube_rest_service.services.kubernetes.resilience.RequestPriorityContext;
+import com.google.gson.JsonObject;
+import io.kubernetes.client.common.KubernetesType;
+import io.kubernetes.client.custom.V1Patch;
 import io.kubernetes.client.openapi.ApiClient;
 import io.kubernetes.client.openapi.ApiException;
-import io.kubernetes.client.openapi.apis.AppsV1Api;
 import io.kubernetes.client.openapi.apis.CoreV1Api;
-import io.kubernetes.client.openapi.apis.NetworkingV1Api;
-import io.kubernetes.client.openapi.apis.RbacAuthorizationV1Api;
-import io.kubernetes.client.openapi.models.*;
-import io.kubernetes.client.util.ClientBuilder;
-import io.kubernetes.client.util.KubeConfig;
-import io.kubernetes.client.util.Yaml;
+import io.kubernetes.client.openapi.apis.CustomObjectsApi;
+import io.kubernetes.client.openapi.models.V1DeleteOptions;
+import io.kubernetes.client.openapi.models.V1Namespace;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1Status;
+import io.kubernetes.client.util.generic.KubernetesApiResponse;
+import io.kubernetes.client.util.generic.dynamic.DynamicKubernetesApi;
+import io.kubernetes.client.util.generic.dynamic.DynamicKubernetesListObject;
+import io.kubernetes.client.util.generic.dynamic.DynamicKubernetesObject;
+import io.kubernetes.client.util.generic.dynamic.Dynamics;
+import io.kubernetes.client.util.generic.options.DeleteOptions;
+import io.kubernetes.client.util.generic.options.ListOptions;
+import io.kubernetes.client.util.generic.options.PatchOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
 import java.io.IOException;
-import java.io.StringReader;
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
 
 @Service
 public class KubernetesClientServiceImpl implements KubernetesClientService {
 
     private static final Logger logger = LoggerFactory.getLogger(KubernetesClientServiceImpl.class);
 
-    private final KubeconfigEncryptor kubeconfigEncryptor;
+    /**
+     * The field manager recorded for every field Multikube sets through server-side apply.
+     */
+    static final String FIELD_MANAGER = "multikube";
+
+    private final KubernetesApiClientPool apiClientPool;
+    private final ApiResourceResolver apiResourceResolver;
+    private final ClusterCallGuard callGuard;
+    private final ClusterRetryPolicy retryPolicy;
+    private final ProtobufLister protobufLister;
+    private final ClusterInformerCache informerCache;
+    private final ExecutorService kubernetesTaskExecutor;
+    private final int maxApplyConcurrency;
 
-    public KubernetesClientServiceImpl(KubeconfigEncryptor kubeconfigEncryptor) {
-        this.kubeconfigEncryptor = kubeconfigEncryptor;
+    public KubernetesClientServiceImpl(KubernetesApiClientPool apiClientPool,
+                                       ApiResourceResolver apiResourceResolver,
+                                       ClusterCallGuard callGuard,
+                                       ClusterRetryPolicy retryPolicy,
+                                       ProtobufLister protobufLister,
+                                       ClusterInformerCache informerCache,
+                                       @Qualifier("kubernetesTaskExecutor") ExecutorService kubernetesTaskExecutor,
+                                       @Value("${multikube.kubernetes.apply.max.concurrency:8}") int maxApplyConcurrency) {
+        this.apiClientPool = apiClientPool;
+        this.apiResourceResolver = apiResourceResolver;
+        this.callGuard = callGuard;
+        this.retryPolicy = retryPolicy;
+        this.protobufLister = protobufLister;
+        this.informerCache = informerCache;
+        this.kubernetesTaskExecutor = kubernetesTaskExecutor;
+        this.maxApplyConcurrency = maxApplyConcurrency;
     }
 
     @Override
     public void createNamespace(KubernetesCluster cluster, String namespaceName) throws ApiException {
+        try {
+            createNamespaceCall(cluster.getId(), getApiClient(cluster), namespaceName).execute();
+        } catch (IOException e) {
+            // Not thrown by the typed client; connection failures surface as ApiException.
+            throw new ApiException(e);
+        }
+    }
+
+    @Override
+    public boolean isManagedNamespace(KubernetesCluster cluster, String namespaceName) throws ApiException {
         CoreV1Api api = new CoreV1Api(getApiClient(cluster));
+        try {
+            V1Namespace namespace = guarded(cluster.getId(), true, () -> api.readNamespace(namespaceName).execute()).execute();
+            Map<String, String> labels = namespace.getMetadata() == null ? null : namespace.getMetadata().getLabels();
+            return labels != null && KubernetesLabels.MANAGED_BY_VALUE.equals(labels.get(KubernetesLabels.MANAGED_BY));
+        } catch (ApiException e) {
+            if (e.getCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+                return false;
+            }
+            throw e;
+        } catch (IOException e) {
+            // Not thrown by the typed client; connection failures surface as ApiException.
+            throw new ApiException(e);
+        }
+    }
 
-        V1Namespace namespace = new V1Namespace();
-        V1ObjectMeta metadata = new V1ObjectMeta();
-        metadata.setName(namespaceName);
-        namespace.setMetadata(metadata);
+    @Override
+    public Long apply(KubernetesCluster cluster, String namespace, String yamlContent) throws IOException, ApiException {
+        return apply(cluster, namespace, yamlContent, Map.of());
+    }
 
-        api.createNamespace(namespace).execute();
+    @Override
+    public Long apply(KubernetesCluster cluster, String namespace, String yamlContent, Map<String, String> labels)
+            throws IOException, ApiException {
+        return applyCall(cluster.getId(), getApiClient(cluster), namespace, yamlContent, labels, false).execute();
     }
 
     @Override
-    public void apply(KubernetesCluster cluster, String namespace, String yamlContent) throws IOException, ApiException {
+    public ApplyResult applyIfChanged(KubernetesCluster cluster, String namespace, KubernetesResource resource,
+                                      Map<String, String> labels, AppliedState lastApplied) {
+        if (isUnchanged(cluster.getId(), namespace, resource, lastApplied)) {
+            logger.debug("Skipping apply of unchanged {}/{} in namespace '{}'", resource.k8sKind(), resource.k8sName(), namespace);
+            return ApplyResult.unchanged(resource, lastApplied.generation());
+        }
+        try {
+            // Only objects Multikube applied before are reconciled, so fields taken over by another manager since
+            // (e.g. with kubectl edit) are taken back.
+            Long generation = applyCall(cluster.getId(), getApiClient(cluster), namespace, resource.yaml(), labels, true).execute();
+            return ApplyResult.success(resource, generation);
+        } catch (Exception e) {
+            logger.error("Failed to apply resource {}/{} in namespace '{}'", resource.k8sKind(), resource.k8sName(), namespace, e);
+            return ApplyResult.failure(resource, e.getMessage());
+        }
+    }
+
+    @Override
+    public void delete(KubernetesCluster cluster, String namespace, String yamlContent, PropagationPolicy propagationPolicy)
+            throws IOException, ApiException {
+        deleteCall(cluster.getId(), getApiClient(cluster), namespace, yamlContent, propagationPolicy).execute();
+    }
+
+    @Override
+    public void deleteCollection(KubernetesCluster cluster, String namespace, String apiVersion, String kind, String labelSelector,
+                                 PropagationPolicy propagationPolicy) throws IOException, ApiException {
+        deleteCollectionCall(cluster.getId(), getApiClient(cluster), namespace, apiVersion, kind, labelSelector, propagationPolicy).execute();
+    }
+
+    @Override
+    public void deleteCollections(KubernetesCluster cluster, String namespace, Collection<String> yamlContents, String labelSelector,
+                                  PropagationPolicy propagationPolicy) throws IOException, ApiException {
+        Long clusterId = cluster.getId();
         ApiClient apiClient = getApiClient(cluster);
-        Object obj = Yaml.load(yamlContent);
-
-        // Based on the 'kind' of the loaded object, delegate to the correct API group.
-        if (obj instanceof V1Role) {
-            applyRole(apiClient, namespace, (V1Role) obj);
-        } else if (obj instanceof V1RoleBinding) {
-            applyRoleBinding(apiClient, namespace, (V1RoleBinding) obj);
-        } else if (obj instanceof V1NetworkPolicy) {
-            applyNetworkPolicy(apiClient, namespace, (V1NetworkPolicy) obj);
-        } else if (obj instanceof V1ResourceQuota) {
-            applyResourceQuota(apiClient, namespace, (V1ResourceQuota) obj);
-        } else if (obj instanceof V1LimitRange) {
-            applyLimitRange(apiClient, namespace, (V1LimitRange) obj);
-        } else if (obj instanceof V1Deployment) { // <-- ADD THIS NEW CONDITION
-            applyDeployment(apiClient, namespace, (V1Deployment) obj);
-        } else {
-            logger.warn("Unsupported Kind for apply: {}", obj.getClass().getSimpleName());
-            throw new IllegalArgumentException("Unsupported Kind for apply: " + obj.getClass().getSimpleName());
+
+        // One entry per apiVersion/kind, holding the manifests of that kind.
+        Map<String, List<DynamicKubernetesObject>> byKind = new LinkedHashMap<>();
+        for (String yamlContent : yamlContents) {
+            DynamicKubernetesObject obj = parseManifest(yamlContent);
+            byKind.computeIfAbsent(obj.getApiVersion() + "/" + obj.getKind(), key -> new ArrayList<>()).add(obj);
+        }
+
+        requireSelector(labelSelector);
+        for (List<DynamicKubernetesObject> objects : byKind.values()) {
+            DynamicKubernetesObject first = objects.get(0);
+            ApiResourceRef resource = guarded(clusterId, true, () -> {
+                ApiResourceRef resolved = apiResourceResolver.resolve(clusterId, apiClient, first.getApiVersion(), first.getKind());
+                deleteCollectionObjects(apiClient, resolved, namespace, labelSelector, propagationPolicy);
+                return resolved;
+            }).execute();
+            if (!resource.namespaced()) {
+                continue;
+            }
+
+            // Objects applied before they carried the label are not matched by the selector; they are deleted by name.
+            Set<String> remaining = listMetadataCall(clusterId, apiClient, cluster.getApiContentType(), namespace,
+                    first.getApiVersion(), first.getKind(), null).execute().stream()
+                    .map(KubernetesObjectMetadata::name)
+                    .collect(Collectors.toSet());
+            for (DynamicKubernetesObject obj : objects) {
+                String name = obj.getMetadata().getName();
+                if (remaining.contains(name)) {
+                    this.<Void>guarded(clusterId, true, () -> {
+                        deleteByName(apiClient, resource, namespace, name, propagationPolicy);
+                        return null;
+                    }).execute();
+                }
+            }
         }
     }
 
+    @Override
+    public List<DynamicKubernetesObject> list(KubernetesCluster cluster, String namespace, String apiVersion, String kind)
+            throws IOException, ApiException {
+        return listCall(cluster.getId(), getApiClient(cluster), namespace, apiVersion, kind).execute();
+    }
+
+    @Override
+    public List<ApplyResult> applyAll(KubernetesCluster cluster, String namespace, List<KubernetesResource> resources) {
+        return applyAll(cluster, namespace, resources, Map.of());
+    }
+
+    @Override
+    public List<ApplyResult> applyAll(KubernetesCluster cluster, String namespace, List<KubernetesResource> resources,
+                                      Map<String, String> labels) {
+        // Resolve the client on the calling thread; the cluster may be a lazy JPA proxy bound to this thread's session.
+        return applyStages(cluster.getId(), getApiClient(cluster), namespace, resources, labels);
+    }
+
+    @Override
+    public CompletableFuture<Void> createNamespaceAsync(KubernetesCluster cluster, String namespaceName) {
+        return submit(createNamespaceCall(cluster.getId(), getApiClient(cluster), namespaceName));
+    }
+
+    @Override
+    public CompletableFuture<Long> applyAsync(KubernetesCluster cluster, String namespace, String yamlContent, Map<String, String> labels) {
+        return submit(applyCall(cluster.getId(), getApiClient(cluster), namespace, yamlContent, labels, false));
+    }
+
+    @Override
+    public CompletableFuture<List<ApplyResult>> applyAllAsync(KubernetesCluster cluster, String namespace, List<KubernetesResource> resources,
+                                                              Map<String, String> labels) {
+        Long clusterId = cluster.getId();
+        ApiClient apiClient = getApiClient(cluster);
+        return submit(() -> applyStages(clusterId, apiClient, namespace, resources, labels));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAsync(KubernetesCluster cluster, String namespace, String yamlContent,
+                                               PropagationPolicy propagationPolicy) {
+        return submit(deleteCall(cluster.getId(), getApiClient(cluster), namespace, yamlContent, propagationPolicy));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteCollectionAsync(KubernetesCluster cluster, String namespace, String apiVersion, String kind,
+                                                         String labelSelector, PropagationPolicy propagationPolicy) {
+        return submit(deleteCollectionCall(cluster.getId(), getApiClient(cluster), namespace, apiVersion, kind, labelSelector,
+                propagationPolicy));
+    }
+
+    @Override
+    public CompletableFuture<List<DynamicKubernetesObject>> listAsync(KubernetesCluster cluster, String namespace,
+                                                                      String apiVersion, String kind) {
+        return submit(listCall(cluster.getId(), getApiClient(cluster), namespace, apiVersion, kind));
+    }
+
     // --- Private Helper Methods ---
 
-    private void applyRole(ApiClient apiClient, String namespace, V1Role role) throws ApiException {
-        RbacAuthorizationV1Api rbacApi = new RbacAuthorizationV1Api(apiClient);
-        try {
-            rbacApi.createNamespacedRole(namespace, role).execute();
-        } catch (ApiException e) {
-            if (e.getCode() == 409) { // 409 Conflict indicates the resource already exists
-                logger.debug("Role {} already exists in namespace {}. Replacing.", role.getMetadata().getName(), namespace);
-                rbacApi.replaceNamespacedRole(role.getMetadata().getName(), namespace, role).execute();
-            } else {
-                throw e;
+    /**
+     * Applies resources stage by stage, see {@link #applyAll(KubernetesCluster, String, List, Map)}.
+     */
+    private List<ApplyResult> applyStages(Long clusterId, ApiClient apiClient, String namespace, List<KubernetesResource> resources,
+                                          Map<String, String> labels) {
+        Map<ApplyStage, List<KubernetesResource>> stages = resources.stream()
+                .collect(Collectors.groupingBy(resource -> ApplyStage.forKind(resource.k8sKind()),
+                        () -> new EnumMap<>(ApplyStage.class), Collectors.toList()));
+
+        Map<KubernetesResource, ApplyResult> results = new IdentityHashMap<>();
+        Semaphore permits = new Semaphore(maxApplyConcurrency);
+        String failedStage = null;
+
+        for (Map.Entry<ApplyStage, List<KubernetesResource>> stage : stages.entrySet()) {
+            if (failedStage != null) {
+                for (KubernetesResource resource : stage.getValue()) {
+                    results.put(resource, ApplyResult.failure(resource, "Not applied because stage " + failedStage + " failed."));
+                }
+                continue;
+            }
+
+            logger.debug("Applying stage {} with {} resource(s) in namespace '{}'", stage.getKey(), stage.getValue().size(), namespace);
+            List<CompletableFuture<ApplyResult>> wave = stage.getValue().stream()
+                    .map(resource -> submit(() -> applyWithPermit(clusterId, apiClient, namespace, resource, labels, permits)))
+                    .toList();
+            for (CompletableFuture<ApplyResult> future : wave) {
+                ApplyResult result = future.join();
+                results.put(result.resource(), result);
+                if (!result.applied()) {
+                    failedStage = stage.getKey().name();
+                }
             }
         }
+
+        return resources.stream().map(results::get).toList();
     }
 
-    private void applyRoleBinding(ApiClient apiClient, String namespace, V1RoleBinding roleBinding) throws ApiException {
-        RbacAuthorizationV1Api rbacApi = new RbacAuthorizationV1Api(apiClient);
-        try {
-            rbacApi.createNamespacedRoleBinding(namespace, roleBinding).execute();
-        } catch (ApiException e) {
-            if (e.getCode() == 409) {
-                logger.debug("RoleBinding {} already exists in namespace {}. Replacing.", roleBinding.getMetadata().getName(), namespace);
-                rbacApi.replaceNamespacedRoleBinding(roleBinding.getMetadata().getName(), namespace, roleBinding).execute();
-            } else {
-                throw e;
+    /**
+     * Runs a call on the Kubernetes task executor (one virtual thread per call), carrying over the caller's
+     * {@link RequestPriority}. Checked exceptions complete the future exceptionally, wrapped in a CompletionException.
+     * <p>
+     * Callers must resolve the ApiClient and cluster ID before submitting: the cluster may be a lazy JPA proxy
+     * bound to the calling thread's session.
+     */
+    private <T> CompletableFuture<T> submit(KubernetesCall<T> call) {
+        RequestPriority priority = RequestPriorityContext.current();
+        return CompletableFuture.supplyAsync(() -> RequestPriorityContext.callWith(priority, () -> {
+            try {
+                return call.execute();
+            } catch (ApiException | IOException e) {
+                throw new CompletionException(e);
             }
-        }
+        }), kubernetesTaskExecutor);
     }
 
-    private void applyNetworkPolicy(ApiClient apiClient, String namespace, V1NetworkPolicy networkPolicy) throws ApiException {
-        NetworkingV1Api networkingApi = new NetworkingV1Api(apiClient);
-        try {
-            networkingApi.createNamespacedNetworkPolicy(namespace, networkPolicy).execute();
-        } catch (ApiException e) {
-            if (e.getCode() == 409) {
-                logger.debug("NetworkPolicy {} already exists in namespace {}. Replacing.", networkPolicy.getMetadata().getName(), namespace);
-                networkingApi.replaceNamespacedNetworkPolicy(networkPolicy.getMetadata().getName(), namespace, networkPolicy).execute();
-            } else {
-                throw e;
+    /**
+     * Wraps a call with the retry policy and, per attempt, the cluster's circuit breaker, rate limiter and bulkhead.
+     * Anything that can fail without the cluster's fault, like parsing a manifest, must happen before: a failure
+     * inside would count against the cluster's circuit and be retried.
+     *
+     * @param idempotent Whether the call may be repeated after a partial failure, e.g. a read timeout.
+     */
+    private <T> KubernetesCall<T> guarded(Long clusterId, boolean idempotent, KubernetesCall<T> call) {
+        return () -> retryPolicy.call(clusterId, idempotent, () -> callGuard.call(clusterId, call));
+    }
+
+    private KubernetesCall<Void> createNamespaceCall(Long clusterId, ApiClient apiClient, String namespaceName) {
+        CoreV1Api api = new CoreV1Api(apiClient);
+
+        V1Namespace namespace = new V1Namespace();
+        V1ObjectMeta metadata = new V1ObjectMeta();
+        metadata.setName(namespaceName);
+        metadata.putLabelsItem(KubernetesLabels.MANAGED_BY, KubernetesLabels.MANAGED_BY_VALUE);
+        namespace.setMetadata(metadata);
+
+        return guarded(clusterId, false, () -> {
+            api.createNamespace(namespace).execute();
+            return null;
+        });
+    }
+
+    private KubernetesCall<Long> applyCall(Long clusterId, ApiClient apiClient, String namespace, String yamlContent,
+                                           Map<String, String> labels, boolean force) {
+        return () -> {
+            DynamicKubernetesObject obj = parseManifest(yamlContent);
+            return guarded(clusterId, true, () -> applyObject(clusterId, apiClient, namespace, obj, labels, force)).execute();
+        };
+    }
+
+    private KubernetesCall<Void> deleteCall(Long clusterId, ApiClient apiClient, String namespace, String yamlContent,
+                                            PropagationPolicy propagationPolicy) {
+        return () -> {
+            DynamicKubernetesObject obj = parseManifest(yamlContent);
+            return this.<Void>guarded(clusterId, true, () -> {
+                ApiResourceRef resource = apiResourceResolver.resolve(clusterId, apiClient, obj.getApiVersion(), obj.getKind());
+                deleteByName(apiClient, resource, namespace, obj.getMetadata().getName(), propagationPolicy);
+                return null;
+            }).execute();
+        };
+    }
+
+    private KubernetesCall<Void> deleteCollectionCall(Long clusterId, ApiClient apiClient, String namespace, String apiVersion,
+                                                      String kind, String labelSelector, PropagationPolicy propagationPolicy) {
+        requireSelector(labelSelector);
+        return guarded(clusterId, true, () -> {
+            ApiResourceRef resource = apiResourceResolver.resolve(clusterId, apiClient, apiVersion, kind);
+            deleteCollectionObjects(apiClient, resource, namespace, labelSelector, propagationPolicy);
+            return null;
+        });
+    }
+
+    private KubernetesCall<List<DynamicKubernetesObject>> listCall(Long clusterId, ApiClient apiClient, String namespace,
+                                                                   String apiVersion, String kind) {
+        return guarded(clusterId, true, () -> {
+            ApiResourceRef resource = apiResourceResolver.resolve(clusterId, apiClient, apiVersion, kind);
+            DynamicKubernetesApi dynamicApi = dynamicApi(resource, apiClient);
+            DynamicKubernetesListObject list = resource.namespaced()
+                    ? checked(dynamicApi.list(namespace)).getObject()
+                    : checked(dynamicApi.list()).getObject();
+            return list.getItems();
+        });
+    }
+
+    private KubernetesCall<List<KubernetesObjectMetadata>> listMetadataCall(Long clusterId, ApiClient apiClient, ApiContentType contentType,
+                                                                            String namespace, String apiVersion, String kind,
+                                                                            String labelSelector) {
+        return guarded(clusterId, true, () -> {
+            ApiResourceRef resource = apiResourceResolver.resolve(clusterId, apiClient, apiVersion, kind);
+            if (contentType == ApiContentType.PROTOBUF && protobufLister.supports(resource)) {
+                return protobufLister.list(apiClient, resource, namespace, labelSelector);
             }
-        }
+
+            DynamicKubernetesApi dynamicApi = dynamicApi(resource, apiClient);
+            ListOptions options = new ListOptions().labelSelector(labelSelector);
+            DynamicKubernetesListObject list = resource.namespaced() && namespace != null
+                    ? checked(dynamicApi.list(namespace, options)).getObject()
+                    : checked(dynamicApi.list(options)).getObject();
+            return list.getItems().stream()
+                    .map(item -> {
+                        V1ObjectMeta meta = item.getMetadata();
+                        return new KubernetesObjectMetadata(meta.getNamespace(), meta.getName(), meta.getUid(), meta.getResourceVersion(),
+                                meta.getLabels() == null ? Map.of() : Map.copyOf(meta.getLabels()));
+                    })
+                    .toList();
+        });
     }
 
-    private void applyResourceQuota(ApiClient apiClient, String namespace, V1ResourceQuota resourceQuota) throws ApiException {
-        CoreV1Api coreApi = new CoreV1Api(apiClient);
+    private ApplyResult applyWithPermit(Long clusterId, ApiClient apiClient, String namespace, KubernetesResource resource,
+                                        Map<String, String> labels, Semaphore permits) {
         try {
-            coreApi.createNamespacedResourceQuota(namespace, resourceQuota).execute();
-        } catch (ApiException e) {
-            if (e.getCode() == 409) {
-                assert resourceQuota.getMetadata() != null;
-                logger.debug("ResourceQuota {} already exists in namespace {}. Replacing.", resourceQuota.getMetadata().getName(), namespace);
-                assert resourceQuota.getMetadata().getName() != null;
-                coreApi.replaceNamespacedResourceQuota(resourceQuota.getMetadata().getName(), namespace, resourceQuota).execute();
-            } else {
-                throw e;
-            }
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ApplyResult.failure(resource, "Interrupted before apply.");
+        }
+        try {
+            Long generation = applyCall(clusterId, apiClient, namespace, resource.yaml(), labels, false).execute();
+            return ApplyResult.success(resource, generation);
+        } catch (Exception e) {
+            logger.error("Failed to apply resource {}/{} in namespace '{}'", resource.k8sKind(), resource.k8sName(), namespace, e);
+            return ApplyResult.failure(resource, e.getMessage());
+        } finally {
+            permits.release();
         }
     }
 
-    private void applyLimitRange(ApiClient apiClient, String namespace, V1LimitRange limitRange) throws ApiException {
-        CoreV1Api coreApi = new CoreV1Api(apiClient);
+    /**
+     * Applies a single object with server-side apply: one PATCH with content type application/apply-patch+yaml,
+     * owned by the {@value #FIELD_MANAGER} field manager. The API server merges the object field by field, so
+     * fields owned by other controllers (e.g. an autoscaler's replica count) are left untouched. Unless forced, a
+     * field the manifest sets that another manager owns fails the apply with 409 Conflict, naming the manager.
+     *
+     * @param force Whether to take over conflicting fields; only for objects Multikube applied before.
+     * @return The metadata.generation of the applied object, or null if its kind has none.
+     * @throws IllegalArgumentException if the cluster serves the kind as cluster-scoped.
+     */
+    private Long applyObject(Long clusterId, ApiClient apiClient, String namespace, DynamicKubernetesObject obj,
+                             Map<String, String> labels, boolean force) throws ApiException {
+        ApiResourceRef resource = apiResourceResolver.resolve(clusterId, apiClient, obj.getApiVersion(), obj.getKind());
+        requireNamespaced(resource, obj.getMetadata().getName());
+        String name = obj.getMetadata().getName();
+        JsonObject metadata = obj.getRaw().getAsJsonObject("metadata");
+        // The target namespace always wins over whatever the manifest declares.
+        metadata.addProperty("namespace", namespace);
+        // Mark the object as ours, so the informer caches pick it up.
+        if (!metadata.has("labels") || !metadata.get("labels").isJsonObject()) {
+            metadata.add("labels", new JsonObject());
+        }
+        JsonObject objectLabels = metadata.getAsJsonObject("labels");
+        labels.forEach(objectLabels::addProperty);
+        objectLabels.addProperty(KubernetesLabels.MANAGED_BY, KubernetesLabels.MANAGED_BY_VALUE);
+
+        DynamicKubernetesApi dynamicApi = dynamicApi(resource, apiClient);
+        // JSON is valid YAML, so the normalized object can be sent as an apply patch as-is.
+        V1Patch patch = new V1Patch(obj.getRaw().toString());
+        PatchOptions options = new PatchOptions().fieldManager(FIELD_MANAGER).force(force);
+
+        logger.debug("Server-side applying {}/{} in namespace '{}'", obj.getKind(), name, namespace);
+        DynamicKubernetesObject applied = checked(dynamicApi.patch(namespace, name, V1Patch.PATCH_FORMAT_APPLY_YAML, patch, options)).getObject();
+        return applied == null || applied.getMetadata() == null ? null : applied.getMetadata().getGeneration();
+    }
+
+    /**
+     * Checks whether applying a resource would change nothing, judged from the informer cache without calling the
+     * API server.
+     *
+     * @return Whether the manifest and the live object are unchanged since the last apply.
+     */
+    boolean isUnchanged(Long clusterId, String namespace, KubernetesResource resource, AppliedState lastApplied) {
+        if (lastApplied == null || lastApplied.contentHash() == null || !informerCache.isCached(resource.k8sKind())
+                || !informerCache.isSynced(clusterId)) {
+            return false;
+        }
+        JsonObject desired;
         try {
-            coreApi.createNamespacedLimitRange(namespace, limitRange).execute();
-        } catch (ApiException e) {
-            if (e.getCode() == 409) {
-                logger.debug("LimitRange {} already exists in namespace {}. Replacing.", limitRange.getMetadata().getName(), namespace);
-                coreApi.replaceNamespacedLimitRange(limitRange.getMetadata().getName(), namespace, limitRange).execute();
-            } else {
-                throw e;
-            }
+            desired = ManifestNormalizer.normalize(resource.yaml());
+        } catch (IOException e) {
+            // Left to the apply, which reports the invalid manifest.
+            return false;
+        }
+        if (!ManifestNormalizer.canonicalHash(desired).equals(lastApplied.contentHash())) {
+            return false;
         }
+        Optional<DynamicKubernetesObject> live = informerCache.get(clusterId, resource.k8sKind(), namespace, resource.k8sName());
+        if (live.isEmpty() || live.get().getMetadata() == null) {
+            return false;
+        }
+        Long liveGeneration = live.get().getMetadata().getGeneration();
+        return liveGeneration != null
+                ? liveGeneration.equals(lastApplied.generation())
+                : ManifestNormalizer.matches(desired, live.get().getRaw());
     }
 
-    private void applyDeployment(ApiClient apiClient, String namespace, V1Deployment deployment) throws ApiException {
-        AppsV1Api appsApi = new AppsV1Api(apiClient);
+    /**
+     * Deletes a single object. An object that no longer exists counts as deleted. Objects of cluster-scoped kinds are
+     * left in place, see {@link #isClusterScoped}.
+     */
+    private void deleteByName(ApiClient apiClient, ApiResourceRef resource, String namespace, String name,
+                              PropagationPolicy propagationPolicy) throws ApiException {
+        if (isClusterScoped(resource, name)) {
+            return;
+        }
+        DynamicKubernetesApi dynamicApi = dynamicApi(resource, apiClient);
+        DeleteOptions options = new DeleteOptions();
+        options.setPropagationPolicy(propagationPolicy.apiValue());
+
+        logger.debug("Deleting {}/{} in namespace '{}' with propagation {}", resource.kind(), name, namespace, propagationPolicy);
+        KubernetesApiResponse<DynamicKubernetesObject> response = dynamicApi.delete(namespace, name, options);
+        if (response.getHttpStatusCode() != HttpURLConnection.HTTP_NOT_FOUND) {
+            checked(response);
+        }
+    }
+
+    /**
+     * Deletes every object of a resource matching a label selector with one deletecollection call. The dynamic
+     * client has no deletecollection, so the call is built through the custom objects API, see {@link CoreGroupPaths}.
+     */
+    private void deleteCollectionObjects(ApiClient apiClient, ApiResourceRef resource, String namespace, String labelSelector,
+                                         PropagationPolicy propagationPolicy) throws ApiException {
+        if (isClusterScoped(resource, labelSelector)) {
+            return;
+        }
+        CustomObjectsApi api = new CustomObjectsApi(apiClient);
+        V1DeleteOptions body = new V1DeleteOptions().propagationPolicy(propagationPolicy.apiValue());
+
+        logger.debug("Deleting all {} matching '{}' in namespace '{}' with propagation {}", resource.plural(), labelSelector, namespace,
+                propagationPolicy);
+        okhttp3.Call call = api.deleteCollectionNamespacedCustomObject(resource.group(), resource.version(), namespace, resource.plural())
+                .labelSelector(labelSelector).propagationPolicy(propagationPolicy.apiValue()).body(body).buildCall(null);
+        apiClient.execute(CoreGroupPaths.forGroup(apiClient, resource.group(), call));
+    }
+
+    /**
+     * Throws an ApiException for a failed dynamic client response. Unlike {@code throwsApiException()}, this keeps
+     * the server's retry hint (status details.retryAfterSeconds) as a Retry-After header for the retry policy.
+     */
+    private static <T extends KubernetesType> KubernetesApiResponse<T> checked(KubernetesApiResponse<T> response) throws ApiException {
+        if (response.isSuccess()) {
+            return response;
+        }
+        V1Status status = response.getStatus();
+        Map<String, List<String>> headers = new HashMap<>();
+        if (status != null && status.getDetails() != null && status.getDetails().getRetryAfterSeconds() != null) {
+            headers.put("Retry-After", List.of(String.valueOf(status.getDetails().getRetryAfterSeconds())));
+        }
+        throw new ApiException(status == null ? null : status.getMessage(), response.getHttpStatusCode(), headers, null);
+    }
+
+    /**
+     * Everything Multikube applies lives in a tenant namespace. A cluster-scoped object is shared by the whole cluster,
+     * so it is never applied, nor deleted on behalf of a tenant.
+     */
+    private static void requireNamespaced(ApiResourceRef resource, String name) {
+        if (!resource.namespaced()) {
+            throw new IllegalArgumentException("The cluster-scoped kind '" + resource.kind() + "' of resource '" + name
+                    + "' cannot be applied into a namespace.");
+        }
+    }
+
+    /**
+     * @param target The name or selector of the objects, for logging.
+     * @return Whether the kind is cluster-scoped, in which case its objects must be left in place (see {@link #requireNamespaced}).
+     */
+    private static boolean isClusterScoped(ApiResourceRef resource, String target) {
+        if (resource.namespaced()) {
+            return false;
+        }
+        logger.warn("Leaving cluster-scoped {} '{}' in place; only namespaced objects are deleted.", resource.kind(), target);
+        return true;
+    }
+
+    /**
+     * Guards against an empty selector, which would make a deletecollection delete every object of a kind.
+     */
+    private static void requireSelector(String labelSelector) {
+        if (!StringUtils.hasText(labelSelector)) {
+            throw new IllegalArgumentException("A label selector is required to delete a collection of objects.");
+        }
+    }
+
+    private static DynamicKubernetesObject parseManifest(String yamlContent) throws IOException {
+        DynamicKubernetesObject obj;
         try {
-            // Attempt to create the deployment
-            appsApi.createNamespacedDeployment(namespace, deployment).execute();
-        } catch (ApiException e) {
-            if (e.getCode() == 409) { // 409 Conflict means it already exists
-                logger.debug("Deployment {} already exists in namespace {}. Replacing.", deployment.getMetadata().getName(), namespace);
-                // If it exists, replace it
-                appsApi.replaceNamespacedDeployment(deployment.getMetadata().getName(), namespace, deployment).execute();
-            } else {
-                // If it's another error, re-throw it
-                throw e;
-            }
+            obj = Dynamics.newFromYaml(yamlContent);
+        } catch (RuntimeException e) {
+            throw new IOException("Invalid YAML manifest: " + e.getMessage(), e);
+        }
+        if (obj.getKind() == null || obj.getApiVersion() == null || obj.getMetadata() == null || obj.getMetadata().getName() == null) {
+            throw new IllegalArgumentException("Manifest must contain 'apiVersion', 'kind' and 'metadata.name'.");
         }
+        return obj;
+    }
+
+    private static DynamicKubernetesApi dynamicApi(ApiResourceRef resource, ApiClient apiClient) {
+        return new DynamicKubernetesApi(resource.group(), resource.version(), resource.plural(), apiClient);
     }
 
     /**
-     * Creates a configured ApiClient from the encrypted kubeconfig stored in the cluster entity.
+     * Returns the pooled ApiClient for the cluster, so that connections and TLS sessions are reused across calls.
      * @param cluster The cluster entity.
      * @return A configured ApiClient.
      * @throws RuntimeException if the kubeconfig cannot be processed.
      */
     private ApiClient getApiClient(KubernetesCluster cluster) {
-        try {
-            String decryptedKubeconfig = kubeconfigEncryptor.decrypt(cluster.getKubeconfigEncrypted());
-            return ClientBuilder.kubeconfig(KubeConfig.loadKubeConfig(new StringReader(decryptedKubeconfig))).build();
-        } catch (IOException e) {
-            logger.error("Failed to process kubeconfig for cluster ID: {}", cluster.getId(), e);
-            throw new RuntimeException("Failed to process kubeconfig for cluster " + cluster.getName(), e);
-        }
+        return apiClientPool.getClient(cluster);
     }
 }
\ No newline at end of file
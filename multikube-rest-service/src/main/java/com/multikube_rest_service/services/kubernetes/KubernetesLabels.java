@@ -0,0 +1,40 @@
+package com.multikube_rest_service.services.kubernetes;
+
+/**
+ * Labels Multikube sets on the objects it manages.
+ */
+public final class KubernetesLabels {
+
+    /**
+     * The well-known label marking the tool that manages an object.
+     */
+    public static final String MANAGED_BY = "app.kubernetes.io/managed-by";
+
+    public static final String MANAGED_BY_VALUE = "multikube";
+
+    /**
+     * A label selector matching every object managed by Multikube.
+     */
+    public static final String MANAGED_BY_SELECTOR = MANAGED_BY + "=" + MANAGED_BY_VALUE;
+
+    /**
+     * Marks what an object was applied as, so that all workloads or all configurations of a namespace can be
+     * selected (e.g. for a deletecollection) without naming each object.
+     */
+    public static final String COMPONENT = "multikube.io/component";
+
+    public static final String COMPONENT_WORKLOAD = "workload";
+
+    public static final String COMPONENT_CONFIGURATION = "configuration";
+
+    /**
+     * @param component The component, e.g. {@link #COMPONENT_WORKLOAD}.
+     * @return A label selector matching every object managed by Multikube as the given component.
+     */
+    public static String componentSelector(String component) {
+        return MANAGED_BY_SELECTOR + "," + COMPONENT + "=" + component;
+    }
+
+    private KubernetesLabels() {
+    }
+}
@@ -0,0 +1,16 @@
+package com.multikube_rest_service.services.kubernetes;
+
+import java.util.Map;
+
+/**
+ * The identifying metadata of a live object, as returned by list calls that do not need the full object.
+ *
+ * @param namespace       The namespace of the object, null for cluster-scoped objects.
+ * @param name            The name of the object.
+ * @param uid             The UID assigned by the API server.
+ * @param resourceVersion The resourceVersion of the object.
+ * @param labels          The labels of the object, never null.
+ */
+public record KubernetesObjectMetadata(String namespace, String name, String uid, String resourceVersion,
+                                       Map<String, String> labels) {
+}
@@ -0,0 +1,257 @@
+package com.multikube_rest_service.services.kubernetes;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import io.kubernetes.client.custom.Quantity;
+import io.kubernetes.client.util.generic.dynamic.Dynamics;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Reduces Kubernetes manifests to the fields a user declares, so that a stored manifest can be compared with the live
+ * object the API server returns.
+ * <p>
+ * Normalizing drops the status, every metadata field other than name, labels and annotations (the namespace is set by
+ * Multikube on apply), the last-applied annotation of kubectl, and null values, and orders all keys. A live object
+ * matches a normalized manifest if every declared field has the same value in the live object; fields the server
+ * defaults or other controllers add are ignored. Numbers are compared by value, and so are the resource quantities under
+ * resources.requests, resources.limits, capacity and hard, so '1000m' matches '1' there. Other strings, such as
+ * environment variables or annotations, are compared exactly.
+ * <p>
+ * The canonical hash of a manifest is the SHA-256 of its normalized JSON. Since the normalized form has a fixed key
+ * order and no server-managed fields, manifests that differ only in formatting, key order or such fields hash alike.
+ */
+public final class ManifestNormalizer {
+
+    private static final Set<String> DECLARED_METADATA = Set.of("name", "labels", "annotations");
+
+    private static final Set<String> QUANTITY_MAPS = Set.of("capacity", "hard");
+
+    private static final Set<String> RESOURCE_QUANTITY_MAPS = Set.of("requests", "limits");
+
+    private static final String LAST_APPLIED_ANNOTATION = "kubectl.kubernetes.io/last-applied-configuration";
+
+    /**
+     * Parses and normalizes a YAML manifest.
+     *
+     * @param yamlContent The manifest.
+     * @return The normalized manifest.
+     * @throws IOException if the YAML is invalid or not an object.
+     */
+    public static JsonObject normalize(String yamlContent) throws IOException {
+        JsonObject raw;
+        try {
+            raw = Dynamics.newFromYaml(yamlContent).getRaw();
+        } catch (RuntimeException e) {
+            throw new IOException("Invalid YAML manifest: " + e.getMessage(), e);
+        }
+        return normalize(raw);
+    }
+
+    /**
+     * Normalizes a manifest or live object. The given object is not modified.
+     *
+     * @param object The manifest or live object.
+     * @return The normalized copy.
+     */
+    public static JsonObject normalize(JsonObject object) {
+        JsonObject normalized = new JsonObject();
+        for (Map.Entry<String, JsonElement> entry : sorted(object)) {
+            switch (entry.getKey()) {
+                case "status" -> {
+                    // Owned by the server.
+                }
+                case "metadata" -> {
+                    if (entry.getValue().isJsonObject()) {
+                        normalized.add("metadata", normalizeMetadata(entry.getValue().getAsJsonObject()));
+                    }
+                }
+                default -> addIfPresent(normalized, entry.getKey(), normalizeElement(entry.getValue()));
+            }
+        }
+        return normalized;
+    }
+
+    /**
+     * Computes the canonical hash of a YAML manifest.
+     *
+     * @param yamlContent The manifest.
+     * @return The hex-encoded SHA-256 of the normalized manifest, 64 characters long.
+     * @throws IOException if the YAML is invalid or not an object.
+     */
+    public static String canonicalHash(String yamlContent) throws IOException {
+        return canonicalHash(normalize(yamlContent));
+    }
+
+    /**
+     * Computes the canonical hash of a normalized manifest.
+     *
+     * @param normalized The normalized manifest.
+     * @return The hex-encoded SHA-256 of the manifest, 64 characters long.
+     */
+    public static String canonicalHash(JsonObject normalized) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(normalized.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Checks whether a live object carries every field of a normalized manifest with the same value.
+     *
+     * @param desired The normalized manifest.
+     * @param live    The live object, normalized or not.
+     * @return Whether the live object matches.
+     */
+    public static boolean matches(JsonObject desired, JsonObject live) {
+        return contains(desired, normalize(live), null, false);
+    }
+
+    private static JsonObject normalizeMetadata(JsonObject metadata) {
+        JsonObject normalized = new JsonObject();
+        for (Map.Entry<String, JsonElement> entry : sorted(metadata)) {
+            if (!DECLARED_METADATA.contains(entry.getKey())) {
+                continue;
+            }
+            JsonElement value = normalizeElement(entry.getValue());
+            if (entry.getKey().equals("annotations") && value != null && value.isJsonObject()) {
+                value.getAsJsonObject().remove(LAST_APPLIED_ANNOTATION);
+            }
+            addIfPresent(normalized, entry.getKey(), value);
+        }
+        return normalized;
+    }
+
+    private static JsonElement normalizeElement(JsonElement element) {
+        if (element == null || element.isJsonNull()) {
+            return null;
+        }
+        if (element.isJsonObject()) {
+            JsonObject normalized = new JsonObject();
+            for (Map.Entry<String, JsonElement> entry : sorted(element.getAsJsonObject())) {
+                addIfPresent(normalized, entry.getKey(), normalizeElement(entry.getValue()));
+            }
+            return normalized;
+        }
+        if (element.isJsonArray()) {
+            JsonArray normalized = new JsonArray();
+            for (JsonElement item : element.getAsJsonArray()) {
+                JsonElement value = normalizeElement(item);
+                normalized.add(value);
+            }
+            return normalized;
+        }
+        return element;
+    }
+
+    private static void addIfPresent(JsonObject target, String key, JsonElement value) {
+        if (value != null) {
+            target.add(key, value);
+        }
+    }
+
+    private static Iterable<Map.Entry<String, JsonElement>> sorted(JsonObject object) {
+        Map<String, JsonElement> sorted = new TreeMap<>();
+        object.entrySet().forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted.entrySet();
+    }
+
+    /**
+     * @param key        The key of the desired element in its parent object, or null at the root.
+     * @param quantities Whether the desired element is a quantity map or one of its values.
+     */
+    private static boolean contains(JsonElement desired, JsonElement live, String key, boolean quantities) {
+        if (desired == null || desired.isJsonNull()) {
+            return true;
+        }
+        if (desired.isJsonObject()) {
+            if (live == null || !live.isJsonObject()) {
+                // An empty object is satisfied by an absent one.
+                return desired.getAsJsonObject().isEmpty() && (live == null || live.isJsonNull());
+            }
+            JsonObject liveObject = live.getAsJsonObject();
+            for (Map.Entry<String, JsonElement> entry : desired.getAsJsonObject().entrySet()) {
+                boolean quantityValues = quantities || isQuantityMap(key, entry.getKey());
+                if (!contains(entry.getValue(), liveObject.get(entry.getKey()), entry.getKey(), quantityValues)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (desired.isJsonArray()) {
+            JsonArray desiredArray = desired.getAsJsonArray();
+            if (live == null || !live.isJsonArray()) {
+                return desiredArray.isEmpty() && (live == null || live.isJsonNull());
+            }
+            JsonArray liveArray = live.getAsJsonArray();
+            if (desiredArray.size() != liveArray.size()) {
+                return false;
+            }
+            for (int i = 0; i < desiredArray.size(); i++) {
+                if (!contains(desiredArray.get(i), liveArray.get(i), key, false)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return live != null && live.isJsonPrimitive()
+                && sameValue(desired.getAsJsonPrimitive(), live.getAsJsonPrimitive(), quantities);
+    }
+
+    /**
+     * @return Whether the object under the given key maps resource names to quantities, e.g. the limits of a
+     * container's resources or the hard limits of a ResourceQuota.
+     */
+    private static boolean isQuantityMap(String parentKey, String key) {
+        return QUANTITY_MAPS.contains(key) || ("resources".equals(parentKey) && RESOURCE_QUANTITY_MAPS.contains(key));
+    }
+
+    private static boolean sameValue(JsonPrimitive desired, JsonPrimitive live, boolean quantities) {
+        if (desired.equals(live) || desired.getAsString().equals(live.getAsString())) {
+            return true;
+        }
+        if (desired.isNumber() && live.isNumber()) {
+            return desired.getAsBigDecimal().compareTo(live.getAsBigDecimal()) == 0;
+        }
+        if (!quantities) {
+            return false;
+        }
+        BigDecimal desiredQuantity = quantityOf(desired);
+        BigDecimal liveQuantity = quantityOf(live);
+        return desiredQuantity != null && liveQuantity != null && desiredQuantity.compareTo(liveQuantity) == 0;
+    }
+
+    /**
+     * @return The value of a number or quantity (e.g. '500m', '1Gi'), or null if the primitive is neither.
+     */
+    private static BigDecimal quantityOf(JsonPrimitive primitive) {
+        if (primitive.isNumber()) {
+            return primitive.getAsBigDecimal();
+        }
+        String value = primitive.getAsString();
+        if (value.isEmpty() || !(Character.isDigit(value.charAt(0)) || value.charAt(0) == '.')) {
+            return null;
+        }
+        try {
+            return new Quantity(value).getNumber();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private ManifestNormalizer() {
+    }
+}
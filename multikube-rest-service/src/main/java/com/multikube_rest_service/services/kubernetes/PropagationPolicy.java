@@ -0,0 +1,32 @@
+package com.multikube_rest_service.services.kubernetes;
+
+/**
+ * How the garbage collector treats the dependents (e.g. a Deployment's ReplicaSets and Pods) of a deleted object.
+ */
+public enum PropagationPolicy {
+    /**
+     * The object is removed only after all of its dependents have been deleted.
+     */
+    FOREGROUND("Foreground"),
+    /**
+     * The object is removed immediately and its dependents are deleted in the background.
+     */
+    BACKGROUND("Background"),
+    /**
+     * The object is removed and its dependents are left running.
+     */
+    ORPHAN("Orphan");
+
+    private final String apiValue;
+
+    PropagationPolicy(String apiValue) {
+        this.apiValue = apiValue;
+    }
+
+    /**
+     * @return The value of the 'propagationPolicy' delete option as the API server expects it.
+     */
+    public String apiValue() {
+        return apiValue;
+    }
+}
@@ -0,0 +1,12 @@
+package com.multikube_rest_service.services.kubernetes.clients;
+
+/**
+ * A point-in-time snapshot of the {@link KubernetesApiClientPool} counters.
+ *
+ * @param size      The number of clients currently cached.
+ * @param hits      The number of lookups served by a cached client.
+ * @param misses    The number of lookups that had to build a new client.
+ * @param evictions The number of clients closed because they were idle, stale or invalidated.
+ */
+public record ApiClientPoolStats(int size, long hits, long misses, long evictions) {
+}
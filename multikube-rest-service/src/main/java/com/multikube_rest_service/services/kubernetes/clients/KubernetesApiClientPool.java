@@ -0,0 +1,234 @@
+package com.multikube_rest_service.services.kubernetes.clients;
+
+import com.multikube_rest_service.common.encryption.KubeconfigEncryptor;
+import com.multikube_rest_service.entities.provider.KubernetesCluster;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.util.ClientBuilder;
+import io.kubernetes.client.util.KubeConfig;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import okhttp3.OkHttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A registry of long-lived {@link ApiClient} instances, one per registered cluster.
+ * <p>
+ * Building an ApiClient means decrypting and parsing the kubeconfig and creating a new OkHttp client
+ * with its own connection pool and TLS context, so every fresh client pays a full TLS handshake on first use.
+ * This pool keeps one client per cluster, keyed by the cluster ID and a fingerprint of its encrypted kubeconfig,
+ * so that connections are reused across calls. A client is replaced as soon as the stored kubeconfig changes,
+ * removed when the cluster is deleted, and evicted after it has been idle for a configurable period.
+ */
+@Component
+public class KubernetesApiClientPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(KubernetesApiClientPool.class);
+
+    private final KubeconfigEncryptor kubeconfigEncryptor;
+    private final int connectTimeoutMs;
+    private final int readTimeoutMs;
+    private final long idleTimeoutMs;
+
+    private final ConcurrentMap<Long, PooledClient> clients = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public KubernetesApiClientPool(
+            KubeconfigEncryptor kubeconfigEncryptor,
+            MeterRegistry meterRegistry,
+            @Value("${multikube.kubernetes.client.connect.timeout.ms:5000}") int connectTimeoutMs,
+            @Value("${multikube.kubernetes.client.read.timeout.ms:10000}") int readTimeoutMs,
+            @Value("${multikube.kubernetes.client.idle.timeout.ms:900000}") long idleTimeoutMs) {
+        this.kubeconfigEncryptor = kubeconfigEncryptor;
+        this.connectTimeoutMs = connectTimeoutMs;
+        this.readTimeoutMs = readTimeoutMs;
+        this.idleTimeoutMs = idleTimeoutMs;
+
+        Gauge.builder("multikube.kubernetes.client.pool.size", clients, ConcurrentMap::size)
+                .description("Number of cached Kubernetes API clients")
+                .register(meterRegistry);
+        FunctionCounter.builder("multikube.kubernetes.client.pool.hits", hits, LongAdder::sum)
+                .description("Lookups served by an already cached client")
+                .register(meterRegistry);
+        FunctionCounter.builder("multikube.kubernetes.client.pool.misses", misses, LongAdder::sum)
+                .description("Lookups that required building a new client")
+                .register(meterRegistry);
+        FunctionCounter.builder("multikube.kubernetes.client.pool.evictions", evictions, LongAdder::sum)
+                .description("Clients removed because they were idle, stale or invalidated")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the pooled ApiClient for the given cluster, building one if none is cached
+     * or if the cached client was built from a different kubeconfig.
+     *
+     * @param cluster The cluster entity holding the encrypted kubeconfig.
+     * @return A configured, shared ApiClient.
+     * @throws RuntimeException if the kubeconfig cannot be processed.
+     */
+    public ApiClient getClient(KubernetesCluster cluster) {
+        String kubeconfigVersion = fingerprint(cluster.getKubeconfigEncrypted());
+        PooledClient pooled = clients.compute(cluster.getId(), (id, existing) -> {
+            if (existing != null && existing.kubeconfigVersion().equals(kubeconfigVersion)) {
+                hits.increment();
+                return existing;
+            }
+            if (existing != null) {
+                logger.info("Kubeconfig changed for cluster ID: {}. Replacing cached API client.", id);
+                close(existing);
+                evictions.increment();
+            }
+            misses.increment();
+            return new PooledClient(buildClient(cluster, readTimeoutMs), kubeconfigVersion);
+        });
+        pooled.touch();
+        return pooled.apiClient();
+    }
+
+    /**
+     * Builds a dedicated, unpooled client for long-running watch connections, with no read timeout.
+     * The caller owns the client and must release it with {@link #closeClient(ApiClient)}.
+     *
+     * @param cluster The cluster entity holding the encrypted kubeconfig.
+     * @return A new ApiClient.
+     * @throws RuntimeException if the kubeconfig cannot be processed.
+     */
+    public ApiClient newWatchClient(KubernetesCluster cluster) {
+        return buildClient(cluster, 0);
+    }
+
+    /**
+     * @param cluster The cluster entity.
+     * @return A fingerprint of the cluster's stored kubeconfig, which changes whenever the kubeconfig does.
+     */
+    public String kubeconfigVersion(KubernetesCluster cluster) {
+        return fingerprint(cluster.getKubeconfigEncrypted());
+    }
+
+    /**
+     * Removes and closes the cached client for a cluster, e.g. after the cluster was deleted.
+     *
+     * @param clusterId The ID of the cluster whose client should be discarded.
+     */
+    public void invalidate(Long clusterId) {
+        PooledClient removed = clients.remove(clusterId);
+        if (removed != null) {
+            close(removed);
+            evictions.increment();
+            logger.debug("Invalidated cached API client for cluster ID: {}", clusterId);
+        }
+    }
+
+    /**
+     * Periodically closes clients that have not been used within the configured idle timeout.
+     */
+    @Scheduled(fixedDelayString = "${multikube.kubernetes.client.eviction.interval.ms:60000}")
+    public void evictIdleClients() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMs;
+        clients.forEach((clusterId, pooled) -> {
+            if (pooled.lastUsedAt() < cutoff && clients.remove(clusterId, pooled)) {
+                close(pooled);
+                evictions.increment();
+                logger.debug("Evicted idle API client for cluster ID: {}", clusterId);
+            }
+        });
+    }
+
+    /**
+     * @return A snapshot of the pool's hit, miss and eviction counters.
+     */
+    public ApiClientPoolStats getStats() {
+        return new ApiClientPoolStats(clients.size(), hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        clients.values().forEach(this::close);
+        clients.clear();
+    }
+
+    private ApiClient buildClient(KubernetesCluster cluster, int readTimeout) {
+        try {
+            String decryptedKubeconfig = kubeconfigEncryptor.decrypt(cluster.getKubeconfigEncrypted());
+            ApiClient client = ClientBuilder.kubeconfig(KubeConfig.loadKubeConfig(new StringReader(decryptedKubeconfig))).build();
+            client.setConnectTimeout(connectTimeoutMs);
+            client.setReadTimeout(readTimeout);
+            logger.debug("Built new API client for cluster ID: {}", cluster.getId());
+            return client;
+        } catch (IOException e) {
+            logger.error("Failed to process kubeconfig for cluster ID: {}", cluster.getId(), e);
+            throw new RuntimeException("Failed to process kubeconfig for cluster " + cluster.getName(), e);
+        }
+    }
+
+    private void close(PooledClient pooled) {
+        closeClient(pooled.apiClient());
+    }
+
+    /**
+     * Releases the connections and dispatcher threads of a client that is no longer used.
+     *
+     * @param apiClient The client to close.
+     */
+    public static void closeClient(ApiClient apiClient) {
+        OkHttpClient httpClient = apiClient.getHttpClient();
+        httpClient.dispatcher().executorService().shutdown();
+        httpClient.connectionPool().evictAll();
+    }
+
+    private static String fingerprint(String kubeconfigEncrypted) {
+        if (kubeconfigEncrypted == null) {
+            throw new IllegalArgumentException("Cluster has no kubeconfig.");
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(kubeconfigEncrypted.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class PooledClient {
+        private final ApiClient apiClient;
+        private final String kubeconfigVersion;
+        private volatile long lastUsedAt = System.currentTimeMillis();
+
+        private PooledClient(ApiClient apiClient, String kubeconfigVersion) {
+            this.apiClient = apiClient;
+            this.kubeconfigVersion = kubeconfigVersion;
+        }
+
+        ApiClient apiClient() {
+            return apiClient;
+        }
+
+        String kubeconfigVersion() {
+            return kubeconfigVersion;
+        }
+
+        long lastUsedAt() {
+            return lastUsedAt;
+        }
+
+        void touch() {
+            lastUsedAt = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.multikube_rest_service.services.kubernetes.clients;
+
+import com.multikube_rest_service.entities.provider.KubernetesCluster;
+import com.multikube_rest_service.services.kubernetes.drift.DriftDetector;
+import com.multikube_rest_service.services.kubernetes.dynamic.ApiResourceResolver;
+import com.multikube_rest_service.services.kubernetes.informers.ClusterInformerCache;
+import com.multikube_rest_service.services.kubernetes.informers.ClusterNodeWatcher;
+import com.multikube_rest_service.services.kubernetes.resilience.ClusterCallGuard;
+import com.multikube_rest_service.services.provider.health.ClusterHealthHistory;
+import jakarta.persistence.PostRemove;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that drops the pooled API client, cached discovery data, circuit breaker, informers, node watch, pending drift checks and health history of a cluster once its registration is removed.
+ * Kubeconfig changes do not need handling here, as the pool detects them via the kubeconfig fingerprint.
+ */
+@Component
+public class KubernetesClusterClientListener {
+
+    private final KubernetesApiClientPool apiClientPool;
+    private final ApiResourceResolver apiResourceResolver;
+    private final ClusterCallGuard callGuard;
+    private final ClusterInformerCache informerCache;
+    private final ClusterNodeWatcher nodeWatcher;
+    private final DriftDetector driftDetector;
+    private final ClusterHealthHistory healthHistory;
+
+    public KubernetesClusterClientListener(KubernetesApiClientPool apiClientPool, ApiResourceResolver apiResourceResolver,
+                                           ClusterCallGuard callGuard, ClusterInformerCache informerCache,
+                                           ClusterNodeWatcher nodeWatcher, DriftDetector driftDetector,
+                                           ClusterHealthHistory healthHistory) {
+        this.apiClientPool = apiClientPool;
+        this.apiResourceResolver = apiResourceResolver;
+        this.callGuard = callGuard;
+        this.informerCache = informerCache;
+        this.nodeWatcher = nodeWatcher;
+        this.driftDetector = driftDetector;
+        this.healthHistory = healthHistory;
+    }
+
+    @PostRemove
+    public void onClusterRemoved(KubernetesCluster cluster) {
+        apiClientPool.invalidate(cluster.getId());
+        apiResourceResolver.invalidate(cluster.getId());
+        callGuard.invalidate(cluster.getId());
+        informerCache.invalidate(cluster.getId());
+        nodeWatcher.invalidate(cluster.getId());
+        driftDetector.invalidate(cluster.getId());
+        healthHistory.invalidate(cluster.getId());
+    }
+}
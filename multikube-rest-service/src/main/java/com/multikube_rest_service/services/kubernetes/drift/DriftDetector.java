@@ -0,0 +1,204 @@
+package com.multikube_rest_service.services.kubernetes.drift;
+
+import com.google.gson.JsonObject;
+import com.multikube_rest_service.common.enums.SyncStatus;
+import com.multikube_rest_service.repositories.tenant.TrackedObject;
+import com.multikube_rest_service.repositories.tenant.TrackedObjectRepository;
+import com.multikube_rest_service.services.kubernetes.ManifestNormalizer;
+import com.multikube_rest_service.services.kubernetes.informers.ClusterInformerCache;
+import com.multikube_rest_service.services.kubernetes.informers.ManagedObjectListener;
+import io.kubernetes.client.util.generic.dynamic.DynamicKubernetesObject;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps the sync status of workloads and namespace configurations up to date by comparing their stored manifests with
+ * the live objects in the {@link ClusterInformerCache}.
+ * <p>
+ * Nothing is listed or fetched from the API servers: every change the informers see marks the object's namespace
+ * dirty, and dirty namespaces are checked in batches once they have been quiet for the settle time, which also lets
+ * the transaction that applied a change commit before its objects are compared. A check loads the namespace's tracked
+ * records in one query, compares each with its cached live object via the {@link ManifestNormalizer}, and writes only
+ * the sync statuses that changed. A tracked object missing from the cache counts as drifted. When a cluster's
+ * informers start, all of its records are checked once, so records whose object is gone are found too; after that,
+ * the informers' periodic resync re-checks every namespace from the cache. Objects of kinds that are not cached keep
+ * their sync status. Drifted objects are reported to the registered {@link DriftListener}s.
+ */
+@Component
+public class DriftDetector implements ManagedObjectListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(DriftDetector.class);
+
+    private final ClusterInformerCache informerCache;
+    private final TrackedObjectRepository trackedObjectRepository;
+    private final boolean enabled;
+    private final long settleMs;
+
+    // Per cluster, the dirty namespaces and when each last changed.
+    private final ConcurrentMap<Long, ConcurrentMap<String, Long>> dirty = new ConcurrentHashMap<>();
+    private final Set<Long> fullCheckPending = ConcurrentHashMap.newKeySet();
+    private final List<DriftListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final Counter checkedCounter;
+    private final Counter driftCounter;
+
+    public DriftDetector(ClusterInformerCache informerCache,
+                         TrackedObjectRepository trackedObjectRepository,
+                         MeterRegistry meterRegistry,
+                         @Value("${multikube.drift.enabled:true}") boolean enabled,
+                         @Value("${multikube.drift.settle.ms:2000}") long settleMs) {
+        this.informerCache = informerCache;
+        this.trackedObjectRepository = trackedObjectRepository;
+        this.enabled = enabled;
+        this.settleMs = settleMs;
+        this.checkedCounter = Counter.builder("multikube.drift.checks")
+                .description("Tracked objects compared with their live object")
+                .register(meterRegistry);
+        this.driftCounter = Counter.builder("multikube.drift.detected")
+                .description("Tracked objects found to have drifted from their stored manifest")
+                .register(meterRegistry);
+        if (enabled) {
+            informerCache.addListener(this);
+        }
+    }
+
+    @Override
+    public void onObjectChanged(Long clusterId, String kind, String namespace, String name) {
+        if (namespace == null) {
+            // Namespaces themselves carry no sync status.
+            return;
+        }
+        dirty.computeIfAbsent(clusterId, id -> new ConcurrentHashMap<>()).put(namespace, now());
+    }
+
+    @Override
+    public void onInformersStarted(Long clusterId) {
+        fullCheckPending.add(clusterId);
+    }
+
+    /**
+     * Registers a listener for drifted objects.
+     *
+     * @param listener The listener.
+     */
+    public void addListener(DriftListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Checks the namespaces that have settled, for every cluster whose cache is synced.
+     */
+    @Scheduled(fixedDelayString = "${multikube.drift.flush.ms:1000}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        Set<Long> clusterIds = new HashSet<>(dirty.keySet());
+        clusterIds.addAll(fullCheckPending);
+        for (Long clusterId : clusterIds) {
+            if (!informerCache.isSynced(clusterId)) {
+                continue;
+            }
+            try {
+                checkCluster(clusterId);
+            } catch (DataAccessException e) {
+                logger.warn("Failed to check drift for cluster ID: {}. Error: {}", clusterId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Forgets the pending checks of a cluster, e.g. after it was deleted or taken over by another replica.
+     *
+     * @param clusterId The ID of the cluster.
+     */
+    public void invalidate(Long clusterId) {
+        dirty.remove(clusterId);
+        fullCheckPending.remove(clusterId);
+    }
+
+    /**
+     * Returns the current time in epoch milliseconds. Overridden in tests.
+     */
+    long now() {
+        return System.currentTimeMillis();
+    }
+
+    private void checkCluster(Long clusterId) {
+        List<TrackedObject> tracked;
+        ConcurrentMap<String, Long> namespaces = dirty.getOrDefault(clusterId, new ConcurrentHashMap<>());
+        if (fullCheckPending.remove(clusterId)) {
+            // The full check covers every namespace that is dirty right now.
+            namespaces.clear();
+            tracked = trackedObjectRepository.findByCluster(clusterId);
+        } else {
+            long settledBefore = now() - settleMs;
+            List<String> settled = new ArrayList<>();
+            namespaces.forEach((namespace, changedAt) -> {
+                // Only removed if unchanged meanwhile, so a change arriving now is checked in a later flush.
+                if (changedAt <= settledBefore && namespaces.remove(namespace, changedAt)) {
+                    settled.add(namespace);
+                }
+            });
+            if (settled.isEmpty()) {
+                return;
+            }
+            tracked = trackedObjectRepository.findByClusterAndNamespaces(clusterId, settled);
+        }
+
+        Map<TrackedObject, SyncStatus> changes = new HashMap<>();
+        for (TrackedObject object : tracked) {
+            Optional<SyncStatus> status = check(clusterId, object);
+            if (status.isPresent() && status.get() != object.syncStatus()) {
+                changes.put(object, status.get());
+            }
+            if (status.orElse(null) == SyncStatus.DRIFT_DETECTED) {
+                listeners.forEach(listener -> listener.onDrift(clusterId, object));
+            }
+        }
+        if (!changes.isEmpty()) {
+            trackedObjectRepository.updateSyncStatuses(changes);
+            long drifted = changes.values().stream().filter(status -> status == SyncStatus.DRIFT_DETECTED).count();
+            driftCounter.increment(drifted);
+            logger.info("Cluster ID: {}: {} object(s) drifted, {} back in sync.", clusterId, drifted, changes.size() - drifted);
+        }
+    }
+
+    /**
+     * @return The sync status of a tracked object, or empty if it cannot be checked.
+     */
+    private Optional<SyncStatus> check(Long clusterId, TrackedObject object) {
+        if (!informerCache.isCached(object.kind())) {
+            return Optional.empty();
+        }
+        JsonObject desired;
+        try {
+            desired = ManifestNormalizer.normalize(object.yamlContent());
+        } catch (IOException e) {
+            logger.debug("Skipping drift check of {} {}/{}: {}", object.kind(), object.namespace(), object.name(), e.getMessage());
+            return Optional.empty();
+        }
+        checkedCounter.increment();
+        Optional<DynamicKubernetesObject> live = informerCache.get(clusterId, object.kind(), object.namespace(), object.name());
+        boolean inSync = live.isPresent() && ManifestNormalizer.matches(desired, live.get().getRaw());
+        return Optional.of(inSync ? SyncStatus.IN_SYNC : SyncStatus.DRIFT_DETECTED);
+    }
+}
@@ -0,0 +1,16 @@
+package com.multikube_rest_service.services.kubernetes.drift;
+
+import com.multikube_rest_service.repositories.tenant.TrackedObject;
+
+/**
+ * Notified by the {@link DriftDetector} of every checked object found to have drifted, including objects that were
+ * already known to have drifted. Notifications arrive on the scheduler thread and must return quickly.
+ */
+public interface DriftListener {
+
+    /**
+     * @param clusterId The ID of the cluster.
+     * @param object    The drifted object.
+     */
+    void onDrift(Long clusterId, TrackedObject object);
+}
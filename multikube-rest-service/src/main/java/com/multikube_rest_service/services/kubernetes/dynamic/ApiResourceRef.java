@@ -0,0 +1,20 @@
+package com.multikube_rest_service.services.kubernetes.dynamic;
+
+/**
+ * Identifies the REST endpoint serving a Kubernetes kind.
+ *
+ * @param group      The API group, empty for the core group.
+ * @param version    The API version within the group, e.g. 'v1'.
+ * @param plural     The plural resource name used in the URL path, e.g. 'deployments'.
+ * @param kind       The kind, e.g. 'Deployment'.
+ * @param namespaced Whether objects of this kind live in a namespace.
+ */
+public record ApiResourceRef(String group, String version, String plural, String kind, boolean namespaced) {
+
+    /**
+     * @return The apiVersion string as written in manifests, e.g. 'apps/v1' or 'v1'.
+     */
+    public String apiVersion() {
+        return group.isEmpty() ? version : group + "/" + version;
+    }
+}
@@ -0,0 +1,130 @@
+package com.multikube_rest_service.services.kubernetes.dynamic;
+
+import io.kubernetes.client.Discovery;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Maps an apiVersion/kind pair to the REST resource serving it, so that any kind can be handled through the
+ * dynamic client. Built-in kinds are resolved from a static table; anything else (e.g. custom resources) is
+ * looked up through API discovery, whose results are cached per cluster and refreshed at most once per
+ * refresh interval when an unknown kind is requested.
+ */
+@Component
+public class ApiResourceResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApiResourceResolver.class);
+
+    private static final Map<String, ApiResourceRef> BUILT_IN = index(List.of(
+            new ApiResourceRef("", "v1", "namespaces", "Namespace", false),
+            new ApiResourceRef("", "v1", "serviceaccounts", "ServiceAccount", true),
+            new ApiResourceRef("", "v1", "configmaps", "ConfigMap", true),
+            new ApiResourceRef("", "v1", "secrets", "Secret", true),
+            new ApiResourceRef("", "v1", "services", "Service", true),
+            new ApiResourceRef("", "v1", "pods", "Pod", true),
+            new ApiResourceRef("", "v1", "persistentvolumeclaims", "PersistentVolumeClaim", true),
+            new ApiResourceRef("", "v1", "persistentvolumes", "PersistentVolume", false),
+            new ApiResourceRef("", "v1", "resourcequotas", "ResourceQuota", true),
+            new ApiResourceRef("", "v1", "limitranges", "LimitRange", true),
+            new ApiResourceRef("apps", "v1", "deployments", "Deployment", true),
+            new ApiResourceRef("apps", "v1", "statefulsets", "StatefulSet", true),
+            new ApiResourceRef("apps", "v1", "daemonsets", "DaemonSet", true),
+            new ApiResourceRef("apps", "v1", "replicasets", "ReplicaSet", true),
+            new ApiResourceRef("batch", "v1", "jobs", "Job", true),
+            new ApiResourceRef("batch", "v1", "cronjobs", "CronJob", true),
+            new ApiResourceRef("rbac.authorization.k8s.io", "v1", "roles", "Role", true),
+            new ApiResourceRef("rbac.authorization.k8s.io", "v1", "rolebindings", "RoleBinding", true),
+            new ApiResourceRef("rbac.authorization.k8s.io", "v1", "clusterroles", "ClusterRole", false),
+            new ApiResourceRef("rbac.authorization.k8s.io", "v1", "clusterrolebindings", "ClusterRoleBinding", false),
+            new ApiResourceRef("networking.k8s.io", "v1", "networkpolicies", "NetworkPolicy", true),
+            new ApiResourceRef("networking.k8s.io", "v1", "ingresses", "Ingress", true),
+            new ApiResourceRef("autoscaling", "v2", "horizontalpodautoscalers", "HorizontalPodAutoscaler", true),
+            new ApiResourceRef("policy", "v1", "poddisruptionbudgets", "PodDisruptionBudget", true)
+    ));
+
+    private final long refreshIntervalMs;
+    private final ConcurrentMap<Long, DiscoveredResources> discovered = new ConcurrentHashMap<>();
+
+    public ApiResourceResolver(@Value("${multikube.kubernetes.discovery.refresh.interval.ms:60000}") long refreshIntervalMs) {
+        this.refreshIntervalMs = refreshIntervalMs;
+    }
+
+    /**
+     * Resolves the REST resource for a kind.
+     *
+     * @param clusterId  The ID of the cluster, used to scope the discovery cache.
+     * @param apiClient  The client used for discovery if the kind is not built in.
+     * @param apiVersion The apiVersion of the object, e.g. 'apps/v1'.
+     * @param kind       The kind of the object, e.g. 'Deployment'.
+     * @return The resolved resource.
+     * @throws ApiException if discovery fails.
+     * @throws IllegalArgumentException if the cluster does not serve the kind.
+     */
+    public ApiResourceRef resolve(Long clusterId, ApiClient apiClient, String apiVersion, String kind) throws ApiException {
+        String key = key(apiVersion, kind);
+        ApiResourceRef builtIn = BUILT_IN.get(key);
+        if (builtIn != null) {
+            return builtIn;
+        }
+
+        DiscoveredResources resources = discovered.get(clusterId);
+        if (resources == null || (!resources.byKey().containsKey(key) && resources.isOlderThan(refreshIntervalMs))) {
+            resources = discover(clusterId, apiClient);
+        }
+        ApiResourceRef ref = resources.byKey().get(key);
+        if (ref == null) {
+            throw new IllegalArgumentException("Unsupported Kind for apply: the cluster does not serve " + apiVersion + "/" + kind);
+        }
+        return ref;
+    }
+
+    /**
+     * Drops the cached discovery results of a cluster.
+     *
+     * @param clusterId The ID of the cluster.
+     */
+    public void invalidate(Long clusterId) {
+        discovered.remove(clusterId);
+    }
+
+    private DiscoveredResources discover(Long clusterId, ApiClient apiClient) throws ApiException {
+        logger.debug("Running API discovery for cluster ID: {}", clusterId);
+        Map<String, ApiResourceRef> byKey = new HashMap<>();
+        for (Discovery.APIResource resource : new Discovery(apiClient).findAll()) {
+            for (String version : resource.getVersions()) {
+                ApiResourceRef ref = new ApiResourceRef(resource.getGroup(), version, resource.getResourcePlural(),
+                        resource.getKind(), Boolean.TRUE.equals(resource.getNamespaced()));
+                byKey.put(key(ref.apiVersion(), ref.kind()), ref);
+            }
+        }
+        DiscoveredResources resources = new DiscoveredResources(byKey, System.currentTimeMillis());
+        discovered.put(clusterId, resources);
+        return resources;
+    }
+
+    private static Map<String, ApiResourceRef> index(List<ApiResourceRef> refs) {
+        Map<String, ApiResourceRef> byKey = new HashMap<>();
+        refs.forEach(ref -> byKey.put(key(ref.apiVersion(), ref.kind()), ref));
+        return Map.copyOf(byKey);
+    }
+
+    private static String key(String apiVersion, String kind) {
+        return apiVersion + "/" + kind;
+    }
+
+    private record DiscoveredResources(Map<String, ApiResourceRef> byKey, long discoveredAt) {
+        boolean isOlderThan(long intervalMs) {
+            return System.currentTimeMillis() - discoveredAt > intervalMs;
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package com.multikube_rest_service.services.kubernetes.factories;
 
+import com.multikube_rest_service.services.kubernetes.ManifestNormalizer;
+
+import java.io.IOException;
+
 /**
  * A simple data carrier record to hold the essential details of a Kubernetes resource manifest.
  *
@@ -8,4 +12,16 @@ package com.multikube_rest_service.services.kubernetes.factories;
  * @param yaml    The full YAML content of the resource.
  */
 public record KubernetesResource(String k8sName, String k8sKind, String yaml) {
-}
\ No newline at end of file
+
+    /**
+     * @return The canonical hash of the YAML content, see {@link ManifestNormalizer#canonicalHash(String)}.
+     * @throws IllegalArgumentException if the YAML content is invalid.
+     */
+    public String contentHash() {
+        try {
+            return ManifestNormalizer.canonicalHash(yaml);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+}
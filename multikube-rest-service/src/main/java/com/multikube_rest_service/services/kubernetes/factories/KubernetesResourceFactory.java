@@ -1,5 +1,7 @@
 package com.multikube_rest_service.services.kubernetes.factories;
 
+import java.util.List;
+
 /**
  * A factory for creating default Kubernetes resource manifests and parsing user-provided YAML.
  */
@@ -38,4 +40,15 @@ public interface KubernetesResourceFactory {
      * @throws IllegalArgumentException if the YAML is invalid or missing required fields.
      */
     KubernetesResource parseYaml(String yamlContent);
+
+    /**
+     * Parses '---' separated YAML documents into one resource per document.
+     * All documents are parsed and validated before any resource is returned, so one invalid document rejects the
+     * whole input. Empty documents are skipped. A single document keeps its original YAML text.
+     *
+     * @param yamlContent The raw, possibly multi-document, YAML string.
+     * @return The parsed resources, in document order.
+     * @throws IllegalArgumentException if any document is invalid or missing required fields, or if there are no documents.
+     */
+    List<KubernetesResource> parseYamlDocuments(String yamlContent);
 }
\ No newline at end of file
@@ -1,8 +1,12 @@
 package com.multikube_rest_service.services.kubernetes.factories;
 
 import org.springframework.stereotype.Component;
+import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.Yaml;
 
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
@@ -74,16 +78,63 @@ public class KubernetesResourceFactoryImpl implements KubernetesResourceFactory
         try {
             Yaml yamlParser = new Yaml();
             Map<String, Object> data = yamlParser.load(yamlContent);
+            return toResource(data, yamlContent);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Failed to parse provided YAML: " + e.getMessage(), e);
+        }
+    }
 
-            String kind = (String) Objects.requireNonNull(data.get("kind"), "YAML must contain a 'kind' field.");
-
-            @SuppressWarnings("unchecked")
-            Map<String, Object> metadata = (Map<String, Object>) Objects.requireNonNull(data.get("metadata"), "YAML must contain a 'metadata' block.");
-            String name = (String) Objects.requireNonNull(metadata.get("name"), "YAML metadata must contain a 'name' field.");
+    @Override
+    public List<KubernetesResource> parseYamlDocuments(String yamlContent) {
+        DumperOptions dumperOptions = new DumperOptions();
+        dumperOptions.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+        Yaml yamlParser = new Yaml(dumperOptions);
 
-            return new KubernetesResource(name, kind, yamlContent);
+        List<Map<String, Object>> documents = new ArrayList<>();
+        try (StringReader reader = new StringReader(yamlContent)) {
+            for (Object document : yamlParser.loadAll(reader)) {
+                if (document == null) {
+                    continue;
+                }
+                if (!(document instanceof Map)) {
+                    throw new IllegalArgumentException("Document " + (documents.size() + 1) + " is not a YAML mapping.");
+                }
+                @SuppressWarnings("unchecked")
+                Map<String, Object> data = (Map<String, Object>) document;
+                documents.add(data);
+            }
+        } catch (IllegalArgumentException e) {
+            throw e;
         } catch (Exception e) {
             throw new IllegalArgumentException("Failed to parse provided YAML: " + e.getMessage(), e);
         }
+
+        if (documents.isEmpty()) {
+            throw new IllegalArgumentException("Failed to parse provided YAML: no documents found.");
+        }
+        if (documents.size() == 1) {
+            return List.of(parseYaml(yamlContent));
+        }
+
+        List<KubernetesResource> resources = new ArrayList<>(documents.size());
+        for (int i = 0; i < documents.size(); i++) {
+            try {
+                Map<String, Object> data = documents.get(i);
+                resources.add(toResource(data, yamlParser.dump(data)));
+            } catch (Exception e) {
+                throw new IllegalArgumentException("Failed to parse document " + (i + 1) + " of provided YAML: " + e.getMessage(), e);
+            }
+        }
+        return resources;
+    }
+
+    private KubernetesResource toResource(Map<String, Object> data, String yaml) {
+        String kind = (String) Objects.requireNonNull(data.get("kind"), "YAML must contain a 'kind' field.");
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> metadata = (Map<String, Object>) Objects.requireNonNull(data.get("metadata"), "YAML must contain a 'metadata' block.");
+        String name = (String) Objects.requireNonNull(metadata.get("name"), "YAML metadata must contain a 'name' field.");
+
+        return new KubernetesResource(name, kind, yaml);
     }
 }
\ No newline at end of file
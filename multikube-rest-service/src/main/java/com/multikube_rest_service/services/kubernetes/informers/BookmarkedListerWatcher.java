@@ -0,0 +1,211 @@
+package com.multikube_rest_service.services.kubernetes.informers;
+
+import com.google.gson.reflect.TypeToken;
+import com.multikube_rest_service.services.kubernetes.CoreGroupPaths;
+import com.multikube_rest_service.services.kubernetes.dynamic.ApiResourceRef;
+import io.kubernetes.client.common.KubernetesListObject;
+import io.kubernetes.client.common.KubernetesObject;
+import io.kubernetes.client.informer.ListerWatcher;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.apis.CustomObjectsApi;
+import io.kubernetes.client.util.CallGeneratorParams;
+import io.kubernetes.client.util.Watch;
+import io.kubernetes.client.util.Watchable;
+import io.kubernetes.client.util.generic.GenericKubernetesApi;
+import io.kubernetes.client.util.generic.options.ListOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Lists and watches one kind of a cluster, starting from no older a state than the resourceVersion recorded in the
+ * {@link WatchBookmarks}.
+ * <p>
+ * This does not resume a watch across a restart: the informer's cache lives in memory, so it still lists every object
+ * once after every start, and the bookmark does not make that list smaller or cheaper. Without a bookmark the first
+ * list is served from the API server's watch cache (resourceVersion '0'), which may be older than what this service saw
+ * before the restart if that API server lags behind. With a bookmark, the list asks for the state not older than the
+ * bookmarked version, which the watch cache also serves, so the informers never go back in time across a restart. If
+ * the API server no longer has that version (410 Gone, or 504 if it is ahead of the server after a restore), the
+ * bookmark is dropped and the list falls back to the watch cache. When a running watch expires, the kind is relisted
+ * from etcd in pages. The version of every list, watch event and watch bookmark (requested with allowWatchBookmarks) is
+ * recorded, so a quiet kind still advances its bookmark.
+ *
+ * @param <T> The object type.
+ * @param <L> The list type.
+ */
+class BookmarkedListerWatcher<T extends KubernetesObject, L extends KubernetesListObject> implements ListerWatcher<T, L> {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookmarkedListerWatcher.class);
+
+    // The version the reflector lists with before its first successful list, and after a watch expired.
+    private static final String ANY_VERSION = "0";
+    private static final String LATEST_VERSION = "";
+
+    private static final int HTTP_GONE = 410;
+
+    private final Long clusterId;
+    private final ApiResourceRef resource;
+    private final Class<T> apiType;
+    private final GenericKubernetesApi<T, L> api;
+    private final ApiClient watchClient;
+    private final String labelSelector;
+    private final WatchBookmarks bookmarks;
+    private final int pageSize;
+
+    /**
+     * @param clusterId     The ID of the cluster.
+     * @param resource      The watched resource; its kind keys the bookmark.
+     * @param apiType       The object type.
+     * @param listType      The list type.
+     * @param watchClient   The client to list and watch through.
+     * @param labelSelector The label selector, or null to watch all objects.
+     * @param bookmarks     The bookmarks to list no older than and to record to.
+     * @param pageSize      The maximum number of objects per page of a relist.
+     */
+    BookmarkedListerWatcher(Long clusterId, ApiResourceRef resource, Class<T> apiType, Class<L> listType, ApiClient watchClient,
+                            String labelSelector, WatchBookmarks bookmarks, int pageSize) {
+        this(clusterId, resource, apiType,
+                new GenericKubernetesApi<>(apiType, listType, resource.group(), resource.version(), resource.plural(), watchClient),
+                watchClient, labelSelector, bookmarks, pageSize);
+    }
+
+    BookmarkedListerWatcher(Long clusterId, ApiResourceRef resource, Class<T> apiType, GenericKubernetesApi<T, L> api,
+                            ApiClient watchClient, String labelSelector, WatchBookmarks bookmarks, int pageSize) {
+        this.clusterId = clusterId;
+        this.resource = resource;
+        this.apiType = apiType;
+        this.api = api;
+        this.watchClient = watchClient;
+        this.labelSelector = labelSelector;
+        this.bookmarks = bookmarks;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public L list(CallGeneratorParams params) throws ApiException {
+        L list;
+        if (ANY_VERSION.equals(params.resourceVersion)) {
+            list = bookmarkedList(params);
+        } else if (LATEST_VERSION.equals(params.resourceVersion)) {
+            list = pagedList(params);
+        } else {
+            list = api.list(options(params, params.resourceVersion)).throwsApiException().getObject();
+        }
+        if (list.getMetadata() != null) {
+            bookmarks.record(clusterId, resource.kind(), list.getMetadata().getResourceVersion());
+        }
+        return list;
+    }
+
+    @Override
+    public Watchable<T> watch(CallGeneratorParams params) throws ApiException {
+        return new Recording(openWatch(params));
+    }
+
+    private L bookmarkedList(CallGeneratorParams params) throws ApiException {
+        String bookmark = bookmarks.get(clusterId, resource.kind()).orElse(null);
+        if (bookmark == null) {
+            return api.list(options(params, ANY_VERSION)).throwsApiException().getObject();
+        }
+        try {
+            L list = api.list(options(params, bookmark)).throwsApiException().getObject();
+            logger.debug("Listed {} in cluster ID: {} no older than resourceVersion {}", resource.kind(), clusterId, bookmark);
+            return list;
+        } catch (ApiException e) {
+            if (e.getCode() != HTTP_GONE && e.getCode() != HttpURLConnection.HTTP_GATEWAY_TIMEOUT) {
+                throw e;
+            }
+            logger.info("ResourceVersion {} of {} in cluster ID: {} is no longer available ({}). Listing from the watch cache.",
+                    bookmark, resource.kind(), clusterId, e.getCode());
+            bookmarks.forget(clusterId, resource.kind());
+            return api.list(options(params, ANY_VERSION)).throwsApiException().getObject();
+        }
+    }
+
+    /**
+     * Lists the latest state from etcd in pages. All pages share the resourceVersion of the first, so the merged
+     * list is one consistent snapshot.
+     */
+    @SuppressWarnings("unchecked")
+    private L pagedList(CallGeneratorParams params) throws ApiException {
+        L first = api.list(options(params, LATEST_VERSION).limit(pageSize)).throwsApiException().getObject();
+        String next = first.getMetadata() == null ? null : first.getMetadata().getContinue();
+        int pages = 1;
+        while (next != null && !next.isEmpty()) {
+            // The continue token carries the snapshot's version; the API server rejects a resourceVersion alongside it.
+            L page = api.list(options(params, null).limit(pageSize)._continue(next)).throwsApiException().getObject();
+            if (page.getItems() != null && !page.getItems().isEmpty()) {
+                ((List<KubernetesObject>) first.getItems()).addAll(page.getItems());
+            }
+            next = page.getMetadata() == null ? null : page.getMetadata().getContinue();
+            pages++;
+        }
+        logger.debug("Relisted {} in cluster ID: {} in {} page(s)", resource.kind(), clusterId, pages);
+        return first;
+    }
+
+    private ListOptions options(CallGeneratorParams params, String resourceVersion) {
+        return new ListOptions()
+                .labelSelector(labelSelector)
+                .resourceVersion(resourceVersion)
+                .timeoutSeconds(params.timeoutSeconds);
+    }
+
+    /**
+     * Opens a watch with bookmarks. The generic client cannot ask for bookmarks, so the call is built through the
+     * custom objects API, see {@link CoreGroupPaths}.
+     */
+    Watchable<T> openWatch(CallGeneratorParams params) throws ApiException {
+        okhttp3.Call call = new CustomObjectsApi(watchClient)
+                .listClusterCustomObject(resource.group(), resource.version(), resource.plural())
+                .labelSelector(labelSelector)
+                .resourceVersion(params.resourceVersion)
+                .timeoutSeconds(params.timeoutSeconds)
+                .allowWatchBookmarks(true)
+                .watch(true)
+                .buildCall(null);
+        return Watch.createWatch(watchClient, CoreGroupPaths.forGroup(watchClient, resource.group(), call), TypeToken.getParameterized(Watch.Response.class, apiType).getType());
+    }
+
+    /**
+     * Passes a watch through, recording the resourceVersion of every event.
+     */
+    private final class Recording implements Watchable<T> {
+
+        private final Watchable<T> watch;
+
+        private Recording(Watchable<T> watch) {
+            this.watch = watch;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return watch.hasNext();
+        }
+
+        @Override
+        public Watch.Response<T> next() {
+            Watch.Response<T> event = watch.next();
+            if (event != null && event.object != null && event.object.getMetadata() != null) {
+                bookmarks.record(clusterId, resource.kind(), event.object.getMetadata().getResourceVersion());
+            }
+            return event;
+        }
+
+        @Override
+        public Iterator<Watch.Response<T>> iterator() {
+            return this;
+        }
+
+        @Override
+        public void close() throws IOException {
+            watch.close();
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.multikube_rest_service.services.kubernetes.informers;
+
+import com.multikube_rest_service.entities.provider.KubernetesCluster;
+import com.multikube_rest_service.services.kubernetes.KubernetesLabels;
+import com.multikube_rest_service.services.kubernetes.clients.KubernetesApiClientPool;
+import com.multikube_rest_service.services.kubernetes.dynamic.ApiResourceRef;
+import io.kubernetes.client.informer.ListerWatcher;
+import io.kubernetes.client.informer.ResourceEventHandler;
+import io.kubernetes.client.informer.SharedIndexInformer;
+import io.kubernetes.client.informer.cache.Cache;
+import io.kubernetes.client.informer.cache.Caches;
+import io.kubernetes.client.informer.impl.DefaultSharedIndexInformer;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.util.generic.dynamic.DynamicKubernetesListObject;
+import io.kubernetes.client.util.generic.dynamic.DynamicKubernetesObject;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * An in-memory cache of the live state of the objects Multikube manages, kept up to date by one set of shared
+ * informers per cluster.
+ * <p>
+ * Each cluster gets one informer per managed kind, listing and watching only objects carrying the
+ * {@value KubernetesLabels#MANAGED_BY_SELECTOR} label, so the cache never holds foreign objects. Lookups are indexed by
+ * kind, namespace and name, and never touch the API server; callers should fall back to a direct call while
+ * {@link #isSynced(Long)} is false. The informers watch through a dedicated client without read timeout and are
+ * rebuilt when the cluster's kubeconfig changes. After a restart they list every kind again, asking for a state no older
+ * than the resourceVersions kept in the {@link WatchBookmarks}. Registered {@link ManagedObjectListener}s are told about
+ * every change, including the periodic resync of the cached objects.
+ */
+@Component
+public class ClusterInformerCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterInformerCache.class);
+
+    /**
+     * The kinds Multikube creates in tenant namespaces, and the namespaces themselves.
+     */
+    static final List<ApiResourceRef> MANAGED_KINDS = List.of(
+            new ApiResourceRef("", "v1", "namespaces", "Namespace", false),
+            new ApiResourceRef("", "v1", "resourcequotas", "ResourceQuota", true),
+            new ApiResourceRef("", "v1", "limitranges", "LimitRange", true),
+            new ApiResourceRef("rbac.authorization.k8s.io", "v1", "roles", "Role", true),
+            new ApiResourceRef("rbac.authorization.k8s.io", "v1", "rolebindings", "RoleBinding", true),
+            new ApiResourceRef("networking.k8s.io", "v1", "networkpolicies", "NetworkPolicy", true),
+            new ApiResourceRef("apps", "v1", "deployments", "Deployment", true)
+    );
+
+    private final KubernetesApiClientPool apiClientPool;
+    private final ExecutorService kubernetesTaskExecutor;
+    private final WatchBookmarks bookmarks;
+    private final boolean enabled;
+    private final long resyncPeriodMs;
+    private final int pageSize;
+
+    private final ConcurrentMap<Long, ClusterInformers> clusters = new ConcurrentHashMap<>();
+    private final List<ManagedObjectListener> listeners = new CopyOnWriteArrayList<>();
+
+    public ClusterInformerCache(KubernetesApiClientPool apiClientPool,
+                                @Qualifier("kubernetesTaskExecutor") ExecutorService kubernetesTaskExecutor,
+                                WatchBookmarks bookmarks,
+                                @Value("${multikube.kubernetes.informer.enabled:true}") boolean enabled,
+                                @Value("${multikube.kubernetes.informer.resync.ms:600000}") long resyncPeriodMs,
+                                @Value("${multikube.kubernetes.informer.page.size:500}") int pageSize) {
+        this.apiClientPool = apiClientPool;
+        this.kubernetesTaskExecutor = kubernetesTaskExecutor;
+        this.bookmarks = bookmarks;
+        this.enabled = enabled;
+        this.resyncPeriodMs = resyncPeriodMs;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Starts the informers of a cluster if they are not running yet, or restarts them if the kubeconfig changed.
+     *
+     * @param cluster The cluster, which should be reachable.
+     */
+    public void ensureStarted(KubernetesCluster cluster) {
+        if (!enabled) {
+            return;
+        }
+        String kubeconfigVersion = apiClientPool.kubeconfigVersion(cluster);
+        clusters.compute(cluster.getId(), (id, existing) -> {
+            if (existing != null && existing.kubeconfigVersion().equals(kubeconfigVersion)) {
+                return existing;
+            }
+            if (existing != null) {
+                logger.info("Kubeconfig changed for cluster ID: {}. Restarting informers.", id);
+                existing.stop();
+            }
+            return start(cluster, kubeconfigVersion);
+        });
+    }
+
+    /**
+     * Registers a listener for changes of the cached objects of all clusters.
+     *
+     * @param listener The listener.
+     */
+    public void addListener(ManagedObjectListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * @param clusterId The ID of the cluster.
+     * @return Whether the informers of the cluster are running and have completed their initial list.
+     */
+    public boolean isSynced(Long clusterId) {
+        ClusterInformers informers = clusters.get(clusterId);
+        return informers != null && informers.byKind().values().stream().allMatch(entry -> entry.informer().hasSynced());
+    }
+
+    /**
+     * @param kind The kind, e.g. 'Deployment'.
+     * @return Whether objects of the kind are cached.
+     */
+    public boolean isCached(String kind) {
+        return MANAGED_KINDS.stream().anyMatch(ref -> ref.kind().equals(kind));
+    }
+
+    /**
+     * Looks up a managed object in the cache.
+     *
+     * @param clusterId The ID of the cluster.
+     * @param kind      The kind, e.g. 'Deployment'.
+     * @param namespace The namespace, ignored for cluster-scoped kinds.
+     * @param name      The name of the object.
+     * @return The cached object, or empty if it is not known (or the cache is not synced).
+     */
+    public Optional<DynamicKubernetesObject> get(Long clusterId, String kind, String namespace, String name) {
+        return informer(clusterId, kind).map(entry -> {
+            String key = entry.resource().namespaced() ? namespace + "/" + name : name;
+            return entry.informer().getIndexer().getByKey(key);
+        });
+    }
+
+    /**
+     * Lists the cached managed objects of a kind.
+     *
+     * @param clusterId The ID of the cluster.
+     * @param kind      The kind, e.g. 'Deployment'.
+     * @param namespace The namespace to list, or null for all namespaces.
+     * @return The cached objects, empty if the cache is not synced.
+     */
+    public List<DynamicKubernetesObject> list(Long clusterId, String kind, String namespace) {
+        return informer(clusterId, kind).map(entry -> namespace == null || !entry.resource().namespaced()
+                        ? entry.informer().getIndexer().list()
+                        : entry.informer().getIndexer().byIndex(Caches.NAMESPACE_INDEX, namespace))
+                .orElse(List.of());
+    }
+
+    /**
+     * @return The IDs of the clusters whose informers are running.
+     */
+    public Set<Long> clusterIds() {
+        return Set.copyOf(clusters.keySet());
+    }
+
+    /**
+     * Stops the informers of a cluster and drops its cache, e.g. after it was deleted or taken over by another replica.
+     *
+     * @param clusterId The ID of the cluster.
+     */
+    public void invalidate(Long clusterId) {
+        ClusterInformers removed = clusters.remove(clusterId);
+        if (removed != null) {
+            removed.stop();
+            logger.debug("Stopped informers for cluster ID: {}", clusterId);
+        }
+        bookmarks.invalidate(clusterId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        clusters.values().forEach(ClusterInformers::stop);
+        clusters.clear();
+    }
+
+    private Optional<KindInformer> informer(Long clusterId, String kind) {
+        ClusterInformers informers = clusters.get(clusterId);
+        if (informers == null) {
+            return Optional.empty();
+        }
+        KindInformer entry = informers.byKind().get(kind);
+        if (entry == null || !entry.informer().hasSynced()) {
+            return Optional.empty();
+        }
+        return Optional.of(entry);
+    }
+
+    private ClusterInformers start(KubernetesCluster cluster, String kubeconfigVersion) {
+        listeners.forEach(listener -> listener.onInformersStarted(cluster.getId()));
+        ApiClient watchClient = apiClientPool.newWatchClient(cluster);
+        Map<String, KindInformer> byKind = new LinkedHashMap<>();
+        for (ApiResourceRef resource : MANAGED_KINDS) {
+            SharedIndexInformer<DynamicKubernetesObject> informer = newInformer(cluster.getId(), resource, watchClient);
+            informer.addEventHandler(notifying(cluster.getId(), resource.kind()));
+            byKind.put(resource.kind(), new KindInformer(resource, informer));
+            kubernetesTaskExecutor.submit(informer::run);
+        }
+        logger.info("Started {} informers for cluster ID: {}", byKind.size(), cluster.getId());
+        return new ClusterInformers(kubeconfigVersion, watchClient, byKind);
+    }
+
+    /**
+     * Creates the informer of one managed kind of a cluster; it is started by the caller.
+     */
+    SharedIndexInformer<DynamicKubernetesObject> newInformer(Long clusterId, ApiResourceRef resource, ApiClient watchClient) {
+        return new DefaultSharedIndexInformer<>(DynamicKubernetesObject.class, managedObjects(clusterId, resource, watchClient),
+                resyncPeriodMs, new Cache<>(),
+                (type, error) -> logger.warn("Informer for {} in cluster ID: {} failed: {}", resource.kind(), clusterId, error.getMessage()));
+    }
+
+    private ResourceEventHandler<DynamicKubernetesObject> notifying(Long clusterId, String kind) {
+        return new ResourceEventHandler<>() {
+            @Override
+            public void onAdd(DynamicKubernetesObject obj) {
+                notify(obj);
+            }
+
+            @Override
+            public void onUpdate(DynamicKubernetesObject oldObj, DynamicKubernetesObject newObj) {
+                notify(newObj);
+            }
+
+            @Override
+            public void onDelete(DynamicKubernetesObject obj, boolean deletedFinalStateUnknown) {
+                notify(obj);
+            }
+
+            private void notify(DynamicKubernetesObject obj) {
+                if (listeners.isEmpty() || obj.getMetadata() == null) {
+                    return;
+                }
+                for (ManagedObjectListener listener : listeners) {
+                    listener.onObjectChanged(clusterId, kind, obj.getMetadata().getNamespace(), obj.getMetadata().getName());
+                }
+            }
+        };
+    }
+
+    /**
+     * Lists and watches, across all namespaces, only the objects labeled as managed by Multikube.
+     */
+    private ListerWatcher<DynamicKubernetesObject, DynamicKubernetesListObject> managedObjects(Long clusterId, ApiResourceRef resource,
+                                                                                            ApiClient watchClient) {
+        return new BookmarkedListerWatcher<>(clusterId, resource, DynamicKubernetesObject.class, DynamicKubernetesListObject.class,
+                watchClient, KubernetesLabels.MANAGED_BY_SELECTOR, bookmarks, pageSize);
+    }
+
+    private record KindInformer(ApiResourceRef resource, SharedIndexInformer<DynamicKubernetesObject> informer) {
+    }
+
+    private record ClusterInformers(String kubeconfigVersion, ApiClient watchClient, Map<String, KindInformer> byKind) {
+        void stop() {
+            byKind.values().forEach(entry -> entry.informer().stop());
+            KubernetesApiClientPool.closeClient(watchClient);
+        }
+    }
+}
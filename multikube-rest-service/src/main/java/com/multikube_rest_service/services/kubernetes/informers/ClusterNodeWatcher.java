@@ -0,0 +1,164 @@
+package com.multikube_rest_service.services.kubernetes.informers;
+
+import com.multikube_rest_service.entities.provider.KubernetesCluster;
+import com.multikube_rest_service.services.kubernetes.clients.KubernetesApiClientPool;
+import com.multikube_rest_service.services.kubernetes.dynamic.ApiResourceRef;
+import io.kubernetes.client.informer.ListerWatcher;
+import io.kubernetes.client.informer.ResourceEventHandler;
+import io.kubernetes.client.informer.SharedIndexInformer;
+import io.kubernetes.client.informer.cache.Cache;
+import io.kubernetes.client.informer.impl.DefaultSharedIndexInformer;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.models.V1Node;
+import io.kubernetes.client.openapi.models.V1NodeList;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Watches the nodes of every reachable cluster and keeps a running {@link NodeHealthSummary} of their readiness and
+ * allocatable capacity.
+ * <p>
+ * Each cluster gets one node informer on the same dedicated watch client as the {@link ClusterInformerCache}. After
+ * the initial list, the summary is maintained from the watch notifications alone, so the status sweep can read it on
+ * every probe without listing nodes. Like the cached objects, the nodes are listed again after a restart, no older than
+ * their {@link WatchBookmarks} entry. Until the informer has synced (or if the kubeconfig may not list nodes), no
+ * summary is available.
+ */
+@Component
+public class ClusterNodeWatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterNodeWatcher.class);
+
+    private static final ApiResourceRef NODES = new ApiResourceRef("", "v1", "nodes", "Node", false);
+
+    private final KubernetesApiClientPool apiClientPool;
+    private final ExecutorService kubernetesTaskExecutor;
+    private final WatchBookmarks bookmarks;
+    private final boolean enabled;
+    private final long resyncPeriodMs;
+    private final int pageSize;
+
+    private final ConcurrentMap<Long, NodeWatch> clusters = new ConcurrentHashMap<>();
+
+    public ClusterNodeWatcher(KubernetesApiClientPool apiClientPool,
+                              @Qualifier("kubernetesTaskExecutor") ExecutorService kubernetesTaskExecutor,
+                              WatchBookmarks bookmarks,
+                              @Value("${multikube.kubernetes.informer.enabled:true}") boolean enabled,
+                              @Value("${multikube.kubernetes.informer.resync.ms:600000}") long resyncPeriodMs,
+                              @Value("${multikube.kubernetes.informer.page.size:500}") int pageSize) {
+        this.apiClientPool = apiClientPool;
+        this.kubernetesTaskExecutor = kubernetesTaskExecutor;
+        this.bookmarks = bookmarks;
+        this.enabled = enabled;
+        this.resyncPeriodMs = resyncPeriodMs;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Starts the node watch of a cluster if it is not running yet, or restarts it if the kubeconfig changed.
+     *
+     * @param cluster The cluster, which should be reachable.
+     */
+    public void ensureStarted(KubernetesCluster cluster) {
+        if (!enabled) {
+            return;
+        }
+        String kubeconfigVersion = apiClientPool.kubeconfigVersion(cluster);
+        clusters.compute(cluster.getId(), (id, existing) -> {
+            if (existing != null && existing.kubeconfigVersion().equals(kubeconfigVersion)) {
+                return existing;
+            }
+            if (existing != null) {
+                logger.info("Kubeconfig changed for cluster ID: {}. Restarting node watch.", id);
+                existing.stop();
+            }
+            return start(cluster, kubeconfigVersion);
+        });
+    }
+
+    /**
+     * @param clusterId The ID of the cluster.
+     * @return The node health of the cluster, or empty if its node watch is not running or has not synced yet.
+     */
+    public Optional<NodeHealthSummary> summary(Long clusterId) {
+        NodeWatch watch = clusters.get(clusterId);
+        if (watch == null || !watch.informer().hasSynced()) {
+            return Optional.empty();
+        }
+        return Optional.of(watch.tally().summary());
+    }
+
+    /**
+     * @return The IDs of the clusters whose node watch is running.
+     */
+    public Set<Long> clusterIds() {
+        return Set.copyOf(clusters.keySet());
+    }
+
+    /**
+     * Stops the node watch of a cluster, e.g. after it was deleted or taken over by another replica.
+     *
+     * @param clusterId The ID of the cluster.
+     */
+    public void invalidate(Long clusterId) {
+        NodeWatch removed = clusters.remove(clusterId);
+        if (removed != null) {
+            removed.stop();
+            logger.debug("Stopped node watch for cluster ID: {}", clusterId);
+        }
+        bookmarks.invalidate(clusterId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        clusters.values().forEach(NodeWatch::stop);
+        clusters.clear();
+    }
+
+    private NodeWatch start(KubernetesCluster cluster, String kubeconfigVersion) {
+        ApiClient watchClient = apiClientPool.newWatchClient(cluster);
+        ListerWatcher<V1Node, V1NodeList> nodes = new BookmarkedListerWatcher<>(
+                cluster.getId(), NODES, V1Node.class, V1NodeList.class, watchClient, null, bookmarks, pageSize);
+        SharedIndexInformer<V1Node> informer = new DefaultSharedIndexInformer<>(
+                V1Node.class, nodes, resyncPeriodMs, new Cache<>(),
+                (type, error) -> logger.warn("Node watch for cluster ID: {} failed: {}", cluster.getId(), error.getMessage()));
+        NodeHealthTally tally = new NodeHealthTally();
+        informer.addEventHandler(new ResourceEventHandler<>() {
+            @Override
+            public void onAdd(V1Node node) {
+                tally.upsert(node);
+            }
+
+            @Override
+            public void onUpdate(V1Node oldNode, V1Node newNode) {
+                tally.upsert(newNode);
+            }
+
+            @Override
+            public void onDelete(V1Node node, boolean deletedFinalStateUnknown) {
+                tally.remove(node.getMetadata().getName());
+            }
+        });
+        kubernetesTaskExecutor.submit(informer::run);
+        logger.info("Started node watch for cluster ID: {}", cluster.getId());
+        return new NodeWatch(kubeconfigVersion, watchClient, informer, tally);
+    }
+
+    private record NodeWatch(String kubeconfigVersion, ApiClient watchClient, SharedIndexInformer<V1Node> informer,
+                             NodeHealthTally tally) {
+        void stop() {
+            informer.stop();
+            KubernetesApiClientPool.closeClient(watchClient);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.multikube_rest_service.services.kubernetes.informers;
+
+/**
+ * Notified by the {@link ClusterInformerCache} when a managed object is added, changed or deleted, and when the
+ * informers of a cluster are (re)started. Notifications arrive on informer threads and must return quickly.
+ */
+public interface ManagedObjectListener {
+
+    /**
+     * @param clusterId The ID of the cluster.
+     * @param kind      The kind of the object, e.g. 'Deployment'.
+     * @param namespace The namespace of the object, or null for cluster-scoped kinds.
+     * @param name      The name of the object.
+     */
+    void onObjectChanged(Long clusterId, String kind, String namespace, String name);
+
+    /**
+     * Called when the informers of a cluster start, before their initial list is delivered.
+     *
+     * @param clusterId The ID of the cluster.
+     */
+    default void onInformersStarted(Long clusterId) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.multikube_rest_service.services.kubernetes.informers;
+
+/**
+ * The node health of a cluster as last seen by its node watch.
+ * <p>
+ * A node counts as ready when its Ready condition is True and it reports no memory, disk or PID pressure. Its
+ * allocatable capacity counts as available when it is ready and not cordoned.
+ *
+ * @param totalNodes             The number of nodes.
+ * @param readyNodes             The number of ready nodes.
+ * @param allocatableCpuMillis   The allocatable CPU of all nodes, in millicores.
+ * @param availableCpuMillis     The allocatable CPU of the ready, schedulable nodes, in millicores.
+ * @param allocatableMemoryBytes The allocatable memory of all nodes, in bytes.
+ * @param availableMemoryBytes   The allocatable memory of the ready, schedulable nodes, in bytes.
+ */
+public record NodeHealthSummary(int totalNodes,
+                                int readyNodes,
+                                long allocatableCpuMillis,
+                                long availableCpuMillis,
+                                long allocatableMemoryBytes,
+                                long availableMemoryBytes) {
+
+    /**
+     * @return The share of ready nodes in [0, 1], 0 if the cluster has no nodes.
+     */
+    public double readyRatio() {
+        return ratio(readyNodes, totalNodes);
+    }
+
+    /**
+     * @return The share of the allocatable CPU that is available, in [0, 1].
+     */
+    public double cpuRatio() {
+        return ratio(availableCpuMillis, allocatableCpuMillis);
+    }
+
+    /**
+     * @return The share of the allocatable memory that is available, in [0, 1].
+     */
+    public double memoryRatio() {
+        return ratio(availableMemoryBytes, allocatableMemoryBytes);
+    }
+
+    private static double ratio(long part, long whole) {
+        return whole <= 0 ? 0 : (double) part / whole;
+    }
+}
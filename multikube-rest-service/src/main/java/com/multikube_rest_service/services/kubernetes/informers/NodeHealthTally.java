@@ -0,0 +1,107 @@
+package com.multikube_rest_service.services.kubernetes.informers;
+
+import io.kubernetes.client.custom.Quantity;
+import io.kubernetes.client.openapi.models.V1Node;
+import io.kubernetes.client.openapi.models.V1NodeCondition;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Running totals of the nodes of one cluster, fed by the add, update and delete notifications of its node watch.
+ * <p>
+ * Only the few fields that matter for the health score are kept per node, and each notification adjusts the totals
+ * by the difference between the node's previous and new state, so a summary never iterates the nodes.
+ */
+final class NodeHealthTally {
+
+    private static final Set<String> PRESSURE_CONDITIONS = Set.of("MemoryPressure", "DiskPressure", "PIDPressure");
+
+    private final Map<String, NodeState> nodes = new HashMap<>();
+    private int readyNodes;
+    private long allocatableCpuMillis;
+    private long availableCpuMillis;
+    private long allocatableMemoryBytes;
+    private long availableMemoryBytes;
+
+    /**
+     * Adds a node, or replaces the state of a known node.
+     *
+     * @param node The node as received from the watch.
+     */
+    synchronized void upsert(V1Node node) {
+        if (node.getMetadata() == null || node.getMetadata().getName() == null) {
+            return;
+        }
+        NodeState current = NodeState.of(node);
+        NodeState previous = nodes.put(node.getMetadata().getName(), current);
+        if (previous != null) {
+            apply(previous, -1);
+        }
+        apply(current, 1);
+    }
+
+    /**
+     * Removes a node, if known.
+     *
+     * @param name The name of the node.
+     */
+    synchronized void remove(String name) {
+        NodeState previous = nodes.remove(name);
+        if (previous != null) {
+            apply(previous, -1);
+        }
+    }
+
+    synchronized NodeHealthSummary summary() {
+        return new NodeHealthSummary(nodes.size(), readyNodes, allocatableCpuMillis, availableCpuMillis,
+                allocatableMemoryBytes, availableMemoryBytes);
+    }
+
+    private void apply(NodeState state, int sign) {
+        allocatableCpuMillis += sign * state.cpuMillis();
+        allocatableMemoryBytes += sign * state.memoryBytes();
+        if (state.ready()) {
+            readyNodes += sign;
+            if (state.schedulable()) {
+                availableCpuMillis += sign * state.cpuMillis();
+                availableMemoryBytes += sign * state.memoryBytes();
+            }
+        }
+    }
+
+    private record NodeState(boolean ready, boolean schedulable, long cpuMillis, long memoryBytes) {
+
+        static NodeState of(V1Node node) {
+            boolean ready = false;
+            boolean pressure = false;
+            Map<String, Quantity> allocatable = Map.of();
+            if (node.getStatus() != null) {
+                List<V1NodeCondition> conditions = node.getStatus().getConditions();
+                if (conditions != null) {
+                    for (V1NodeCondition condition : conditions) {
+                        boolean isTrue = "True".equals(condition.getStatus());
+                        if ("Ready".equals(condition.getType())) {
+                            ready = isTrue;
+                        } else if (PRESSURE_CONDITIONS.contains(condition.getType()) && isTrue) {
+                            pressure = true;
+                        }
+                    }
+                }
+                if (node.getStatus().getAllocatable() != null) {
+                    allocatable = node.getStatus().getAllocatable();
+                }
+            }
+            boolean schedulable = node.getSpec() == null || !Boolean.TRUE.equals(node.getSpec().getUnschedulable());
+            return new NodeState(ready && !pressure, schedulable,
+                    amount(allocatable.get("cpu"), 1000), amount(allocatable.get("memory"), 1));
+        }
+
+        private static long amount(Quantity quantity, long scale) {
+            return quantity == null ? 0 : quantity.getNumber().multiply(BigDecimal.valueOf(scale)).longValue();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.multikube_rest_service.services.kubernetes.informers;
+
+import com.multikube_rest_service.repositories.provider.WatchBookmark;
+import com.multikube_rest_service.repositories.provider.WatchBookmarkRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The last resourceVersion seen by the informers, per cluster and kind, so that the list they start with after a restart
+ * is no older than what they saw before it.
+ * <p>
+ * The informers record the resourceVersion of every list, watch event and watch bookmark here. Recording only
+ * touches memory; the latest version per kind is written to the database periodically and on shutdown, so a busy
+ * watch costs one upsert per flush. Each bookmark is written on its own, so one that cannot be written (e.g. of a
+ * cluster deleted meanwhile) does not hold back the others. The persisted versions of a cluster are loaded the first time they are needed.
+ */
+@Component
+public class WatchBookmarks {
+
+    private static final Logger logger = LoggerFactory.getLogger(WatchBookmarks.class);
+
+    private final WatchBookmarkRepository repository;
+
+    // Per cluster, the latest resourceVersion per kind; a cluster is present once its persisted versions are loaded.
+    private final ConcurrentMap<Long, ConcurrentMap<String, String>> versions = new ConcurrentHashMap<>();
+    // Per cluster, the kinds whose version changed since the last flush.
+    private final ConcurrentMap<Long, Set<String>> dirty = new ConcurrentHashMap<>();
+
+    public WatchBookmarks(WatchBookmarkRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * @param clusterId The ID of the cluster.
+     * @param kind      The watched kind, e.g. 'Deployment'.
+     * @return The last resourceVersion seen, or empty if none is known.
+     */
+    public Optional<String> get(Long clusterId, String kind) {
+        return Optional.ofNullable(loaded(clusterId).get(kind));
+    }
+
+    /**
+     * Records the resourceVersion a watch has reached.
+     *
+     * @param clusterId       The ID of the cluster.
+     * @param kind            The watched kind.
+     * @param resourceVersion The resourceVersion, ignored if empty.
+     */
+    public void record(Long clusterId, String kind, String resourceVersion) {
+        if (resourceVersion == null || resourceVersion.isEmpty()) {
+            return;
+        }
+        String previous = loaded(clusterId).put(kind, resourceVersion);
+        if (!resourceVersion.equals(previous)) {
+            dirty.computeIfAbsent(clusterId, id -> ConcurrentHashMap.newKeySet()).add(kind);
+        }
+    }
+
+    /**
+     * Forgets the resourceVersion of a kind, e.g. after the API server no longer had it.
+     *
+     * @param clusterId The ID of the cluster.
+     * @param kind      The watched kind.
+     */
+    public void forget(Long clusterId, String kind) {
+        loaded(clusterId).remove(kind);
+        Set<String> kinds = dirty.get(clusterId);
+        if (kinds != null) {
+            kinds.remove(kind);
+        }
+        try {
+            repository.delete(clusterId, kind);
+        } catch (DataAccessException e) {
+            logger.warn("Failed to delete the watch bookmark of {} in cluster ID: {}. Error: {}", kind, clusterId, e.getMessage());
+        }
+    }
+
+    /**
+     * Drops the versions of a cluster from memory, e.g. after it was deleted or taken over by another replica. The rows
+     * of a deleted cluster are deleted with it; those of a cluster taken over are written by its new owner from then on.
+     *
+     * @param clusterId The ID of the cluster.
+     */
+    public void invalidate(Long clusterId) {
+        dirty.remove(clusterId);
+        versions.remove(clusterId);
+    }
+
+    /**
+     * Writes the versions that changed since the last flush.
+     */
+    @Scheduled(fixedDelayString = "${multikube.kubernetes.informer.bookmark.flush.ms:10000}")
+    public void flush() {
+        List<WatchBookmark> bookmarks = new ArrayList<>();
+        dirty.forEach((clusterId, kinds) -> {
+            Map<String, String> clusterVersions = versions.get(clusterId);
+            for (String kind : List.copyOf(kinds)) {
+                kinds.remove(kind);
+                String resourceVersion = clusterVersions == null ? null : clusterVersions.get(kind);
+                if (resourceVersion != null) {
+                    bookmarks.add(new WatchBookmark(clusterId, kind, resourceVersion));
+                }
+            }
+        });
+        if (bookmarks.isEmpty()) {
+            return;
+        }
+        int saved = 0;
+        for (WatchBookmark bookmark : bookmarks) {
+            try {
+                repository.save(bookmark);
+                saved++;
+            } catch (DataAccessException e) {
+                // Not retried: a live watch records a newer version soon, and a lost one only costs a staler first list.
+                logger.warn("Failed to save the watch bookmark of {} in cluster ID: {}. Error: {}",
+                        bookmark.kind(), bookmark.clusterId(), e.getMessage());
+            }
+        }
+        logger.debug("Saved {} of {} watch bookmark(s)", saved, bookmarks.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private ConcurrentMap<String, String> loaded(Long clusterId) {
+        ConcurrentMap<String, String> clusterVersions = versions.get(clusterId);
+        if (clusterVersions != null) {
+            return clusterVersions;
+        }
+        Map<String, String> persisted;
+        try {
+            persisted = repository.findByCluster(clusterId);
+        } catch (DataAccessException e) {
+            // The first lists are served from the watch cache, however old it is.
+            logger.warn("Failed to load the watch bookmarks of cluster ID: {}. Error: {}", clusterId, e.getMessage());
+            persisted = Map.of();
+        }
+        ConcurrentMap<String, String> fresh = new ConcurrentHashMap<>(persisted);
+        ConcurrentMap<String, String> existing = versions.putIfAbsent(clusterId, fresh);
+        return existing != null ? existing : fresh;
+    }
+}
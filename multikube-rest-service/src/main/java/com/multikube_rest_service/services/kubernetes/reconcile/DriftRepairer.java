@@ -0,0 +1,31 @@
+package com.multikube_rest_service.services.kubernetes.reconcile;
+
+import com.multikube_rest_service.repositories.tenant.TrackedObject;
+import com.multikube_rest_service.services.kubernetes.drift.DriftDetector;
+import com.multikube_rest_service.services.kubernetes.drift.DriftListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Queues drifted objects on the {@link ReconcileQueue}, so that their stored manifest is re-applied. Repeated drift
+ * reports for an object that is still queued or retrying collapse into one reconciliation.
+ */
+@Component
+public class DriftRepairer implements DriftListener {
+
+    private final ReconcileQueue reconcileQueue;
+
+    public DriftRepairer(DriftDetector driftDetector,
+                         ReconcileQueue reconcileQueue,
+                         @Value("${multikube.drift.repair.enabled:false}") boolean enabled) {
+        this.reconcileQueue = reconcileQueue;
+        if (enabled) {
+            driftDetector.addListener(this);
+        }
+    }
+
+    @Override
+    public void onDrift(Long clusterId, TrackedObject object) {
+        reconcileQueue.add(new ReconcileKey(clusterId, object.namespace(), object.kind(), object.name()));
+    }
+}
@@ -0,0 +1,16 @@
+package com.multikube_rest_service.services.kubernetes.reconcile;
+
+/**
+ * Brings an object in line with its stored intent. Called by the workers of the {@link ReconcileQueue}, never
+ * concurrently for the same key.
+ */
+public interface ReconcileHandler {
+
+    /**
+     * Reconciles one object. Must be idempotent, as a key may be reconciled again at any time.
+     *
+     * @param key The object to reconcile.
+     * @throws RuntimeException if the object could not be reconciled; the key is then retried with backoff.
+     */
+    void reconcile(ReconcileKey key);
+}
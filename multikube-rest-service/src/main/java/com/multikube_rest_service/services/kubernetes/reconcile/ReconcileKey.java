@@ -0,0 +1,12 @@
+package com.multikube_rest_service.services.kubernetes.reconcile;
+
+/**
+ * Identifies an object to reconcile. Requests for the same key are deduplicated by the {@link ReconcileQueue}.
+ *
+ * @param clusterId The ID of the cluster the object lives on.
+ * @param namespace The name of the Kubernetes namespace of the object.
+ * @param kind      The kind of the object, e.g. 'Deployment'.
+ * @param name      The name of the object.
+ */
+public record ReconcileKey(Long clusterId, String namespace, String kind, String name) {
+}
@@ -0,0 +1,262 @@
+package com.multikube_rest_service.services.kubernetes.reconcile;
+
+import com.multikube_rest_service.services.kubernetes.resilience.RequestPriority;
+import com.multikube_rest_service.services.kubernetes.resilience.RequestPriorityContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A controller-style work queue of objects to reconcile, modelled on the client-go workqueue.
+ * <p>
+ * A key is queued at most once: adding a key that is already waiting is a no-op, and a key added while it is being
+ * reconciled is queued again only once that reconciliation finishes, so the same object is never reconciled
+ * concurrently and bursts of requests collapse into one reconciliation. Each cluster has its own queue, drained by up
+ * to the configured number of workers running on the Kubernetes task executor; workers only exist while there is
+ * work, so idle clusters cost nothing. A failed reconciliation is retried with per-key exponential backoff, and given
+ * up after the maximum number of retries; adding a key while it waits out its backoff is a no-op, so repeated reports
+ * of the same drift do not bypass the backoff. Keys of deleted clusters need no special handling, as the handler finds
+ * nothing to reconcile for them; those of clusters taken over by another replica are dropped, see {@link #invalidate}. The reconciliations run with the {@link RequestPriority#RECONCILE}
+ * priority, so they never take the rate limit tokens reserved for user requests.
+ */
+@Component
+public class ReconcileQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReconcileQueue.class);
+
+    private final ReconcileHandler handler;
+    private final Executor kubernetesTaskExecutor;
+    private final int workersPerCluster;
+    private final long baseBackoffMs;
+    private final long maxBackoffMs;
+    private final int maxRetries;
+
+    private final ConcurrentMap<Long, ClusterQueue> clusters = new ConcurrentHashMap<>();
+    // Keys waiting out their backoff, with the time they are due again.
+    private final ConcurrentMap<ReconcileKey, Long> retryAt = new ConcurrentHashMap<>();
+    private final ConcurrentMap<ReconcileKey, Integer> failures = new ConcurrentHashMap<>();
+
+    private final Timer latencyTimer;
+    private final Timer workTimer;
+    private final Counter retryCounter;
+    private final Counter droppedCounter;
+
+    public ReconcileQueue(ReconcileHandler handler,
+                          @Qualifier("kubernetesTaskExecutor") Executor kubernetesTaskExecutor,
+                          MeterRegistry meterRegistry,
+                          @Value("${multikube.reconcile.workers.per.cluster:4}") int workersPerCluster,
+                          @Value("${multikube.reconcile.backoff.base.ms:500}") long baseBackoffMs,
+                          @Value("${multikube.reconcile.backoff.max.ms:300000}") long maxBackoffMs,
+                          @Value("${multikube.reconcile.max.retries:15}") int maxRetries) {
+        this.handler = handler;
+        this.kubernetesTaskExecutor = kubernetesTaskExecutor;
+        this.workersPerCluster = workersPerCluster;
+        this.baseBackoffMs = baseBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.maxRetries = maxRetries;
+        Gauge.builder("multikube.reconcile.queue.depth", this, ReconcileQueue::depth)
+                .description("Keys waiting to be reconciled")
+                .register(meterRegistry);
+        Gauge.builder("multikube.reconcile.queue.retrying", retryAt, Map::size)
+                .description("Keys waiting out their backoff after a failed reconciliation")
+                .register(meterRegistry);
+        this.latencyTimer = Timer.builder("multikube.reconcile.queue.latency")
+                .description("Time keys spent queued before a worker picked them up")
+                .register(meterRegistry);
+        this.workTimer = Timer.builder("multikube.reconcile.work.duration")
+                .description("Time taken to reconcile a key")
+                .register(meterRegistry);
+        this.retryCounter = Counter.builder("multikube.reconcile.retries")
+                .description("Failed reconciliations scheduled for a retry")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("multikube.reconcile.dropped")
+                .description("Keys given up after the maximum number of retries")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a key for reconciliation, unless it is queued already or waiting out its backoff, in which case it is
+     * queued once the backoff has passed.
+     *
+     * @param key The object to reconcile.
+     */
+    public void add(ReconcileKey key) {
+        if (retryAt.containsKey(key)) {
+            return;
+        }
+        ClusterQueue queue = clusters.computeIfAbsent(key.clusterId(), id -> new ClusterQueue());
+        synchronized (queue) {
+            if (queue.dirty.containsKey(key)) {
+                return;
+            }
+            queue.dirty.put(key, now());
+            if (!queue.processing.contains(key)) {
+                queue.items.add(key);
+            }
+        }
+        startWorkerIfNeeded(queue);
+    }
+
+    /**
+     * Drops the queued and retrying keys of a cluster, e.g. once another replica took it over, so that the objects are
+     * only reconciled by their new owner. A key being reconciled right now still finishes.
+     *
+     * @param clusterId The ID of the cluster.
+     */
+    public void invalidate(Long clusterId) {
+        ClusterQueue queue = clusters.remove(clusterId);
+        if (queue != null) {
+            synchronized (queue) {
+                queue.items.clear();
+                queue.dirty.clear();
+            }
+        }
+        retryAt.keySet().removeIf(key -> key.clusterId().equals(clusterId));
+        failures.keySet().removeIf(key -> key.clusterId().equals(clusterId));
+    }
+
+    /**
+     * @return The number of keys waiting to be reconciled, across all clusters.
+     */
+    public int depth() {
+        int depth = 0;
+        for (ClusterQueue queue : clusters.values()) {
+            synchronized (queue) {
+                depth += queue.items.size();
+            }
+        }
+        return depth;
+    }
+
+    /**
+     * Queues the keys whose backoff has passed.
+     */
+    @Scheduled(fixedDelayString = "${multikube.reconcile.requeue.ms:250}")
+    public void requeueDue() {
+        long now = now();
+        retryAt.forEach((key, dueAt) -> {
+            // Only removed if not rescheduled meanwhile.
+            if (dueAt <= now && retryAt.remove(key, dueAt)) {
+                add(key);
+            }
+        });
+    }
+
+    /**
+     * Returns the current time in epoch milliseconds. Overridden in tests.
+     */
+    long now() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * @param attempt The number of consecutive failures, starting at 1.
+     * @return The backoff before the next attempt: the base backoff doubled per failure, capped at the maximum.
+     */
+    long backoffMs(int attempt) {
+        int doublings = Math.min(attempt - 1, 30);
+        return Math.min(maxBackoffMs, baseBackoffMs << doublings);
+    }
+
+    private void startWorkerIfNeeded(ClusterQueue queue) {
+        synchronized (queue) {
+            if (queue.workers >= workersPerCluster || queue.items.isEmpty()) {
+                return;
+            }
+            queue.workers++;
+        }
+        try {
+            kubernetesTaskExecutor.execute(() -> work(queue));
+        } catch (RejectedExecutionException e) {
+            // Shutting down; the keys are lost with the rest of the in-memory state.
+            synchronized (queue) {
+                queue.workers--;
+            }
+            logger.debug("Reconcile worker rejected: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reconciles queued keys until the queue is empty.
+     */
+    private void work(ClusterQueue queue) {
+        while (true) {
+            ReconcileKey key;
+            long queuedAt;
+            synchronized (queue) {
+                key = queue.items.poll();
+                if (key == null) {
+                    queue.workers--;
+                    return;
+                }
+                queuedAt = queue.dirty.remove(key);
+                queue.processing.add(key);
+            }
+            latencyTimer.record(Math.max(0, now() - queuedAt), TimeUnit.MILLISECONDS);
+            try {
+                process(key);
+            } finally {
+                synchronized (queue) {
+                    queue.processing.remove(key);
+                    if (queue.dirty.containsKey(key)) {
+                        // Added again while it was being reconciled.
+                        queue.items.add(key);
+                    }
+                }
+            }
+        }
+    }
+
+    private void process(ReconcileKey key) {
+        long started = now();
+        try {
+            RequestPriorityContext.runWith(RequestPriority.RECONCILE, () -> handler.reconcile(key));
+            failures.remove(key);
+        } catch (RuntimeException e) {
+            int attempt = failures.merge(key, 1, Integer::sum);
+            if (attempt > maxRetries) {
+                failures.remove(key);
+                droppedCounter.increment();
+                logger.warn("Giving up reconciling {} after {} attempts. Error: {}", key, attempt, e.getMessage());
+                return;
+            }
+            long backoffMs = backoffMs(attempt);
+            retryAt.put(key, now() + backoffMs);
+            retryCounter.increment();
+            logger.warn("Failed to reconcile {} (attempt {}), retrying in {} ms. Error: {}", key, attempt, backoffMs, e.getMessage());
+        } finally {
+            workTimer.record(Math.max(0, now() - started), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * The queue of one cluster. All fields are guarded by the instance's monitor.
+     */
+    private static final class ClusterQueue {
+        // Keys in the order they are to be reconciled.
+        private final Queue<ReconcileKey> items = new ArrayDeque<>();
+        // Keys that need reconciling, with the time they were added.
+        private final Map<ReconcileKey, Long> dirty = new HashMap<>();
+        private final Set<ReconcileKey> processing = new HashSet<>();
+        private int workers;
+    }
+}
@@ -0,0 +1,78 @@
+package com.multikube_rest_service.services.kubernetes.reconcile;
+
+import com.multikube_rest_service.common.enums.SyncStatus;
+import com.multikube_rest_service.entities.provider.KubernetesCluster;
+import com.multikube_rest_service.repositories.provider.KubernetesClusterRepository;
+import com.multikube_rest_service.repositories.tenant.TrackedObject;
+import com.multikube_rest_service.repositories.tenant.TrackedObjectRepository;
+import com.multikube_rest_service.services.kubernetes.AppliedState;
+import com.multikube_rest_service.services.kubernetes.ApplyResult;
+import com.multikube_rest_service.services.kubernetes.KubernetesClientService;
+import com.multikube_rest_service.services.kubernetes.KubernetesLabels;
+import com.multikube_rest_service.services.kubernetes.factories.KubernetesResource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Reconciles workloads and namespace configurations by re-applying their stored manifest.
+ * <p>
+ * The apply is skipped if the object is unchanged since its last apply (see
+ * {@link KubernetesClientService#applyIfChanged}), except for objects found to have drifted, which are always
+ * re-applied: drift may lie in fields that do not bump the generation, such as labels. Keys whose cluster or record
+ * no longer exists are dropped.
+ */
+@Component
+public class TrackedObjectReconciler implements ReconcileHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrackedObjectReconciler.class);
+
+    private final KubernetesClusterRepository clusterRepository;
+    private final TrackedObjectRepository trackedObjectRepository;
+    private final KubernetesClientService kubernetesClientService;
+
+    public TrackedObjectReconciler(KubernetesClusterRepository clusterRepository,
+                                   TrackedObjectRepository trackedObjectRepository,
+                                   KubernetesClientService kubernetesClientService) {
+        this.clusterRepository = clusterRepository;
+        this.trackedObjectRepository = trackedObjectRepository;
+        this.kubernetesClientService = kubernetesClientService;
+    }
+
+    @Override
+    public void reconcile(ReconcileKey key) {
+        Optional<KubernetesCluster> cluster = clusterRepository.findById(key.clusterId());
+        Optional<TrackedObject> found = cluster.isEmpty()
+                ? Optional.empty()
+                : trackedObjectRepository.findOne(key.clusterId(), key.namespace(), key.kind(), key.name());
+        if (found.isEmpty()) {
+            logger.debug("Nothing to reconcile for {}", key);
+            return;
+        }
+        TrackedObject object = found.get();
+        KubernetesResource resource = new KubernetesResource(object.name(), object.kind(), object.yamlContent());
+        AppliedState lastApplied = object.syncStatus() == SyncStatus.DRIFT_DETECTED
+                ? null
+                : new AppliedState(object.appliedHash(), object.appliedGeneration());
+
+        ApplyResult result = kubernetesClientService.applyIfChanged(cluster.get(), object.namespace(), resource,
+                labelsOf(object.source()), lastApplied);
+        if (!result.applied()) {
+            throw new IllegalStateException("Failed to apply " + object.kind() + "/" + object.name() + ": " + result.error());
+        }
+        if (!result.skipped()) {
+            trackedObjectRepository.recordApplied(object, resource.contentHash(), result.generation());
+            logger.info("Reconciled {} {}/{} on cluster ID: {}", object.kind(), object.namespace(), object.name(), key.clusterId());
+        }
+    }
+
+    private static Map<String, String> labelsOf(TrackedObject.Source source) {
+        return Map.of(KubernetesLabels.COMPONENT, switch (source) {
+            case WORKLOAD -> KubernetesLabels.COMPONENT_WORKLOAD;
+            case CONFIGURATION -> KubernetesLabels.COMPONENT_CONFIGURATION;
+        });
+    }
+}
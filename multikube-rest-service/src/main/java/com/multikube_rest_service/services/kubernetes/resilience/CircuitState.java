@@ -0,0 +1,19 @@
+package com.multikube_rest_service.services.kubernetes.resilience;
+
+/**
+ * The states of a per-cluster circuit breaker.
+ */
+public enum CircuitState {
+    /**
+     * Calls flow normally; consecutive failures are counted.
+     */
+    CLOSED,
+    /**
+     * The cluster is considered down; calls fail fast without touching the network.
+     */
+    OPEN,
+    /**
+     * The open period has elapsed; a single probe call is let through to test the cluster.
+     */
+    HALF_OPEN
+}
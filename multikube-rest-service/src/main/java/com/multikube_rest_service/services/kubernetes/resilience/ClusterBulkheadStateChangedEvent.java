@@ -0,0 +1,11 @@
+package com.multikube_rest_service.services.kubernetes.resilience;
+
+/**
+ * Published when the bulkhead of a cluster becomes saturated, i.e. a call was rejected because all of the cluster's
+ * concurrent call slots were taken, and again once a call completes with slots free.
+ *
+ * @param clusterId The ID of the cluster.
+ * @param saturated Whether the bulkhead is now saturated.
+ */
+public record ClusterBulkheadStateChangedEvent(Long clusterId, boolean saturated) {
+}
@@ -0,0 +1,172 @@
+package com.multikube_rest_service.services.kubernetes.resilience;
+
+import com.multikube_rest_service.exceptions.ClusterUnavailableException;
+import io.kubernetes.client.openapi.ApiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Wraps every call to a cluster's API server with a per-cluster circuit breaker and bulkhead.
+ * <p>
+ * The bulkhead bounds the number of concurrent in-flight calls per cluster, so a slow cluster can only ever pin a
+ * fixed number of request threads and DB connections. The circuit breaker opens after consecutive connectivity or
+ * server failures and then rejects calls immediately with a {@link ClusterUnavailableException} instead of letting
+ * each one wait for OkHttp timeouts. Calls that pass the breaker are rate limited by the {@link ClusterRateLimiter}
+ * before they take a bulkhead slot. State changes are published as {@link ClusterCircuitStateChangedEvent}s and
+ * {@link ClusterBulkheadStateChangedEvent}s.
+ */
+@Component
+public class ClusterCallGuard {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterCallGuard.class);
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final ClusterRateLimiter rateLimiter;
+    private final int failureThreshold;
+    private final long openDurationMs;
+    private final int maxConcurrentCalls;
+    private final long maxWaitMs;
+
+    private final ConcurrentMap<Long, ClusterGuard> guards = new ConcurrentHashMap<>();
+
+    public ClusterCallGuard(
+            ApplicationEventPublisher eventPublisher,
+            ClusterRateLimiter rateLimiter,
+            @Value("${multikube.kubernetes.circuit.failure.threshold:5}") int failureThreshold,
+            @Value("${multikube.kubernetes.circuit.open.duration.ms:30000}") long openDurationMs,
+            @Value("${multikube.kubernetes.bulkhead.max.concurrent.calls:20}") int maxConcurrentCalls,
+            @Value("${multikube.kubernetes.bulkhead.max.wait.ms:500}") long maxWaitMs) {
+        this.eventPublisher = eventPublisher;
+        this.rateLimiter = rateLimiter;
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDurationMs;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxWaitMs = maxWaitMs;
+    }
+
+    /**
+     * Executes a call against the given cluster under its circuit breaker, rate limiter and bulkhead.
+     * The call is rate limited with the priority of the current {@link RequestPriorityContext}.
+     *
+     * @param clusterId The ID of the target cluster.
+     * @param call      The call to execute.
+     * @return The call's result.
+     * @throws ClusterUnavailableException if the circuit is open, the rate limit wait is exceeded or the bulkhead is full.
+     * @throws ApiException                if the call itself fails.
+     * @throws IOException                 if the call itself fails.
+     */
+    public <T> T call(Long clusterId, KubernetesCall<T> call) throws ApiException, IOException {
+        ClusterGuard guard = guards.computeIfAbsent(clusterId, id -> new ClusterGuard(
+                new ClusterCircuitBreaker(failureThreshold, openDurationMs, System::currentTimeMillis),
+                new Semaphore(maxConcurrentCalls), new AtomicBoolean()));
+
+        ClusterCircuitBreaker breaker = guard.breaker();
+        boolean permitted = breaker.tryAcquirePermission();
+        publish(clusterId, breaker.takeTransition());
+        if (!permitted) {
+            throw new ClusterUnavailableException("Cluster with ID " + clusterId + " is currently unreachable. Please retry later.");
+        }
+
+        try {
+            rateLimiter.acquire(clusterId, RequestPriorityContext.current());
+        } catch (RuntimeException e) {
+            breaker.onIgnored();
+            throw e;
+        }
+
+        if (!acquireSlot(guard.bulkhead())) {
+            breaker.onIgnored();
+            if (guard.saturated().compareAndSet(false, true)) {
+                logger.warn("Bulkhead for cluster ID: {} is saturated; rejecting calls", clusterId);
+                eventPublisher.publishEvent(new ClusterBulkheadStateChangedEvent(clusterId, true));
+            }
+            throw new ClusterUnavailableException("Cluster with ID " + clusterId + " is handling too many requests. Please retry later.");
+        }
+
+        try {
+            T result = call.execute();
+            publish(clusterId, breaker.onSuccess());
+            if (guard.bulkhead().availablePermits() > 0 && guard.saturated().compareAndSet(true, false)) {
+                eventPublisher.publishEvent(new ClusterBulkheadStateChangedEvent(clusterId, false));
+            }
+            return result;
+        } catch (ApiException e) {
+            if (isClusterFailure(e)) {
+                publish(clusterId, breaker.onFailure());
+            } else {
+                // The API server answered; a 4xx says nothing bad about the cluster's health.
+                publish(clusterId, breaker.onSuccess());
+            }
+            throw e;
+        } catch (IOException e) {
+            publish(clusterId, breaker.onFailure());
+            throw e;
+        } catch (RuntimeException e) {
+            // The generic/dynamic client rethrows connection failures as an unchecked exception wrapping the IOException.
+            if (e.getCause() instanceof IOException) {
+                publish(clusterId, breaker.onFailure());
+            } else {
+                breaker.onIgnored();
+            }
+            throw e;
+        } finally {
+            guard.bulkhead().release();
+        }
+    }
+
+    /**
+     * @param clusterId The ID of the cluster.
+     * @return The current circuit state of the cluster; CLOSED if it has not been called yet.
+     */
+    public CircuitState getCircuitState(Long clusterId) {
+        ClusterGuard guard = guards.get(clusterId);
+        return guard == null ? CircuitState.CLOSED : guard.breaker().getState();
+    }
+
+    /**
+     * Drops the breaker, bulkhead and rate limiter of a cluster, e.g. after it was deleted.
+     *
+     * @param clusterId The ID of the cluster.
+     */
+    public void invalidate(Long clusterId) {
+        guards.remove(clusterId);
+        rateLimiter.invalidate(clusterId);
+    }
+
+    private boolean acquireSlot(Semaphore bulkhead) {
+        try {
+            return bulkhead.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Connection failures surface as an ApiException with code 0; 5xx answers mean the API server is unhealthy.
+     */
+    private static boolean isClusterFailure(ApiException e) {
+        return e.getCode() == 0 || e.getCode() >= 500;
+    }
+
+    private void publish(Long clusterId, ClusterCircuitBreaker.Transition transition) {
+        if (transition == null) {
+            return;
+        }
+        logger.info("Circuit for cluster ID: {} moved from {} to {}", clusterId, transition.from(), transition.to());
+        eventPublisher.publishEvent(new ClusterCircuitStateChangedEvent(clusterId, transition.from(), transition.to()));
+    }
+
+    private record ClusterGuard(ClusterCircuitBreaker breaker, Semaphore bulkhead, AtomicBoolean saturated) {
+    }
+}
@@ -0,0 +1,121 @@
+package com.multikube_rest_service.services.kubernetes.resilience;
+
+import java.util.function.LongSupplier;
+
+/**
+ * A consecutive-failure circuit breaker guarding the calls to a single cluster.
+ * <p>
+ * While CLOSED, calls pass and consecutive failures are counted; reaching the failure threshold opens the circuit.
+ * While OPEN, calls are rejected until the open duration has elapsed, after which the circuit becomes HALF_OPEN and
+ * exactly one probe call is let through. A successful probe closes the circuit, a failed one re-opens it.
+ * All methods are thread-safe.
+ */
+public class ClusterCircuitBreaker {
+
+    /**
+     * A state change caused by a call outcome.
+     *
+     * @param from The state before the change.
+     * @param to   The state after the change.
+     */
+    public record Transition(CircuitState from, CircuitState to) {
+    }
+
+    private final int failureThreshold;
+    private final long openDurationMs;
+    private final LongSupplier clock;
+
+    private CircuitState state = CircuitState.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+    private Transition pendingTransition;
+
+    public ClusterCircuitBreaker(int failureThreshold, long openDurationMs, LongSupplier clock) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDurationMs;
+        this.clock = clock;
+    }
+
+    /**
+     * Asks whether a call may proceed. A permitted call must be followed by exactly one of
+     * {@link #onSuccess()}, {@link #onFailure()} or {@link #onIgnored()}.
+     *
+     * @return true if the call may proceed, false if it must fail fast.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (clock.getAsLong() - openedAt < openDurationMs) {
+                    return false;
+                }
+                moveTo(CircuitState.HALF_OPEN);
+                probeInFlight = true;
+                return true;
+            case HALF_OPEN:
+            default:
+                if (probeInFlight) {
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+        }
+    }
+
+    /**
+     * Records a call that reached the API server and got a non-server-error answer.
+     *
+     * @return The state change this caused, or null if the state did not change.
+     */
+    public synchronized Transition onSuccess() {
+        consecutiveFailures = 0;
+        probeInFlight = false;
+        if (state != CircuitState.CLOSED) {
+            moveTo(CircuitState.CLOSED);
+        }
+        return takeTransition();
+    }
+
+    /**
+     * Records a call that failed because the cluster was unreachable or answered with a server error.
+     *
+     * @return The state change this caused, or null if the state did not change.
+     */
+    public synchronized Transition onFailure() {
+        probeInFlight = false;
+        consecutiveFailures++;
+        if (state == CircuitState.HALF_OPEN || (state == CircuitState.CLOSED && consecutiveFailures >= failureThreshold)) {
+            openedAt = clock.getAsLong();
+            moveTo(CircuitState.OPEN);
+        }
+        return takeTransition();
+    }
+
+    /**
+     * Records a permitted call whose outcome says nothing about the cluster's health, e.g. an invalid manifest.
+     */
+    public synchronized void onIgnored() {
+        probeInFlight = false;
+    }
+
+    /**
+     * @return The transition caused by {@link #tryAcquirePermission()} moving from OPEN to HALF_OPEN, if any.
+     */
+    public synchronized Transition takeTransition() {
+        Transition transition = pendingTransition;
+        pendingTransition = null;
+        return transition;
+    }
+
+    public synchronized CircuitState getState() {
+        return state;
+    }
+
+    private void moveTo(CircuitState next) {
+        CircuitState from = pendingTransition != null ? pendingTransition.from() : state;
+        state = next;
+        pendingTransition = from == next ? null : new Transition(from, next);
+    }
+}
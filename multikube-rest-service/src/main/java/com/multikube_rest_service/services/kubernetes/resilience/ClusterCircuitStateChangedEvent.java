@@ -0,0 +1,11 @@
+package com.multikube_rest_service.services.kubernetes.resilience;
+
+/**
+ * Published whenever the circuit breaker of a cluster changes state.
+ *
+ * @param clusterId The ID of the cluster.
+ * @param previous  The state before the transition.
+ * @param current   The state after the transition.
+ */
+public record ClusterCircuitStateChangedEvent(Long clusterId, CircuitState previous, CircuitState current) {
+}
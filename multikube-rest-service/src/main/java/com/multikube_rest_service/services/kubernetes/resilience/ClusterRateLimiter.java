@@ -0,0 +1,123 @@
+package com.multikube_rest_service.services.kubernetes.resilience;
+
+import com.multikube_rest_service.exceptions.ClusterUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Client-side rate limiting of the calls made to each cluster's API server.
+ * <p>
+ * Each cluster gets a {@link TokenBucket} refilling at the configured QPS up to the burst size. Calls wait for a
+ * token, with background priorities ({@link RequestPriority#RECONCILE}, {@link RequestPriority#HEALTH_PROBE})
+ * leaving a reserve untouched and yielding to waiting interactive calls, so bulk provisioning and status sweeps
+ * cannot starve user requests nor push the API server into answering 429. A call that cannot get a token within
+ * the maximum wait fails with a {@link ClusterUnavailableException}. A call made inside a transaction only waits up
+ * to the (by default zero) in-transaction maximum, so a busy cluster cannot make a request hold its DB connection.
+ * The time spent waiting is recorded per priority in the {@code multikube.kubernetes.ratelimit.queued} timer.
+ */
+@Component
+public class ClusterRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterRateLimiter.class);
+
+    private final double permitsPerSecond;
+    private final int burst;
+    private final int interactiveReserve;
+    private final long maxWaitNanos;
+    private final long maxWaitInTransactionNanos;
+
+    private final ConcurrentMap<Long, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<RequestPriority, Timer> queuedTimers = new EnumMap<>(RequestPriority.class);
+    private final Map<RequestPriority, Counter> rejectedCounters = new EnumMap<>(RequestPriority.class);
+
+    public ClusterRateLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${multikube.kubernetes.ratelimit.qps:20}") double permitsPerSecond,
+            @Value("${multikube.kubernetes.ratelimit.burst:40}") int burst,
+            @Value("${multikube.kubernetes.ratelimit.interactive.reserve:10}") int interactiveReserve,
+            @Value("${multikube.kubernetes.ratelimit.max.wait.ms:10000}") long maxWaitMs,
+            @Value("${multikube.kubernetes.ratelimit.max.wait.in.transaction.ms:0}") long maxWaitInTransactionMs) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.interactiveReserve = interactiveReserve;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        this.maxWaitInTransactionNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitInTransactionMs);
+
+        for (RequestPriority priority : RequestPriority.values()) {
+            String tag = priority.name().toLowerCase();
+            queuedTimers.put(priority, Timer.builder("multikube.kubernetes.ratelimit.queued")
+                    .description("Time calls spent waiting for a rate limit token")
+                    .tag("priority", tag)
+                    .register(meterRegistry));
+            rejectedCounters.put(priority, Counter.builder("multikube.kubernetes.ratelimit.rejected")
+                    .description("Calls rejected because no rate limit token became available in time")
+                    .tag("priority", tag)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Blocks until the current call may be made to the given cluster.
+     *
+     * @param clusterId The ID of the target cluster.
+     * @param priority  The priority of the call.
+     * @throws ClusterUnavailableException if no token became available within the maximum wait, or the in-transaction
+     *                                     maximum wait if the current thread is inside a transaction.
+     */
+    public void acquire(Long clusterId, RequestPriority priority) {
+        TokenBucket bucket = buckets.computeIfAbsent(clusterId,
+                id -> new TokenBucket(permitsPerSecond, burst, interactiveReserve, System::nanoTime));
+
+        long wait = bucket.tryAcquire(priority);
+        if (wait == 0) {
+            queuedTimers.get(priority).record(0, TimeUnit.NANOSECONDS);
+            return;
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + (TransactionSynchronizationManager.isActualTransactionActive() ? maxWaitInTransactionNanos : maxWaitNanos);
+        boolean interactive = !priority.isBackground();
+        if (interactive) {
+            bucket.interactiveWaiting(true);
+        }
+        try {
+            while (wait > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || Thread.currentThread().isInterrupted()) {
+                    rejectedCounters.get(priority).increment();
+                    logger.warn("Rate limit wait exceeded for {} call to cluster ID: {}", priority, clusterId);
+                    throw new ClusterUnavailableException("Too many requests to cluster with ID " + clusterId + ". Please retry later.");
+                }
+                LockSupport.parkNanos(Math.min(wait, remaining));
+                wait = bucket.tryAcquire(priority);
+            }
+        } finally {
+            if (interactive) {
+                bucket.interactiveWaiting(false);
+            }
+            queuedTimers.get(priority).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Drops the token bucket of a cluster, e.g. after it was deleted.
+     *
+     * @param clusterId The ID of the cluster.
+     */
+    public void invalidate(Long clusterId) {
+        buckets.remove(clusterId);
+    }
+}
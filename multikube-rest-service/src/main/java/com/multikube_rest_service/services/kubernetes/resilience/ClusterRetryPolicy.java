@@ -0,0 +1,154 @@
+package com.multikube_rest_service.services.kubernetes.resilience;
+
+import io.kubernetes.client.openapi.ApiException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retries transient failures of calls to a cluster's API server.
+ * <p>
+ * What is retried depends on whether the call is idempotent:
+ * <ul>
+ *     <li>Any call is retried when the request provably never reached the API server (connection refused, unknown host)
+ *     or was rejected without being processed (429 Too Many Requests).</li>
+ *     <li>Idempotent calls (server-side apply, delete, list) are additionally retried on any I/O failure and on
+ *     500, 502, 503 and 504 answers.</li>
+ * </ul>
+ * Delays follow "decorrelated jitter" (each delay is drawn between the base delay and three times the previous one,
+ * capped), so that many namespaces failing at once do not retry in lockstep. A Retry-After hint from the server is
+ * honoured as a lower bound; a hint longer than the maximum delay ends the retries. Each retry is counted per cluster in {@code multikube.kubernetes.retries}.
+ * Fail-fast rejections ({@link com.multikube_rest_service.exceptions.ClusterUnavailableException}) are never retried.
+ */
+@Component
+public class ClusterRetryPolicy {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterRetryPolicy.class);
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+
+    public ClusterRetryPolicy(MeterRegistry meterRegistry,
+                              @Value("${multikube.kubernetes.retry.max.attempts:4}") int maxAttempts,
+                              @Value("${multikube.kubernetes.retry.base.delay.ms:200}") long baseDelayMs,
+                              @Value("${multikube.kubernetes.retry.max.delay.ms:5000}") long maxDelayMs) {
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMs = baseDelayMs;
+        this.maxDelayMs = maxDelayMs;
+    }
+
+    /**
+     * Executes a call, retrying transient failures.
+     *
+     * @param clusterId  The ID of the target cluster, used for metrics.
+     * @param idempotent Whether repeating the call after a partial failure is safe.
+     * @param call       The call to execute.
+     * @return The call's result.
+     * @throws ApiException if the last attempt fails with an API error.
+     * @throws IOException  if the last attempt fails with an I/O error.
+     */
+    public <T> T call(Long clusterId, boolean idempotent, KubernetesCall<T> call) throws ApiException, IOException {
+        long previousDelayMs = baseDelayMs;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return call.execute();
+            } catch (ApiException | IOException | RuntimeException e) {
+                long retryAfterMs = retryAfterMs(e);
+                if (attempt >= maxAttempts || !isRetryable(e, idempotent) || retryAfterMs > maxDelayMs) {
+                    throw e;
+                }
+                long delayMs = nextDelayMs(previousDelayMs, retryAfterMs);
+                previousDelayMs = delayMs;
+                retryCounter(clusterId).increment();
+                logger.debug("Retrying call to cluster ID: {} in {} ms (attempt {} of {}): {}",
+                        clusterId, delayMs, attempt + 1, maxAttempts, e.getMessage());
+                if (!sleep(delayMs)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Draws the next decorrelated-jitter delay, at least the server's Retry-After hint if there is one.
+     */
+    long nextDelayMs(long previousDelayMs, long retryAfterMs) {
+        long upper = Math.max(baseDelayMs + 1, Math.min(maxDelayMs, previousDelayMs * 3));
+        long jittered = ThreadLocalRandom.current().nextLong(baseDelayMs, upper);
+        return Math.max(Math.min(jittered, maxDelayMs), retryAfterMs);
+    }
+
+    /**
+     * Waits before the next attempt.
+     *
+     * @return false if the thread was interrupted and the retry should be abandoned.
+     */
+    boolean sleep(long delayMs) {
+        try {
+            Thread.sleep(delayMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    static boolean isRetryable(Exception e, boolean idempotent) {
+        if (e instanceof ApiException apiException) {
+            int code = apiException.getCode();
+            if (code == TOO_MANY_REQUESTS) {
+                return true;
+            }
+            if (code == 0) {
+                return apiException.getCause() instanceof IOException io && isRetryable(io, idempotent);
+            }
+            return idempotent && (code == 500 || code == 502 || code == 503 || code == 504);
+        }
+        if (e instanceof IOException) {
+            return idempotent || e instanceof ConnectException || e instanceof UnknownHostException;
+        }
+        // The generic/dynamic client rethrows connection failures as an unchecked exception wrapping the IOException.
+        return e.getCause() instanceof IOException io && isRetryable(io, idempotent);
+    }
+
+    /**
+     * @return The Retry-After hint of an API error in milliseconds, 0 if there is none.
+     */
+    static long retryAfterMs(Exception e) {
+        if (!(e instanceof ApiException apiException) || apiException.getResponseHeaders() == null) {
+            return 0;
+        }
+        for (Map.Entry<String, List<String>> header : apiException.getResponseHeaders().entrySet()) {
+            if ("Retry-After".equalsIgnoreCase(header.getKey()) && header.getValue() != null && !header.getValue().isEmpty()) {
+                try {
+                    return Long.parseLong(header.getValue().get(0).trim()) * 1000;
+                } catch (NumberFormatException ignored) {
+                    // An HTTP date; the API server only ever sends seconds.
+                }
+            }
+        }
+        return 0;
+    }
+
+    private Counter retryCounter(Long clusterId) {
+        return Counter.builder("multikube.kubernetes.retries")
+                .description("Calls to a cluster's API server that were retried")
+                .tag("cluster", String.valueOf(clusterId))
+                .register(meterRegistry);
+    }
+}
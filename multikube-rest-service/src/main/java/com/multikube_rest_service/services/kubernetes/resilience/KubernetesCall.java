@@ -0,0 +1,16 @@
+package com.multikube_rest_service.services.kubernetes.resilience;
+
+import io.kubernetes.client.openapi.ApiException;
+
+import java.io.IOException;
+
+/**
+ * A single call against a cluster's API server, executed under the protection of the {@link ClusterCallGuard}.
+ *
+ * @param <T> The type of the call's result.
+ */
+@FunctionalInterface
+public interface KubernetesCall<T> {
+
+    T execute() throws ApiException, IOException;
+}
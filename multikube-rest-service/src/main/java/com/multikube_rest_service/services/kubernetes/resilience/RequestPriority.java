@@ -0,0 +1,32 @@
+package com.multikube_rest_service.services.kubernetes.resilience;
+
+/**
+ * The priority class of a call to a cluster's API server, used by the {@link ClusterRateLimiter}.
+ */
+public enum RequestPriority {
+    /**
+     * A call made on behalf of a user request. May use the whole token bucket and is served before background calls.
+     */
+    INTERACTIVE(false),
+    /**
+     * A call made by a background reconciliation or bulk provisioning job.
+     */
+    RECONCILE(true),
+    /**
+     * A connectivity check made by the cluster status scheduler.
+     */
+    HEALTH_PROBE(true);
+
+    private final boolean background;
+
+    RequestPriority(boolean background) {
+        this.background = background;
+    }
+
+    /**
+     * @return Whether calls of this priority must leave the interactive reserve of the token bucket untouched.
+     */
+    public boolean isBackground() {
+        return background;
+    }
+}
@@ -0,0 +1,46 @@
+package com.multikube_rest_service.services.kubernetes.resilience;
+
+import java.util.function.Supplier;
+
+/**
+ * Holds the {@link RequestPriority} of the Kubernetes calls made by the current thread.
+ * Calls default to {@link RequestPriority#INTERACTIVE}; background jobs wrap their work in
+ * {@link #callWith(RequestPriority, Supplier)} or {@link #runWith(RequestPriority, Runnable)}.
+ * Work handed to another thread must capture {@link #current()} and re-establish it there.
+ */
+public final class RequestPriorityContext {
+
+    private static final ThreadLocal<RequestPriority> CURRENT = new ThreadLocal<>();
+
+    private RequestPriorityContext() {
+    }
+
+    /**
+     * @return The priority of the current thread, INTERACTIVE if none was set.
+     */
+    public static RequestPriority current() {
+        RequestPriority priority = CURRENT.get();
+        return priority == null ? RequestPriority.INTERACTIVE : priority;
+    }
+
+    public static <T> T callWith(RequestPriority priority, Supplier<T> work) {
+        RequestPriority previous = CURRENT.get();
+        CURRENT.set(priority);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public static void runWith(RequestPriority priority, Runnable work) {
+        callWith(priority, () -> {
+            work.run();
+            return null;
+        });
+    }
+}
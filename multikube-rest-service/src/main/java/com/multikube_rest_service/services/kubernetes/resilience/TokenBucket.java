@@ -0,0 +1,77 @@
+package com.multikube_rest_service.services.kubernetes.resilience;
+
+import java.util.function.LongSupplier;
+
+/**
+ * A token bucket limiting the rate of calls to a single cluster, with a reserve kept for interactive calls.
+ * <p>
+ * Tokens refill continuously at the configured rate up to the burst size. Interactive calls may take any token;
+ * background calls may only take a token while more than the reserve is left, and not at all while an interactive
+ * call is waiting. All methods are thread-safe.
+ */
+public class TokenBucket {
+
+    private final double tokensPerNano;
+    private final double burst;
+    private final double reserve;
+    private final LongSupplier nanoClock;
+
+    private double tokens;
+    private long lastRefill;
+    private int interactiveWaiters;
+
+    /**
+     * @param permitsPerSecond The sustained rate of calls.
+     * @param burst            The maximum number of tokens, i.e. calls that may be made back to back.
+     * @param reserve          The number of tokens background calls must leave for interactive calls.
+     * @param nanoClock        The clock, in nanoseconds.
+     */
+    public TokenBucket(double permitsPerSecond, int burst, int reserve, LongSupplier nanoClock) {
+        this.tokensPerNano = permitsPerSecond / 1_000_000_000d;
+        this.burst = burst;
+        this.reserve = Math.min(reserve, burst - 1);
+        this.nanoClock = nanoClock;
+        this.tokens = burst;
+        this.lastRefill = nanoClock.getAsLong();
+    }
+
+    /**
+     * Takes a token if one is available to the given priority.
+     *
+     * @param priority The priority of the call.
+     * @return 0 if a token was taken, otherwise the estimated number of nanoseconds until one may be available.
+     */
+    public synchronized long tryAcquire(RequestPriority priority) {
+        refill();
+        double floor = 0;
+        if (priority.isBackground()) {
+            if (interactiveWaiters > 0) {
+                // Check back after one refill period; the waiting interactive call goes first.
+                return nanosUntil(tokens + 1);
+            }
+            floor = reserve;
+        }
+        if (tokens - floor >= 1) {
+            tokens--;
+            return 0;
+        }
+        return nanosUntil(floor + 1);
+    }
+
+    /**
+     * Registers an interactive call as waiting (or no longer waiting), which holds back background calls.
+     */
+    public synchronized void interactiveWaiting(boolean waiting) {
+        interactiveWaiters += waiting ? 1 : -1;
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(burst, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+    }
+
+    private long nanosUntil(double level) {
+        return Math.max(1, (long) Math.ceil((level - tokens) / tokensPerNano));
+    }
+}
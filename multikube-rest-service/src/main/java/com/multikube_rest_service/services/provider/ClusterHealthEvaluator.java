@@ -0,0 +1,73 @@
+package com.multikube_rest_service.services.provider;
+
+import com.multikube_rest_service.common.enums.ClusterStatus;
+import com.multikube_rest_service.services.kubernetes.informers.ClusterNodeWatcher;
+import com.multikube_rest_service.services.kubernetes.informers.NodeHealthSummary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Decides whether a reachable cluster is ACTIVE or DEGRADED from a health score in [0, 1].
+ * <p>
+ * The score is the lowest of its parts: the share of ready nodes, the share of allocatable CPU and memory on ready,
+ * schedulable nodes (both from the {@link ClusterNodeWatcher}), and the probe latency, which scores 1 up to the healthy
+ * latency and falls linearly to 0 at the unhealthy latency. Parts that are not known (the node watch has not synced,
+ * or no latency was measured) are left out. A cluster becomes DEGRADED when its score drops below the degraded score
+ * and ACTIVE again only once it reaches the higher recovered score, so a score hovering around the threshold does not
+ * make the status flap.
+ */
+@Component
+public class ClusterHealthEvaluator {
+
+    private final ClusterNodeWatcher nodeWatcher;
+    private final long healthyLatencyMs;
+    private final long unhealthyLatencyMs;
+    private final double degradedScore;
+    private final double recoveredScore;
+
+    public ClusterHealthEvaluator(ClusterNodeWatcher nodeWatcher,
+                                  @Value("${multikube.cluster.health.latency.healthy.ms:500}") long healthyLatencyMs,
+                                  @Value("${multikube.cluster.health.latency.unhealthy.ms:3000}") long unhealthyLatencyMs,
+                                  @Value("${multikube.cluster.health.degraded.score:0.75}") double degradedScore,
+                                  @Value("${multikube.cluster.health.recovered.score:0.85}") double recoveredScore) {
+        this.nodeWatcher = nodeWatcher;
+        this.healthyLatencyMs = healthyLatencyMs;
+        this.unhealthyLatencyMs = Math.max(unhealthyLatencyMs, healthyLatencyMs + 1);
+        this.degradedScore = degradedScore;
+        this.recoveredScore = Math.max(recoveredScore, degradedScore);
+    }
+
+    /**
+     * Decides the status of a cluster that answered its probe.
+     *
+     * @param clusterId The ID of the cluster.
+     * @param current   The cluster's current status, used for the hysteresis.
+     * @param latencyMs The latency of the probe, or null if not measured.
+     * @return ACTIVE or DEGRADED.
+     */
+    public ClusterStatus evaluate(Long clusterId, ClusterStatus current, Long latencyMs) {
+        double threshold = current == ClusterStatus.DEGRADED ? recoveredScore : degradedScore;
+        return score(clusterId, latencyMs) < threshold ? ClusterStatus.DEGRADED : ClusterStatus.ACTIVE;
+    }
+
+    /**
+     * @param clusterId The ID of the cluster.
+     * @param latencyMs The latency of the latest probe, or null if not known.
+     * @return The health score of the cluster in [0, 1], 1 if nothing is known about it.
+     */
+    public double score(Long clusterId, Long latencyMs) {
+        double score = 1;
+        Optional<NodeHealthSummary> nodes = nodeWatcher.summary(clusterId);
+        if (nodes.isPresent()) {
+            NodeHealthSummary summary = nodes.get();
+            score = Math.min(score, Math.min(summary.readyRatio(), Math.min(summary.cpuRatio(), summary.memoryRatio())));
+        }
+        if (latencyMs != null && latencyMs > healthyLatencyMs) {
+            double excess = (double) (latencyMs - healthyLatencyMs) / (unhealthyLatencyMs - healthyLatencyMs);
+            score = Math.min(score, Math.max(0, 1 - excess));
+        }
+        return score;
+    }
+}
@@ -0,0 +1,81 @@
+package com.multikube_rest_service.services.provider;
+
+import com.multikube_rest_service.common.enums.ClusterStatus;
+import com.multikube_rest_service.repositories.provider.KubernetesClusterRepository;
+import com.multikube_rest_service.services.events.StatusChangeEvent;
+import com.multikube_rest_service.services.kubernetes.resilience.CircuitState;
+import com.multikube_rest_service.services.kubernetes.resilience.ClusterBulkheadStateChangedEvent;
+import com.multikube_rest_service.services.kubernetes.resilience.ClusterCircuitStateChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Reflects the circuit breaker and bulkhead state of clusters in their persisted {@link ClusterStatus}.
+ * <p>
+ * Updates run in their own transaction, so they stick even if the request that tripped the breaker rolls back,
+ * and only move between the automatically managed statuses; a status set by a provider (e.g. INACTIVE) is never overridden.
+ * A cluster recovering from an open breaker or a saturated bulkhead goes back to ACTIVE only if the
+ * {@link ClusterHealthEvaluator} agrees; otherwise it stays (or becomes) DEGRADED.
+ */
+@Component
+public class ClusterHealthListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterHealthListener.class);
+
+    private static final Set<ClusterStatus> REACHABLE = EnumSet.of(ClusterStatus.ACTIVE, ClusterStatus.DEGRADED);
+    private static final Set<ClusterStatus> IMPAIRED = EnumSet.of(ClusterStatus.UNREACHABLE, ClusterStatus.DEGRADED);
+
+    private final KubernetesClusterRepository clusterRepository;
+    private final ClusterHealthEvaluator healthEvaluator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ClusterHealthListener(KubernetesClusterRepository clusterRepository, ClusterHealthEvaluator healthEvaluator,
+                                 ApplicationEventPublisher eventPublisher) {
+        this.clusterRepository = clusterRepository;
+        this.healthEvaluator = healthEvaluator;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onCircuitStateChanged(ClusterCircuitStateChangedEvent event) {
+        if (event.current() == CircuitState.OPEN) {
+            updateStatus(event.clusterId(), ClusterStatus.UNREACHABLE, REACHABLE);
+        } else if (event.current() == CircuitState.CLOSED) {
+            updateStatus(event.clusterId(), recoveredStatus(event.clusterId()), IMPAIRED);
+        }
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onBulkheadStateChanged(ClusterBulkheadStateChangedEvent event) {
+        if (event.saturated()) {
+            updateStatus(event.clusterId(), ClusterStatus.DEGRADED, Set.of(ClusterStatus.ACTIVE));
+        } else {
+            updateStatus(event.clusterId(), recoveredStatus(event.clusterId()), Set.of(ClusterStatus.DEGRADED));
+        }
+    }
+
+    private ClusterStatus recoveredStatus(Long clusterId) {
+        // No probe latency is at hand here, so only the node health counts, held to the stricter recovered score.
+        return healthEvaluator.evaluate(clusterId, ClusterStatus.DEGRADED, null);
+    }
+
+    private void updateStatus(Long clusterId, ClusterStatus status, Set<ClusterStatus> fromStatuses) {
+        Set<ClusterStatus> changing = EnumSet.noneOf(ClusterStatus.class);
+        changing.addAll(fromStatuses);
+        changing.remove(status);
+        if (!changing.isEmpty() && clusterRepository.updateStatusIfIn(clusterId, status, changing) > 0) {
+            logger.info("Cluster ID: {} is now {}", clusterId, status);
+            eventPublisher.publishEvent(StatusChangeEvent.cluster(clusterId, status));
+        }
+    }
+}
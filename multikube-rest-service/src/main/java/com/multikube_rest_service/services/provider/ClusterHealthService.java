@@ -0,0 +1,102 @@
+package com.multikube_rest_service.services.provider;
+
+import com.multikube_rest_service.common.SecurityContextHelper;
+import com.multikube_rest_service.common.enums.HealthResolution;
+import com.multikube_rest_service.dtos.responses.provider.ClusterAvailabilityDto;
+import com.multikube_rest_service.dtos.responses.provider.ClusterLatencyDto;
+import com.multikube_rest_service.exceptions.ResourceNotFoundException;
+import com.multikube_rest_service.repositories.provider.KubernetesClusterRepository;
+import com.multikube_rest_service.services.provider.health.ClusterHealthHistory;
+import com.multikube_rest_service.services.provider.health.ClusterHealthSummary;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service layer answering availability and latency queries over the health history of a provider's clusters.
+ */
+@Service
+public class ClusterHealthService {
+
+    private final KubernetesClusterRepository clusterRepository;
+    private final ClusterHealthHistory healthHistory;
+
+    public ClusterHealthService(KubernetesClusterRepository clusterRepository, ClusterHealthHistory healthHistory) {
+        this.clusterRepository = clusterRepository;
+        this.healthHistory = healthHistory;
+    }
+
+    /**
+     * Computes the share of health probes that found a cluster available (ACTIVE or DEGRADED) over the given window, ending now.
+     *
+     * @param clusterId The ID of the cluster.
+     * @param window    The length of the window.
+     * @return The availability of the cluster.
+     * @throws ResourceNotFoundException if the cluster does not exist or is not owned by the current provider.
+     * @throws IllegalArgumentException  if the window is not positive or exceeds the retained history.
+     */
+    @Transactional(readOnly = true)
+    public ClusterAvailabilityDto getAvailability(Long clusterId, Duration window) {
+        ClusterHealthSummary summary = summarize(clusterId, window);
+        return new ClusterAvailabilityDto(clusterId, new Timestamp(summary.from()), new Timestamp(summary.to()),
+                summary.resolution(), summary.probes(), summary.successes(), summary.availability());
+    }
+
+    /**
+     * Estimates probe latency percentiles of a cluster over the given window, ending now.
+     *
+     * @param clusterId   The ID of the cluster.
+     * @param window      The length of the window.
+     * @param percentiles The percentiles to estimate, each in (0, 100].
+     * @return The latency percentiles of the cluster.
+     * @throws ResourceNotFoundException if the cluster does not exist or is not owned by the current provider.
+     * @throws IllegalArgumentException  if the window or a percentile is out of range.
+     */
+    @Transactional(readOnly = true)
+    public ClusterLatencyDto getLatency(Long clusterId, Duration window, List<Double> percentiles) {
+        if (percentiles.isEmpty()) {
+            throw new IllegalArgumentException("At least one percentile is required.");
+        }
+        for (Double percentile : percentiles) {
+            if (percentile == null || percentile <= 0 || percentile > 100) {
+                throw new IllegalArgumentException("Percentiles must be greater than 0 and at most 100, got: " + percentile);
+            }
+        }
+
+        ClusterHealthSummary summary = summarize(clusterId, window);
+        Map<String, Long> percentilesMs = new LinkedHashMap<>();
+        for (Double percentile : percentiles) {
+            percentilesMs.put(percentileName(percentile), summary.latencyPercentile(percentile));
+        }
+        return new ClusterLatencyDto(clusterId, new Timestamp(summary.from()), new Timestamp(summary.to()),
+                summary.resolution(), summary.latencySamples(), percentilesMs);
+    }
+
+    private ClusterHealthSummary summarize(Long clusterId, Duration window) {
+        Long providerUserId = SecurityContextHelper.getAuthenticatedUserId();
+        if (clusterRepository.findByIdAndProviderUser_Id(clusterId, providerUserId).isEmpty()) {
+            throw new ResourceNotFoundException("Cluster not found with ID: " + clusterId + " for the current provider.");
+        }
+
+        long retentionMs = healthHistory.getRetentionMs(HealthResolution.HOUR);
+        if (window.isNegative() || window.isZero() || window.toMillis() > retentionMs) {
+            throw new IllegalArgumentException("The window must be positive and at most " + Duration.ofMillis(retentionMs) + ".");
+        }
+        long now = System.currentTimeMillis();
+        return healthHistory.summarize(clusterId, now - window.toMillis(), now);
+    }
+
+    /**
+     * @return The name of a percentile, e.g. "p99" or "p99.9".
+     */
+    private static String percentileName(double percentile) {
+        return percentile == Math.rint(percentile)
+                ? "p" + (long) percentile
+                : "p" + percentile;
+    }
+}
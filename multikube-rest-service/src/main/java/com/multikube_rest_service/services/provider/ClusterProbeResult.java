@@ -0,0 +1,16 @@
+package com.multikube_rest_service.services.provider;
+
+import com.multikube_rest_service.common.enums.ClusterStatus;
+
+import java.sql.Timestamp;
+
+/**
+ * The outcome of a single cluster health probe.
+ *
+ * @param status        The observed status: ACTIVE, DEGRADED, UNREACHABLE, or ERROR if the cluster has no kubeconfig.
+ * @param latencyMs     The round-trip latency of the probe call; null unless the cluster answered.
+ * @param serverVersion The API server's version (gitVersion); null unless the cluster answered.
+ * @param probedAt      When the probe ran.
+ */
+public record ClusterProbeResult(ClusterStatus status, Long latencyMs, String serverVersion, Timestamp probedAt) {
+}
@@ -0,0 +1,9 @@
+package com.multikube_rest_service.services.provider;
+
+/**
+ * Published when a provider registers a new cluster. Its initial verification starts once the registration commits.
+ *
+ * @param clusterId The ID of the new cluster.
+ */
+public record ClusterRegisteredEvent(Long clusterId) {
+}
@@ -0,0 +1,98 @@
+package com.multikube_rest_service.services.provider;
+
+import com.multikube_rest_service.entities.provider.KubernetesCluster;
+import com.multikube_rest_service.repositories.provider.ClusterProbeObservation;
+import com.multikube_rest_service.repositories.provider.ClusterStatusUpdate;
+import com.multikube_rest_service.repositories.provider.KubernetesClusterRepository;
+import com.multikube_rest_service.services.events.StatusChangeEvent;
+import com.multikube_rest_service.services.provider.health.ClusterHealthHistory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Verifies newly registered clusters in the background, so that registering a cluster neither waits for its API
+ * server nor holds a transaction open while probing it.
+ * <p>
+ * Verification starts once the registration has committed. The result is written like a status sweep writes it: the
+ * probe observation unconditionally, and the status change only if the cluster was not edited meanwhile. Clients
+ * learn the outcome by polling the cluster or from its status event. If the verification is lost (e.g. the service
+ * stops first), the status sweep verifies the cluster instead, as it probes clusters pending verification too.
+ */
+@Component
+public class ClusterVerifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterVerifier.class);
+
+    private final KubernetesClusterRepository clusterRepository;
+    private final ProviderClusterService providerClusterService;
+    private final ClusterHealthHistory healthHistory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExecutorService kubernetesTaskExecutor;
+
+    public ClusterVerifier(KubernetesClusterRepository clusterRepository,
+                           ProviderClusterService providerClusterService,
+                           ClusterHealthHistory healthHistory,
+                           ApplicationEventPublisher eventPublisher,
+                           @Qualifier("kubernetesTaskExecutor") ExecutorService kubernetesTaskExecutor) {
+        this.clusterRepository = clusterRepository;
+        this.providerClusterService = providerClusterService;
+        this.healthHistory = healthHistory;
+        this.eventPublisher = eventPublisher;
+        this.kubernetesTaskExecutor = kubernetesTaskExecutor;
+    }
+
+    /**
+     * Queues the verification of a cluster whose registration committed.
+     *
+     * @param event The registration.
+     */
+    @TransactionalEventListener
+    public void onClusterRegistered(ClusterRegisteredEvent event) {
+        kubernetesTaskExecutor.submit(() -> verify(event.clusterId()));
+    }
+
+    /**
+     * Probes a cluster and writes the result. Runs on the calling thread.
+     *
+     * @param clusterId The ID of the cluster.
+     */
+    void verify(Long clusterId) {
+        try {
+            Optional<KubernetesCluster> found = clusterRepository.findById(clusterId);
+            if (found.isEmpty()) {
+                logger.debug("Cluster ID: {} was deleted before its verification.", clusterId);
+                return;
+            }
+            KubernetesCluster cluster = found.get();
+            ClusterProbeResult result = providerClusterService.probeConnectivity(cluster);
+            if (result == null) {
+                // Rate limited: the status sweep verifies the cluster later.
+                return;
+            }
+            healthHistory.record(clusterId, result);
+            clusterRepository.recordProbeObservations(List.of(new ClusterProbeObservation(clusterId, result.latencyMs(),
+                    result.serverVersion(), result.probedAt())));
+            if (result.status() != cluster.getStatus()) {
+                List<ClusterStatusUpdate> applied = clusterRepository.updateStatusesIfUnchanged(
+                        List.of(new ClusterStatusUpdate(clusterId, cluster.getVersion(), result.status())));
+                applied.forEach(update -> eventPublisher.publishEvent(StatusChangeEvent.cluster(update.clusterId(), update.status())));
+                if (applied.isEmpty()) {
+                    logger.info("Verification result {} for cluster ID: {} was not written because the cluster was edited meanwhile.",
+                            result.status(), clusterId);
+                    return;
+                }
+            }
+            logger.info("Verified cluster ID: {}. Status: {}", clusterId, result.status());
+        } catch (RuntimeException e) {
+            logger.error("Failed to verify cluster ID: {}. Error: {}", clusterId, e.getMessage(), e);
+        }
+    }
+}
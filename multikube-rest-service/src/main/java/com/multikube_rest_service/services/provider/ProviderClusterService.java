@@ -18,23 +18,37 @@ import com.multikube_rest_service.repositories.provider.ClusterAllocationReposit
 import com.multikube_rest_service.repositories.provider.KubernetesClusterRepository;
 import com.multikube_rest_service.repositories.tenant.TenantNamespaceRepository;
 import com.multikube_rest_service.rest.RestMessageResponse;
+import com.multikube_rest_service.exceptions.ClusterUnavailableException;
+import com.multikube_rest_service.services.events.StatusChangeEvent;
+import com.multikube_rest_service.services.kubernetes.clients.KubernetesApiClientPool;
+import com.multikube_rest_service.services.kubernetes.informers.ClusterInformerCache;
+import com.multikube_rest_service.services.kubernetes.informers.ClusterNodeWatcher;
+import com.multikube_rest_service.services.kubernetes.resilience.ClusterCallGuard;
 import io.kubernetes.client.openapi.ApiClient;
-import io.kubernetes.client.openapi.apis.CoreV1Api;
-import io.kubernetes.client.openapi.models.V1NamespaceList;
-import io.kubernetes.client.util.ClientBuilder;
-import io.kubernetes.client.util.KubeConfig;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.apis.AuthorizationV1Api;
+import io.kubernetes.client.openapi.apis.VersionApi;
+import io.kubernetes.client.openapi.models.V1ResourceAttributes;
+import io.kubernetes.client.openapi.models.V1SelfSubjectAccessReview;
+import io.kubernetes.client.openapi.models.V1SelfSubjectAccessReviewSpec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
-import java.io.StringReader;
+import java.net.HttpURLConnection;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -46,6 +60,8 @@ public class ProviderClusterService {
 
     private static final Logger logger = LoggerFactory.getLogger(ProviderClusterService.class);
 
+    private static final Set<ClusterStatus> REACHABLE_STATUSES = EnumSet.of(ClusterStatus.ACTIVE, ClusterStatus.DEGRADED);
+
     private final KubernetesClusterRepository clusterRepository;
     private final UserRepository userRepository;
     private final KubeconfigEncryptor kubeconfigEncryptor;
@@ -53,6 +69,12 @@ public class ProviderClusterService {
     private final ClusterAllocationRepository clusterAllocationRepository;
     private final TenantRepository tenantRepository;
     private final TenantNamespaceRepository tenantNamespaceRepository;
+    private final KubernetesApiClientPool apiClientPool;
+    private final ClusterCallGuard callGuard;
+    private final ClusterInformerCache informerCache;
+    private final ClusterNodeWatcher nodeWatcher;
+    private final ClusterHealthEvaluator healthEvaluator;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructs a new ProviderClusterService.
@@ -61,13 +83,25 @@ public class ProviderClusterService {
      * @param userRepository      The repository for user data.
      * @param kubeconfigEncryptor The utility for encrypting/decrypting kubeconfigs.
      * @param clusterMapper       The mapper for converting between cluster entities and DTOs.
+     * @param apiClientPool       The registry of pooled Kubernetes API clients.
+     * @param callGuard           The per-cluster circuit breaker, rate limiter and bulkhead for Kubernetes API calls.
+     * @param informerCache       The per-cluster cache of managed Kubernetes objects.
+     * @param nodeWatcher         The per-cluster watch of node readiness and capacity.
+     * @param healthEvaluator     The evaluator deciding between ACTIVE and DEGRADED for reachable clusters.
+     * @param eventPublisher      The publisher of cluster status change events.
      */
     public ProviderClusterService(KubernetesClusterRepository clusterRepository,
                                   UserRepository userRepository,
                                   KubeconfigEncryptor kubeconfigEncryptor,
                                   KubernetesClusterMapper clusterMapper,
                                   ClusterAllocationRepository clusterAllocationRepository,
-                                  TenantRepository tenantRepository, TenantNamespaceRepository tenantNamespaceRepository
+                                  TenantRepository tenantRepository, TenantNamespaceRepository tenantNamespaceRepository,
+                                  KubernetesApiClientPool apiClientPool,
+                                  ClusterCallGuard callGuard,
+                                  ClusterInformerCache informerCache,
+                                  ClusterNodeWatcher nodeWatcher,
+                                  ClusterHealthEvaluator healthEvaluator,
+                                  ApplicationEventPublisher eventPublisher
     ) {
         this.clusterRepository = clusterRepository;
         this.userRepository = userRepository;
@@ -76,12 +110,19 @@ public class ProviderClusterService {
         this.clusterAllocationRepository = clusterAllocationRepository;
         this.tenantRepository = tenantRepository;
         this.tenantNamespaceRepository = tenantNamespaceRepository;
+        this.apiClientPool = apiClientPool;
+        this.callGuard = callGuard;
+        this.informerCache = informerCache;
+        this.nodeWatcher = nodeWatcher;
+        this.healthEvaluator = healthEvaluator;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
      * Registers a new Kubernetes cluster.
-     * This involves validating the request, encrypting the kubeconfig,
-     * saving the cluster information, and attempting an initial connectivity verification.
+     * This involves validating the request, encrypting the kubeconfig and
+     * saving the cluster information. The cluster is returned as PENDING_VERIFICATION right away; its connectivity is
+     * verified in the background by the {@link ClusterVerifier} once the registration has committed.
      *
      * @param request The cluster registration request DTO containing name, description, and kubeconfig.
      * @return A DTO representing the newly registered cluster, including its initial status.
@@ -112,78 +153,105 @@ public class ProviderClusterService {
         cluster.setKubeconfigEncrypted(kubeconfigEncryptor.encrypt(request.getKubeconfig()));
         cluster.setProviderUser(providerUser);
         cluster.setStatus(ClusterStatus.PENDING_VERIFICATION); // Initial status
+        if (request.getApiContentType() != null) {
+            cluster.setApiContentType(request.getApiContentType());
+        }
 
         KubernetesCluster savedCluster = clusterRepository.save(cluster);
-        logger.info("Cluster '{}' registered with ID {} by provider user ID {}. Attempting initial verification.",
+        logger.info("Cluster '{}' registered with ID {} by provider user ID {}. Queued initial verification.",
                 savedCluster.getName(), savedCluster.getId(), providerUserId);
 
-        // Attempt to verify connectivity and update status
-        tryToVerifyConnectivity(savedCluster);
+        eventPublisher.publishEvent(StatusChangeEvent.cluster(savedCluster.getId(), savedCluster.getStatus()));
+        eventPublisher.publishEvent(new ClusterRegisteredEvent(savedCluster.getId()));
 
         return clusterMapper.toDto(savedCluster);
     }
 
     /**
-     * Attempts to verify connectivity to the given Kubernetes cluster using its stored, decrypted kubeconfig.
-     * Updates the cluster's status to ACTIVE if successful, or UNREACHABLE/ERROR otherwise.
-     * This method is intended for internal use after registration or for explicit re-verification.
+     * Probes connectivity to the given Kubernetes cluster without touching the database, so that callers such as the
+     * status sweep can run many probes outside of any transaction and persist the results in one batch.
+     * The probe asks the API server whether the cluster's credentials may create namespaces, with a
+     * SelfSubjectAccessReview on the pooled client. Unlike GET /version, which clusters commonly serve to anonymous
+     * clients, this is only answered for valid credentials, so expired or revoked credentials are found by the next
+     * probe instead of by the next user request. Like /version, it is answered by the authorizer without touching
+     * etcd, so it stays cheap on large clusters while still measuring the full round trip. Credentials that are
+     * rejected or may not create namespaces put the cluster in ERROR. The server version is read from /version when it
+     * is unknown or the cluster was not reachable before. Starts the cluster's informers and node watch once it is found
+     * reachable; a reachable cluster is then ACTIVE or DEGRADED as decided by the {@link ClusterHealthEvaluator}.
+     * The calls go through the {@link ClusterCallGuard} like any other, so a failed probe counts towards the cluster's
+     * circuit breaker and no probe is sent while the circuit is open.
      *
-     * @param cluster The KubernetesCluster entity to verify.
+     * @param cluster The KubernetesCluster entity to probe; it is not modified.
+     * @return The probe result, or null if the probe was skipped because the cluster's circuit is open or its rate limit
+     * or bulkhead is exhausted.
      */
-    @Transactional
-    // Ensures status update is part of the same transaction if called within one, or its own if called separately.
-    public void tryToVerifyConnectivity(KubernetesCluster cluster) {
-        if (cluster == null) {
-            logger.warn("Attempted to verify connectivity for a null cluster object.");
-            return;
-        }
+    public ClusterProbeResult probeConnectivity(KubernetesCluster cluster) {
+        Timestamp probedAt = Timestamp.from(Instant.now());
         if (cluster.getKubeconfigEncrypted() == null) {
             logger.warn("Kubeconfig is null for cluster ID: {}. Cannot verify.", cluster.getId());
-            cluster.setStatus(ClusterStatus.ERROR); // Or a specific status like CONFIG_ERROR
-            clusterRepository.save(cluster);
-            return;
+            return new ClusterProbeResult(ClusterStatus.ERROR, null, null, probedAt); // Or a specific status like CONFIG_ERROR
         }
 
-        String decryptedKubeconfig = null;
+        long latencyMs;
+        String serverVersion = null;
         try {
-            decryptedKubeconfig = kubeconfigEncryptor.decrypt(cluster.getKubeconfigEncrypted());
-            if (decryptedKubeconfig == null) {
-                logger.warn("Decrypted Kubeconfig is null for cluster ID: {}. Cannot verify.", cluster.getId());
-                cluster.setStatus(ClusterStatus.ERROR);
-                clusterRepository.save(cluster);
-                return;
+            // The pooled client already carries short connect/read timeouts and is reused across checks,
+            // so repeated verifications do not pay a fresh TLS handshake each time.
+            ApiClient client = apiClientPool.getClient(cluster);
+            // Timed inside the guard, so waiting for a rate limit token or bulkhead slot does not count as latency.
+            TimedReview timed = callGuard.call(cluster.getId(), () -> {
+                long start = System.nanoTime();
+                V1SelfSubjectAccessReview review = new AuthorizationV1Api(client).createSelfSubjectAccessReview(namespaceAccessReview()).execute();
+                return new TimedReview(review, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            });
+            latencyMs = timed.latencyMs();
+            if (timed.review().getStatus() == null || !Boolean.TRUE.equals(timed.review().getStatus().getAllowed())) {
+                logger.warn("Credentials of cluster ID: {} may not create namespaces.", cluster.getId());
+                return new ClusterProbeResult(ClusterStatus.ERROR, latencyMs, null, probedAt);
             }
-
-            try (StringReader reader = new StringReader(decryptedKubeconfig)) {
-                KubeConfig kubeConfig = KubeConfig.loadKubeConfig(reader);
-                ApiClient client = ClientBuilder.kubeconfig(kubeConfig).build();
-                // Set fairly short timeouts for initial verification
-                client.setConnectTimeout(5000); // 5 seconds
-                client.setReadTimeout(10000);   // 10 seconds
-
-                // It's good practice to use the customized ApiClient if you've set timeouts on it.
-                CoreV1Api api = new CoreV1Api(client);
-                // Perform a lightweight operation, like listing namespaces, limited to a few items.
-                // The 'limit' parameter helps ensure the call doesn't fetch too much data.
-                // If you want to apply a limit or timeout specifically to this call:
-                V1NamespaceList response = api.listNamespace()
-                        .limit(1) // Limit to 1 result
-                        .timeoutSeconds(5) // Specific timeout for this API call
-                        .execute();
-                cluster.setStatus(ClusterStatus.ACTIVE);
-                logger.info("Successfully verified connectivity for cluster ID: {}", cluster.getId());
+            if (cluster.getServerVersion() == null || !REACHABLE_STATUSES.contains(cluster.getStatus())) {
+                serverVersion = callGuard.call(cluster.getId(), () -> new VersionApi(client).getCode().execute()).getGitVersion();
             }
+            logger.info("Successfully verified connectivity for cluster ID: {} ({} ms)", cluster.getId(), latencyMs);
+        } catch (ClusterUnavailableException e) {
+            // Rejected by the cluster's circuit breaker, rate limiter or bulkhead without being called.
+            logger.warn("Skipped connectivity verification for cluster ID: {}. {}", cluster.getId(), e.getMessage());
+            return null;
+        } catch (ApiException e) {
+            if (e.getCode() == HttpURLConnection.HTTP_UNAUTHORIZED || e.getCode() == HttpURLConnection.HTTP_FORBIDDEN) {
+                logger.warn("Credentials of cluster ID: {} were rejected with HTTP {}.", cluster.getId(), e.getCode());
+                return new ClusterProbeResult(ClusterStatus.ERROR, null, null, probedAt);
+            }
+            logger.warn("Failed to verify connectivity for cluster ID: {}. Error: {}", cluster.getId(), e.getMessage());
+            return new ClusterProbeResult(ClusterStatus.UNREACHABLE, null, null, probedAt);
         } catch (Exception e) {
             // Catching a broad exception here because K8s client can throw various things.
-            cluster.setStatus(ClusterStatus.UNREACHABLE);
             logger.warn("Failed to verify connectivity for cluster ID: {}. Error: {}", cluster.getId(), e.getMessage());
             // For security and to avoid information leakage, do not propagate raw K8s client exceptions to the user.
-        } finally {
-            // Persist status changes.
-            // This is crucial because if tryToVerifyConnectivity is called standalone later (not within registerCluster's transaction),
-            // the status update needs to be saved.
-            clusterRepository.save(cluster);
+            return new ClusterProbeResult(ClusterStatus.UNREACHABLE, null, null, probedAt);
+        }
+
+        // Started separately, so that a failing informer does not keep the node watch (and node health) from starting.
+        try {
+            informerCache.ensureStarted(cluster);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to start informers for cluster ID: {}. Error: {}", cluster.getId(), e.getMessage());
+        }
+        try {
+            nodeWatcher.ensureStarted(cluster);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to start the node watch for cluster ID: {}. Error: {}", cluster.getId(), e.getMessage());
         }
+        ClusterStatus status = healthEvaluator.evaluate(cluster.getId(), cluster.getStatus(), latencyMs);
+        return new ClusterProbeResult(status, latencyMs, serverVersion, probedAt);
+    }
+
+    /**
+     * Asks whether the caller may create namespaces, which Multikube needs for every tenant namespace.
+     */
+    private static V1SelfSubjectAccessReview namespaceAccessReview() {
+        return new V1SelfSubjectAccessReview().spec(new V1SelfSubjectAccessReviewSpec()
+                .resourceAttributes(new V1ResourceAttributes().verb("create").resource("namespaces")));
     }
 
     /**
@@ -370,4 +438,7 @@ public class ProviderClusterService {
 
         return new RestMessageResponse("Cluster " + allocation.getKubernetesCluster().getName() + " has been successfully de-allocated.");
     }
-}
\ No newline at end of file
+
+    private record TimedReview(V1SelfSubjectAccessReview review, long latencyMs) {
+    }
+}
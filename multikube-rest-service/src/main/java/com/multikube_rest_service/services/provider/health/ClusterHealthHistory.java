@@ -0,0 +1,195 @@
+package com.multikube_rest_service.services.provider.health;
+
+import com.multikube_rest_service.common.enums.ClusterStatus;
+import com.multikube_rest_service.common.enums.HealthResolution;
+import com.multikube_rest_service.repositories.provider.ClusterHealthBucket;
+import com.multikube_rest_service.repositories.provider.ClusterHealthBucketRepository;
+import com.multikube_rest_service.services.provider.ClusterProbeResult;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Keeps a compact time series of the health probes of every cluster, so that availability and latency percentiles
+ * can be answered for any recent window without storing individual probes.
+ * <p>
+ * Probes are counted in two kinds of buckets: minute buckets for the recent past and hour buckets for the longer
+ * retention. Each bucket keeps the number of probes, the number that found the cluster available (ACTIVE or DEGRADED)
+ * and a {@link LatencyHistogram} of the answered ones, so its size does not depend on the probe rate. The database
+ * holds the buckets; each replica only buffers the probes it recorded since its last flush in two rings of primitive
+ * arrays per cluster, and adds them to the stored buckets periodically and on shutdown. Summaries combine the stored
+ * buckets with this replica's buffer, so any replica answers for every cluster, missing at most the last flush interval
+ * of the clusters other replicas probe. The probes of at most one flush interval are lost on a crash.
+ */
+@Component
+public class ClusterHealthHistory {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterHealthHistory.class);
+
+    private final ClusterHealthBucketRepository bucketRepository;
+    private final int minuteBuckets;
+    private final int hourBuckets;
+
+    private final ConcurrentMap<Long, Series> series = new ConcurrentHashMap<>();
+    // Held for writing while drained buckets are on their way to the database, so summaries count them exactly once.
+    private final ReadWriteLock flushLock = new ReentrantReadWriteLock();
+
+    public ClusterHealthHistory(ClusterHealthBucketRepository bucketRepository,
+                                @Value("${multikube.cluster.health.minute.retention.hours:6}") int minuteRetentionHours,
+                                @Value("${multikube.cluster.health.hour.retention.days:30}") int hourRetentionDays) {
+        this.bucketRepository = bucketRepository;
+        this.minuteBuckets = (int) TimeUnit.HOURS.toMinutes(minuteRetentionHours);
+        this.hourBuckets = (int) TimeUnit.DAYS.toHours(hourRetentionDays);
+    }
+
+    /**
+     * Counts a probe result in the series of its cluster. Results without an observed status are ignored.
+     *
+     * @param clusterId The ID of the probed cluster.
+     * @param result    The probe result.
+     */
+    public void record(Long clusterId, ClusterProbeResult result) {
+        if (result == null || result.status() == null || result.probedAt() == null) {
+            return;
+        }
+        seriesOf(clusterId).record(result.probedAt().getTime(), isAvailable(result.status()), result.latencyMs());
+    }
+
+    /**
+     * Aggregates the probes of a cluster within [from, to). Windows that fit into the minute retention are answered
+     * from minute buckets, longer ones from hour buckets; either way the window start is aligned down to a bucket.
+     * The stored buckets are added to the probes this replica has not flushed yet.
+     *
+     * @param clusterId The ID of the cluster.
+     * @param from      The start of the window in epoch milliseconds.
+     * @param to        The end of the window in epoch milliseconds.
+     * @return The aggregated probes; empty if the cluster has no history.
+     */
+    public ClusterHealthSummary summarize(Long clusterId, long from, long to) {
+        HealthResolution resolution = to - from <= getRetentionMs(HealthResolution.MINUTE)
+                ? HealthResolution.MINUTE
+                : HealthResolution.HOUR;
+        ClusterHealthSummary.Builder summary = new ClusterHealthSummary.Builder(resolution, from, to);
+        flushLock.readLock().lock();
+        try {
+            for (ClusterHealthBucket bucket : bucketRepository.findBetween(clusterId, resolution, summary.from(), to)) {
+                summary.add(bucket.probes(), bucket.successes(), bucket.latencyCounts(), 0);
+            }
+            Series clusterSeries = series.get(clusterId);
+            if (clusterSeries != null) {
+                clusterSeries.aggregate(resolution, from, to, summary);
+            }
+        } finally {
+            flushLock.readLock().unlock();
+        }
+        return summary.build();
+    }
+
+    /**
+     * @param resolution The bucket size.
+     * @return How far back buckets of the given size are kept, in milliseconds.
+     */
+    public long getRetentionMs(HealthResolution resolution) {
+        return resolution.bucketMs() * (resolution == HealthResolution.MINUTE ? minuteBuckets : hourBuckets);
+    }
+
+    /**
+     * Drops the unflushed probes of a cluster, e.g. after it was deleted. Its persisted buckets are deleted with the cluster.
+     *
+     * @param clusterId The ID of the cluster.
+     */
+    public void invalidate(Long clusterId) {
+        series.remove(clusterId);
+    }
+
+    /**
+     * Periodically adds the probes recorded since the last flush to the stored buckets, one batch per cluster, and
+     * deletes the persisted buckets that fell out of retention.
+     */
+    @Scheduled(fixedDelayString = "${multikube.cluster.health.flush.ms:60000}")
+    public void flush() {
+        int written = 0;
+        for (var entry : series.entrySet()) {
+            flushLock.writeLock().lock();
+            try {
+                List<ClusterHealthBucket> buckets = entry.getValue().drainDirty(entry.getKey());
+                try {
+                    bucketRepository.saveAll(buckets);
+                    written += buckets.size();
+                } catch (DataAccessException e) {
+                    // E.g. the cluster was deleted meanwhile; otherwise the probes are retried on the next flush.
+                    logger.warn("Failed to persist health history of cluster ID: {}. Error: {}", entry.getKey(), e.getMessage());
+                    entry.getValue().requeue(buckets);
+                }
+            } finally {
+                flushLock.writeLock().unlock();
+            }
+        }
+        long now = System.currentTimeMillis();
+        for (HealthResolution resolution : HealthResolution.values()) {
+            bucketRepository.deleteBefore(resolution, now - getRetentionMs(resolution));
+        }
+        logger.debug("Flushed {} cluster health bucket(s).", written);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        try {
+            flush();
+        } catch (DataAccessException e) {
+            logger.warn("Failed to flush cluster health history on shutdown. Error: {}", e.getMessage());
+        }
+    }
+
+    private static boolean isAvailable(ClusterStatus status) {
+        return status == ClusterStatus.ACTIVE || status == ClusterStatus.DEGRADED;
+    }
+
+    private Series seriesOf(Long clusterId) {
+        return series.computeIfAbsent(clusterId, id -> new Series(
+                new HealthBucketRing(HealthResolution.MINUTE, minuteBuckets),
+                new HealthBucketRing(HealthResolution.HOUR, hourBuckets)));
+    }
+
+    /**
+     * The two rings of unflushed probes of one cluster, guarded by the series' monitor.
+     */
+    private record Series(HealthBucketRing minutes, HealthBucketRing hours) {
+
+        synchronized void record(long timeMs, boolean success, Long latencyMs) {
+            minutes.record(timeMs, success, latencyMs);
+            hours.record(timeMs, success, latencyMs);
+        }
+
+        synchronized void aggregate(HealthResolution resolution, long from, long to, ClusterHealthSummary.Builder summary) {
+            ring(resolution).aggregate(from, to, summary);
+        }
+
+        synchronized List<ClusterHealthBucket> drainDirty(Long clusterId) {
+            List<ClusterHealthBucket> buckets = new ArrayList<>(minutes.drainDirty(clusterId));
+            buckets.addAll(hours.drainDirty(clusterId));
+            return buckets;
+        }
+
+        synchronized void requeue(List<ClusterHealthBucket> buckets) {
+            minutes.requeue(buckets);
+            hours.requeue(buckets);
+        }
+
+        private HealthBucketRing ring(HealthResolution resolution) {
+            return resolution == HealthResolution.MINUTE ? minutes : hours;
+        }
+    }
+}
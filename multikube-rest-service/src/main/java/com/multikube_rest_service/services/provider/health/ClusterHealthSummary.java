@@ -0,0 +1,75 @@
+package com.multikube_rest_service.services.provider.health;
+
+import com.multikube_rest_service.common.enums.HealthResolution;
+
+/**
+ * The health probes of one cluster aggregated over a time window.
+ *
+ * @param resolution    The bucket size the window was aggregated from.
+ * @param from          The start of the window in epoch milliseconds, aligned down to the bucket size.
+ * @param to            The end of the window in epoch milliseconds.
+ * @param probes        The number of probes that observed a status.
+ * @param successes     The number of those probes that found the cluster available (ACTIVE or DEGRADED).
+ * @param latencyCounts The number of answered probes per latency bin.
+ */
+public record ClusterHealthSummary(HealthResolution resolution, long from, long to, int probes, int successes,
+                                   int[] latencyCounts) {
+
+    /**
+     * @return The share of probes that found the cluster available (ACTIVE or DEGRADED), in [0, 1], or null if there
+     * were no probes.
+     */
+    public Double availability() {
+        return probes == 0 ? null : (double) successes / probes;
+    }
+
+    /**
+     * @return The number of probes the cluster answered, i.e. those with a latency.
+     */
+    public long latencySamples() {
+        long samples = 0;
+        for (int count : latencyCounts) {
+            samples += count;
+        }
+        return samples;
+    }
+
+    /**
+     * @param percentile The percentile, in (0, 100].
+     * @return The estimated latency percentile in milliseconds, or null if the cluster never answered.
+     */
+    public Long latencyPercentile(double percentile) {
+        return LatencyHistogram.percentile(latencyCounts, percentile);
+    }
+
+    static final class Builder {
+        private final HealthResolution resolution;
+        private final long from;
+        private final long to;
+        private int probes;
+        private int successes;
+        private final int[] latencyCounts = new int[LatencyHistogram.BINS];
+
+        Builder(HealthResolution resolution, long from, long to) {
+            this.resolution = resolution;
+            this.from = Math.floorDiv(from, resolution.bucketMs()) * resolution.bucketMs();
+            this.to = to;
+        }
+
+        long from() {
+            return from;
+        }
+
+        void add(int bucketProbes, int bucketSuccesses, int[] counts, int offset) {
+            probes += bucketProbes;
+            successes += bucketSuccesses;
+            for (int bin = 0; bin < LatencyHistogram.BINS; bin++) {
+                latencyCounts[bin] += counts[offset + bin];
+            }
+        }
+
+        ClusterHealthSummary build() {
+            return new ClusterHealthSummary(resolution, from, to, probes, successes, latencyCounts);
+        }
+    }
+}
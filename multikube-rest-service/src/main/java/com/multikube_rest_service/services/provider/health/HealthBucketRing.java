@@ -0,0 +1,146 @@
+package com.multikube_rest_service.services.provider.health;
+
+import com.multikube_rest_service.common.enums.HealthResolution;
+import com.multikube_rest_service.repositories.provider.ClusterHealthBucket;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A fixed-size ring of time buckets backed by primitive arrays, holding the probes that are not flushed yet. A bucket's
+ * slot is derived from its start time, so recording into a new bucket silently overwrites an unflushed bucket one full
+ * ring earlier. Not thread-safe.
+ */
+final class HealthBucketRing {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final HealthResolution resolution;
+    private final int capacity;
+    private final long[] starts;
+    private final int[] probes;
+    private final int[] successes;
+    private final int[] latencyCounts;
+    private final boolean[] dirty;
+
+    HealthBucketRing(HealthResolution resolution, int capacity) {
+        this.resolution = resolution;
+        this.capacity = capacity;
+        this.starts = new long[capacity];
+        this.probes = new int[capacity];
+        this.successes = new int[capacity];
+        this.latencyCounts = new int[capacity * LatencyHistogram.BINS];
+        this.dirty = new boolean[capacity];
+        Arrays.fill(starts, EMPTY);
+    }
+
+    /**
+     * Counts one probe in the bucket containing the given time.
+     *
+     * @param timeMs    When the probe ran.
+     * @param success   Whether the probe found the cluster available (ACTIVE or DEGRADED).
+     * @param latencyMs The probe's latency, or null if the cluster did not answer.
+     */
+    void record(long timeMs, boolean success, Long latencyMs) {
+        int slot = slotFor(bucketStart(timeMs));
+        if (slot < 0) {
+            return;
+        }
+        probes[slot]++;
+        if (success) {
+            successes[slot]++;
+        }
+        if (latencyMs != null) {
+            latencyCounts[slot * LatencyHistogram.BINS + LatencyHistogram.binOf(latencyMs)]++;
+        }
+        dirty[slot] = true;
+    }
+
+    /**
+     * Puts drained buckets of this ring's resolution back, on top of anything recorded since, e.g. after they failed
+     * to be written.
+     */
+    void requeue(List<ClusterHealthBucket> buckets) {
+        for (ClusterHealthBucket bucket : buckets) {
+            if (bucket.resolution() == resolution) {
+                requeue(bucket);
+            }
+        }
+    }
+
+    private void requeue(ClusterHealthBucket bucket) {
+        int slot = slotFor(bucket.bucketStart());
+        if (slot < 0) {
+            return;
+        }
+        probes[slot] += bucket.probes();
+        successes[slot] += bucket.successes();
+        for (int bin = 0; bin < LatencyHistogram.BINS; bin++) {
+            latencyCounts[slot * LatencyHistogram.BINS + bin] += bucket.latencyCounts()[bin];
+        }
+        dirty[slot] = true;
+    }
+
+    /**
+     * Adds the buckets that start within [from, to) to the given summary.
+     */
+    void aggregate(long from, long to, ClusterHealthSummary.Builder summary) {
+        long first = bucketStart(from);
+        for (int slot = 0; slot < capacity; slot++) {
+            if (starts[slot] != EMPTY && starts[slot] >= first && starts[slot] < to) {
+                summary.add(probes[slot], successes[slot], latencyCounts, slot * LatencyHistogram.BINS);
+            }
+        }
+    }
+
+    /**
+     * Returns copies of the buckets recorded since the last call and empties their slots, so the next call only
+     * returns the probes recorded after this one.
+     */
+    List<ClusterHealthBucket> drainDirty(Long clusterId) {
+        List<ClusterHealthBucket> buckets = new ArrayList<>();
+        for (int slot = 0; slot < capacity; slot++) {
+            if (dirty[slot]) {
+                int offset = slot * LatencyHistogram.BINS;
+                buckets.add(new ClusterHealthBucket(clusterId, resolution, starts[slot], probes[slot], successes[slot],
+                        Arrays.copyOfRange(latencyCounts, offset, offset + LatencyHistogram.BINS)));
+                clear(slot);
+            }
+        }
+        return buckets;
+    }
+
+    private long bucketStart(long timeMs) {
+        return Math.floorDiv(timeMs, resolution.bucketMs()) * resolution.bucketMs();
+    }
+
+    private int slotOf(long start) {
+        return (int) Math.floorMod(Math.floorDiv(start, resolution.bucketMs()), (long) capacity);
+    }
+
+    /**
+     * @return The slot holding the bucket with the given start, reset first if it held an older bucket; -1 if the
+     * slot already holds a newer bucket, i.e. the given one has fallen out of the ring.
+     */
+    private int slotFor(long start) {
+        int slot = slotOf(start);
+        if (starts[slot] == start) {
+            return slot;
+        }
+        if (starts[slot] != EMPTY && starts[slot] > start) {
+            return -1;
+        }
+        clear(slot);
+        starts[slot] = start;
+        return slot;
+    }
+
+    private void clear(int slot) {
+        starts[slot] = EMPTY;
+        probes[slot] = 0;
+        successes[slot] = 0;
+        Arrays.fill(latencyCounts, slot * LatencyHistogram.BINS, (slot + 1) * LatencyHistogram.BINS, 0);
+        dirty[slot] = false;
+    }
+}
@@ -0,0 +1,63 @@
+package com.multikube_rest_service.services.provider.health;
+
+/**
+ * The fixed latency bins probe latencies are counted in. Bins are roughly exponential, so a histogram stays a few
+ * dozen integers per bucket while percentiles remain accurate to about one bin width.
+ */
+public final class LatencyHistogram {
+
+    /**
+     * The inclusive upper bound of each bin in milliseconds; the last bin holds everything slower.
+     */
+    private static final long[] UPPER_BOUNDS_MS = {
+            5, 10, 20, 30, 50, 75, 100, 150, 200, 300, 500, 750, 1_000, 1_500, 2_000, 3_000, 5_000, 7_500, 10_000, Long.MAX_VALUE
+    };
+
+    /**
+     * The number of bins of a histogram.
+     */
+    public static final int BINS = UPPER_BOUNDS_MS.length;
+
+    private LatencyHistogram() {
+    }
+
+    /**
+     * @param latencyMs A probe latency.
+     * @return The index of the bin the latency is counted in.
+     */
+    public static int binOf(long latencyMs) {
+        for (int bin = 0; bin < BINS - 1; bin++) {
+            if (latencyMs <= UPPER_BOUNDS_MS[bin]) {
+                return bin;
+            }
+        }
+        return BINS - 1;
+    }
+
+    /**
+     * Estimates a percentile as the upper bound of the bin that holds it, so the estimate errs on the slow side by at
+     * most one bin. Latencies in the last, unbounded bin are reported as the last finite bound.
+     *
+     * @param counts     The counts per bin.
+     * @param percentile The percentile, in (0, 100].
+     * @return The estimated latency in milliseconds, or null if the histogram is empty.
+     */
+    public static Long percentile(int[] counts, double percentile) {
+        long total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return null;
+        }
+        long rank = (long) Math.ceil(percentile / 100.0 * total);
+        long seen = 0;
+        for (int bin = 0; bin < BINS - 1; bin++) {
+            seen += counts[bin];
+            if (seen >= rank) {
+                return UPPER_BOUNDS_MS[bin];
+            }
+        }
+        return UPPER_BOUNDS_MS[BINS - 2];
+    }
+}
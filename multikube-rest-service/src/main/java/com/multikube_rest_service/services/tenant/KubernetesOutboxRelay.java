@@ -0,0 +1,495 @@
+package com.multikube_rest_service.services.tenant;
+
+import com.multikube_rest_service.common.enums.NamespaceStatus;
+import com.multikube_rest_service.common.enums.OutboxOperation;
+import com.multikube_rest_service.common.enums.ResourceStatus;
+import com.multikube_rest_service.common.enums.SyncStatus;
+import com.multikube_rest_service.entities.provider.KubernetesCluster;
+import com.multikube_rest_service.entities.tenant.TenantNamespace;
+import com.multikube_rest_service.entities.tenant.TenantNamespaceConfiguration;
+import com.multikube_rest_service.entities.tenant.TenantWorkload;
+import com.multikube_rest_service.repositories.provider.KubernetesClusterRepository;
+import com.multikube_rest_service.repositories.tenant.KubernetesOutboxEntry;
+import com.multikube_rest_service.repositories.tenant.KubernetesOutboxRepository;
+import com.multikube_rest_service.repositories.tenant.TenantNamespaceRepository;
+import com.multikube_rest_service.repositories.tenant.TenantWorkloadRepository;
+import com.multikube_rest_service.services.events.StatusChangeEvent;
+import com.multikube_rest_service.services.kubernetes.ApplyResult;
+import com.multikube_rest_service.services.kubernetes.KubernetesClientService;
+import com.multikube_rest_service.services.kubernetes.KubernetesLabels;
+import com.multikube_rest_service.services.kubernetes.factories.KubernetesResource;
+import io.kubernetes.client.openapi.ApiException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.HttpURLConnection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Dispatches the Kubernetes side effects recorded in the outbox, so that creating a namespace, workload or workload
+ * bundle commits without calling the API server inside its transaction.
+ * <p>
+ * The creating transaction saves the records in a pending status together with an outbox entry; once it commits, the
+ * entry is dispatched on the Kubernetes task executor, and entries missed that way (e.g. after a restart) are picked
+ * up by a periodic poll. Each attempt first claims its entry for a limited time, so concurrent pollers and replicas
+ * do not dispatch it twice, while an attempt lost with its replica is retried once the claim expires. The API calls
+ * run outside any transaction; their outcome is written to the records in the same transaction that deletes the
+ * entry, and only if the entry still exists, so a result is recorded exactly once. Delivery is at least once: the
+ * applies are server-side applies, which can be repeated safely, and a namespace that already exists on a retry is
+ * taken to be the one created by the earlier attempt if it carries the Multikube managed-by label. Failures the API server would repeat (other 4xx responses) mark
+ * the records failed right away; any other failure is retried with exponential backoff up to the maximum attempts.
+ */
+@Component
+public class KubernetesOutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(KubernetesOutboxRelay.class);
+
+    private static final Map<String, String> WORKLOAD_LABELS = Map.of(KubernetesLabels.COMPONENT, KubernetesLabels.COMPONENT_WORKLOAD);
+    private static final Map<String, String> CONFIGURATION_LABELS = Map.of(KubernetesLabels.COMPONENT, KubernetesLabels.COMPONENT_CONFIGURATION);
+
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+
+    private final KubernetesOutboxRepository outboxRepository;
+    private final TenantWorkloadRepository workloadRepository;
+    private final TenantNamespaceRepository namespaceRepository;
+    private final KubernetesClusterRepository clusterRepository;
+    private final KubernetesClientService kubernetesClientService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final ExecutorService kubernetesTaskExecutor;
+    private final int batchSize;
+    private final long claimMs;
+    private final long baseBackoffMs;
+    private final long maxBackoffMs;
+    private final int maxAttempts;
+
+    private final Counter retryCounter;
+    private final Counter failedCounter;
+
+    public KubernetesOutboxRelay(KubernetesOutboxRepository outboxRepository,
+                                 TenantWorkloadRepository workloadRepository,
+                                 TenantNamespaceRepository namespaceRepository,
+                                 KubernetesClusterRepository clusterRepository,
+                                 KubernetesClientService kubernetesClientService,
+                                 ApplicationEventPublisher eventPublisher,
+                                 PlatformTransactionManager transactionManager,
+                                 @Qualifier("kubernetesTaskExecutor") ExecutorService kubernetesTaskExecutor,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${multikube.outbox.batch.size:50}") int batchSize,
+                                 @Value("${multikube.outbox.claim.ms:120000}") long claimMs,
+                                 @Value("${multikube.outbox.backoff.base.ms:1000}") long baseBackoffMs,
+                                 @Value("${multikube.outbox.backoff.max.ms:60000}") long maxBackoffMs,
+                                 @Value("${multikube.outbox.max.attempts:8}") int maxAttempts) {
+        this.outboxRepository = outboxRepository;
+        this.workloadRepository = workloadRepository;
+        this.namespaceRepository = namespaceRepository;
+        this.clusterRepository = clusterRepository;
+        this.kubernetesClientService = kubernetesClientService;
+        this.eventPublisher = eventPublisher;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.kubernetesTaskExecutor = kubernetesTaskExecutor;
+        this.batchSize = batchSize;
+        this.claimMs = claimMs;
+        this.baseBackoffMs = baseBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.maxAttempts = maxAttempts;
+        this.retryCounter = Counter.builder("multikube.outbox.retries")
+                .description("Failed outbox dispatches scheduled for a retry")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("multikube.outbox.failed")
+                .description("Outbox entries whose side effect failed for good")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a side effect in the outbox. Must be called within the transaction that saves the pending records.
+     *
+     * @param operation  The side effect.
+     * @param resourceId The ID of the tenant namespace, workload or workload bundle.
+     */
+    public void enqueue(OutboxOperation operation, Long resourceId) {
+        KubernetesOutboxEntry entry = outboxRepository.add(operation, resourceId);
+        eventPublisher.publishEvent(new OutboxEntryAddedEvent(entry));
+    }
+
+    /**
+     * Dispatches an entry whose recording transaction committed.
+     *
+     * @param event The recorded entry.
+     */
+    @TransactionalEventListener
+    public void onEntryAdded(OutboxEntryAddedEvent event) {
+        try {
+            claimAndSubmit(event.entry());
+        } catch (DataAccessException e) {
+            // The poll dispatches it.
+            logger.warn("Failed to claim outbox entry ID: {}. Error: {}", event.entry().id(), e.getMessage());
+        }
+    }
+
+    /**
+     * Dispatches the entries that are due: those not dispatched after commit, and those waiting out a backoff or
+     * whose claim expired.
+     */
+    @Scheduled(fixedDelayString = "${multikube.outbox.poll.ms:1000}")
+    public void dispatchDue() {
+        try {
+            outboxRepository.findDue(batchSize).forEach(this::claimAndSubmit);
+        } catch (DataAccessException e) {
+            logger.warn("Failed to poll the Kubernetes outbox. Error: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @param attempt The number of failed attempts, starting at 1.
+     * @return The backoff before the next attempt: the base backoff doubled per failure, capped at the maximum.
+     */
+    long backoffMs(int attempt) {
+        int doublings = Math.min(attempt - 1, 30);
+        return Math.min(maxBackoffMs, baseBackoffMs << doublings);
+    }
+
+    private void claimAndSubmit(KubernetesOutboxEntry entry) {
+        if (!outboxRepository.claim(entry, claimMs)) {
+            return;
+        }
+        KubernetesOutboxEntry claimed = entry.nextAttempt();
+        try {
+            kubernetesTaskExecutor.submit(() -> dispatch(claimed));
+        } catch (RejectedExecutionException e) {
+            // Shutting down; dispatched again once the claim expires.
+            logger.debug("Outbox dispatch of entry ID: {} rejected: {}", entry.id(), e.getMessage());
+        }
+    }
+
+    /**
+     * Performs one attempt of a claimed entry. Runs on the calling thread.
+     *
+     * @param entry The claimed entry, with its attempts including this one.
+     */
+    void dispatch(KubernetesOutboxEntry entry) {
+        try {
+            switch (entry.operation()) {
+                case APPLY_WORKLOAD -> applyWorkload(entry);
+                case APPLY_WORKLOAD_BUNDLE -> applyWorkloadBundle(entry);
+                case CREATE_NAMESPACE -> createNamespace(entry);
+            }
+        } catch (RuntimeException e) {
+            // Retried once the claim expires.
+            logger.error("Failed to dispatch outbox entry ID: {} ({} {}). Error: {}", entry.id(), entry.operation(),
+                    entry.resourceId(), e.getMessage(), e);
+        }
+    }
+
+    private void applyWorkload(KubernetesOutboxEntry entry) {
+        Optional<WorkloadIntent> found = readTransaction.execute(status -> workloadRepository.findById(entry.resourceId())
+                .filter(workload -> workload.getStatus() == ResourceStatus.PROCESSING)
+                .map(WorkloadIntent::of));
+        Optional<KubernetesCluster> cluster = found.flatMap(intent -> clusterRepository.findById(intent.clusterId()));
+        if (found.isEmpty() || cluster.isEmpty()) {
+            logger.debug("Nothing to apply for workload ID: {}", entry.resourceId());
+            outboxRepository.delete(entry.id());
+            return;
+        }
+        WorkloadIntent intent = found.get();
+
+        Long generation;
+        try {
+            logger.info("Applying workload {}/{} in namespace '{}'", intent.kind(), intent.name(), intent.namespace());
+            generation = kubernetesClientService.apply(cluster.get(), intent.namespace(), intent.yamlContent(), WORKLOAD_LABELS);
+        } catch (Exception e) {
+            if (retry(entry, e)) {
+                return;
+            }
+            logger.error("Failed to apply workload {}/{} in namespace '{}'", intent.kind(), intent.name(), intent.namespace(), e);
+            complete(entry, () -> workloadRepository.findById(entry.resourceId()).ifPresent(workload -> {
+                workload.setStatus(ResourceStatus.ERROR);
+                workload.setStatusDetails(e.getMessage());
+                eventPublisher.publishEvent(StatusChangeEvent.workload(workload));
+            }));
+            return;
+        }
+
+        complete(entry, () -> workloadRepository.findById(entry.resourceId()).ifPresent(workload -> {
+            workload.setStatus(ResourceStatus.ACTIVE);
+            workload.setSyncStatus(SyncStatus.IN_SYNC);
+            workload.setStatusDetails(null);
+            workload.setAppliedHash(intent.contentHash());
+            workload.setAppliedGeneration(generation);
+            eventPublisher.publishEvent(StatusChangeEvent.workload(workload));
+        }));
+    }
+
+    /**
+     * Applies the pending workloads of a bundle with one {@link KubernetesClientService#applyAll} call, so that the
+     * stages are applied in dependency order, and records each workload's own result.
+     */
+    private void applyWorkloadBundle(KubernetesOutboxEntry entry) {
+        Optional<BundleIntent> found = readTransaction.execute(status ->
+                BundleIntent.of(workloadRepository.findByBundleIdOrderById(entry.resourceId())));
+        Optional<KubernetesCluster> cluster = found.flatMap(intent -> clusterRepository.findById(intent.clusterId()));
+        if (found.isEmpty() || cluster.isEmpty()) {
+            logger.debug("Nothing to apply for workload bundle ID: {}", entry.resourceId());
+            outboxRepository.delete(entry.id());
+            return;
+        }
+        BundleIntent intent = found.get();
+
+        List<ApplyResult> results;
+        try {
+            logger.info("Applying workload bundle ID: {} with {} resource(s) in namespace '{}'", entry.resourceId(),
+                    intent.resources().size(), intent.namespace());
+            results = kubernetesClientService.applyAll(cluster.get(), intent.namespace(), intent.resources(), WORKLOAD_LABELS);
+        } catch (RuntimeException e) {
+            if (retry(entry, e)) {
+                return;
+            }
+            logger.error("Failed to apply workload bundle ID: {} in namespace '{}'", entry.resourceId(), intent.namespace(), e);
+            complete(entry, () -> workloadRepository.findAllById(intent.workloadIds()).forEach(workload -> {
+                workload.setStatus(ResourceStatus.ERROR);
+                workload.setStatusDetails(e.getMessage());
+                eventPublisher.publishEvent(StatusChangeEvent.workload(workload));
+            }));
+            return;
+        }
+
+        complete(entry, () -> {
+            Map<Long, TenantWorkload> workloads = workloadRepository.findAllById(intent.workloadIds()).stream()
+                    .collect(Collectors.toMap(TenantWorkload::getId, Function.identity()));
+            for (int i = 0; i < results.size(); i++) {
+                TenantWorkload workload = workloads.get(intent.workloadIds().get(i));
+                if (workload != null) {
+                    recordResult(workload, results.get(i), intent.contentHashes().get(i));
+                    eventPublisher.publishEvent(StatusChangeEvent.workload(workload));
+                }
+            }
+        });
+    }
+
+    private void createNamespace(KubernetesOutboxEntry entry) {
+        Optional<NamespaceIntent> found = readTransaction.execute(status -> namespaceRepository.findById(entry.resourceId())
+                .filter(namespace -> namespace.getStatus() == NamespaceStatus.CREATING)
+                .map(NamespaceIntent::of));
+        Optional<KubernetesCluster> cluster = found.flatMap(intent -> clusterRepository.findById(intent.clusterId()));
+        if (found.isEmpty() || cluster.isEmpty()) {
+            logger.debug("Nothing to create for namespace ID: {}", entry.resourceId());
+            outboxRepository.delete(entry.id());
+            return;
+        }
+        NamespaceIntent intent = found.get();
+
+        List<ApplyResult> results;
+        try {
+            logger.info("Creating namespace '{}' in cluster '{}'", intent.name(), cluster.get().getName());
+            // The configurations are applied once the namespace exists, without a thread waiting on each call.
+            results = createNamespaceIfAbsent(entry, cluster.get(), intent.name())
+                    .thenCompose(created -> kubernetesClientService.applyAllAsync(cluster.get(), intent.name(), intent.resources(),
+                            CONFIGURATION_LABELS))
+                    .join();
+        } catch (RuntimeException failure) {
+            Exception e = causeOf(failure);
+            if (retry(entry, e)) {
+                return;
+            }
+            logger.error("Failed during creation of namespace '{}' in cluster '{}'.", intent.name(), cluster.get().getName(), e);
+            complete(entry, () -> namespaceRepository.findById(entry.resourceId()).ifPresent(namespace -> {
+                namespace.setStatus(NamespaceStatus.FAILED_CREATION);
+                namespace.setStatusDetails("Failed during resource application: " + e.getMessage());
+                for (TenantNamespaceConfiguration config : namespace.getConfigurations()) {
+                    if (config.getStatus() == ResourceStatus.PROCESSING) {
+                        config.setStatus(ResourceStatus.ERROR);
+                        config.setStatusDetails("The namespace could not be created.");
+                    }
+                }
+                eventPublisher.publishEvent(StatusChangeEvent.namespace(namespace));
+            }));
+            return;
+        }
+
+        complete(entry, () -> namespaceRepository.findById(entry.resourceId()).ifPresent(namespace -> {
+            Map<Long, TenantNamespaceConfiguration> configs = namespace.getConfigurations().stream()
+                    .collect(Collectors.toMap(TenantNamespaceConfiguration::getId, Function.identity()));
+            for (int i = 0; i < results.size(); i++) {
+                TenantNamespaceConfiguration config = configs.get(intent.configurationIds().get(i));
+                if (config != null) {
+                    recordResult(config, results.get(i));
+                }
+            }
+            namespace.setStatus(NamespaceStatus.ACTIVE);
+            namespace.setStatusDetails(null);
+            eventPublisher.publishEvent(StatusChangeEvent.namespace(namespace));
+            logger.info("Successfully created and configured namespace '{}'", namespace.getName());
+        }));
+    }
+
+    /**
+     * Creates a namespace. On a retry, a namespace that already exists is taken to be the one created by an earlier
+     * attempt whose result was lost if it is labeled as managed by Multikube; on the first attempt, or without the
+     * label, it belongs to someone else and fails the creation.
+     */
+    private CompletableFuture<Void> createNamespaceIfAbsent(KubernetesOutboxEntry entry, KubernetesCluster cluster, String name) {
+        return kubernetesClientService.createNamespaceAsync(cluster, name).exceptionallyCompose(failure -> {
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+            if (!(cause instanceof ApiException e) || e.getCode() != HttpURLConnection.HTTP_CONFLICT || entry.attempts() <= 1) {
+                return CompletableFuture.failedFuture(cause);
+            }
+            try {
+                if (!kubernetesClientService.isManagedNamespace(cluster, name)) {
+                    return CompletableFuture.failedFuture(e);
+                }
+            } catch (ApiException lookupFailure) {
+                return CompletableFuture.failedFuture(lookupFailure);
+            }
+            logger.info("Namespace '{}' already exists in cluster '{}', created by an earlier attempt.", name, cluster.getName());
+            return CompletableFuture.completedFuture(null);
+        });
+    }
+
+    /**
+     * @return The exception an asynchronous call failed with, unwrapped from its CompletionException.
+     */
+    private static Exception causeOf(RuntimeException e) {
+        return e instanceof CompletionException && e.getCause() instanceof Exception cause ? cause : e;
+    }
+
+    private static void recordResult(TenantNamespaceConfiguration config, ApplyResult result) {
+        if (result.applied()) {
+            config.setStatus(ResourceStatus.ACTIVE);
+            config.setSyncStatus(SyncStatus.IN_SYNC);
+            config.setAppliedHash(config.getContentHash());
+            config.setAppliedGeneration(result.generation());
+        } else {
+            config.setStatus(ResourceStatus.ERROR);
+            config.setStatusDetails(result.error());
+        }
+    }
+
+    private static void recordResult(TenantWorkload workload, ApplyResult result, String contentHash) {
+        if (result.applied()) {
+            workload.setStatus(ResourceStatus.ACTIVE);
+            workload.setSyncStatus(SyncStatus.IN_SYNC);
+            workload.setStatusDetails(null);
+            workload.setAppliedHash(contentHash);
+            workload.setAppliedGeneration(result.generation());
+        } else {
+            workload.setStatus(ResourceStatus.ERROR);
+            workload.setStatusDetails(result.error());
+        }
+    }
+
+    /**
+     * Schedules another attempt after a failure, unless the failure is permanent or the attempts are used up.
+     *
+     * @return Whether another attempt was scheduled.
+     */
+    private boolean retry(KubernetesOutboxEntry entry, Exception e) {
+        if (isPermanent(e) || entry.attempts() >= maxAttempts) {
+            failedCounter.increment();
+            return false;
+        }
+        long backoffMs = backoffMs(entry.attempts());
+        outboxRepository.reschedule(entry.id(), backoffMs, e.getMessage());
+        retryCounter.increment();
+        logger.warn("Outbox entry ID: {} ({} {}) failed (attempt {}), retrying in {} ms. Error: {}", entry.id(), entry.operation(),
+                entry.resourceId(), entry.attempts(), backoffMs, e.getMessage());
+        return true;
+    }
+
+    /**
+     * @return Whether the request was rejected for what it asks, by the API server or before it was sent (e.g. a
+     * cluster-scoped kind), so that repeating it would fail the same way.
+     */
+    static boolean isPermanent(Exception e) {
+        if (e instanceof IllegalArgumentException) {
+            return true;
+        }
+        if (!(e instanceof ApiException apiException)) {
+            return false;
+        }
+        int code = apiException.getCode();
+        return code >= 400 && code < 500 && code != HttpURLConnection.HTTP_CLIENT_TIMEOUT && code != HTTP_TOO_MANY_REQUESTS;
+    }
+
+    /**
+     * Deletes an entry and writes its result in one transaction; the result is dropped if another attempt completed
+     * the entry first.
+     */
+    private void complete(KubernetesOutboxEntry entry, Runnable writeResult) {
+        writeTransaction.executeWithoutResult(status -> {
+            if (!outboxRepository.delete(entry.id())) {
+                logger.debug("Outbox entry ID: {} was completed by another attempt.", entry.id());
+                return;
+            }
+            writeResult.run();
+        });
+    }
+
+    /**
+     * What is needed to apply a workload, read before the API call so that no transaction is held during it.
+     */
+    private record WorkloadIntent(Long clusterId, String namespace, String kind, String name, String yamlContent, String contentHash) {
+        static WorkloadIntent of(TenantWorkload workload) {
+            TenantNamespace namespace = workload.getTenantNamespace();
+            return new WorkloadIntent(namespace.getKubernetesCluster().getId(), namespace.getName(), workload.getK8sKind(),
+                    workload.getK8sName(), workload.getYamlContent(), workload.getContentHash());
+        }
+    }
+
+    /**
+     * What is needed to apply a bundle: its pending workloads, in document order, with their resources.
+     */
+    private record BundleIntent(Long clusterId, String namespace, List<Long> workloadIds, List<String> contentHashes,
+                                List<KubernetesResource> resources) {
+        static Optional<BundleIntent> of(List<TenantWorkload> bundle) {
+            List<TenantWorkload> pending = bundle.stream()
+                    .filter(workload -> workload.getStatus() == ResourceStatus.PROCESSING)
+                    .toList();
+            if (pending.isEmpty()) {
+                return Optional.empty();
+            }
+            TenantNamespace namespace = pending.get(0).getTenantNamespace();
+            return Optional.of(new BundleIntent(namespace.getKubernetesCluster().getId(), namespace.getName(),
+                    pending.stream().map(TenantWorkload::getId).toList(),
+                    pending.stream().map(TenantWorkload::getContentHash).toList(),
+                    pending.stream().map(workload -> new KubernetesResource(workload.getK8sName(), workload.getK8sKind(), workload.getYamlContent())).toList()));
+        }
+    }
+
+    /**
+     * What is needed to create a namespace: its pending configurations, ordered by ID, and their resources.
+     */
+    private record NamespaceIntent(Long clusterId, String name, List<Long> configurationIds, List<KubernetesResource> resources) {
+        static NamespaceIntent of(TenantNamespace namespace) {
+            List<TenantNamespaceConfiguration> pending = namespace.getConfigurations().stream()
+                    .filter(config -> config.getStatus() == ResourceStatus.PROCESSING)
+                    .sorted(Comparator.comparing(TenantNamespaceConfiguration::getId))
+                    .toList();
+            return new NamespaceIntent(namespace.getKubernetesCluster().getId(), namespace.getName(),
+                    pending.stream().map(TenantNamespaceConfiguration::getId).toList(),
+                    pending.stream().map(config -> new KubernetesResource(config.getK8sName(), config.getK8sKind(), config.getYamlContent())).toList());
+        }
+    }
+}
@@ -3,15 +3,30 @@ package com.multikube_rest_service.services.tenant;
 import com.multikube_rest_service.common.SecurityContextHelper;
 import com.multikube_rest_service.dtos.responses.tenant.NamespaceConfigurationDto;
 import com.multikube_rest_service.dtos.responses.tenant.NamespaceConfigurationSummaryDto;
+import com.multikube_rest_service.entities.provider.KubernetesCluster;
+import com.multikube_rest_service.entities.tenant.TenantNamespace;
 import com.multikube_rest_service.entities.tenant.TenantNamespaceConfiguration;
 import com.multikube_rest_service.exceptions.ResourceNotFoundException;
 import com.multikube_rest_service.mappers.tenant.NamespaceConfigurationMapper;
 import com.multikube_rest_service.repositories.tenant.TenantNamespaceConfigurationRepository;
 import com.multikube_rest_service.repositories.tenant.TenantNamespaceRepository;
+import com.multikube_rest_service.services.kubernetes.KubernetesClientService;
+import com.multikube_rest_service.services.kubernetes.KubernetesLabels;
+import com.multikube_rest_service.services.kubernetes.PropagationPolicy;
+import io.kubernetes.client.openapi.ApiException;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
 
 /**
  * Service layer for managing namespace configuration resources.
@@ -19,17 +34,25 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class NamespaceConfigurationService {
 
+    private static final Logger logger = LoggerFactory.getLogger(NamespaceConfigurationService.class);
+
     private final TenantNamespaceRepository namespaceRepository;
     private final TenantNamespaceConfigurationRepository configurationRepository;
     private final NamespaceConfigurationMapper configurationMapper;
+    private final KubernetesClientService kubernetesClientService;
+    private final TransactionTemplate transaction;
 
     public NamespaceConfigurationService(
             TenantNamespaceRepository namespaceRepository,
             TenantNamespaceConfigurationRepository configurationRepository,
-            NamespaceConfigurationMapper configurationMapper) {
+            NamespaceConfigurationMapper configurationMapper,
+            KubernetesClientService kubernetesClientService,
+            PlatformTransactionManager transactionManager) {
         this.namespaceRepository = namespaceRepository;
         this.configurationRepository = configurationRepository;
         this.configurationMapper = configurationMapper;
+        this.kubernetesClientService = kubernetesClientService;
+        this.transaction = new TransactionTemplate(transactionManager);
     }
 
     /**
@@ -82,4 +105,56 @@ public class NamespaceConfigurationService {
 
         return configurationMapper.toDto(config);
     }
-}
\ No newline at end of file
+
+    /**
+     * Deletes all configuration resources of a namespace from its cluster and then their records.
+     * Objects are deleted with one deletecollection call per kind, selected by the configuration label set on apply;
+     * configurations whose objects predate the label are deleted by name. The records are only dropped once every object
+     * is deleted, in a transaction of its own, so that the cluster calls hold no DB connection.
+     *
+     * @param namespaceId The ID of the parent namespace.
+     * @param propagationPolicy How the dependents of the configuration objects are deleted.
+     * @return The number of deleted configuration records.
+     * @throws IllegalStateException if the cluster refuses the deletion; the records are kept so the deletion can be retried.
+     */
+    public int deleteConfigurations(Long namespaceId, PropagationPolicy propagationPolicy) {
+        Long tenantId = SecurityContextHelper.getAuthenticatedTenantId();
+        PendingDeletion deletion = transaction.execute(status -> {
+            TenantNamespace namespace = namespaceRepository.findByTenantIdAndId(tenantId, namespaceId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Namespace not found with ID: " + namespaceId));
+            List<TenantNamespaceConfiguration> configurations = List.copyOf(namespace.getConfigurations());
+            return new PendingDeletion(Hibernate.unproxy(namespace.getKubernetesCluster(), KubernetesCluster.class), namespace.getName(),
+                    configurations.stream().map(TenantNamespaceConfiguration::getId).toList(),
+                    configurations.stream().map(TenantNamespaceConfiguration::getYamlContent).toList());
+        });
+        if (deletion.manifests().isEmpty()) {
+            return 0;
+        }
+
+        try {
+            kubernetesClientService.deleteCollections(deletion.cluster(), deletion.namespace(), deletion.manifests(),
+                    KubernetesLabels.componentSelector(KubernetesLabels.COMPONENT_CONFIGURATION), propagationPolicy);
+        } catch (ApiException | IOException e) {
+            logger.error("Failed to delete the configurations of namespace '{}'", deletion.namespace(), e);
+            throw new IllegalStateException("Failed to delete the configurations of namespace '" + deletion.namespace() + "' from the cluster: " + e.getMessage(), e);
+        }
+
+        return transaction.execute(status -> {
+            Set<TenantNamespaceConfiguration> configurations = namespaceRepository.findByTenantIdAndId(tenantId, namespaceId)
+                    .map(TenantNamespace::getConfigurations)
+                    .orElse(Set.of());
+            // Orphan removal deletes the records.
+            int count = configurations.size();
+            configurations.removeIf(config -> deletion.configurationIds().contains(config.getId()));
+            count -= configurations.size();
+            logger.info("Deleted {} configuration(s) of namespace '{}' (ID: {})", count, deletion.namespace(), namespaceId);
+            return count;
+        });
+    }
+
+    /**
+     * What is needed to delete configuration objects from the cluster, read before the API calls.
+     */
+    private record PendingDeletion(KubernetesCluster cluster, String namespace, List<Long> configurationIds, List<String> manifests) {
+    }
+}
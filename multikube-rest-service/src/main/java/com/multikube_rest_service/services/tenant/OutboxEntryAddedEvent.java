@@ -0,0 +1,12 @@
+package com.multikube_rest_service.services.tenant;
+
+import com.multikube_rest_service.repositories.tenant.KubernetesOutboxEntry;
+
+/**
+ * Published when a Kubernetes side effect is recorded in the outbox. It is dispatched once the recording transaction
+ * commits.
+ *
+ * @param entry The new entry.
+ */
+public record OutboxEntryAddedEvent(KubernetesOutboxEntry entry) {
+}
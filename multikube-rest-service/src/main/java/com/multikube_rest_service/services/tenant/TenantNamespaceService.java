@@ -3,6 +3,7 @@ package com.multikube_rest_service.services.tenant;
 import com.multikube_rest_service.auth.JwtUserDetails;
 import com.multikube_rest_service.common.SecurityContextHelper;
 import com.multikube_rest_service.common.enums.NamespaceStatus;
+import com.multikube_rest_service.common.enums.OutboxOperation;
 import com.multikube_rest_service.common.enums.ResourceStatus;
 import com.multikube_rest_service.common.enums.SyncStatus;
 import com.multikube_rest_service.dtos.requests.tenant.CreateNamespaceRequest;
@@ -18,17 +19,20 @@ import com.multikube_rest_service.repositories.TenantRepository;
 import com.multikube_rest_service.repositories.provider.ClusterAllocationRepository;
 import com.multikube_rest_service.repositories.provider.KubernetesClusterRepository;
 import com.multikube_rest_service.repositories.tenant.TenantNamespaceRepository;
-import com.multikube_rest_service.services.kubernetes.KubernetesClientService;
+import com.multikube_rest_service.services.events.StatusChangeEvent;
 import com.multikube_rest_service.services.kubernetes.factories.KubernetesResource;
 import com.multikube_rest_service.services.kubernetes.factories.KubernetesResourceFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import org.springframework.data.domain.Pageable;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -41,8 +45,10 @@ public class TenantNamespaceService {
     private final ClusterAllocationRepository clusterAllocationRepository;
     private final TenantRepository tenantRepository;
     private final TenantNamespaceMapper namespaceMapper;
-    private final KubernetesClientService kubernetesClientService;
     private final KubernetesResourceFactory resourceFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final KubernetesOutboxRelay outboxRelay;
+    private final TenantResourcePolicy resourcePolicy;
 
     public TenantNamespaceService(
             TenantNamespaceRepository namespaceRepository,
@@ -50,15 +56,19 @@ public class TenantNamespaceService {
             ClusterAllocationRepository clusterAllocationRepository,
             TenantRepository tenantRepository,
             TenantNamespaceMapper namespaceMapper,
-            KubernetesClientService kubernetesClientService,
-            KubernetesResourceFactory resourceFactory) {
+            KubernetesResourceFactory resourceFactory,
+            ApplicationEventPublisher eventPublisher,
+            KubernetesOutboxRelay outboxRelay,
+            TenantResourcePolicy resourcePolicy) {
         this.namespaceRepository = namespaceRepository;
         this.clusterRepository = clusterRepository;
         this.clusterAllocationRepository = clusterAllocationRepository;
         this.tenantRepository = tenantRepository;
         this.namespaceMapper = namespaceMapper;
-        this.kubernetesClientService = kubernetesClientService;
         this.resourceFactory = resourceFactory;
+        this.eventPublisher = eventPublisher;
+        this.outboxRelay = outboxRelay;
+        this.resourcePolicy = resourcePolicy;
     }
 
     /**
@@ -66,21 +76,19 @@ public class TenantNamespaceService {
      * operation that orchestrates several actions:
      * <ol>
      * <li>Validates that the tenant has access to the target cluster and the namespace name is unique.</li>
-     * <li>Creates the actual namespace resource in the Kubernetes cluster.</li>
-     * <li>Applies a default, isolating NetworkPolicy.</li>
-     * <li>Creates a default admin Role and a RoleBinding for the creating user.</li>
-     * <li>Applies any optional ResourceQuota or LimitRange manifests provided in the request.</li>
-     * <li>Persists the final state of the namespace and all its configurations into the Multikube database.</li>
+     * <li>Collects the default configurations: an isolating NetworkPolicy, an admin Role and a RoleBinding for the creating user.</li>
+     * <li>Adds any optional ResourceQuota or LimitRange manifests provided in the request.</li>
+     * <li>Persists the namespace as CREATING with its configurations as PROCESSING, together with an outbox entry.</li>
      * </ol>
-     * If any Kubernetes operation fails after the namespace is created, the overall status is marked
-     * as FAILED_CREATION for auditing purposes.
+     * No Kubernetes call is made here. Once the transaction commits, the {@link KubernetesOutboxRelay} creates the
+     * namespace in the cluster and applies the configurations as one bundle, then marks the namespace ACTIVE, or
+     * FAILED_CREATION if the namespace could not be created.
      *
      * @param request The DTO containing the details for the new namespace, such as its name,
      * description, target cluster ID, and optional YAML configurations.
-     * @return A comprehensive DTO (TenantNamespaceDto) representing the final state of the
-     * newly created namespace and its initial set of configuration resources.
+     * @return A comprehensive DTO (TenantNamespaceDto) representing the pending namespace and its configurations.
      * @throws SecurityException if the specified cluster is not allocated to the current tenant.
-     * @throws IllegalArgumentException if a namespace with the same name already exists in the target cluster.
+     * @throws IllegalArgumentException if a namespace with the same name already exists in the target cluster, or an optional manifest is invalid or not of its expected kind.
      * @throws ResourceNotFoundException if the target cluster ID does not exist.
      */
     @Transactional
@@ -104,39 +112,28 @@ public class TenantNamespaceService {
         KubernetesCluster cluster = clusterRepository.findById(clusterId)
                 .orElseThrow(() -> new ResourceNotFoundException("Target cluster not found with ID: " + clusterId));
 
-        // Step 2: Create and save the initial parent record
+        // Step 2: Build the parent record with its default and optional user-provided configurations
         TenantNamespace namespace = new TenantNamespace();
         namespace.setName(namespaceName);
         namespace.setDescription(request.getDescription());
         namespace.setTenant(tenant); // Use the fetched Tenant entity
         namespace.setKubernetesCluster(cluster);
         namespace.setStatus(NamespaceStatus.CREATING);
-        TenantNamespace savedNamespace = namespaceRepository.saveAndFlush(namespace);
-
-        try {
-            // Step 3: Create the actual Namespace in Kubernetes
-            logger.info("Creating namespace '{}' in cluster '{}'", namespaceName, cluster.getName());
-            kubernetesClientService.createNamespace(cluster, namespaceName);
-
-            // Step 4: Create default configurations
-            createDefaultConfigurations(savedNamespace, username);
-
-            // Step 5: Apply optional user-provided configurations
-            applyOptionalConfiguration(savedNamespace, request.getResourceQuotaYaml());
-            applyOptionalConfiguration(savedNamespace, request.getLimitRangeYaml());
 
-            savedNamespace.setStatus(NamespaceStatus.ACTIVE);
-            logger.info("Successfully created and configured namespace '{}'", namespaceName);
+        List<KubernetesResource> configurations = new ArrayList<>(defaultConfigurations(namespace, username));
+        addOptionalConfiguration(configurations, request.getResourceQuotaYaml(), "ResourceQuota");
+        addOptionalConfiguration(configurations, request.getLimitRangeYaml(), "LimitRange");
+        configurations.forEach(resource -> namespace.getConfigurations().add(newConfiguration(namespace, resource)));
 
-        } catch (Exception e) {
-            logger.error("Failed during creation of namespace '{}' in cluster '{}'.",
-                    namespaceName, cluster.getName(), e);
-            savedNamespace.setStatus(NamespaceStatus.FAILED_CREATION);
-            savedNamespace.setStatusDetails("Failed during resource application: " + e.getMessage());
-        }
+        // Step 3: Save the namespace with its pending configurations and record their creation in the outbox
+        TenantNamespace savedNamespace = namespaceRepository.saveAndFlush(namespace);
+        outboxRelay.enqueue(OutboxOperation.CREATE_NAMESPACE, savedNamespace.getId());
+        logger.info("Queued creation of namespace '{}' with {} configuration(s) in cluster '{}'", namespaceName,
+                configurations.size(), cluster.getName());
 
-        // Step 6: Save the final state and return the mapped DTO
-        return namespaceMapper.toDetailDto(namespaceRepository.save(savedNamespace));
+        // Step 4: Announce it once committed and return the mapped DTO
+        eventPublisher.publishEvent(StatusChangeEvent.namespace(savedNamespace));
+        return namespaceMapper.toDetailDto(savedNamespace);
     }
 
     /**
@@ -207,40 +204,33 @@ public class TenantNamespaceService {
         return namespaceMapper.toDetailDto(namespace);
     }
 
-    private void createDefaultConfigurations(TenantNamespace namespace, String username) {
-        logger.debug("Applying default configurations for namespace '{}'", namespace.getName());
-        applyAndSaveConfiguration(namespace, resourceFactory.createDefaultNetworkPolicy(namespace.getName()));
-        applyAndSaveConfiguration(namespace, resourceFactory.createDefaultAdminRole(namespace.getName()));
-        applyAndSaveConfiguration(namespace, resourceFactory.createAdminRoleBinding(namespace.getName(), username));
+    private List<KubernetesResource> defaultConfigurations(TenantNamespace namespace, String username) {
+        return List.of(
+                resourceFactory.createDefaultNetworkPolicy(namespace.getName()),
+                resourceFactory.createDefaultAdminRole(namespace.getName()),
+                resourceFactory.createAdminRoleBinding(namespace.getName(), username));
     }
 
-    private void applyOptionalConfiguration(TenantNamespace namespace, String yamlContent) {
+    private void addOptionalConfiguration(List<KubernetesResource> configurations, String yamlContent, String expectedKind) {
         if (!StringUtils.hasText(yamlContent)) {
             return;
         }
         KubernetesResource resource = resourceFactory.parseYaml(yamlContent);
-        logger.debug("Applying optional resource {}/{} for namespace '{}'", resource.k8sKind(), resource.k8sName(), namespace.getName());
-        applyAndSaveConfiguration(namespace, resource);
+        resourcePolicy.requireKind(resource, expectedKind);
+        logger.debug("Adding optional resource {}/{}", resource.k8sKind(), resource.k8sName());
+        configurations.add(resource);
     }
 
-    private void applyAndSaveConfiguration(TenantNamespace namespace, KubernetesResource resource) {
+    private TenantNamespaceConfiguration newConfiguration(TenantNamespace namespace, KubernetesResource resource) {
         var config = new TenantNamespaceConfiguration();
         config.setTenantNamespace(namespace);
         config.setK8sKind(resource.k8sKind());
         config.setK8sName(resource.k8sName());
         config.setName(resource.k8sName());
         config.setYamlContent(resource.yaml());
+        config.setContentHash(resource.contentHash());
+        config.setStatus(ResourceStatus.PROCESSING);
         config.setSyncStatus(SyncStatus.UNKNOWN);
-
-        try {
-            kubernetesClientService.apply(namespace.getKubernetesCluster(), namespace.getName(), resource.yaml());
-            config.setStatus(ResourceStatus.ACTIVE);
-            config.setSyncStatus(SyncStatus.IN_SYNC);
-        } catch (Exception e) {
-            logger.error("Failed to apply resource {}/{} in namespace '{}'", resource.k8sKind(), resource.k8sName(), namespace.getName(), e);
-            config.setStatus(ResourceStatus.ERROR);
-            config.setStatusDetails(e.getMessage());
-        }
-        namespace.getConfigurations().add(config);
+        return config;
     }
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.multikube_rest_service.services.tenant;
+
+import com.multikube_rest_service.services.kubernetes.factories.KubernetesResource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Decides which kinds tenants may deploy into their namespaces.
+ * <p>
+ * A tenant only ever acts inside its own namespaces, so only namespaced kinds are allowed, and of those only the ones
+ * listed in {@code multikube.tenant.allowed.kinds}. Cluster-scoped kinds such as Namespace, ClusterRole or
+ * CustomResourceDefinition would let a tenant take over, and later delete, objects shared by the whole cluster. This
+ * check runs before anything is persisted; the apply itself additionally refuses any kind the cluster serves as
+ * cluster-scoped, which covers a custom kind that shares its name with an allowed one.
+ */
+@Component
+public class TenantResourcePolicy {
+
+    private final Set<String> allowedKinds;
+
+    public TenantResourcePolicy(
+            @Value("${multikube.tenant.allowed.kinds:ConfigMap,Secret,Service,ServiceAccount,PersistentVolumeClaim,Pod,Deployment,"
+                    + "StatefulSet,DaemonSet,ReplicaSet,Job,CronJob,Role,RoleBinding,NetworkPolicy,Ingress,HorizontalPodAutoscaler,"
+                    + "PodDisruptionBudget,ResourceQuota,LimitRange}") String[] allowedKinds) {
+        this.allowedKinds = Set.of(allowedKinds);
+    }
+
+    /**
+     * @param resource The resource a tenant wants to deploy.
+     * @throws IllegalArgumentException if the resource's kind is not allowed for tenants.
+     */
+    public void requireAllowed(KubernetesResource resource) {
+        if (!allowedKinds.contains(resource.k8sKind())) {
+            throw new IllegalArgumentException("The kind '" + resource.k8sKind() + "' of resource '" + resource.k8sName()
+                    + "' cannot be deployed into a tenant namespace.");
+        }
+    }
+
+    /**
+     * Requires a resource to be of one specific kind, e.g. the optional ResourceQuota of a new namespace.
+     *
+     * @param resource     The resource a tenant wants to deploy.
+     * @param expectedKind The only kind accepted.
+     * @throws IllegalArgumentException if the resource is of another kind.
+     */
+    public void requireKind(KubernetesResource resource, String expectedKind) {
+        if (!expectedKind.equals(resource.k8sKind())) {
+            throw new IllegalArgumentException("Expected a " + expectedKind + " manifest, but got kind '" + resource.k8sKind() + "'.");
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.multikube_rest_service.services.tenant;
 
 import com.multikube_rest_service.auth.JwtUserDetails;
 import com.multikube_rest_service.common.SecurityContextHelper;
+import com.multikube_rest_service.common.enums.NamespaceStatus;
+import com.multikube_rest_service.common.enums.OutboxOperation;
 import com.multikube_rest_service.common.enums.ResourceStatus;
 import com.multikube_rest_service.common.enums.RoleType;
 import com.multikube_rest_service.common.enums.SyncStatus;
@@ -9,6 +11,7 @@ import com.multikube_rest_service.dtos.requests.tenant.CreateWorkloadRequest;
 import com.multikube_rest_service.dtos.responses.tenant.TenantWorkloadDto;
 import com.multikube_rest_service.dtos.responses.tenant.TenantWorkloadSummaryDto;
 import com.multikube_rest_service.entities.User;
+import com.multikube_rest_service.entities.provider.KubernetesCluster;
 import com.multikube_rest_service.entities.tenant.TenantNamespace;
 import com.multikube_rest_service.entities.tenant.TenantWorkload;
 import com.multikube_rest_service.exceptions.ResourceNotFoundException;
@@ -16,15 +19,29 @@ import com.multikube_rest_service.mappers.tenant.TenantWorkloadMapper;
 import com.multikube_rest_service.repositories.UserRepository;
 import com.multikube_rest_service.repositories.tenant.TenantNamespaceRepository;
 import com.multikube_rest_service.repositories.tenant.TenantWorkloadRepository;
+import com.multikube_rest_service.services.events.StatusChangeEvent;
 import com.multikube_rest_service.services.kubernetes.KubernetesClientService;
+import com.multikube_rest_service.services.kubernetes.KubernetesLabels;
+import com.multikube_rest_service.services.kubernetes.PropagationPolicy;
 import com.multikube_rest_service.services.kubernetes.factories.KubernetesResource;
 import com.multikube_rest_service.services.kubernetes.factories.KubernetesResourceFactory;
+import io.kubernetes.client.openapi.ApiException;
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * Service layer for managing Tenant Workloads within a Namespace,
@@ -41,6 +58,10 @@ public class TenantWorkloadService {
     private final TenantWorkloadMapper workloadMapper;
     private final KubernetesResourceFactory resourceFactory;
     private final KubernetesClientService kubernetesClientService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final KubernetesOutboxRelay outboxRelay;
+    private final TenantResourcePolicy resourcePolicy;
+    private final TransactionTemplate transaction;
 
     public TenantWorkloadService(
             TenantWorkloadRepository workloadRepository,
@@ -48,13 +69,21 @@ public class TenantWorkloadService {
             UserRepository userRepository,
             TenantWorkloadMapper workloadMapper,
             KubernetesResourceFactory resourceFactory,
-            KubernetesClientService kubernetesClientService) {
+            KubernetesClientService kubernetesClientService,
+            ApplicationEventPublisher eventPublisher,
+            KubernetesOutboxRelay outboxRelay,
+            TenantResourcePolicy resourcePolicy,
+            PlatformTransactionManager transactionManager) {
         this.workloadRepository = workloadRepository;
         this.namespaceRepository = namespaceRepository;
         this.userRepository = userRepository;
         this.workloadMapper = workloadMapper;
         this.resourceFactory = resourceFactory;
         this.kubernetesClientService = kubernetesClientService;
+        this.eventPublisher = eventPublisher;
+        this.outboxRelay = outboxRelay;
+        this.resourcePolicy = resourcePolicy;
+        this.transaction = new TransactionTemplate(transactionManager);
     }
 
     /**
@@ -101,11 +130,15 @@ public class TenantWorkloadService {
 
     /**
      * Creates a new workload instance in a namespace from a YAML manifest.
-     * Associates the created workload with the current user.
+     * Associates the created workload with the current user. The workload is returned as PROCESSING and applied to
+     * the cluster in the background by the {@link KubernetesOutboxRelay}, which moves it to ACTIVE or ERROR.
      *
      * @param namespaceId The ID of the namespace to deploy the workload into.
      * @param request     The request DTO containing the workload details and final YAML.
      * @return A DTO of the newly created workload record.
+     * @throws IllegalArgumentException if the YAML contains more than one document (use {@link #createWorkloadBundle} instead),
+     *                                  or its kind is not allowed for tenants (see {@link TenantResourcePolicy}).
+     * @throws IllegalStateException    if the namespace is not ACTIVE, e.g. still being created in the cluster.
      */
     @Transactional
     public TenantWorkloadDto createWorkload(Long namespaceId, CreateWorkloadRequest request) {
@@ -116,77 +149,242 @@ public class TenantWorkloadService {
 
         TenantNamespace namespace = namespaceRepository.findByTenantIdAndId(tenantId, namespaceId)
                 .orElseThrow(() -> new ResourceNotFoundException("Namespace not found with ID: " + namespaceId));
+        requireActive(namespace);
+
+        List<KubernetesResource> resources = resourceFactory.parseYamlDocuments(request.getYamlContent());
+        if (resources.size() > 1) {
+            throw new IllegalArgumentException("The YAML contains " + resources.size() + " documents. Use the workload bundle endpoint to deploy multiple resources.");
+        }
+        KubernetesResource resource = resources.get(0);
+        resourcePolicy.requireAllowed(resource);
+        validateNotExisting(namespaceId, resource);
+
+        TenantWorkload workload = newWorkload(request.getName(), resource, namespace, creator);
 
-        KubernetesResource resource = resourceFactory.parseYaml(request.getYamlContent());
+        // The apply is dispatched from the outbox once this transaction commits; the workload stays PROCESSING until then.
+        TenantWorkload savedWorkload = workloadRepository.save(workload);
+        outboxRelay.enqueue(OutboxOperation.APPLY_WORKLOAD, savedWorkload.getId());
+        logger.info("Queued workload {}/{} for applying in namespace '{}'", resource.k8sKind(), resource.k8sName(), namespace.getName());
+        eventPublisher.publishEvent(StatusChangeEvent.workload(savedWorkload));
+        return workloadMapper.toDto(savedWorkload);
+    }
 
+    /**
+     * Creates one workload record per document of a multi-document ('---' separated) YAML manifest
+     * and applies the whole bundle in dependency order, e.g. ConfigMaps and Services before Deployments.
+     * Each record tracks the status of its own resource.
+     * <p>
+     * The records are returned as PROCESSING, sharing the ID of the first as their bundle ID. The bundle is applied in
+     * the background by the {@link KubernetesOutboxRelay}, which moves each record to ACTIVE or ERROR.
+     *
+     * @param namespaceId The ID of the namespace to deploy the bundle into.
+     * @param request     The request DTO containing the bundle name and the multi-document YAML.
+     * @return DTOs of the created workload records, in document order.
+     * @throws IllegalArgumentException if the YAML is invalid, or if any resource is of a kind not allowed for tenants, already
+     *                                  exists in the namespace or is repeated in the bundle.
+     * @throws IllegalStateException    if the namespace is not ACTIVE, e.g. still being created in the cluster.
+     */
+    @Transactional
+    public List<TenantWorkloadDto> createWorkloadBundle(Long namespaceId, CreateWorkloadRequest request) {
+        JwtUserDetails userDetails = SecurityContextHelper.getAuthenticatedUser();
+        List<KubernetesResource> resources = resourceFactory.parseYamlDocuments(request.getYamlContent());
+        Set<String> seen = new HashSet<>();
+        for (KubernetesResource resource : resources) {
+            if (!seen.add(resource.k8sKind() + "/" + resource.k8sName())) {
+                throw new IllegalArgumentException("The resource '" + resource.k8sKind() + "/" + resource.k8sName() + "' appears more than once in the YAML.");
+            }
+            resourcePolicy.requireAllowed(resource);
+        }
+
+        User creator = userRepository.findById(userDetails.getUserId())
+                .orElseThrow(() -> new IllegalStateException("Authenticated user not found in database."));
+        TenantNamespace namespace = namespaceRepository.findByTenantIdAndId(userDetails.getTenantId(), namespaceId)
+                .orElseThrow(() -> new ResourceNotFoundException("Namespace not found with ID: " + namespaceId));
+        requireActive(namespace);
+
+        List<TenantWorkload> workloads = new ArrayList<>(resources.size());
+        for (KubernetesResource resource : resources) {
+            validateNotExisting(namespaceId, resource);
+            String name = resources.size() == 1
+                    ? request.getName()
+                    : request.getName() + " (" + resource.k8sKind() + "/" + resource.k8sName() + ")";
+            workloads.add(newWorkload(name, resource, namespace, creator));
+        }
+        List<TenantWorkload> savedWorkloads = workloadRepository.saveAll(workloads);
+        Long bundleId = savedWorkloads.get(0).getId();
+        savedWorkloads.forEach(workload -> workload.setBundleId(bundleId));
+
+        // The bundle is dispatched from the outbox once this transaction commits, as one apply that keeps the stage order.
+        outboxRelay.enqueue(OutboxOperation.APPLY_WORKLOAD_BUNDLE, bundleId);
+        logger.info("Queued workload bundle '{}' with {} resource(s) for applying in namespace '{}'", request.getName(),
+                resources.size(), namespace.getName());
+        savedWorkloads.forEach(workload -> eventPublisher.publishEvent(StatusChangeEvent.workload(workload)));
+        return savedWorkloads.stream()
+                .map(workloadMapper::toDto)
+                .toList();
+    }
+
+    /**
+     * Rejects workloads for a namespace that does not exist in the cluster (yet), so that they are not applied before
+     * the namespace, or into one whose creation failed.
+     */
+    private static void requireActive(TenantNamespace namespace) {
+        if (namespace.getStatus() != NamespaceStatus.ACTIVE) {
+            throw new IllegalStateException("Namespace '" + namespace.getName() + "' is " + namespace.getStatus()
+                    + "; workloads can only be deployed once it is ACTIVE.");
+        }
+    }
+
+    private void validateNotExisting(Long namespaceId, KubernetesResource resource) {
         if (workloadRepository.existsByTenantNamespaceIdAndK8sNameAndK8sKind(namespaceId, resource.k8sName(), resource.k8sKind())) {
             throw new IllegalArgumentException("A resource with name '" + resource.k8sName() + "' and kind '" + resource.k8sKind() + "' already exists in this namespace.");
         }
+    }
 
+    private TenantWorkload newWorkload(String name, KubernetesResource resource, TenantNamespace namespace, User creator) {
         TenantWorkload workload = new TenantWorkload();
-        workload.setName(request.getName());
+        workload.setName(name);
         workload.setK8sName(resource.k8sName());
         workload.setK8sKind(resource.k8sKind());
-        workload.setYamlContent(request.getYamlContent());
+        workload.setYamlContent(resource.yaml());
+        workload.setContentHash(resource.contentHash());
         workload.setTenantNamespace(namespace);
         workload.setCreatedByUser(creator); // Track who created the workload
         workload.setStatus(ResourceStatus.PROCESSING);
         workload.setSyncStatus(SyncStatus.UNKNOWN);
-
-        try {
-            logger.info("Applying workload {}/{} in namespace '{}'", resource.k8sKind(), resource.k8sName(), namespace.getName());
-            kubernetesClientService.apply(namespace.getKubernetesCluster(), namespace.getName(), request.getYamlContent());
-            workload.setStatus(ResourceStatus.ACTIVE);
-            workload.setSyncStatus(SyncStatus.IN_SYNC);
-
-        } catch (Exception e) {
-            logger.error("Failed to apply workload {}/{} in namespace '{}'", resource.k8sKind(), resource.k8sName(), namespace.getName(), e);
-            workload.setStatus(ResourceStatus.ERROR);
-            workload.setStatusDetails(e.getMessage());
-        }
-
-        TenantWorkload savedWorkload = workloadRepository.save(workload);
-        return workloadMapper.toDto(savedWorkload);
+        return workload;
     }
 
     /**
-     * Deletes a workload.
+     * Deletes a workload from its cluster and then its record.
      * A TENANT_ADMIN can delete any workload in their tenant's namespaces.
      * A TENANT_USER can only delete workloads that they created.
+     * <p>
+     * The access checks run in one transaction and the record is dropped in a second one; the cluster call in between
+     * (with its retries and rate limit waits) holds no DB connection.
      *
-     * @param namespaceId The ID of the parent namespace.
-     * @param workloadId  The ID of the workload to delete.
+     * @param namespaceId       The ID of the parent namespace.
+     * @param workloadId        The ID of the workload to delete.
+     * @param propagationPolicy How the dependents of the workload's object (e.g. a Deployment's Pods) are deleted.
+     * @throws IllegalStateException if the workload is still PROCESSING, as its pending apply would recreate the object,
+     *                               or if the cluster refuses the deletion; the record is kept so the deletion can be
+     *                               retried.
      */
-    @Transactional
-    public void deleteWorkload(Long namespaceId, Long workloadId) {
+    public void deleteWorkload(Long namespaceId, Long workloadId, PropagationPolicy propagationPolicy) {
         JwtUserDetails userDetails = SecurityContextHelper.getAuthenticatedUser();
         Long tenantId = userDetails.getTenantId();
 
-        // Step 1: Fetch the workload and ensure it's in a namespace the user has access to.
-        TenantWorkload workload = workloadRepository.findByIdAndTenantNamespaceId(workloadId, namespaceId)
-                .orElseThrow(() -> new ResourceNotFoundException("Workload not found with ID: " + workloadId + " in namespace " + namespaceId));
+        PendingDeletion deletion = transaction.execute(status -> {
+            // Step 1: Fetch the workload and ensure it's in a namespace the user has access to.
+            TenantWorkload workload = workloadRepository.findByIdAndTenantNamespaceId(workloadId, namespaceId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Workload not found with ID: " + workloadId + " in namespace " + namespaceId));
 
-        // This check is implicitly handled by the query above, which scopes to the namespace.
-        if (!workload.getTenantNamespace().getTenant().getId().equals(tenantId)) {
-            throw new SecurityException("Access denied.");
+            // This check is implicitly handled by the query above, which scopes to the namespace.
+            if (!workload.getTenantNamespace().getTenant().getId().equals(tenantId)) {
+                throw new SecurityException("Access denied.");
+            }
+
+            // Step 2: Granular Permission Check
+            boolean isTenantAdmin = userDetails.getAuthorities().stream()
+                    .anyMatch(auth -> auth.getAuthority().equals(RoleType.TENANT_ADMIN.toString()));
+
+            boolean isCreator = workload.getCreatedByUser() != null &&
+                    workload.getCreatedByUser().getId().equals(userDetails.getUserId());
+
+            if (!isTenantAdmin && !isCreator) {
+                throw new SecurityException("Access denied: You must be an admin or the creator to delete this workload.");
+            }
+            requireNotProcessing(List.of(workload));
+
+            TenantNamespace namespace = workload.getTenantNamespace();
+            return new PendingDeletion(Hibernate.unproxy(namespace.getKubernetesCluster(), KubernetesCluster.class),
+                    namespace.getName(), List.of(workloadId), List.of(workload.getYamlContent()));
+        });
+
+        // Step 3: Delete the object from the cluster before dropping the record, so it cannot leak.
+        try {
+            kubernetesClientService.delete(deletion.cluster(), deletion.namespace(), deletion.manifests().get(0), propagationPolicy);
+        } catch (ApiException | IOException e) {
+            logger.error("Failed to delete workload ID: {} in namespace '{}'", workloadId, deletion.namespace(), e);
+            throw new IllegalStateException("Failed to delete workload ID " + workloadId + " from the cluster: " + e.getMessage(), e);
         }
 
-        // Step 2: Granular Permission Check
-        boolean isTenantAdmin = userDetails.getAuthorities().stream()
-                .anyMatch(auth -> auth.getAuthority().equals(RoleType.TENANT_ADMIN.toString()));
+        transaction.executeWithoutResult(status -> workloadRepository.findByIdAndTenantNamespaceId(workloadId, namespaceId)
+                .ifPresent(workload -> {
+                    workloadRepository.delete(workload);
+                    eventPublisher.publishEvent(StatusChangeEvent.workloadDeleted(workload));
+                    logger.info("User '{}' deleted workload '{}' (ID: {})", userDetails.getUsername(), workload.getName(), workloadId);
+                }));
+    }
 
-        boolean isCreator = workload.getCreatedByUser() != null &&
-                workload.getCreatedByUser().getId().equals(userDetails.getUserId());
+    /**
+     * Deletes all workloads of a namespace from its cluster and then their records. Objects are deleted with one
+     * deletecollection call per kind, selected by the workload label set on apply; workloads whose objects predate the
+     * label are deleted by name. The records are only dropped once every object is deleted, in a transaction of its
+     * own, so that the cluster calls hold no DB connection.
+     * Intended for TENANT_ADMINs; the permission is enforced by the controller.
+     *
+     * @param namespaceId       The ID of the parent namespace.
+     * @param propagationPolicy How the dependents of the workloads' objects are deleted.
+     * @return The number of deleted workload records.
+     * @throws IllegalStateException if any workload is still PROCESSING, or if the cluster refuses the deletion; the
+     *                               records are kept so the deletion can be retried.
+     */
+    public int deleteWorkloads(Long namespaceId, PropagationPolicy propagationPolicy) {
+        Long tenantId = SecurityContextHelper.getAuthenticatedTenantId();
+        PendingDeletion deletion = transaction.execute(status -> {
+            TenantNamespace namespace = namespaceRepository.findByTenantIdAndId(tenantId, namespaceId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Namespace not found with ID: " + namespaceId));
+            List<TenantWorkload> workloads = List.copyOf(namespace.getWorkloads());
+            requireNotProcessing(workloads);
+            return new PendingDeletion(Hibernate.unproxy(namespace.getKubernetesCluster(), KubernetesCluster.class), namespace.getName(),
+                    workloads.stream().map(TenantWorkload::getId).toList(),
+                    workloads.stream().map(TenantWorkload::getYamlContent).toList());
+        });
+        if (deletion.manifests().isEmpty()) {
+            return 0;
+        }
 
-        if (!isTenantAdmin && !isCreator) {
-            throw new SecurityException("Access denied: You must be an admin or the creator to delete this workload.");
+        try {
+            kubernetesClientService.deleteCollections(deletion.cluster(), deletion.namespace(), deletion.manifests(),
+                    KubernetesLabels.componentSelector(KubernetesLabels.COMPONENT_WORKLOAD), propagationPolicy);
+        } catch (ApiException | IOException e) {
+            logger.error("Failed to delete the workloads of namespace '{}'", deletion.namespace(), e);
+            throw new IllegalStateException("Failed to delete the workloads of namespace '" + deletion.namespace() + "' from the cluster: " + e.getMessage(), e);
         }
 
-        //TODO Step 3: Proceed with deletion logic
-        // This would involve calling kubernetesClientService.delete(...)
-        // For now, we will just delete the record from our database.
+        return transaction.execute(status -> {
+            // Only the workloads whose objects were deleted above; one created meanwhile keeps its record.
+            Set<TenantWorkload> workloads = namespaceRepository.findByTenantIdAndId(tenantId, namespaceId)
+                    .map(TenantNamespace::getWorkloads)
+                    .orElse(Set.of());
+            List<TenantWorkload> deleted = workloads.stream()
+                    .filter(workload -> deletion.workloadIds().contains(workload.getId()))
+                    .toList();
+            deleted.forEach(workload -> eventPublisher.publishEvent(StatusChangeEvent.workloadDeleted(workload)));
+            // Orphan removal deletes the records.
+            deleted.forEach(workloads::remove);
+            int count = deleted.size();
+            logger.info("Deleted {} workload(s) of namespace '{}' (ID: {})", count, deletion.namespace(), namespaceId);
+            return count;
+        });
+    }
+
+    /**
+     * Rejects deleting workloads whose apply is still queued in the outbox, so that it does not recreate their objects
+     * after the deletion.
+     */
+    private static void requireNotProcessing(List<TenantWorkload> workloads) {
+        for (TenantWorkload workload : workloads) {
+            if (workload.getStatus() == ResourceStatus.PROCESSING) {
+                throw new IllegalStateException("Workload '" + workload.getName() + "' is still being applied; it can be deleted once it is ACTIVE or ERROR.");
+            }
+        }
+    }
 
-        workloadRepository.delete(workload);
-        logger.info("User '{}' deleted workload '{}' (ID: {})", userDetails.getUsername(), workload.getName(), workloadId);
+    /**
+     * What is needed to delete workload objects from the cluster, read before the API calls.
+     */
+    private record PendingDeletion(KubernetesCluster cluster, String namespace, List<Long> workloadIds, List<String> manifests) {
     }
-}
\ No newline at end of file
+}
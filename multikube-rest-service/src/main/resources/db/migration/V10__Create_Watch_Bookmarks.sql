@@ -0,0 +1,12 @@
+-- The last resourceVersion seen per cluster and watched kind, taken from list results, watch events and watch
+-- bookmarks. The informers still list every kind in full on startup, as their caches live in memory; the bookmark
+-- only makes that first list ask for a state no older than what they saw before the restart.
+CREATE TABLE watch_bookmarks
+(
+    cluster_id       BIGINT       NOT NULL,
+    kind             VARCHAR(100) NOT NULL,
+    resource_version VARCHAR(64)  NOT NULL,
+    updated_at       TIMESTAMP    NOT NULL,
+    PRIMARY KEY (cluster_id, kind),
+    CONSTRAINT fk_wb_kubernetes_cluster FOREIGN KEY (cluster_id) REFERENCES kubernetes_clusters (id) ON DELETE CASCADE
+);
@@ -0,0 +1,14 @@
+-- Kubernetes side effects of committed changes, recorded in the same transaction and dispatched by a background relay.
+-- A row is claimed by pushing next_attempt_at past the claim time, and deleted in the transaction that records the result.
+CREATE TABLE kubernetes_outbox
+(
+    id              BIGINT AUTO_INCREMENT PRIMARY KEY,
+    operation       VARCHAR(32) NOT NULL, -- CREATE_NAMESPACE or APPLY_WORKLOAD
+    resource_id     BIGINT      NOT NULL, -- The ID of the tenant namespace or workload
+    attempts        INT         NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP   NOT NULL,
+    last_error      VARCHAR(1024),
+    created_at      TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_kubernetes_outbox_next_attempt_at ON kubernetes_outbox (next_attempt_at);
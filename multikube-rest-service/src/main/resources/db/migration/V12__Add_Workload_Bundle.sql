@@ -0,0 +1,7 @@
+-- The workloads created together from one multi-document manifest share a bundle ID, the ID of the bundle's first
+-- workload. A bundle is applied in dependency order by one APPLY_WORKLOAD_BUNDLE outbox entry, whose resource_id is the
+-- bundle ID. Null for workloads created on their own.
+ALTER TABLE tenant_workloads
+    ADD COLUMN bundle_id BIGINT;
+
+CREATE INDEX idx_tenant_workloads_bundle_id ON tenant_workloads (bundle_id);
@@ -0,0 +1,3 @@
+-- The encoding of the metadata listing after a deletecollection: JSON or PROTOBUF. All other calls use JSON.
+ALTER TABLE kubernetes_clusters
+    ADD COLUMN api_content_type VARCHAR(20) NOT NULL DEFAULT 'JSON';
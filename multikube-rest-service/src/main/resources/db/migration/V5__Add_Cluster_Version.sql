@@ -0,0 +1,3 @@
+-- Optimistic locking version, so that batched status writes never overwrite concurrent edits.
+ALTER TABLE kubernetes_clusters
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,8 @@
+-- Results of the latest health probe: round-trip latency of its SelfSubjectAccessReview POST, and the API server's
+-- version, read from /version in a separate call when it is unknown or the cluster was not reachable before.
+ALTER TABLE kubernetes_clusters
+    ADD COLUMN api_latency_ms BIGINT;
+ALTER TABLE kubernetes_clusters
+    ADD COLUMN server_version VARCHAR(64);
+ALTER TABLE kubernetes_clusters
+    ADD COLUMN last_probed_at TIMESTAMP;
@@ -0,0 +1,13 @@
+-- Downsampled cluster health probe results, flushed periodically from the in-memory ring buffers.
+-- latency_histogram holds the comma-separated probe counts per latency bin (see LatencyHistogram).
+CREATE TABLE cluster_health_buckets
+(
+    cluster_id        BIGINT       NOT NULL,
+    resolution        VARCHAR(10)  NOT NULL, -- MINUTE or HOUR
+    bucket_start      TIMESTAMP    NOT NULL,
+    probes            INT          NOT NULL,
+    successes         INT          NOT NULL,
+    latency_histogram VARCHAR(512) NOT NULL,
+    PRIMARY KEY (cluster_id, resolution, bucket_start),
+    CONSTRAINT fk_chb_kubernetes_cluster FOREIGN KEY (cluster_id) REFERENCES kubernetes_clusters (id) ON DELETE CASCADE
+);
@@ -0,0 +1,8 @@
+-- Leases of the running service replicas. Each replica renews its row periodically; replicas whose lease expired are
+-- considered dead, and the clusters they probed are rebalanced across the remaining ones.
+CREATE TABLE service_replicas
+(
+    replica_id   VARCHAR(128) PRIMARY KEY,
+    started_at   TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    heartbeat_at TIMESTAMP NOT NULL
+);
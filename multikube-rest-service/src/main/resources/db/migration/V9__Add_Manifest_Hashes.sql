@@ -0,0 +1,15 @@
+-- Canonical content hashes of the stored manifests (SHA-256 of the normalized manifest, see ManifestNormalizer), and
+-- the hash and metadata.generation of the last successful apply. An object whose manifest still has the applied hash
+-- and whose live generation is unchanged needs no re-apply. Existing rows start without hashes and are applied as usual.
+ALTER TABLE tenant_workloads
+    ADD COLUMN content_hash VARCHAR(64);
+ALTER TABLE tenant_workloads
+    ADD COLUMN applied_hash VARCHAR(64);
+ALTER TABLE tenant_workloads
+    ADD COLUMN applied_generation BIGINT;
+ALTER TABLE tenant_namespace_configurations
+    ADD COLUMN content_hash VARCHAR(64);
+ALTER TABLE tenant_namespace_configurations
+    ADD COLUMN applied_hash VARCHAR(64);
+ALTER TABLE tenant_namespace_configurations
+    ADD COLUMN applied_generation BIGINT;
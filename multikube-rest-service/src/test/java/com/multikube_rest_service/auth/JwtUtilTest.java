@@ -48,6 +48,8 @@ class JwtUtilTest {
         roles.add(userRole);
 
         testUser.setRoles(roles);
+        testUser.setTenant(new com.multikube_rest_service.entities.Tenant());
+        testUser.getTenant().setId(1L);
     }
 
     private SecretKey getSigningKey() {
@@ -181,6 +183,7 @@ class JwtUtilTest {
         userWithNoRoles.setEmail("noroles@example.com");
         userWithNoRoles.setUsername("norolesuser");
         userWithNoRoles.setRoles(new HashSet<>()); // Empty set of roles
+        userWithNoRoles.setTenant(testUser.getTenant());
 
         String token = jwtUtil.generateToken(userWithNoRoles);
         assertNotNull(token);
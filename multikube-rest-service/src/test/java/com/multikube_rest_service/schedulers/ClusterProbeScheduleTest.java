@@ -0,0 +1,116 @@
+package com.multikube_rest_service.schedulers;
+
+import com.multikube_rest_service.common.enums.ClusterStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ClusterProbeSchedule}.
+ */
+class ClusterProbeScheduleTest {
+
+    private static final long BASE = 60_000;
+    private static final long MIN = 15_000;
+    private static final long MAX = 900_000;
+    private static final long FLAP_WINDOW = 600_000;
+
+    private final ClusterProbeSchedule schedule = new ClusterProbeSchedule(BASE, MIN, MAX, FLAP_WINDOW, 0);
+
+    @Test
+    void record_stableCluster_shouldBeDueAfterBaseInterval() {
+        schedule.sync(List.of(1L), 0);
+        assertEquals(List.of(1L), schedule.pollDue(0));
+
+        long dueAt = schedule.record(1L, ClusterStatus.ACTIVE, ClusterStatus.ACTIVE, 0);
+
+        assertEquals(BASE, dueAt);
+        assertTrue(schedule.pollDue(BASE - 1).isEmpty());
+        assertEquals(List.of(1L), schedule.pollDue(BASE));
+    }
+
+    @Test
+    void record_recentChanges_shouldShortenIntervalDownToMin() {
+        schedule.sync(List.of(1L), 0);
+        schedule.pollDue(0);
+
+        assertEquals(BASE / 2, schedule.record(1L, ClusterStatus.ACTIVE, ClusterStatus.ERROR, 0));
+        schedule.pollDue(BASE / 2);
+        assertEquals(BASE / 2 + BASE / 3, schedule.record(1L, ClusterStatus.ERROR, ClusterStatus.ACTIVE, BASE / 2));
+        long now = BASE;
+        for (int i = 0; i < 5; i++) {
+            schedule.pollDue(now);
+            long dueAt = schedule.record(1L, i % 2 == 0 ? ClusterStatus.ACTIVE : ClusterStatus.ERROR,
+                    i % 2 == 0 ? ClusterStatus.ERROR : ClusterStatus.ACTIVE, now);
+            now = dueAt;
+        }
+        schedule.pollDue(now);
+        assertEquals(now + MIN, schedule.record(1L, ClusterStatus.ACTIVE, ClusterStatus.ACTIVE, now));
+
+        // Once the changes leave the flap window, the cluster is back on the base interval.
+        long later = now + FLAP_WINDOW + 1;
+        schedule.pollDue(later);
+        assertEquals(later + BASE, schedule.record(1L, ClusterStatus.ACTIVE, ClusterStatus.ACTIVE, later));
+    }
+
+    @Test
+    void record_longUnreachableCluster_shouldBackOffExponentiallyUpToMax() {
+        schedule.sync(List.of(1L), 0);
+        long now = FLAP_WINDOW + 1;
+        long[] expectedIntervals = {BASE, 2 * BASE, 4 * BASE, 8 * BASE, MAX, MAX};
+        for (long expected : expectedIntervals) {
+            schedule.pollDue(now);
+            long dueAt = schedule.record(1L, ClusterStatus.UNREACHABLE, ClusterStatus.UNREACHABLE, now);
+            assertEquals(expected, dueAt - now);
+            now = dueAt;
+        }
+
+        schedule.pollDue(now);
+        assertEquals(BASE / 2, schedule.record(1L, ClusterStatus.UNREACHABLE, ClusterStatus.ACTIVE, now) - now);
+    }
+
+    @Test
+    void sync_withJitter_shouldSpreadNewClustersAndIntervals() {
+        double[] randoms = {0.0, 0.5, 1.0};
+        ClusterProbeSchedule jittered = new ClusterProbeSchedule(BASE, MIN, MAX, FLAP_WINDOW, 0.2) {
+            private int calls;
+
+            @Override
+            double random() {
+                return randoms[calls++ % randoms.length];
+            }
+        };
+
+        jittered.sync(List.of(1L, 2L, 3L), 0);
+
+        assertEquals(List.of(1L), jittered.pollDue(0));
+        assertEquals(List.of(2L), jittered.pollDue((long) (BASE * 0.1)));
+        assertEquals(Set.of(3L), Set.copyOf(jittered.pollDue((long) (BASE * 0.2))));
+        assertEquals(BASE * 0.8, jittered.record(1L, ClusterStatus.ACTIVE, ClusterStatus.ACTIVE, 0), 0.5);
+    }
+
+    @Test
+    void sync_removedCluster_shouldNoLongerBeDue() {
+        schedule.sync(List.of(1L, 2L), 0);
+        schedule.sync(List.of(2L), 0);
+
+        assertEquals(List.of(2L), schedule.pollDue(0));
+        assertEquals(-1, schedule.record(1L, null, null, 0));
+        assertEquals(1, schedule.size());
+    }
+
+    @Test
+    void expedite_scheduledClusters_shouldBeDueNowExceptProbesInProgress() {
+        schedule.sync(List.of(1L, 2L), 0);
+        assertEquals(List.of(1L, 2L), schedule.pollDue(0));
+        schedule.record(1L, ClusterStatus.ACTIVE, ClusterStatus.ACTIVE, 0);
+
+        schedule.expedite(List.of(1L, 2L, 3L), 1_000);
+
+        assertEquals(List.of(1L), schedule.pollDue(1_000));
+        assertEquals(BASE + 1_000, schedule.record(2L, ClusterStatus.ACTIVE, ClusterStatus.ACTIVE, 1_000));
+    }
+}
@@ -0,0 +1,160 @@
+package com.multikube_rest_service.schedulers;
+
+import com.multikube_rest_service.repositories.ServiceReplicaRepository;
+import com.multikube_rest_service.services.kubernetes.drift.DriftDetector;
+import com.multikube_rest_service.services.kubernetes.informers.ClusterInformerCache;
+import com.multikube_rest_service.services.kubernetes.informers.ClusterNodeWatcher;
+import com.multikube_rest_service.services.kubernetes.reconcile.ReconcileQueue;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link ClusterShardCoordinator}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ClusterShardCoordinatorTest {
+
+    private static final long LEASE_TTL_MS = 30_000;
+    private static final List<Long> CLUSTER_IDS = LongStream.rangeClosed(1, 1000).boxed().toList();
+
+    @Mock
+    private ServiceReplicaRepository replicaRepository;
+    @Mock
+    private ClusterInformerCache informerCache;
+    @Mock
+    private ClusterNodeWatcher nodeWatcher;
+    @Mock
+    private DriftDetector driftDetector;
+    @Mock
+    private ReconcileQueue reconcileQueue;
+
+    private long now = 1_000_000;
+
+    private ClusterShardCoordinator coordinator(String replicaId) {
+        return new ClusterShardCoordinator(replicaRepository, informerCache, nodeWatcher, driftDetector, reconcileQueue,
+                new SimpleMeterRegistry(), replicaId, LEASE_TTL_MS, 64) {
+            @Override
+            long now() {
+                return now;
+            }
+        };
+    }
+
+    @Test
+    void owns_beforeFirstHeartbeat_shouldOwnNothing() {
+        assertFalse(coordinator("a").owns(1L));
+    }
+
+    @Test
+    void owns_singleReplica_shouldOwnEveryCluster() {
+        when(replicaRepository.findLive(LEASE_TTL_MS)).thenReturn(List.of("a"));
+        ClusterShardCoordinator coordinator = coordinator("a");
+
+        coordinator.heartbeat();
+
+        verify(replicaRepository).renew("a");
+        assertTrue(CLUSTER_IDS.stream().allMatch(coordinator::owns));
+    }
+
+    @Test
+    void owns_severalReplicas_shouldAssignEachClusterToExactlyOneReplica() {
+        when(replicaRepository.findLive(LEASE_TTL_MS)).thenReturn(List.of("a", "b", "c"));
+        List<ClusterShardCoordinator> replicas = List.of(coordinator("a"), coordinator("b"), coordinator("c"));
+        replicas.forEach(ClusterShardCoordinator::heartbeat);
+
+        for (Long clusterId : CLUSTER_IDS) {
+            assertEquals(1, replicas.stream().filter(replica -> replica.owns(clusterId)).count());
+        }
+        for (ClusterShardCoordinator replica : replicas) {
+            long owned = CLUSTER_IDS.stream().filter(replica::owns).count();
+            assertTrue(owned > 200 && owned < 470, "Unbalanced shard of " + owned + " clusters");
+        }
+    }
+
+    @Test
+    void heartbeat_replicaDied_shouldOnlyMoveItsClusters() {
+        when(replicaRepository.findLive(LEASE_TTL_MS)).thenReturn(List.of("a", "b", "c"));
+        ClusterShardCoordinator a = coordinator("a");
+        ClusterShardCoordinator c = coordinator("c");
+        a.heartbeat();
+        List<Long> ownedByA = CLUSTER_IDS.stream().filter(a::owns).toList();
+
+        when(replicaRepository.findLive(LEASE_TTL_MS)).thenReturn(List.of("a", "b"));
+        a.heartbeat();
+        c.heartbeat();
+
+        assertTrue(ownedByA.stream().allMatch(a::owns));
+        assertTrue(CLUSTER_IDS.stream().filter(a::owns).count() > ownedByA.size());
+        assertTrue(CLUSTER_IDS.stream().noneMatch(c::owns));
+    }
+
+    @Test
+    void owns_leaseNotRenewedWithinTtl_shouldOwnNothing() {
+        when(replicaRepository.findLive(LEASE_TTL_MS)).thenReturn(List.of("a"));
+        ClusterShardCoordinator coordinator = coordinator("a");
+        coordinator.heartbeat();
+        doThrow(new DataAccessResourceFailureException("database down")).when(replicaRepository).renew("a");
+
+        now += LEASE_TTL_MS / 2;
+        coordinator.heartbeat();
+        assertTrue(coordinator.owns(1L));
+
+        now += LEASE_TTL_MS;
+        coordinator.heartbeat();
+        assertFalse(coordinator.owns(1L));
+        verify(replicaRepository, times(1)).deleteExpired(anyLong());
+    }
+
+    @Test
+    void heartbeat_clustersTakenOverByNewReplica_shouldStopWatchingOnlyThose() {
+        Set<Long> watched = CLUSTER_IDS.stream().limit(50).collect(Collectors.toSet());
+        when(informerCache.clusterIds()).thenReturn(watched);
+        when(replicaRepository.findLive(LEASE_TTL_MS)).thenReturn(List.of("a"));
+        ClusterShardCoordinator a = coordinator("a");
+        a.heartbeat();
+        verify(informerCache, never()).invalidate(anyLong());
+
+        when(replicaRepository.findLive(LEASE_TTL_MS)).thenReturn(List.of("a", "b"));
+        a.heartbeat();
+
+        List<Long> handedOver = watched.stream().filter(clusterId -> !a.owns(clusterId)).toList();
+        assertFalse(handedOver.isEmpty());
+        for (Long clusterId : handedOver) {
+            verify(informerCache).invalidate(clusterId);
+            verify(nodeWatcher).invalidate(clusterId);
+            verify(driftDetector).invalidate(clusterId);
+            verify(reconcileQueue).invalidate(clusterId);
+        }
+        verify(informerCache, times(handedOver.size())).invalidate(anyLong());
+    }
+
+    @Test
+    void heartbeat_leaseLapsed_shouldStopWatchingEveryCluster() {
+        when(informerCache.clusterIds()).thenReturn(Set.of(1L));
+        when(nodeWatcher.clusterIds()).thenReturn(Set.of(1L, 2L));
+        when(replicaRepository.findLive(LEASE_TTL_MS)).thenReturn(List.of("a"));
+        ClusterShardCoordinator coordinator = coordinator("a");
+        coordinator.heartbeat();
+        doThrow(new DataAccessResourceFailureException("database down")).when(replicaRepository).renew("a");
+
+        now += LEASE_TTL_MS * 2;
+        coordinator.heartbeat();
+
+        verify(informerCache).invalidate(1L);
+        verify(nodeWatcher).invalidate(2L);
+        verify(reconcileQueue).invalidate(2L);
+    }
+}
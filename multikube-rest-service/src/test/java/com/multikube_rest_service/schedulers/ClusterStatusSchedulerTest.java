@@ -0,0 +1,222 @@
+package com.multikube_rest_service.schedulers;
+
+import com.multikube_rest_service.common.enums.ClusterStatus;
+import com.multikube_rest_service.entities.provider.KubernetesCluster;
+import com.multikube_rest_service.repositories.provider.ClusterProbeObservation;
+import com.multikube_rest_service.repositories.provider.ClusterStatusUpdate;
+import com.multikube_rest_service.repositories.provider.KubernetesClusterRepository;
+import com.multikube_rest_service.services.events.StatusChangeEvent;
+import com.multikube_rest_service.services.provider.ClusterProbeResult;
+import com.multikube_rest_service.services.provider.ProviderClusterService;
+import com.multikube_rest_service.services.provider.health.ClusterHealthHistory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link ClusterStatusScheduler}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ClusterStatusSchedulerTest {
+
+    @Mock
+    private KubernetesClusterRepository clusterRepository;
+
+    @Mock
+    private ProviderClusterService providerClusterService;
+    @Mock
+    private ClusterHealthHistory healthHistory;
+    @Mock
+    private ClusterShardCoordinator shardCoordinator;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    // Without jitter, every new cluster is due immediately.
+    private final ClusterProbeSchedule probeSchedule = new ClusterProbeSchedule(60000, 15000, 900000, 600000, 0);
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(shardCoordinator.owns(any())).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void updateClusterStatuses_probes_shouldRunConcurrentlyUpToMaxParallelism() {
+        List<KubernetesCluster> clusters = List.of(cluster(1L), cluster(2L), cluster(3L), cluster(4L));
+        givenClusters(clusters);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(providerClusterService.probeConnectivity(any())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            inFlight.decrementAndGet();
+            return result(ClusterStatus.ACTIVE);
+        });
+
+        new ClusterStatusScheduler(clusterRepository, providerClusterService, probeSchedule, healthHistory, shardCoordinator, eventPublisher, executor, meterRegistry, 2, 5000).updateClusterStatuses();
+
+        verify(providerClusterService, times(4)).probeConnectivity(any());
+        assertEquals(2, maxInFlight.get());
+        assertEquals(4, meterRegistry.get("multikube.cluster.sweep.probes").counter().count());
+        assertEquals(0, meterRegistry.get("multikube.cluster.sweep.timeouts").counter().count());
+        assertEquals(1, meterRegistry.get("multikube.cluster.sweep.duration").timer().count());
+    }
+
+    @Test
+    void updateClusterStatuses_hangingProbe_shouldReturnAtDeadlineAndCountTimeouts() {
+        KubernetesCluster hanging = cluster(1L);
+        givenClusters(List.of(hanging, cluster(2L), cluster(3L)));
+        when(providerClusterService.probeConnectivity(any())).thenAnswer(invocation -> {
+            if (invocation.getArgument(0) == hanging) {
+                release.await();
+            }
+            return result(ClusterStatus.ACTIVE);
+        });
+
+        long start = System.nanoTime();
+        new ClusterStatusScheduler(clusterRepository, providerClusterService, probeSchedule, healthHistory, shardCoordinator, eventPublisher, executor, meterRegistry, 8, 200).updateClusterStatuses();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMs < 2000, "sweep did not honour its deadline: " + elapsedMs + " ms");
+        assertEquals(2, meterRegistry.get("multikube.cluster.sweep.probes").counter().count());
+        assertEquals(1, meterRegistry.get("multikube.cluster.sweep.timeouts").counter().count());
+    }
+
+    @Test
+    void updateClusterStatuses_inactiveCluster_shouldBeSkipped() {
+        KubernetesCluster inactive = cluster(1L);
+        inactive.setStatus(ClusterStatus.INACTIVE);
+        givenClusters(List.of(inactive));
+
+        new ClusterStatusScheduler(clusterRepository, providerClusterService, probeSchedule, healthHistory, shardCoordinator, eventPublisher, executor, meterRegistry, 8, 200).updateClusterStatuses();
+
+        verifyNoInteractions(providerClusterService);
+    }
+
+    @Test
+    void updateClusterStatuses_changedStatuses_shouldBeWrittenInOneBatchWithScannedVersions() {
+        KubernetesCluster unchanged = cluster(1L);
+        KubernetesCluster lost = cluster(2L);
+        lost.setVersion(7L);
+        KubernetesCluster recovered = cluster(3L);
+        recovered.setStatus(ClusterStatus.UNREACHABLE);
+        recovered.setVersion(3L);
+        givenClusters(List.of(unchanged, lost, recovered));
+        when(providerClusterService.probeConnectivity(any())).thenAnswer(invocation ->
+                result(invocation.getArgument(0) == lost ? ClusterStatus.UNREACHABLE : ClusterStatus.ACTIVE));
+        // The lost cluster was edited during the sweep, so only the recovery is applied.
+        when(clusterRepository.updateStatusesIfUnchanged(any()))
+                .thenReturn(List.of(new ClusterStatusUpdate(3L, 3L, ClusterStatus.ACTIVE)));
+
+        new ClusterStatusScheduler(clusterRepository, providerClusterService, probeSchedule, healthHistory, shardCoordinator, eventPublisher, executor, meterRegistry, 8, 5000).updateClusterStatuses();
+
+        ArgumentCaptor<List<ClusterStatusUpdate>> updates = ArgumentCaptor.captor();
+        verify(clusterRepository).updateStatusesIfUnchanged(updates.capture());
+        assertEquals(Set.of(new ClusterStatusUpdate(2L, 7L, ClusterStatus.UNREACHABLE), new ClusterStatusUpdate(3L, 3L, ClusterStatus.ACTIVE)),
+                Set.copyOf(updates.getValue()));
+        verify(clusterRepository, never()).save(any());
+        ArgumentCaptor<StatusChangeEvent> events = ArgumentCaptor.forClass(StatusChangeEvent.class);
+        verify(eventPublisher).publishEvent(events.capture());
+        assertEquals(3L, events.getValue().resourceId());
+        assertEquals("ACTIVE", events.getValue().status());
+    }
+
+    @Test
+    void updateClusterStatuses_completedProbes_shouldRecordLatencyAndVersionOfEveryCluster() {
+        givenClusters(List.of(cluster(1L), cluster(2L)));
+        when(providerClusterService.probeConnectivity(any())).thenReturn(result(ClusterStatus.ACTIVE));
+
+        new ClusterStatusScheduler(clusterRepository, providerClusterService, probeSchedule, healthHistory, shardCoordinator, eventPublisher, executor, meterRegistry, 8, 5000).updateClusterStatuses();
+
+        ArgumentCaptor<List<ClusterProbeObservation>> observations = ArgumentCaptor.captor();
+        verify(clusterRepository).recordProbeObservations(observations.capture());
+        assertEquals(2, observations.getValue().size());
+        observations.getValue().forEach(observation -> {
+            assertEquals(12L, observation.latencyMs());
+            assertEquals("v1.30.2", observation.serverVersion());
+        });
+        verify(clusterRepository).updateStatusesIfUnchanged(List.of());
+    }
+
+    @Test
+    void updateClusterStatuses_clusterNotDue_shouldNotBeProbedAgain() {
+        givenClusters(List.of(cluster(1L)));
+        when(providerClusterService.probeConnectivity(any())).thenReturn(result(ClusterStatus.ACTIVE));
+        ClusterStatusScheduler scheduler = new ClusterStatusScheduler(clusterRepository, providerClusterService, probeSchedule, healthHistory, shardCoordinator, eventPublisher, executor,
+                meterRegistry, 8, 5000);
+
+        scheduler.updateClusterStatuses();
+        scheduler.updateClusterStatuses();
+
+        verify(providerClusterService, times(1)).probeConnectivity(any());
+    }
+
+    @Test
+    void updateClusterStatuses_clusterOfAnotherReplica_shouldNotBeProbed() {
+        givenClusters(List.of(cluster(1L), cluster(2L)));
+        when(shardCoordinator.owns(1L)).thenReturn(false);
+        when(providerClusterService.probeConnectivity(any())).thenReturn(result(ClusterStatus.ACTIVE));
+
+        new ClusterStatusScheduler(clusterRepository, providerClusterService, probeSchedule, healthHistory, shardCoordinator, eventPublisher, executor,
+                meterRegistry, 8, 5000).updateClusterStatuses();
+
+        ArgumentCaptor<KubernetesCluster> captor = ArgumentCaptor.forClass(KubernetesCluster.class);
+        verify(providerClusterService).probeConnectivity(captor.capture());
+        assertEquals(2L, captor.getValue().getId());
+        assertEquals(1, probeSchedule.size());
+    }
+
+    private void givenClusters(List<KubernetesCluster> clusters) {
+        when(clusterRepository.findAllIds()).thenReturn(clusters.stream().map(KubernetesCluster::getId).toList());
+        lenient().when(clusterRepository.findAllById(any())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            Set<Long> due = new HashSet<>();
+            ids.forEach(due::add);
+            return clusters.stream().filter(cluster -> due.contains(cluster.getId())).toList();
+        });
+    }
+
+    private static ClusterProbeResult result(ClusterStatus status) {
+        return status == ClusterStatus.ACTIVE
+                ? new ClusterProbeResult(status, 12L, "v1.30.2", Timestamp.from(Instant.now()))
+                : new ClusterProbeResult(status, null, null, Timestamp.from(Instant.now()));
+    }
+
+    private static KubernetesCluster cluster(Long id) {
+        KubernetesCluster cluster = new KubernetesCluster();
+        cluster.setId(id);
+        cluster.setName("cluster-" + id);
+        cluster.setStatus(ClusterStatus.ACTIVE);
+        cluster.setVersion(0L);
+        return cluster;
+    }
+}
@@ -0,0 +1,99 @@
+package com.multikube_rest_service.schedulers;
+
+import com.multikube_rest_service.entities.provider.KubernetesCluster;
+import com.multikube_rest_service.repositories.provider.KubernetesClusterRepository;
+import com.multikube_rest_service.services.kubernetes.clients.KubernetesApiClientPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link ClusterWarmup}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ClusterWarmupTest {
+
+    @Mock
+    private KubernetesClusterRepository clusterRepository;
+    @Mock
+    private KubernetesApiClientPool apiClientPool;
+    @Mock
+    private ClusterStatusScheduler statusScheduler;
+    @Mock
+    private ClusterShardCoordinator shardCoordinator;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private ClusterWarmup warmup(boolean gateReadiness) {
+        return new ClusterWarmup(clusterRepository, apiClientPool, statusScheduler, shardCoordinator, executor,
+                true, gateReadiness, 4);
+    }
+
+    private static KubernetesCluster cluster(Long id) {
+        KubernetesCluster cluster = new KubernetesCluster();
+        cluster.setId(id);
+        return cluster;
+    }
+
+    @Test
+    void warmUp_clusters_shouldBuildEveryClientThenProbeTheShard() {
+        KubernetesCluster broken = cluster(2L);
+        when(clusterRepository.findByStatusIn(ClusterStatusScheduler.CHECKED_STATUSES))
+                .thenReturn(List.of(cluster(1L), broken, cluster(3L)));
+        when(apiClientPool.getClient(any())).thenAnswer(invocation -> {
+            if (invocation.getArgument(0) == broken) {
+                throw new IllegalStateException("invalid kubeconfig");
+            }
+            return null;
+        });
+        ClusterWarmup warmup = warmup(false);
+
+        warmup.warmUp();
+
+        verify(apiClientPool, times(3)).getClient(any());
+        InOrder inOrder = inOrder(shardCoordinator, statusScheduler);
+        inOrder.verify(shardCoordinator).heartbeat();
+        inOrder.verify(statusScheduler).probeAllNow();
+        Health health = warmup.health();
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(ClusterWarmup.Phase.COMPLETED, health.getDetails().get("phase"));
+        assertEquals(2, health.getDetails().get("clientsBuilt"));
+        assertEquals(1, health.getDetails().get("clientsFailed"));
+    }
+
+    @Test
+    void health_gatedReadinessBeforeCompletion_shouldBeOutOfService() {
+        assertEquals(Status.UP, warmup(false).health().getStatus());
+        assertEquals(Status.OUT_OF_SERVICE, warmup(true).health().getStatus());
+    }
+
+    @Test
+    void warmUp_failingProbe_shouldStillComplete() {
+        when(clusterRepository.findByStatusIn(any())).thenReturn(List.of());
+        doThrow(new IllegalStateException("database unavailable")).when(statusScheduler).probeAllNow();
+        ClusterWarmup warmup = warmup(true);
+
+        warmup.warmUp();
+
+        assertEquals(ClusterWarmup.Phase.COMPLETED, warmup.getPhase());
+        assertEquals(Status.UP, warmup.health().getStatus());
+    }
+}
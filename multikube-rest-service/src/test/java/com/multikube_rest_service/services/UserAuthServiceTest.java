@@ -158,7 +158,7 @@ class UserAuthServiceTest {
 
     @Test
     void login_tenantMismatch_shouldThrowIllegalArgumentException() {
-        testUser.setTenant(new Tenant(2L, "AnotherTenant", "Desc", true, null, null)); // Different tenant
+        testUser.setTenant(new Tenant(2L, "AnotherTenant", "Desc", true, null, null, new HashSet<>())); // Different tenant
         when(userRepository.findByEmail(loginRequest.getEmail())).thenReturn(Optional.of(testUser));
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
@@ -0,0 +1,221 @@
+package com.multikube_rest_service.services.events;
+
+import com.multikube_rest_service.common.enums.ClusterStatus;
+import com.multikube_rest_service.common.enums.ResourceKind;
+import com.multikube_rest_service.dtos.responses.StatusEventDto;
+import com.multikube_rest_service.repositories.provider.ClusterEventScope;
+import com.multikube_rest_service.repositories.provider.KubernetesClusterRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link StatusEventBroadcaster}.
+ */
+@ExtendWith(MockitoExtension.class)
+class StatusEventBroadcasterTest {
+
+    private static final Long PROVIDER_ID = 10L;
+    private static final Long TENANT_ID = 20L;
+    private static final Long OTHER_TENANT_ID = 21L;
+
+    @Mock
+    private KubernetesClusterRepository clusterRepository;
+
+    private StatusEventBroadcaster broadcaster;
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+    // Sends run inline unless a test holds them back to run them itself.
+    private final Deque<Runnable> heldSends = new ArrayDeque<>();
+    private boolean holdSends;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new StatusEventBroadcaster(clusterRepository, new SimpleMeterRegistry(), this::execute, 60_000, 3) {
+            @Override
+            SseEmitter createEmitter(long timeoutMs) {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    @Test
+    void flush_burstOfChangesToOneResource_shouldBeCoalescedToLatestStatus() {
+        RecordingEmitter tenant = subscribe(new EventAudience(null, TENANT_ID), null);
+
+        broadcaster.onStatusChanged(workload(1L, TENANT_ID, "PROCESSING"));
+        broadcaster.onStatusChanged(workload(2L, TENANT_ID, "ACTIVE"));
+        broadcaster.onStatusChanged(workload(1L, TENANT_ID, "ACTIVE"));
+        broadcaster.flush();
+
+        assertEquals(List.of("2:ACTIVE", "1:ACTIVE"), tenant.statuses());
+        verifyNoInteractions(clusterRepository);
+    }
+
+    @Test
+    void flush_shouldOnlyDeliverEventsVisibleToTheAudience() {
+        when(clusterRepository.findEventScopes(any())).thenReturn(List.of(new ClusterEventScope(5L, PROVIDER_ID, TENANT_ID)));
+        RecordingEmitter provider = subscribe(new EventAudience(PROVIDER_ID, null), null);
+        RecordingEmitter tenant = subscribe(new EventAudience(null, TENANT_ID), null);
+        RecordingEmitter otherTenant = subscribe(new EventAudience(null, OTHER_TENANT_ID), null);
+
+        broadcaster.onStatusChanged(StatusChangeEvent.cluster(5L, ClusterStatus.UNREACHABLE));
+        broadcaster.onStatusChanged(workload(1L, TENANT_ID, "ACTIVE"));
+        broadcaster.flush();
+
+        assertEquals(List.of("5:UNREACHABLE"), provider.statuses());
+        assertEquals(List.of("5:UNREACHABLE", "1:ACTIVE"), tenant.statuses());
+        assertTrue(otherTenant.statuses().isEmpty());
+    }
+
+    @Test
+    void subscribe_withLastEventId_shouldReplayMissedEventsOnly() {
+        RecordingEmitter first = subscribe(new EventAudience(null, TENANT_ID), null);
+        broadcaster.onStatusChanged(workload(1L, TENANT_ID, "ACTIVE"));
+        broadcaster.flush();
+        long lastEventId = first.lastId();
+        broadcaster.onStatusChanged(workload(2L, TENANT_ID, "ERROR"));
+        broadcaster.onStatusChanged(workload(3L, OTHER_TENANT_ID, "ACTIVE"));
+        broadcaster.flush();
+
+        RecordingEmitter resumed = subscribe(new EventAudience(null, TENANT_ID), lastEventId);
+
+        assertEquals(List.of("2:ERROR"), resumed.statuses());
+        assertFalse(resumed.names().contains(StatusEventBroadcaster.RESET_EVENT));
+    }
+
+    @Test
+    void subscribe_withEvictedOrUnknownLastEventId_shouldSendReset() {
+        RecordingEmitter first = subscribe(new EventAudience(null, TENANT_ID), null);
+        broadcaster.onStatusChanged(workload(1L, TENANT_ID, "ACTIVE"));
+        broadcaster.flush();
+        long lastEventId = first.lastId();
+        for (long id = 2; id <= 5; id++) {
+            broadcaster.onStatusChanged(workload(id, TENANT_ID, "ACTIVE"));
+        }
+        broadcaster.flush();
+
+        // Only the last three events are buffered, so the one right after lastEventId is gone.
+        assertEquals(List.of(StatusEventBroadcaster.RESET_EVENT), subscribe(new EventAudience(null, TENANT_ID), lastEventId).names());
+        assertEquals(List.of(StatusEventBroadcaster.RESET_EVENT), subscribe(new EventAudience(null, TENANT_ID), 42L).names());
+    }
+
+    @Test
+    void flush_brokenStream_shouldBeUnsubscribed() {
+        RecordingEmitter broken = subscribe(new EventAudience(null, TENANT_ID), null);
+        broken.broken = true;
+
+        broadcaster.onStatusChanged(workload(1L, TENANT_ID, "ACTIVE"));
+        broadcaster.flush();
+
+        assertEquals(0, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    void flush_shouldLeaveSendingToTheExecutorWithOneDrainPerStream() {
+        holdSends = true;
+        RecordingEmitter first = subscribe(new EventAudience(null, TENANT_ID), null);
+        RecordingEmitter second = subscribe(new EventAudience(null, TENANT_ID), null);
+
+        broadcaster.onStatusChanged(workload(1L, TENANT_ID, "ACTIVE"));
+        broadcaster.flush();
+        broadcaster.onStatusChanged(workload(2L, TENANT_ID, "ACTIVE"));
+        broadcaster.flush();
+
+        assertTrue(first.statuses().isEmpty());
+        assertEquals(2, heldSends.size());
+        heldSends.pollFirst().run();
+        assertEquals(List.of("1:ACTIVE", "2:ACTIVE"), first.statuses());
+        assertTrue(second.statuses().isEmpty());
+    }
+
+    @Test
+    void flush_streamFallingBehindReplayBuffer_shouldBeClosed() {
+        holdSends = true;
+        subscribe(new EventAudience(null, TENANT_ID), null);
+
+        for (long id = 1; id <= 4; id++) {
+            broadcaster.onStatusChanged(workload(id, TENANT_ID, "ACTIVE"));
+        }
+        broadcaster.flush();
+
+        assertEquals(0, broadcaster.getSubscriberCount());
+    }
+
+    private void execute(Runnable send) {
+        if (holdSends) {
+            heldSends.addLast(send);
+        } else {
+            send.run();
+        }
+    }
+
+    private RecordingEmitter subscribe(EventAudience audience, Long lastEventId) {
+        broadcaster.subscribe(audience, lastEventId);
+        return emitters.get(emitters.size() - 1);
+    }
+
+    private static StatusChangeEvent workload(Long workloadId, Long tenantId, String status) {
+        return new StatusChangeEvent(ResourceKind.WORKLOAD, workloadId, 5L, tenantId, status, Instant.now());
+    }
+
+    /**
+     * Captures the sent events instead of writing them to a response.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<String> names = new ArrayList<>();
+        private final List<String> statuses = new ArrayList<>();
+        private long lastId;
+        private boolean broken;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (broken) {
+                throw new IOException("Broken pipe");
+            }
+            String raw = builder.build().stream()
+                    .filter(data -> data.getData() instanceof String)
+                    .map(data -> (String) data.getData())
+                    .reduce("", String::concat);
+            for (String line : raw.split("\n")) {
+                if (line.startsWith("id:")) {
+                    lastId = Long.parseLong(line.substring(3));
+                } else if (line.startsWith("event:")) {
+                    names.add(line.substring(6));
+                }
+            }
+            builder.build().stream()
+                    .filter(data -> data.getData() instanceof StatusEventDto)
+                    .map(data -> (StatusEventDto) data.getData())
+                    .forEach(dto -> statuses.add(dto.getResourceId() + ":" + dto.getStatus()));
+        }
+
+        List<String> names() {
+            return names;
+        }
+
+        List<String> statuses() {
+            return statuses;
+        }
+
+        long lastId() {
+            return lastId;
+        }
+    }
+}
@@ -0,0 +1,402 @@
+package com.multikube_rest_service.services.kubernetes;
+
+import com.google.gson.JsonParser;
+import com.multikube_rest_service.entities.provider.KubernetesCluster;
+import com.multikube_rest_service.services.kubernetes.clients.KubernetesApiClientPool;
+import com.multikube_rest_service.services.kubernetes.dynamic.ApiResourceRef;
+import com.multikube_rest_service.services.kubernetes.dynamic.ApiResourceResolver;
+import com.multikube_rest_service.services.kubernetes.encoding.ProtobufLister;
+import com.multikube_rest_service.services.kubernetes.factories.KubernetesResource;
+import com.multikube_rest_service.services.kubernetes.informers.ClusterInformerCache;
+import com.multikube_rest_service.services.kubernetes.resilience.ClusterCallGuard;
+import com.multikube_rest_service.services.kubernetes.resilience.ClusterRetryPolicy;
+import com.multikube_rest_service.services.kubernetes.resilience.KubernetesCall;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.util.generic.dynamic.DynamicKubernetesObject;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link KubernetesClientServiceImpl}.
+ */
+@ExtendWith(MockitoExtension.class)
+class KubernetesClientServiceImplTest {
+
+    private static final Long CLUSTER_ID = 1L;
+    private static final String SUCCESS = "{\"apiVersion\": \"v1\", \"kind\": \"Status\", \"status\": \"Success\"}";
+    private static final KubernetesResource QUOTA = new KubernetesResource("quota", "ResourceQuota", """
+            apiVersion: v1
+            kind: ResourceQuota
+            metadata:
+              name: quota
+            spec:
+              hard:
+                pods: "10"
+            """);
+
+    @Mock
+    private KubernetesApiClientPool apiClientPool;
+    @Mock
+    private ApiResourceResolver apiResourceResolver;
+    @Mock
+    private ClusterCallGuard callGuard;
+    @Mock
+    private ClusterRetryPolicy retryPolicy;
+    @Mock
+    private ProtobufLister protobufLister;
+    @Mock
+    private ClusterInformerCache informerCache;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private KubernetesClientServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new KubernetesClientServiceImpl(apiClientPool, apiResourceResolver, callGuard, retryPolicy, protobufLister,
+                informerCache, executor, 8);
+        lenient().when(informerCache.isCached("ResourceQuota")).thenReturn(true);
+        lenient().when(informerCache.isSynced(CLUSTER_ID)).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static KubernetesResource resource(String apiVersion, String kind, String name) {
+        return new KubernetesResource(name, kind, """
+                apiVersion: %s
+                kind: %s
+                metadata:
+                  name: %s
+                """.formatted(apiVersion, kind, name));
+    }
+
+    private void givenCallsPassThrough() throws Exception {
+        when(retryPolicy.call(eq(CLUSTER_ID), anyBoolean(), any())).thenAnswer(invocation -> invocation.<KubernetesCall<?>>getArgument(2).execute());
+        when(callGuard.call(eq(CLUSTER_ID), any())).thenAnswer(invocation -> invocation.<KubernetesCall<?>>getArgument(1).execute());
+    }
+
+    /**
+     * Lets calls through the retry policy and guard, and fails every apply when it resolves its kind, recording the
+     * kinds in the order they were applied.
+     */
+    private List<String> givenEveryApplyFails() throws Exception {
+        givenCallsPassThrough();
+        List<String> appliedKinds = Collections.synchronizedList(new ArrayList<>());
+        when(apiResourceResolver.resolve(eq(CLUSTER_ID), any(), any(), any())).thenAnswer(invocation -> {
+            appliedKinds.add(invocation.getArgument(3));
+            throw new ApiException(422, "invalid");
+        });
+        return appliedKinds;
+    }
+
+    private static KubernetesCluster cluster() {
+        KubernetesCluster cluster = new KubernetesCluster();
+        cluster.setId(CLUSTER_ID);
+        return cluster;
+    }
+
+    @Test
+    void applyAll_failingStage_shouldApplyEarlierStageFirstAndSkipLaterStages() throws Exception {
+        List<String> appliedKinds = givenEveryApplyFails();
+        List<KubernetesResource> resources = List.of(
+                resource("apps/v1", "Deployment", "web"),
+                resource("v1", "ConfigMap", "settings"),
+                resource("v1", "Service", "web"));
+
+        List<ApplyResult> results = service.applyAll(cluster(), "team-a", resources, Map.of());
+
+        // The ConfigMap's stage comes first although it is the second document; its failure stops the later stages.
+        assertEquals(List.of("ConfigMap"), appliedKinds);
+        assertEquals(resources, results.stream().map(ApplyResult::resource).toList());
+        assertTrue(results.stream().noneMatch(ApplyResult::applied));
+        assertTrue(results.get(0).error().contains("CONFIGURATION"));
+        assertTrue(results.get(2).error().contains("CONFIGURATION"));
+    }
+
+    @Test
+    void applyAll_failingResource_shouldStillApplyRestOfItsStage() throws Exception {
+        List<String> appliedKinds = givenEveryApplyFails();
+
+        service.applyAll(cluster(), "team-a", List.of(
+                resource("apps/v1", "Deployment", "web"),
+                resource("v1", "Secret", "token"),
+                resource("v1", "ConfigMap", "settings")), Map.of());
+
+        assertEquals(2, appliedKinds.size());
+        assertTrue(appliedKinds.containsAll(List.of("Secret", "ConfigMap")));
+    }
+
+    @Test
+    void applyAllAsync_failingStage_shouldReportFailuresInResultsNotFuture() throws Exception {
+        List<String> appliedKinds = givenEveryApplyFails();
+        List<KubernetesResource> resources = List.of(resource("v1", "ConfigMap", "settings"), resource("apps/v1", "Deployment", "web"));
+
+        List<ApplyResult> results = service.applyAllAsync(cluster(), "team-a", resources, Map.of()).join();
+
+        assertEquals(List.of("ConfigMap"), appliedKinds);
+        assertTrue(results.stream().noneMatch(ApplyResult::applied));
+    }
+
+    @Test
+    void applyAsync_apiFailure_shouldCompleteExceptionallyWithApiException() throws Exception {
+        givenEveryApplyFails();
+
+        CompletableFuture<Long> future = service.applyAsync(cluster(), "team-a", QUOTA.yaml(), Map.of());
+
+        CompletionException e = assertThrows(CompletionException.class, future::join);
+        assertEquals(422, assertInstanceOf(ApiException.class, e.getCause()).getCode());
+    }
+
+    private void givenLive(String generation, String pods) {
+        String metadata = "\"name\": \"quota\", \"namespace\": \"team-a\"" + (generation == null ? "" : ", \"generation\": " + generation);
+        DynamicKubernetesObject live = new DynamicKubernetesObject(JsonParser.parseString(
+                "{\"apiVersion\": \"v1\", \"kind\": \"ResourceQuota\", \"metadata\": {" + metadata + "}," +
+                        " \"spec\": {\"hard\": {\"pods\": \"" + pods + "\"}}}").getAsJsonObject());
+        when(informerCache.get(CLUSTER_ID, "ResourceQuota", "team-a", "quota")).thenReturn(Optional.of(live));
+    }
+
+    @Test
+    void isUnchanged_sameHashAndLiveGeneration_shouldBeTrue() {
+        givenLive("3", "10");
+
+        assertTrue(service.isUnchanged(CLUSTER_ID, "team-a", QUOTA, new AppliedState(QUOTA.contentHash(), 3L)));
+    }
+
+    @Test
+    void isUnchanged_liveGenerationMovedOn_shouldBeFalse() {
+        givenLive("4", "10");
+
+        assertFalse(service.isUnchanged(CLUSTER_ID, "team-a", QUOTA, new AppliedState(QUOTA.contentHash(), 3L)));
+    }
+
+    @Test
+    void isUnchanged_changedManifestOrNeverApplied_shouldBeFalse() {
+        assertFalse(service.isUnchanged(CLUSTER_ID, "team-a", QUOTA, new AppliedState("0".repeat(64), 3L)));
+        assertFalse(service.isUnchanged(CLUSTER_ID, "team-a", QUOTA, null));
+        verify(informerCache, never()).get(any(), any(), any(), any());
+    }
+
+    @Test
+    void isUnchanged_kindWithoutGeneration_shouldCompareLiveContent() {
+        AppliedState lastApplied = new AppliedState(QUOTA.contentHash(), null);
+
+        givenLive(null, "10");
+        assertTrue(service.isUnchanged(CLUSTER_ID, "team-a", QUOTA, lastApplied));
+
+        givenLive(null, "20");
+        assertFalse(service.isUnchanged(CLUSTER_ID, "team-a", QUOTA, lastApplied));
+    }
+
+    @Test
+    void isUnchanged_cacheNotSynced_shouldBeFalseWithoutLookup() {
+        when(informerCache.isSynced(CLUSTER_ID)).thenReturn(false);
+
+        assertFalse(service.isUnchanged(CLUSTER_ID, "team-a", QUOTA, new AppliedState(QUOTA.contentHash(), 3L)));
+        verify(informerCache, never()).get(any(), any(), any(), any());
+    }
+
+    @Test
+    void applyIfChanged_cacheNotSynced_shouldFallBackToApiServer() throws Exception {
+        when(informerCache.isSynced(CLUSTER_ID)).thenReturn(false);
+        List<String> appliedKinds = givenEveryApplyFails();
+
+        ApplyResult result = service.applyIfChanged(cluster(), "team-a", QUOTA, Map.of(), new AppliedState(QUOTA.contentHash(), 3L));
+
+        // Not skipped as unchanged: the apply went to the API server, whose answer is reported.
+        assertEquals(List.of("ResourceQuota"), appliedKinds);
+        assertFalse(result.applied());
+    }
+
+    @Test
+    void applyIfChanged_unchangedInSyncedCache_shouldSkipApiServer() {
+        givenLive("3", "10");
+
+        ApplyResult result = service.applyIfChanged(cluster(), "team-a", QUOTA, Map.of(), new AppliedState(QUOTA.contentHash(), 3L));
+
+        assertTrue(result.skipped());
+        assertEquals(3L, result.generation());
+        verifyNoInteractions(retryPolicy, callGuard, apiClientPool);
+    }
+
+    @Test
+    void apply_clusterScopedKind_shouldRejectWithoutPatching() throws Exception {
+        givenCallsPassThrough();
+        when(apiResourceResolver.resolve(eq(CLUSTER_ID), any(), eq("rbac.authorization.k8s.io/v1"), eq("ClusterRole")))
+                .thenReturn(new ApiResourceRef("rbac.authorization.k8s.io", "v1", "clusterroles", "ClusterRole", false));
+        KubernetesResource clusterRole = resource("rbac.authorization.k8s.io/v1", "ClusterRole", "cluster-admin");
+
+        assertThrows(IllegalArgumentException.class, () -> service.apply(cluster(), "team-a", clusterRole.yaml(), Map.of()));
+        // The API client is never used, so nothing was sent to the cluster.
+        verify(apiClientPool).getClient(any());
+        verifyNoMoreInteractions(apiClientPool);
+    }
+
+    @Test
+    void apply_invalidManifest_shouldFailWithoutRetryOrCircuitAccounting() {
+        assertThrows(IOException.class, () -> service.apply(cluster(), "team-a", "kind: [unclosed", Map.of()));
+        assertThrows(IllegalArgumentException.class, () -> service.apply(cluster(), "team-a", "apiVersion: v1\nkind: ConfigMap\n", Map.of()));
+
+        verifyNoInteractions(retryPolicy, callGuard);
+    }
+
+    /**
+     * Serves the API calls of the service from the given responder instead of a cluster, recording every request.
+     */
+    private List<Request> givenApiServer(Function<Request, Response.Builder> responder) throws Exception {
+        givenCallsPassThrough();
+        List<Request> requests = Collections.synchronizedList(new ArrayList<>());
+        ApiClient apiClient = new ApiClient().setBasePath("https://cluster.test");
+        apiClient.setHttpClient(new OkHttpClient.Builder().addInterceptor(chain -> {
+            requests.add(chain.request());
+            return responder.apply(chain.request()).request(chain.request()).protocol(Protocol.HTTP_1_1).message("").build();
+        }).build());
+        when(apiClientPool.getClient(any())).thenReturn(apiClient);
+        return requests;
+    }
+
+    private static Response.Builder json(int code, String body) {
+        return new Response.Builder().code(code).body(ResponseBody.create(body, MediaType.get("application/json")));
+    }
+
+    private void givenKind(String apiVersion, ApiResourceRef resource) throws Exception {
+        lenient().when(apiResourceResolver.resolve(eq(CLUSTER_ID), any(), eq(apiVersion), eq(resource.kind()))).thenReturn(resource);
+    }
+
+    @Test
+    void isManagedNamespace_shouldRequireManagedByLabel() throws Exception {
+        givenApiServer(request -> switch (request.url().encodedPath()) {
+            case "/api/v1/namespaces/ours" -> json(200, """
+                    {"apiVersion": "v1", "kind": "Namespace", "metadata": {"name": "ours", "labels": {"app.kubernetes.io/managed-by": "multikube"}}}
+                    """);
+            case "/api/v1/namespaces/theirs" -> json(200, """
+                    {"apiVersion": "v1", "kind": "Namespace", "metadata": {"name": "theirs"}}
+                    """);
+            default -> json(404, "{\"apiVersion\": \"v1\", \"kind\": \"Status\", \"code\": 404}");
+        });
+
+        assertTrue(service.isManagedNamespace(cluster(), "ours"));
+        assertFalse(service.isManagedNamespace(cluster(), "theirs"));
+        assertFalse(service.isManagedNamespace(cluster(), "gone"));
+    }
+
+    @Test
+    void deleteCollection_coreKind_shouldRewritePathToCoreApi() throws Exception {
+        List<Request> requests = givenApiServer(request -> json(200, SUCCESS));
+        givenKind("v1", new ApiResourceRef("", "v1", "configmaps", "ConfigMap", true));
+
+        service.deleteCollection(cluster(), "team-a", "v1", "ConfigMap", "component=workload", PropagationPolicy.BACKGROUND);
+
+        Request request = requests.get(0);
+        assertEquals("DELETE", request.method());
+        assertEquals("/api/v1/namespaces/team-a/configmaps", request.url().encodedPath());
+        assertEquals("component=workload", request.url().queryParameter("labelSelector"));
+    }
+
+    @Test
+    void deleteCollection_groupKind_shouldKeepGroupPath() throws Exception {
+        List<Request> requests = givenApiServer(request -> json(200, SUCCESS));
+        givenKind("apps/v1", new ApiResourceRef("apps", "v1", "deployments", "Deployment", true));
+
+        service.deleteCollection(cluster(), "team-a", "apps/v1", "Deployment", "component=workload", PropagationPolicy.FOREGROUND);
+
+        assertEquals("/apis/apps/v1/namespaces/team-a/deployments", requests.get(0).url().encodedPath());
+    }
+
+    @Test
+    void deleteCollection_emptySelector_shouldRejectWithoutCalling() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.deleteCollection(cluster(), "team-a", "v1", "ConfigMap", " ", PropagationPolicy.BACKGROUND));
+        verifyNoInteractions(retryPolicy, callGuard);
+    }
+
+    @Test
+    void delete_existingAndMissingObject_shouldDeleteByNameAndTreatNotFoundAsDeleted() throws Exception {
+        List<Request> requests = givenApiServer(request -> request.url().encodedPath().endsWith("/settings")
+                ? json(200, "{\"apiVersion\": \"v1\", \"kind\": \"ConfigMap\", \"metadata\": {\"name\": \"settings\"}}")
+                : json(404, "{\"apiVersion\": \"v1\", \"kind\": \"Status\", \"status\": \"Failure\", \"code\": 404}"));
+        givenKind("v1", new ApiResourceRef("", "v1", "configmaps", "ConfigMap", true));
+
+        service.delete(cluster(), "team-a", resource("v1", "ConfigMap", "settings").yaml(), PropagationPolicy.BACKGROUND);
+        service.delete(cluster(), "team-a", resource("v1", "ConfigMap", "gone").yaml(), PropagationPolicy.BACKGROUND);
+
+        assertEquals(List.of("/api/v1/namespaces/team-a/configmaps/settings", "/api/v1/namespaces/team-a/configmaps/gone"),
+                requests.stream().map(request -> request.url().encodedPath()).toList());
+        assertTrue(requests.stream().allMatch(request -> request.method().equals("DELETE")));
+    }
+
+    @Test
+    void deleteCollections_unlabeledObjectLeftBehind_shouldDeleteItByName() throws Exception {
+        List<Request> requests = givenApiServer(request -> switch (request.method() + " " + request.url().encodedPath()) {
+            // The labeled 'web' is deleted by the selector; 'legacy' was applied before the label existed.
+            case "GET /apis/apps/v1/namespaces/team-a/deployments" -> json(200, """
+                    {"apiVersion": "apps/v1", "kind": "DeploymentList", "metadata": {},
+                     "items": [{"apiVersion": "apps/v1", "kind": "Deployment", "metadata": {"name": "legacy", "namespace": "team-a"}},
+                               {"apiVersion": "apps/v1", "kind": "Deployment", "metadata": {"name": "foreign", "namespace": "team-a"}}]}
+                    """);
+            case "DELETE /apis/apps/v1/namespaces/team-a/deployments/legacy" ->
+                    json(200, "{\"apiVersion\": \"apps/v1\", \"kind\": \"Deployment\", \"metadata\": {\"name\": \"legacy\"}}");
+            default -> json(200, SUCCESS);
+        });
+        givenKind("apps/v1", new ApiResourceRef("apps", "v1", "deployments", "Deployment", true));
+
+        service.deleteCollections(cluster(), "team-a", List.of(
+                resource("apps/v1", "Deployment", "web").yaml(),
+                resource("apps/v1", "Deployment", "legacy").yaml()), "component=workload", PropagationPolicy.BACKGROUND);
+
+        // The object not among the manifests is left alone.
+        assertEquals(List.of(
+                        "DELETE /apis/apps/v1/namespaces/team-a/deployments",
+                        "GET /apis/apps/v1/namespaces/team-a/deployments",
+                        "DELETE /apis/apps/v1/namespaces/team-a/deployments/legacy"),
+                requests.stream().map(request -> request.method() + " " + request.url().encodedPath()).toList());
+    }
+
+    @Test
+    void deleteCollections_leftoverDeleteFails_shouldThrowSoRecordsAreKept() throws Exception {
+        givenApiServer(request -> switch (request.method() + " " + request.url().encodedPath()) {
+            case "GET /api/v1/namespaces/team-a/configmaps" -> json(200, """
+                    {"apiVersion": "v1", "kind": "ConfigMapList", "metadata": {},
+                     "items": [{"apiVersion": "v1", "kind": "ConfigMap", "metadata": {"name": "settings", "namespace": "team-a"}}]}
+                    """);
+            case "DELETE /api/v1/namespaces/team-a/configmaps/settings" ->
+                    json(403, "{\"apiVersion\": \"v1\", \"kind\": \"Status\", \"status\": \"Failure\", \"code\": 403}");
+            default -> json(200, SUCCESS);
+        });
+        givenKind("v1", new ApiResourceRef("", "v1", "configmaps", "ConfigMap", true));
+
+        ApiException e = assertThrows(ApiException.class, () -> service.deleteCollections(cluster(), "team-a",
+                List.of(resource("v1", "ConfigMap", "settings").yaml()), "component=configuration", PropagationPolicy.BACKGROUND));
+        assertEquals(403, e.getCode());
+    }
+}
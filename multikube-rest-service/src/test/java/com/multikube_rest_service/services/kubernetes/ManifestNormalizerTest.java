@@ -0,0 +1,141 @@
+package com.multikube_rest_service.services.kubernetes;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ManifestNormalizer}.
+ */
+class ManifestNormalizerTest {
+
+    private static final String DEPLOYMENT = """
+            apiVersion: apps/v1
+            kind: Deployment
+            metadata:
+              name: web
+              namespace: ignored
+              labels:
+                app: web
+            spec:
+              replicas: 2
+              template:
+                spec:
+                  containers:
+                    - name: web
+                      image: nginx:1.27
+                      resources:
+                        limits:
+                          cpu: "1"
+                          memory: 512Mi
+            """;
+
+    private static JsonObject live(String replicas, String image, String cpu) {
+        return JsonParser.parseString("""
+                {"apiVersion": "apps/v1", "kind": "Deployment",
+                 "metadata": {"name": "web", "namespace": "team-a", "uid": "1234", "resourceVersion": "42",
+                              "labels": {"app": "web", "app.kubernetes.io/managed-by": "multikube"}},
+                 "spec": {"replicas": %s, "progressDeadlineSeconds": 600,
+                          "template": {"spec": {"containers": [{"name": "web", "image": "%s",
+                                                                "imagePullPolicy": "IfNotPresent",
+                                                                "resources": {"limits": {"cpu": "%s", "memory": "512Mi"}}}]}}},
+                 "status": {"readyReplicas": 2}}
+                """.formatted(replicas, image, cpu)).getAsJsonObject();
+    }
+
+    private static JsonObject livePod(String annotation, String env, String memory) {
+        return JsonParser.parseString("""
+                {"apiVersion": "v1", "kind": "Pod",
+                 "metadata": {"name": "web", "annotations": {"example.com/schema": "%s"}},
+                 "spec": {"containers": [{"name": "web", "env": [{"name": "API_VERSION", "value": "%s"}],
+                                          "resources": {"requests": {"memory": "%s"}}}]}}
+                """.formatted(annotation, env, memory)).getAsJsonObject();
+    }
+
+    @Test
+    void matches_liveObjectWithServerDefaultsAndEquivalentQuantities_shouldMatch() throws IOException {
+        JsonObject desired = ManifestNormalizer.normalize(DEPLOYMENT);
+
+        assertTrue(ManifestNormalizer.matches(desired, live("2", "nginx:1.27", "1000m")));
+    }
+
+    @Test
+    void matches_changedDeclaredField_shouldNotMatch() throws IOException {
+        JsonObject desired = ManifestNormalizer.normalize(DEPLOYMENT);
+
+        assertFalse(ManifestNormalizer.matches(desired, live("3", "nginx:1.27", "1")));
+        assertFalse(ManifestNormalizer.matches(desired, live("2", "nginx:latest", "1")));
+        assertFalse(ManifestNormalizer.matches(desired, live("2", "nginx:1.27", "2")));
+    }
+
+    @Test
+    void matches_numericLookingStringsOutsideResourceQuantities_shouldCompareExactly() throws IOException {
+        JsonObject desired = ManifestNormalizer.normalize("""
+                apiVersion: v1
+                kind: Pod
+                metadata:
+                  name: web
+                  annotations:
+                    example.com/schema: "1.10"
+                spec:
+                  containers:
+                    - name: web
+                      env:
+                        - name: API_VERSION
+                          value: "1.10"
+                      resources:
+                        requests:
+                          memory: 1Gi
+                """);
+
+        assertTrue(ManifestNormalizer.matches(desired, livePod("1.10", "1.10", "1024Mi")));
+        assertFalse(ManifestNormalizer.matches(desired, livePod("1.1", "1.10", "1024Mi")));
+        assertFalse(ManifestNormalizer.matches(desired, livePod("1.10", "1.1", "1024Mi")));
+        assertFalse(ManifestNormalizer.matches(desired, livePod("1.10", "1.10", "1000Mi")));
+    }
+
+    @Test
+    void normalize_manifest_shouldDropServerManagedFieldsAndOrderKeys() {
+        JsonObject normalized = ManifestNormalizer.normalize(live("2", "nginx:1.27", "1"));
+
+        assertFalse(normalized.has("status"));
+        assertEquals("[labels, name]", normalized.getAsJsonObject("metadata").keySet().toString());
+        assertEquals("[apiVersion, kind, metadata, spec]", normalized.keySet().toString());
+    }
+
+    @Test
+    void canonicalHash_reorderedManifestWithServerFields_shouldHashAlike() throws IOException {
+        String reordered = """
+                kind: Deployment
+                spec:
+                  template:
+                    spec:
+                      containers:
+                        - image: nginx:1.27
+                          name: web
+                          resources:
+                            limits:
+                              memory: 512Mi
+                              cpu: "1"
+                  replicas: 2
+                metadata:
+                  labels:
+                    app: web
+                  name: web
+                  uid: "1234"
+                apiVersion: apps/v1
+                status:
+                  readyReplicas: 2
+                """;
+
+        String hash = ManifestNormalizer.canonicalHash(DEPLOYMENT);
+
+        assertEquals(64, hash.length());
+        assertEquals(hash, ManifestNormalizer.canonicalHash(reordered));
+        assertNotEquals(hash, ManifestNormalizer.canonicalHash(DEPLOYMENT.replace("replicas: 2", "replicas: 3")));
+    }
+}
@@ -0,0 +1,102 @@
+package com.multikube_rest_service.services.kubernetes.clients;
+
+import com.multikube_rest_service.common.encryption.KubeconfigEncryptor;
+import com.multikube_rest_service.entities.provider.KubernetesCluster;
+import io.kubernetes.client.openapi.ApiClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link KubernetesApiClientPool}.
+ */
+class KubernetesApiClientPoolTest {
+
+    private static final String KUBECONFIG_TEMPLATE = """
+            apiVersion: v1
+            kind: Config
+            clusters:
+            - name: test
+              cluster:
+                server: %s
+                insecure-skip-tls-verify: true
+            users:
+            - name: test
+              user:
+                token: test-token
+            contexts:
+            - name: test
+              context:
+                cluster: test
+                user: test
+            current-context: test
+            """;
+
+    private KubeconfigEncryptor kubeconfigEncryptor;
+    private KubernetesApiClientPool pool;
+
+    @BeforeEach
+    void setUp() {
+        kubeconfigEncryptor = new KubeconfigEncryptor("ThisIsA16ByteKey", "AnInitialization");
+        pool = new KubernetesApiClientPool(kubeconfigEncryptor, new SimpleMeterRegistry(), 5000, 10000, 60000);
+    }
+
+    private KubernetesCluster cluster(Long id, String server) {
+        KubernetesCluster cluster = new KubernetesCluster();
+        cluster.setId(id);
+        cluster.setName("cluster-" + id);
+        cluster.setKubeconfigEncrypted(kubeconfigEncryptor.encrypt(KUBECONFIG_TEMPLATE.formatted(server)));
+        return cluster;
+    }
+
+    @Test
+    void getClient_sameCluster_shouldReuseClient() {
+        KubernetesCluster cluster = cluster(1L, "https://10.0.0.1:6443");
+
+        ApiClient first = pool.getClient(cluster);
+        ApiClient second = pool.getClient(cluster);
+
+        assertSame(first, second);
+        assertEquals("https://10.0.0.1:6443", first.getBasePath());
+        assertEquals(new ApiClientPoolStats(1, 1, 1, 0), pool.getStats());
+    }
+
+    @Test
+    void getClient_kubeconfigChanged_shouldReplaceClient() {
+        KubernetesCluster cluster = cluster(1L, "https://10.0.0.1:6443");
+        ApiClient original = pool.getClient(cluster);
+
+        cluster.setKubeconfigEncrypted(kubeconfigEncryptor.encrypt(KUBECONFIG_TEMPLATE.formatted("https://10.0.0.2:6443")));
+        ApiClient replaced = pool.getClient(cluster);
+
+        assertNotSame(original, replaced);
+        assertEquals("https://10.0.0.2:6443", replaced.getBasePath());
+        assertEquals(new ApiClientPoolStats(1, 0, 2, 1), pool.getStats());
+    }
+
+    @Test
+    void invalidate_shouldForceRebuild() {
+        KubernetesCluster cluster = cluster(1L, "https://10.0.0.1:6443");
+        ApiClient original = pool.getClient(cluster);
+
+        pool.invalidate(1L);
+
+        assertNotSame(original, pool.getClient(cluster));
+        assertEquals(1, pool.getStats().evictions());
+    }
+
+    @Test
+    void evictIdleClients_shouldCloseClientsPastIdleTimeout() throws InterruptedException {
+        KubernetesApiClientPool shortLivedPool =
+                new KubernetesApiClientPool(kubeconfigEncryptor, new SimpleMeterRegistry(), 5000, 10000, 1);
+        shortLivedPool.getClient(cluster(1L, "https://10.0.0.1:6443"));
+
+        Thread.sleep(5);
+        shortLivedPool.evictIdleClients();
+
+        assertEquals(0, shortLivedPool.getStats().size());
+        assertEquals(1, shortLivedPool.getStats().evictions());
+    }
+}
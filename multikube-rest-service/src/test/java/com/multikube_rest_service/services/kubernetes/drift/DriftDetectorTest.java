@@ -0,0 +1,138 @@
+package com.multikube_rest_service.services.kubernetes.drift;
+
+import com.google.gson.JsonParser;
+import com.multikube_rest_service.common.enums.SyncStatus;
+import com.multikube_rest_service.repositories.tenant.TrackedObject;
+import com.multikube_rest_service.repositories.tenant.TrackedObjectRepository;
+import com.multikube_rest_service.services.kubernetes.informers.ClusterInformerCache;
+import io.kubernetes.client.util.generic.dynamic.DynamicKubernetesObject;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link DriftDetector}.
+ */
+@ExtendWith(MockitoExtension.class)
+class DriftDetectorTest {
+
+    private static final Long CLUSTER_ID = 1L;
+    private static final String YAML = """
+            apiVersion: v1
+            kind: ResourceQuota
+            metadata:
+              name: quota
+            spec:
+              hard:
+                pods: "10"
+            """;
+
+    @Mock
+    private ClusterInformerCache informerCache;
+    @Mock
+    private TrackedObjectRepository trackedObjectRepository;
+    @Mock
+    private DriftListener listener;
+
+    private long now;
+    private DriftDetector detector;
+
+    @BeforeEach
+    void setUp() {
+        detector = new DriftDetector(informerCache, trackedObjectRepository, new SimpleMeterRegistry(), true, 2000) {
+            @Override
+            long now() {
+                return now;
+            }
+        };
+        detector.addListener(listener);
+        lenient().when(informerCache.isSynced(CLUSTER_ID)).thenReturn(true);
+        lenient().when(informerCache.isCached("ResourceQuota")).thenReturn(true);
+    }
+
+    private static TrackedObject tracked(SyncStatus syncStatus) {
+        return new TrackedObject(TrackedObject.Source.CONFIGURATION, 7L, "team-a", "ResourceQuota", "quota", YAML, syncStatus, null, null);
+    }
+
+    private void givenLive(String pods) {
+        DynamicKubernetesObject live = new DynamicKubernetesObject(JsonParser.parseString(
+                "{\"apiVersion\": \"v1\", \"kind\": \"ResourceQuota\", \"metadata\": {\"name\": \"quota\", \"namespace\": \"team-a\"}," +
+                        " \"spec\": {\"hard\": {\"pods\": \"" + pods + "\"}}}").getAsJsonObject());
+        when(informerCache.get(CLUSTER_ID, "ResourceQuota", "team-a", "quota")).thenReturn(Optional.of(live));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<TrackedObject, SyncStatus> writtenChanges() {
+        ArgumentCaptor<Map<TrackedObject, SyncStatus>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(trackedObjectRepository).updateSyncStatuses(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    void flush_changedObjectAfterSettleTime_shouldMarkDrift() {
+        TrackedObject object = tracked(SyncStatus.IN_SYNC);
+        when(trackedObjectRepository.findByClusterAndNamespaces(CLUSTER_ID, List.of("team-a"))).thenReturn(List.of(object));
+        givenLive("20");
+
+        detector.onObjectChanged(CLUSTER_ID, "ResourceQuota", "team-a", "quota");
+        now = 1999;
+        detector.flush();
+        verifyNoInteractions(trackedObjectRepository);
+
+        now = 2000;
+        detector.flush();
+
+        assertEquals(Map.of(object, SyncStatus.DRIFT_DETECTED), writtenChanges());
+        verify(listener).onDrift(CLUSTER_ID, object);
+    }
+
+    @Test
+    void flush_unchangedSyncStatus_shouldNotWrite() {
+        when(trackedObjectRepository.findByClusterAndNamespaces(CLUSTER_ID, List.of("team-a")))
+                .thenReturn(List.of(tracked(SyncStatus.IN_SYNC)));
+        givenLive("10");
+
+        detector.onObjectChanged(CLUSTER_ID, "ResourceQuota", "team-a", "quota");
+        now = 5000;
+        detector.flush();
+        detector.flush();
+
+        verify(trackedObjectRepository, times(1)).findByClusterAndNamespaces(any(), any());
+        verify(trackedObjectRepository, never()).updateSyncStatuses(any());
+        verifyNoInteractions(listener);
+    }
+
+    @Test
+    void flush_afterInformersStarted_shouldCheckAllRecordsAndFlagMissingObjects() {
+        TrackedObject object = tracked(SyncStatus.UNKNOWN);
+        when(trackedObjectRepository.findByCluster(CLUSTER_ID)).thenReturn(List.of(object));
+        when(informerCache.get(CLUSTER_ID, "ResourceQuota", "team-a", "quota")).thenReturn(Optional.empty());
+
+        detector.onInformersStarted(CLUSTER_ID);
+        detector.flush();
+
+        assertEquals(Map.of(object, SyncStatus.DRIFT_DETECTED), writtenChanges());
+    }
+
+    @Test
+    void flush_cacheNotSynced_shouldKeepPendingChecks() {
+        when(informerCache.isSynced(CLUSTER_ID)).thenReturn(false);
+        detector.onInformersStarted(CLUSTER_ID);
+
+        detector.flush();
+
+        verifyNoInteractions(trackedObjectRepository);
+    }
+}
@@ -0,0 +1,153 @@
+package com.multikube_rest_service.services.kubernetes.encoding;
+
+import com.multikube_rest_service.services.kubernetes.KubernetesObjectMetadata;
+import com.multikube_rest_service.services.kubernetes.dynamic.ApiResourceRef;
+import io.kubernetes.client.openapi.JSON;
+import io.kubernetes.client.openapi.models.V1Container;
+import io.kubernetes.client.openapi.models.V1ContainerPort;
+import io.kubernetes.client.openapi.models.V1Deployment;
+import io.kubernetes.client.openapi.models.V1DeploymentList;
+import io.kubernetes.client.openapi.models.V1DeploymentSpec;
+import io.kubernetes.client.openapi.models.V1EnvVar;
+import io.kubernetes.client.openapi.models.V1LabelSelector;
+import io.kubernetes.client.openapi.models.V1ListMeta;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1PodSpec;
+import io.kubernetes.client.openapi.models.V1PodTemplateSpec;
+import io.kubernetes.client.proto.Meta;
+import io.kubernetes.client.proto.V1;
+import io.kubernetes.client.proto.V1Apps;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ProtobufLister}, plus a JSON vs protobuf decoding benchmark for list responses.
+ * The benchmark only runs with {@code -Dmultikube.benchmark=true}; it logs its figures and fails if protobuf loses
+ * its expected margins over JSON.
+ */
+class ProtobufListerTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProtobufListerTest.class);
+
+    private static final Map<String, String> LABELS = Map.of(
+            "app", "web", "tier", "frontend", "app.kubernetes.io/managed-by", "multikube");
+
+    private final ProtobufLister lister = new ProtobufLister();
+
+    @Test
+    void supports_builtInAndCustomKinds_shouldOnlySupportBuiltIn() {
+        assertTrue(lister.supports(new ApiResourceRef("apps", "v1", "deployments", "Deployment", true)));
+        assertTrue(lister.supports(new ApiResourceRef("", "v1", "namespaces", "Namespace", false)));
+        assertFalse(lister.supports(new ApiResourceRef("example.com", "v1", "widgets", "Widget", true)));
+    }
+
+    @Test
+    void metadataOf_deploymentList_shouldExtractItemMetadata() {
+        List<KubernetesObjectMetadata> items = ProtobufLister.metadataOf(protoDeployments(3));
+
+        assertEquals(3, items.size());
+        assertEquals("web-1", items.get(1).name());
+        assertEquals("tenant-a", items.get(1).namespace());
+        assertEquals("uid-1", items.get(1).uid());
+        assertEquals(LABELS, items.get(1).labels());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "multikube.benchmark", matches = "true")
+    void benchmark_listDecoding_jsonVersusProtobuf() throws Exception {
+        int items = 2000;
+        int iterations = 50;
+        byte[] json = JSON.serialize(jsonDeployments(items)).getBytes(StandardCharsets.UTF_8);
+        byte[] protobuf = protoDeployments(items).toByteArray();
+
+        DecodeResult jsonResult = measure(iterations, () -> {
+            V1DeploymentList list = JSON.deserialize(new String(json, StandardCharsets.UTF_8), V1DeploymentList.class);
+            return list.getItems().size();
+        });
+        DecodeResult protoResult = measure(iterations, () -> V1Apps.DeploymentList.parseFrom(protobuf).getItemsCount());
+
+        logger.info("List of {} deployments: JSON {} bytes, protobuf {} bytes", items, json.length, protobuf.length);
+        logger.info("JSON: {}", jsonResult);
+        logger.info("Protobuf: {}", protoResult);
+        assertTrue(protobuf.length < json.length, "protobuf response should be smaller");
+        assertTrue(protoResult.mbPerList() * 2 < jsonResult.mbPerList(), "protobuf should allocate less than half as much per list");
+        assertTrue(protoResult.listsPerSecond() > jsonResult.listsPerSecond() * 2, "protobuf should decode more than twice as fast");
+    }
+
+    private static DecodeResult measure(int iterations, Decoder decoder) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        for (int i = 0; i < iterations; i++) {
+            decoder.decode(); // warm-up
+        }
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            assertTrue(decoder.decode() > 0);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        return new DecodeResult(iterations * 1_000_000_000d / elapsed, allocated / (double) iterations / (1024 * 1024));
+    }
+
+    private static V1DeploymentList jsonDeployments(int count) {
+        V1DeploymentList list = new V1DeploymentList().apiVersion("apps/v1").kind("DeploymentList").metadata(new V1ListMeta());
+        for (int i = 0; i < count; i++) {
+            V1Container container = new V1Container().name("web").image("nginx:1.27")
+                    .addPortsItem(new V1ContainerPort().containerPort(8080));
+            for (int e = 0; e < 5; e++) {
+                container.addEnvItem(new V1EnvVar().name("VAR_" + e).value("value-" + e));
+            }
+            list.addItemsItem(new V1Deployment()
+                    .metadata(new V1ObjectMeta().name("web-" + i).namespace("tenant-a").uid("uid-" + i)
+                            .resourceVersion(String.valueOf(1000 + i)).labels(LABELS))
+                    .spec(new V1DeploymentSpec().replicas(2)
+                            .selector(new V1LabelSelector().matchLabels(LABELS))
+                            .template(new V1PodTemplateSpec()
+                                    .metadata(new V1ObjectMeta().labels(LABELS))
+                                    .spec(new V1PodSpec().addContainersItem(container)))));
+        }
+        return list;
+    }
+
+    private static V1Apps.DeploymentList protoDeployments(int count) {
+        V1Apps.DeploymentList.Builder list = V1Apps.DeploymentList.newBuilder().setMetadata(Meta.ListMeta.newBuilder());
+        for (int i = 0; i < count; i++) {
+            V1.Container.Builder container = V1.Container.newBuilder().setName("web").setImage("nginx:1.27")
+                    .addPorts(V1.ContainerPort.newBuilder().setContainerPort(8080));
+            for (int e = 0; e < 5; e++) {
+                container.addEnv(V1.EnvVar.newBuilder().setName("VAR_" + e).setValue("value-" + e));
+            }
+            list.addItems(V1Apps.Deployment.newBuilder()
+                    .setMetadata(Meta.ObjectMeta.newBuilder().setName("web-" + i).setNamespace("tenant-a").setUid("uid-" + i)
+                            .setResourceVersion(String.valueOf(1000 + i)).putAllLabels(LABELS))
+                    .setSpec(V1Apps.DeploymentSpec.newBuilder().setReplicas(2)
+                            .setSelector(Meta.LabelSelector.newBuilder().putAllMatchLabels(LABELS))
+                            .setTemplate(V1.PodTemplateSpec.newBuilder()
+                                    .setMetadata(Meta.ObjectMeta.newBuilder().putAllLabels(LABELS))
+                                    .setSpec(V1.PodSpec.newBuilder().addContainers(container)))));
+        }
+        return list.build();
+    }
+
+    @FunctionalInterface
+    private interface Decoder {
+        int decode() throws Exception;
+    }
+
+    private record DecodeResult(double listsPerSecond, double mbPerList) {
+        @Override
+        public String toString() {
+            return String.format("%.1f lists/s, %.1f MB allocated per list", listsPerSecond, mbPerList);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.multikube_rest_service.services.kubernetes.factories;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link KubernetesResourceFactoryImpl}.
+ */
+class KubernetesResourceFactoryImplTest {
+
+    private static final String CONFIG_MAP = """
+            apiVersion: v1
+            kind: ConfigMap
+            metadata:
+              name: settings
+            data:
+              mode: fast
+            """;
+
+    private final KubernetesResourceFactoryImpl factory = new KubernetesResourceFactoryImpl();
+
+    @Test
+    void parseYamlDocuments_multipleDocuments_shouldReturnOneResourcePerDocumentInOrder() {
+        String yaml = CONFIG_MAP + """
+                ---
+                ---
+                apiVersion: apps/v1
+                kind: Deployment
+                metadata:
+                  name: web
+                """;
+
+        List<KubernetesResource> resources = factory.parseYamlDocuments(yaml);
+
+        assertEquals(List.of("ConfigMap/settings", "Deployment/web"),
+                resources.stream().map(resource -> resource.k8sKind() + "/" + resource.k8sName()).toList());
+        // Every document is re-emitted on its own, so it can be applied and stored separately.
+        assertEquals("ConfigMap", factory.parseYaml(resources.get(0).yaml()).k8sKind());
+        assertFalse(resources.get(0).yaml().contains("Deployment"));
+    }
+
+    @Test
+    void parseYamlDocuments_singleDocument_shouldKeepOriginalYaml() {
+        List<KubernetesResource> resources = factory.parseYamlDocuments(CONFIG_MAP);
+
+        assertEquals(1, resources.size());
+        assertEquals(CONFIG_MAP, resources.get(0).yaml());
+    }
+
+    @Test
+    void parseYamlDocuments_invalidLaterDocument_shouldRejectWholeInput() {
+        String yaml = CONFIG_MAP + """
+                ---
+                apiVersion: apps/v1
+                kind: Deployment
+                metadata:
+                  labels: {}
+                """;
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> factory.parseYamlDocuments(yaml));
+        assertTrue(e.getMessage().contains("document 2"));
+    }
+
+    @Test
+    void parseYamlDocuments_noMappingOrNoDocuments_shouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> factory.parseYamlDocuments(CONFIG_MAP + "---\n- a\n- b\n"));
+        assertThrows(IllegalArgumentException.class, () -> factory.parseYamlDocuments("---\n---\n"));
+    }
+}
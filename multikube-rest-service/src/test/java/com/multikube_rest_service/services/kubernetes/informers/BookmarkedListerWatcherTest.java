@@ -0,0 +1,139 @@
+package com.multikube_rest_service.services.kubernetes.informers;
+
+import com.multikube_rest_service.services.kubernetes.dynamic.ApiResourceRef;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.models.V1ListMeta;
+import io.kubernetes.client.openapi.models.V1Node;
+import io.kubernetes.client.openapi.models.V1NodeList;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1Status;
+import io.kubernetes.client.util.CallGeneratorParams;
+import io.kubernetes.client.util.generic.GenericKubernetesApi;
+import io.kubernetes.client.util.generic.KubernetesApiResponse;
+import io.kubernetes.client.util.generic.options.ListOptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link BookmarkedListerWatcher}.
+ */
+@ExtendWith(MockitoExtension.class)
+class BookmarkedListerWatcherTest {
+
+    private static final Long CLUSTER_ID = 1L;
+    private static final ApiResourceRef NODES = new ApiResourceRef("", "v1", "nodes", "Node", false);
+
+    @Mock
+    private GenericKubernetesApi<V1Node, V1NodeList> api;
+    @Mock
+    private WatchBookmarks bookmarks;
+
+    private BookmarkedListerWatcher<V1Node, V1NodeList> listerWatcher;
+
+    @BeforeEach
+    void setUp() {
+        listerWatcher = new BookmarkedListerWatcher<>(CLUSTER_ID, NODES, V1Node.class, api, null, null, bookmarks, 2);
+    }
+
+    private static CallGeneratorParams params(String resourceVersion) {
+        return new CallGeneratorParams(false, resourceVersion, 300);
+    }
+
+    private static KubernetesApiResponse<V1NodeList> page(String resourceVersion, String next, String... names) {
+        List<V1Node> items = new ArrayList<>();
+        for (String name : names) {
+            items.add(new V1Node().metadata(new V1ObjectMeta().name(name)));
+        }
+        return new KubernetesApiResponse<>(new V1NodeList()
+                .metadata(new V1ListMeta().resourceVersion(resourceVersion)._continue(next))
+                .items(items));
+    }
+
+    private List<ListOptions> listCalls(int count) throws ApiException {
+        ArgumentCaptor<ListOptions> captor = ArgumentCaptor.forClass(ListOptions.class);
+        verify(api, times(count)).list(captor.capture());
+        return captor.getAllValues();
+    }
+
+    @Test
+    void list_initialListWithBookmark_shouldListNoOlderThanBookmark() throws ApiException {
+        when(bookmarks.get(CLUSTER_ID, "Node")).thenReturn(Optional.of("100"));
+        when(api.list(any(ListOptions.class))).thenReturn(page("150", null, "node-1"));
+
+        V1NodeList list = listerWatcher.list(params("0"));
+
+        assertEquals(1, list.getItems().size());
+        assertEquals("100", listCalls(1).get(0).getResourceVersion());
+        verify(bookmarks).record(CLUSTER_ID, "Node", "150");
+        verify(bookmarks, never()).forget(any(), any());
+    }
+
+    @Test
+    void list_initialListWithoutBookmark_shouldListFromWatchCache() throws ApiException {
+        when(bookmarks.get(CLUSTER_ID, "Node")).thenReturn(Optional.empty());
+        when(api.list(any(ListOptions.class))).thenReturn(page("150", null, "node-1"));
+
+        listerWatcher.list(params("0"));
+
+        ListOptions options = listCalls(1).get(0);
+        assertEquals("0", options.getResourceVersion());
+        assertNull(options.getLimit());
+    }
+
+    @Test
+    void list_bookmarkGone_shouldForgetBookmarkAndListFromWatchCache() throws ApiException {
+        when(bookmarks.get(CLUSTER_ID, "Node")).thenReturn(Optional.of("100"));
+        when(api.list(argThat((ListOptions options) -> options != null && "100".equals(options.getResourceVersion()))))
+                .thenReturn(new KubernetesApiResponse<>(new V1Status().code(410).message("too old"), 410));
+        when(api.list(argThat((ListOptions options) -> options != null && "0".equals(options.getResourceVersion()))))
+                .thenReturn(page("200", null, "node-1", "node-2"));
+
+        V1NodeList list = listerWatcher.list(params("0"));
+
+        assertEquals(2, list.getItems().size());
+        assertNull(listCalls(2).get(1).getLimit());
+        verify(bookmarks).forget(CLUSTER_ID, "Node");
+        verify(bookmarks).record(CLUSTER_ID, "Node", "200");
+    }
+
+    @Test
+    void list_watchExpired_shouldRelistFromEtcdInPages() throws ApiException {
+        when(api.list(argThat((ListOptions options) -> options != null && "".equals(options.getResourceVersion()))))
+                .thenReturn(page("200", "token", "node-1", "node-2"));
+        when(api.list(argThat((ListOptions options) -> options != null && "token".equals(options.getContinue()))))
+                .thenReturn(page("200", null, "node-3"));
+
+        V1NodeList list = listerWatcher.list(params(""));
+
+        assertEquals(List.of("node-1", "node-2", "node-3"), list.getItems().stream().map(node -> node.getMetadata().getName()).toList());
+        List<ListOptions> calls = listCalls(2);
+        assertEquals(2, calls.get(0).getLimit());
+        assertNull(calls.get(1).getResourceVersion());
+        verify(bookmarks).record(CLUSTER_ID, "Node", "200");
+        verifyNoMoreInteractions(bookmarks);
+    }
+
+    @Test
+    void list_otherFailure_shouldKeepBookmark() throws ApiException {
+        when(bookmarks.get(CLUSTER_ID, "Node")).thenReturn(Optional.of("100"));
+        when(api.list(any(ListOptions.class))).thenReturn(new KubernetesApiResponse<>(new V1Status().code(403), 403));
+
+        assertThrows(ApiException.class, () -> listerWatcher.list(params("0")));
+
+        verify(bookmarks, never()).forget(any(), any());
+        verify(bookmarks, never()).record(any(), any(), any());
+    }
+}
@@ -0,0 +1,132 @@
+package com.multikube_rest_service.services.kubernetes.informers;
+
+import com.google.gson.JsonParser;
+import com.multikube_rest_service.entities.provider.KubernetesCluster;
+import com.multikube_rest_service.services.kubernetes.clients.KubernetesApiClientPool;
+import com.multikube_rest_service.services.kubernetes.dynamic.ApiResourceRef;
+import io.kubernetes.client.informer.SharedIndexInformer;
+import io.kubernetes.client.informer.cache.Cache;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.util.generic.dynamic.DynamicKubernetesObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link ClusterInformerCache}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ClusterInformerCacheTest {
+
+    private static final Long CLUSTER_ID = 1L;
+
+    @Mock
+    private KubernetesApiClientPool apiClientPool;
+    @Mock
+    private ExecutorService executor;
+    @Mock
+    private WatchBookmarks bookmarks;
+
+    // The informers never run; each kind's store is filled and marked synced by the tests.
+    private final Map<String, Cache<DynamicKubernetesObject>> stores = new HashMap<>();
+    private final Set<String> syncedKinds = new HashSet<>();
+    private ClusterInformerCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ClusterInformerCache(apiClientPool, executor, bookmarks, true, 600000, 500) {
+            @Override
+            @SuppressWarnings("unchecked")
+            SharedIndexInformer<DynamicKubernetesObject> newInformer(Long clusterId, ApiResourceRef resource, ApiClient watchClient) {
+                Cache<DynamicKubernetesObject> store = new Cache<>();
+                stores.put(resource.kind(), store);
+                SharedIndexInformer<DynamicKubernetesObject> informer = mock(SharedIndexInformer.class);
+                lenient().when(informer.hasSynced()).thenAnswer(invocation -> syncedKinds.contains(resource.kind()));
+                lenient().when(informer.getIndexer()).thenReturn(store);
+                return informer;
+            }
+        };
+        lenient().when(apiClientPool.kubeconfigVersion(any())).thenReturn("v1");
+    }
+
+    private void givenStarted() {
+        KubernetesCluster cluster = new KubernetesCluster();
+        cluster.setId(CLUSTER_ID);
+        cache.ensureStarted(cluster);
+    }
+
+    private void givenAllSynced() {
+        ClusterInformerCache.MANAGED_KINDS.forEach(ref -> syncedKinds.add(ref.kind()));
+    }
+
+    private static DynamicKubernetesObject object(String kind, String namespace, String name) {
+        String metadata = "\"name\": \"" + name + "\"" + (namespace == null ? "" : ", \"namespace\": \"" + namespace + "\"");
+        return new DynamicKubernetesObject(JsonParser.parseString(
+                "{\"apiVersion\": \"v1\", \"kind\": \"" + kind + "\", \"metadata\": {" + metadata + "}}").getAsJsonObject());
+    }
+
+    @Test
+    void isSynced_notStarted_shouldBeFalse() {
+        assertFalse(cache.isSynced(CLUSTER_ID));
+        assertTrue(cache.get(CLUSTER_ID, "Deployment", "team-a", "web").isEmpty());
+    }
+
+    @Test
+    void isSynced_oneKindStillListing_shouldBeFalseUntilAllKindsSynced() {
+        givenStarted();
+        givenAllSynced();
+        syncedKinds.remove("Deployment");
+
+        assertFalse(cache.isSynced(CLUSTER_ID));
+
+        syncedKinds.add("Deployment");
+        assertTrue(cache.isSynced(CLUSTER_ID));
+        verify(executor, times(ClusterInformerCache.MANAGED_KINDS.size())).submit(any(Runnable.class));
+    }
+
+    @Test
+    void get_syncedKind_shouldLookUpByNamespaceAndName() {
+        givenStarted();
+        givenAllSynced();
+        DynamicKubernetesObject web = object("Deployment", "team-a", "web");
+        stores.get("Deployment").add(web);
+        stores.get("Namespace").add(object("Namespace", null, "team-a"));
+
+        assertSame(web, cache.get(CLUSTER_ID, "Deployment", "team-a", "web").orElseThrow());
+        assertTrue(cache.get(CLUSTER_ID, "Deployment", "team-b", "web").isEmpty());
+        // Cluster-scoped kinds are keyed by name alone.
+        assertTrue(cache.get(CLUSTER_ID, "Namespace", "ignored", "team-a").isPresent());
+        assertEquals(List.of(web), cache.list(CLUSTER_ID, "Deployment", "team-a"));
+    }
+
+    @Test
+    void get_kindNotSyncedYet_shouldBeEmptySoCallersFallBack() {
+        givenStarted();
+        stores.get("Deployment").add(object("Deployment", "team-a", "web"));
+
+        assertTrue(cache.get(CLUSTER_ID, "Deployment", "team-a", "web").isEmpty());
+        assertTrue(cache.list(CLUSTER_ID, "Deployment", null).isEmpty());
+    }
+
+    @Test
+    void get_unmanagedKind_shouldBeEmpty() {
+        givenStarted();
+        givenAllSynced();
+
+        assertFalse(cache.isCached("ConfigMap"));
+        assertTrue(cache.get(CLUSTER_ID, "ConfigMap", "team-a", "settings").isEmpty());
+    }
+}
@@ -0,0 +1,76 @@
+package com.multikube_rest_service.services.kubernetes.informers;
+
+import io.kubernetes.client.custom.Quantity;
+import io.kubernetes.client.openapi.models.V1Node;
+import io.kubernetes.client.openapi.models.V1NodeCondition;
+import io.kubernetes.client.openapi.models.V1NodeSpec;
+import io.kubernetes.client.openapi.models.V1NodeStatus;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link NodeHealthTally}.
+ */
+class NodeHealthTallyTest {
+
+    private static V1Node node(String name, boolean ready, boolean unschedulable, String... pressures) {
+        List<V1NodeCondition> conditions = new ArrayList<>();
+        conditions.add(new V1NodeCondition().type("Ready").status(ready ? "True" : "False"));
+        for (String pressure : pressures) {
+            conditions.add(new V1NodeCondition().type(pressure).status("True"));
+        }
+        return new V1Node()
+                .metadata(new V1ObjectMeta().name(name))
+                .spec(new V1NodeSpec().unschedulable(unschedulable))
+                .status(new V1NodeStatus()
+                        .conditions(conditions)
+                        .allocatable(Map.of("cpu", new Quantity("2"), "memory", new Quantity("4Gi"))));
+    }
+
+    @Test
+    void upsert_nodeTurningNotReady_shouldMoveItsCapacityOutOfAvailable() {
+        NodeHealthTally tally = new NodeHealthTally();
+        tally.upsert(node("a", true, false));
+        tally.upsert(node("b", true, false));
+
+        tally.upsert(node("b", false, false));
+
+        NodeHealthSummary summary = tally.summary();
+        assertEquals(2, summary.totalNodes());
+        assertEquals(1, summary.readyNodes());
+        assertEquals(4000, summary.allocatableCpuMillis());
+        assertEquals(2000, summary.availableCpuMillis());
+        assertEquals(8L << 30, summary.allocatableMemoryBytes());
+        assertEquals(4L << 30, summary.availableMemoryBytes());
+    }
+
+    @Test
+    void upsert_cordonedOrPressuredNode_shouldNotCountAsAvailable() {
+        NodeHealthTally tally = new NodeHealthTally();
+        tally.upsert(node("a", true, true));
+        tally.upsert(node("b", true, false, "MemoryPressure"));
+
+        NodeHealthSummary summary = tally.summary();
+        assertEquals(1, summary.readyNodes());
+        assertEquals(0, summary.availableCpuMillis());
+        assertEquals(0.5, summary.readyRatio(), 1e-9);
+    }
+
+    @Test
+    void remove_knownNode_shouldRestoreTotalsAndIgnoreUnknownNode() {
+        NodeHealthTally tally = new NodeHealthTally();
+        tally.upsert(node("a", true, false));
+        tally.upsert(node("b", false, false));
+
+        tally.remove("b");
+        tally.remove("c");
+
+        assertEquals(new NodeHealthSummary(1, 1, 2000, 2000, 4L << 30, 4L << 30), tally.summary());
+    }
+}
@@ -0,0 +1,52 @@
+package com.multikube_rest_service.services.kubernetes.informers;
+
+import com.multikube_rest_service.repositories.provider.WatchBookmark;
+import com.multikube_rest_service.repositories.provider.WatchBookmarkRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link WatchBookmarks}.
+ */
+@ExtendWith(MockitoExtension.class)
+class WatchBookmarksTest {
+
+    @Mock
+    private WatchBookmarkRepository repository;
+
+    @Test
+    void flush_shouldWriteOnlyChangedVersionsOnce() {
+        when(repository.findByCluster(1L)).thenReturn(Map.of("Deployment", "100"));
+        WatchBookmarks bookmarks = new WatchBookmarks(repository);
+
+        assertEquals("100", bookmarks.get(1L, "Deployment").orElseThrow());
+        bookmarks.record(1L, "Deployment", "100");
+        bookmarks.record(1L, "Deployment", "150");
+        bookmarks.flush();
+        bookmarks.flush();
+
+        verify(repository).save(new WatchBookmark(1L, "Deployment", "150"));
+        verify(repository, times(1)).save(any());
+    }
+
+    @Test
+    void flush_bookmarkOfDeletedCluster_shouldStillWriteTheOthers() {
+        WatchBookmarks bookmarks = new WatchBookmarks(repository);
+        bookmarks.record(1L, "Deployment", "100");
+        bookmarks.record(2L, "Deployment", "200");
+        doThrow(new DataIntegrityViolationException("cluster deleted")).when(repository).save(new WatchBookmark(1L, "Deployment", "100"));
+
+        bookmarks.flush();
+
+        verify(repository).save(new WatchBookmark(2L, "Deployment", "200"));
+    }
+}
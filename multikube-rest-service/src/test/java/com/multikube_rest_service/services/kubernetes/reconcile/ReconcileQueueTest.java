@@ -0,0 +1,167 @@
+package com.multikube_rest_service.services.kubernetes.reconcile;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ReconcileQueue}.
+ */
+class ReconcileQueueTest {
+
+    private static final ReconcileKey KEY = new ReconcileKey(1L, "team-a", "Deployment", "web");
+
+    // Workers are started by hand, so the tests control when keys are reconciled.
+    private final List<Runnable> workers = new ArrayList<>();
+    private final List<ReconcileKey> reconciled = new ArrayList<>();
+    private long now;
+
+    private ReconcileQueue queue(ReconcileHandler handler, int workersPerCluster) {
+        return new ReconcileQueue(handler, workers::add, new SimpleMeterRegistry(), workersPerCluster, 500, 4000, 3) {
+            @Override
+            long now() {
+                return now;
+            }
+        };
+    }
+
+    private void runWorkers() {
+        while (!workers.isEmpty()) {
+            workers.remove(0).run();
+        }
+    }
+
+    @Test
+    void add_keyAlreadyQueued_shouldReconcileOnce() {
+        ReconcileQueue queue = queue(reconciled::add, 4);
+
+        queue.add(KEY);
+        queue.add(KEY);
+        assertEquals(1, queue.depth());
+        runWorkers();
+
+        assertEquals(List.of(KEY), reconciled);
+        assertEquals(0, queue.depth());
+    }
+
+    @Test
+    void add_keyBeingReconciled_shouldReconcileAgainAfterwards() {
+        List<ReconcileQueue> self = new ArrayList<>();
+        ReconcileQueue queue = queue(key -> {
+            reconciled.add(key);
+            if (reconciled.size() == 1) {
+                self.get(0).add(key);
+                self.get(0).add(key);
+                // Not started concurrently: the key is held back until this reconciliation ends.
+                assertEquals(0, self.get(0).depth());
+            }
+        }, 4);
+        self.add(queue);
+
+        queue.add(KEY);
+        runWorkers();
+
+        assertEquals(List.of(KEY, KEY), reconciled);
+    }
+
+    @Test
+    void add_moreKeysThanWorkers_shouldStartOnlyConfiguredWorkers() {
+        ReconcileQueue queue = queue(reconciled::add, 2);
+
+        for (int i = 0; i < 5; i++) {
+            queue.add(new ReconcileKey(1L, "team-a", "Deployment", "web-" + i));
+        }
+        queue.add(new ReconcileKey(2L, "team-b", "Deployment", "web"));
+
+        assertEquals(3, workers.size());
+        runWorkers();
+        assertEquals(6, reconciled.size());
+    }
+
+    @Test
+    void requeueDue_failedKey_shouldRetryWithExponentialBackoffUntilMaxRetries() {
+        ReconcileQueue queue = queue(key -> {
+            reconciled.add(key);
+            throw new IllegalStateException("apply failed");
+        }, 4);
+
+        queue.add(KEY);
+        runWorkers();
+        now = 499;
+        queue.requeueDue();
+        assertEquals(0, queue.depth());
+
+        // Retried after 500, 1000 and 2000 ms, then given up.
+        for (long dueAt : new long[]{500, 1500, 3500}) {
+            now = dueAt;
+            queue.requeueDue();
+            assertEquals(1, queue.depth());
+            runWorkers();
+        }
+        now = 100_000;
+        queue.requeueDue();
+
+        assertEquals(4, reconciled.size());
+        assertEquals(0, queue.depth());
+    }
+
+    @Test
+    void add_keyWaitingOutBackoff_shouldWaitUntilDue() {
+        ReconcileQueue queue = queue(key -> {
+            reconciled.add(key);
+            throw new IllegalStateException("apply failed");
+        }, 4);
+        queue.add(KEY);
+        runWorkers();
+
+        // E.g. the drift detector reporting the same drift again.
+        now = 100;
+        queue.add(KEY);
+        assertEquals(0, queue.depth());
+        assertTrue(workers.isEmpty());
+
+        now = 500;
+        queue.requeueDue();
+        assertEquals(1, queue.depth());
+        runWorkers();
+        assertEquals(2, reconciled.size());
+    }
+
+    @Test
+    void invalidate_clusterHandedOver_shouldDropQueuedAndRetryingKeys() {
+        ReconcileKey retrying = new ReconcileKey(1L, "team-a", "Deployment", "api");
+        ReconcileKey otherCluster = new ReconcileKey(2L, "team-b", "Deployment", "web");
+        ReconcileQueue queue = queue(key -> {
+            reconciled.add(key);
+            if (key.equals(retrying)) {
+                throw new IllegalStateException("apply failed");
+            }
+        }, 4);
+        queue.add(retrying);
+        runWorkers();
+        reconciled.clear();
+        queue.add(KEY);
+        queue.add(otherCluster);
+
+        queue.invalidate(1L);
+        now = 100_000;
+        queue.requeueDue();
+        runWorkers();
+
+        assertEquals(List.of(otherCluster), reconciled);
+    }
+
+    @Test
+    void backoffMs_manyFailures_shouldBeCappedAtMaximum() {
+        ReconcileQueue queue = queue(reconciled::add, 4);
+
+        assertEquals(500, queue.backoffMs(1));
+        assertEquals(1000, queue.backoffMs(2));
+        assertEquals(4000, queue.backoffMs(4));
+        assertEquals(4000, queue.backoffMs(60));
+    }
+}
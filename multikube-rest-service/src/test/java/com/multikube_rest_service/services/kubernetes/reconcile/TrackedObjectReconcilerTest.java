@@ -0,0 +1,110 @@
+package com.multikube_rest_service.services.kubernetes.reconcile;
+
+import com.multikube_rest_service.common.enums.SyncStatus;
+import com.multikube_rest_service.entities.provider.KubernetesCluster;
+import com.multikube_rest_service.repositories.provider.KubernetesClusterRepository;
+import com.multikube_rest_service.repositories.tenant.TrackedObject;
+import com.multikube_rest_service.repositories.tenant.TrackedObjectRepository;
+import com.multikube_rest_service.services.kubernetes.AppliedState;
+import com.multikube_rest_service.services.kubernetes.ApplyResult;
+import com.multikube_rest_service.services.kubernetes.KubernetesClientService;
+import com.multikube_rest_service.services.kubernetes.KubernetesLabels;
+import com.multikube_rest_service.services.kubernetes.factories.KubernetesResource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link TrackedObjectReconciler}.
+ */
+@ExtendWith(MockitoExtension.class)
+class TrackedObjectReconcilerTest {
+
+    private static final ReconcileKey KEY = new ReconcileKey(1L, "team-a", "ConfigMap", "settings");
+    private static final String YAML = """
+            apiVersion: v1
+            kind: ConfigMap
+            metadata:
+              name: settings
+            data:
+              mode: fast
+            """;
+    private static final Map<String, String> WORKLOAD_LABELS = Map.of(KubernetesLabels.COMPONENT, KubernetesLabels.COMPONENT_WORKLOAD);
+
+    @Mock
+    private KubernetesClusterRepository clusterRepository;
+    @Mock
+    private TrackedObjectRepository trackedObjectRepository;
+    @Mock
+    private KubernetesClientService kubernetesClientService;
+    @InjectMocks
+    private TrackedObjectReconciler reconciler;
+
+    private final KubernetesCluster cluster = new KubernetesCluster();
+
+    @BeforeEach
+    void setUp() {
+        cluster.setId(1L);
+        lenient().when(clusterRepository.findById(1L)).thenReturn(Optional.of(cluster));
+    }
+
+    private TrackedObject givenTracked(SyncStatus syncStatus) {
+        TrackedObject object = new TrackedObject(TrackedObject.Source.WORKLOAD, 7L, "team-a", "ConfigMap", "settings", YAML,
+                syncStatus, "abc", null);
+        when(trackedObjectRepository.findOne(1L, "team-a", "ConfigMap", "settings")).thenReturn(Optional.of(object));
+        return object;
+    }
+
+    @Test
+    void reconcile_driftedObject_shouldForceApplyAndRecordIt() {
+        TrackedObject object = givenTracked(SyncStatus.DRIFT_DETECTED);
+        KubernetesResource resource = new KubernetesResource("settings", "ConfigMap", YAML);
+        when(kubernetesClientService.applyIfChanged(eq(cluster), eq("team-a"), eq(resource), eq(WORKLOAD_LABELS), isNull()))
+                .thenReturn(ApplyResult.success(resource, null));
+
+        reconciler.reconcile(KEY);
+
+        verify(trackedObjectRepository).recordApplied(object, resource.contentHash(), null);
+    }
+
+    @Test
+    void reconcile_unchangedObject_shouldNotRecordAnything() {
+        givenTracked(SyncStatus.IN_SYNC);
+        when(kubernetesClientService.applyIfChanged(any(), any(), any(), any(), eq(new AppliedState("abc", null))))
+                .thenAnswer(invocation -> ApplyResult.unchanged(invocation.getArgument(2), null));
+
+        reconciler.reconcile(KEY);
+
+        verify(trackedObjectRepository, never()).recordApplied(any(), any(), any());
+    }
+
+    @Test
+    void reconcile_failedApply_shouldThrowForRetry() {
+        givenTracked(SyncStatus.IN_SYNC);
+        when(kubernetesClientService.applyIfChanged(any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> ApplyResult.failure(invocation.getArgument(2), "connection refused"));
+
+        assertThrows(IllegalStateException.class, () -> reconciler.reconcile(KEY));
+    }
+
+    @Test
+    void reconcile_deletedCluster_shouldDropKey() {
+        when(clusterRepository.findById(1L)).thenReturn(Optional.empty());
+
+        reconciler.reconcile(KEY);
+
+        verifyNoInteractions(trackedObjectRepository, kubernetesClientService);
+    }
+}
@@ -0,0 +1,82 @@
+package com.multikube_rest_service.services.kubernetes.resilience;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ClusterCircuitBreaker}.
+ */
+class ClusterCircuitBreakerTest {
+
+    private static final int FAILURE_THRESHOLD = 3;
+    private static final long OPEN_DURATION_MS = 1000;
+
+    private AtomicLong now;
+    private ClusterCircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(0);
+        breaker = new ClusterCircuitBreaker(FAILURE_THRESHOLD, OPEN_DURATION_MS, now::get);
+    }
+
+    @Test
+    void onFailure_thresholdReached_shouldOpenAndRejectCalls() {
+        failTimes(FAILURE_THRESHOLD - 1);
+        assertEquals(CircuitState.CLOSED, breaker.getState());
+
+        assertTrue(breaker.tryAcquirePermission());
+        ClusterCircuitBreaker.Transition transition = breaker.onFailure();
+
+        assertEquals(new ClusterCircuitBreaker.Transition(CircuitState.CLOSED, CircuitState.OPEN), transition);
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void onSuccess_betweenFailures_shouldResetFailureCount() {
+        failTimes(FAILURE_THRESHOLD - 1);
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onSuccess();
+        failTimes(FAILURE_THRESHOLD - 1);
+
+        assertEquals(CircuitState.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void tryAcquirePermission_afterOpenDuration_shouldAllowSingleProbe() {
+        failTimes(FAILURE_THRESHOLD);
+        now.addAndGet(OPEN_DURATION_MS);
+
+        assertTrue(breaker.tryAcquirePermission());
+        assertEquals(new ClusterCircuitBreaker.Transition(CircuitState.OPEN, CircuitState.HALF_OPEN), breaker.takeTransition());
+        assertFalse(breaker.tryAcquirePermission(), "Only one probe may be in flight while half-open");
+
+        ClusterCircuitBreaker.Transition transition = breaker.onSuccess();
+        assertEquals(new ClusterCircuitBreaker.Transition(CircuitState.HALF_OPEN, CircuitState.CLOSED), transition);
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void onFailure_probeFails_shouldReopenForAnotherOpenDuration() {
+        failTimes(FAILURE_THRESHOLD);
+        now.addAndGet(OPEN_DURATION_MS);
+        assertTrue(breaker.tryAcquirePermission());
+
+        breaker.onFailure();
+
+        assertEquals(CircuitState.OPEN, breaker.getState());
+        now.addAndGet(OPEN_DURATION_MS - 1);
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    private void failTimes(int times) {
+        for (int i = 0; i < times; i++) {
+            assertTrue(breaker.tryAcquirePermission());
+            breaker.onFailure();
+        }
+    }
+}
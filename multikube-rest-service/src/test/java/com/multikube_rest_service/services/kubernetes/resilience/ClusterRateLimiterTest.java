@@ -0,0 +1,42 @@
+package com.multikube_rest_service.services.kubernetes.resilience;
+
+import com.multikube_rest_service.exceptions.ClusterUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ClusterRateLimiter}.
+ */
+class ClusterRateLimiterTest {
+
+    private static final Long CLUSTER_ID = 1L;
+
+    // One token per second and a burst of one, so the second call in a row has to wait about a second.
+    private final ClusterRateLimiter rateLimiter = new ClusterRateLimiter(new SimpleMeterRegistry(), 1, 1, 0, 5000, 0);
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void acquire_insideTransaction_shouldFailFastInsteadOfWaiting() {
+        rateLimiter.acquire(CLUSTER_ID, RequestPriority.INTERACTIVE);
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        long start = System.nanoTime();
+        assertThrows(ClusterUnavailableException.class, () -> rateLimiter.acquire(CLUSTER_ID, RequestPriority.INTERACTIVE));
+        assertTrue(System.nanoTime() - start < 500_000_000L);
+    }
+
+    @Test
+    void acquire_outsideTransaction_shouldWaitForNextToken() {
+        rateLimiter.acquire(CLUSTER_ID, RequestPriority.INTERACTIVE);
+
+        assertDoesNotThrow(() -> rateLimiter.acquire(CLUSTER_ID, RequestPriority.INTERACTIVE));
+    }
+}
@@ -0,0 +1,120 @@
+package com.multikube_rest_service.services.kubernetes.resilience;
+
+import io.kubernetes.client.openapi.ApiException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ClusterRetryPolicy}.
+ */
+class ClusterRetryPolicyTest {
+
+    private static final long CLUSTER_ID = 1L;
+
+    private SimpleMeterRegistry meterRegistry;
+    private List<Long> delays;
+    private ClusterRetryPolicy retryPolicy;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        delays = new ArrayList<>();
+        retryPolicy = new ClusterRetryPolicy(meterRegistry, 4, 100, 2000) {
+            @Override
+            boolean sleep(long delayMs) {
+                delays.add(delayMs);
+                return true;
+            }
+        };
+    }
+
+    @Test
+    void call_transientServerError_shouldRetryIdempotentCallUntilSuccess() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = retryPolicy.call(CLUSTER_ID, true, () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ApiException(503, "unavailable");
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(3, attempts.get());
+        assertEquals(2, delays.size());
+        delays.forEach(delay -> assertTrue(delay >= 100 && delay <= 2000, "delay out of bounds: " + delay));
+        assertEquals(2, meterRegistry.get("multikube.kubernetes.retries").tag("cluster", "1").counter().count());
+    }
+
+    @Test
+    void call_readTimeoutOnNonIdempotentCall_shouldNotRetry() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(SocketTimeoutException.class, () -> retryPolicy.call(CLUSTER_ID, false, () -> {
+            attempts.incrementAndGet();
+            throw new SocketTimeoutException("read timed out");
+        }));
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void call_connectionRefusedOnNonIdempotentCall_shouldRetry() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+
+        retryPolicy.call(CLUSTER_ID, false, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new ConnectException("refused");
+            }
+            return null;
+        });
+
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void call_tooManyRequestsWithRetryAfter_shouldWaitAtLeastRetryAfter() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+
+        retryPolicy.call(CLUSTER_ID, false, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new ApiException("throttled", 429, Map.of("Retry-After", List.of("1")), null);
+            }
+            return null;
+        });
+
+        assertEquals(List.of(1000L), delays);
+    }
+
+    @Test
+    void call_persistentFailure_shouldGiveUpAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(IOException.class, () -> retryPolicy.call(CLUSTER_ID, true, () -> {
+            attempts.incrementAndGet();
+            throw new IOException("connection reset");
+        }));
+        assertEquals(4, attempts.get());
+    }
+
+    @Test
+    void call_clientError_shouldNotRetry() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(ApiException.class, () -> retryPolicy.call(CLUSTER_ID, true, () -> {
+            attempts.incrementAndGet();
+            throw new ApiException(422, "invalid");
+        }));
+        assertEquals(1, attempts.get());
+    }
+}
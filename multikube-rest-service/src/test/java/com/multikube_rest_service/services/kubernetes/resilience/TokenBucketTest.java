@@ -0,0 +1,62 @@
+package com.multikube_rest_service.services.kubernetes.resilience;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link TokenBucket}.
+ */
+class TokenBucketTest {
+
+    private static final int BURST = 10;
+    private static final int RESERVE = 4;
+
+    private AtomicLong now;
+    private TokenBucket bucket;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(0);
+        // 10 tokens per second, i.e. one token every 100ms.
+        bucket = new TokenBucket(10, BURST, RESERVE, now::get);
+    }
+
+    @Test
+    void tryAcquire_backgroundPriority_shouldLeaveReserveForInteractive() {
+        for (int i = 0; i < BURST - RESERVE; i++) {
+            assertEquals(0, bucket.tryAcquire(RequestPriority.RECONCILE));
+        }
+        assertTrue(bucket.tryAcquire(RequestPriority.HEALTH_PROBE) > 0);
+
+        for (int i = 0; i < RESERVE; i++) {
+            assertEquals(0, bucket.tryAcquire(RequestPriority.INTERACTIVE));
+        }
+        assertTrue(bucket.tryAcquire(RequestPriority.INTERACTIVE) > 0);
+    }
+
+    @Test
+    void tryAcquire_emptyBucket_shouldRefillOverTime() {
+        for (int i = 0; i < BURST; i++) {
+            bucket.tryAcquire(RequestPriority.INTERACTIVE);
+        }
+        long wait = bucket.tryAcquire(RequestPriority.INTERACTIVE);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), wait);
+
+        now.addAndGet(wait);
+        assertEquals(0, bucket.tryAcquire(RequestPriority.INTERACTIVE));
+    }
+
+    @Test
+    void tryAcquire_interactiveWaiting_shouldHoldBackBackground() {
+        bucket.interactiveWaiting(true);
+        assertTrue(bucket.tryAcquire(RequestPriority.RECONCILE) > 0);
+
+        bucket.interactiveWaiting(false);
+        assertEquals(0, bucket.tryAcquire(RequestPriority.RECONCILE));
+    }
+}
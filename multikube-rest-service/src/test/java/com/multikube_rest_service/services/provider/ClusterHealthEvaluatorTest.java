@@ -0,0 +1,74 @@
+package com.multikube_rest_service.services.provider;
+
+import com.multikube_rest_service.common.enums.ClusterStatus;
+import com.multikube_rest_service.services.kubernetes.informers.ClusterNodeWatcher;
+import com.multikube_rest_service.services.kubernetes.informers.NodeHealthSummary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the {@link ClusterHealthEvaluator}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ClusterHealthEvaluatorTest {
+
+    private static final Long CLUSTER_ID = 1L;
+
+    @Mock
+    private ClusterNodeWatcher nodeWatcher;
+
+    private ClusterHealthEvaluator evaluator() {
+        return new ClusterHealthEvaluator(nodeWatcher, 500, 3000, 0.75, 0.85);
+    }
+
+    private void givenNodes(int total, int ready) {
+        when(nodeWatcher.summary(CLUSTER_ID)).thenReturn(Optional.of(
+                new NodeHealthSummary(total, ready, total * 4000L, ready * 4000L, total * 16L << 30, ready * 16L << 30)));
+    }
+
+    @Test
+    void evaluate_halfOfNodesNotReady_shouldBeDegraded() {
+        givenNodes(4, 2);
+
+        assertEquals(ClusterStatus.DEGRADED, evaluator().evaluate(CLUSTER_ID, ClusterStatus.ACTIVE, 50L));
+    }
+
+    @Test
+    void evaluate_allNodesReadyAndFastProbe_shouldBeActive() {
+        givenNodes(4, 4);
+
+        assertEquals(ClusterStatus.ACTIVE, evaluator().evaluate(CLUSTER_ID, ClusterStatus.ACTIVE, 50L));
+    }
+
+    @Test
+    void evaluate_slowProbeWithoutNodeHealth_shouldBeDegraded() {
+        when(nodeWatcher.summary(CLUSTER_ID)).thenReturn(Optional.empty());
+
+        assertEquals(ClusterStatus.ACTIVE, evaluator().evaluate(CLUSTER_ID, ClusterStatus.ACTIVE, 1000L));
+        assertEquals(ClusterStatus.DEGRADED, evaluator().evaluate(CLUSTER_ID, ClusterStatus.ACTIVE, 2000L));
+    }
+
+    @Test
+    void evaluate_scoreBetweenThresholds_shouldKeepCurrentStatus() {
+        // 4 of 5 nodes ready scores 0.8: above the degraded but below the recovered score.
+        givenNodes(5, 4);
+
+        assertEquals(ClusterStatus.ACTIVE, evaluator().evaluate(CLUSTER_ID, ClusterStatus.ACTIVE, 50L));
+        assertEquals(ClusterStatus.DEGRADED, evaluator().evaluate(CLUSTER_ID, ClusterStatus.DEGRADED, 50L));
+    }
+
+    @Test
+    void score_cordonedCapacity_shouldLowerScoreThoughNodesAreReady() {
+        when(nodeWatcher.summary(CLUSTER_ID)).thenReturn(Optional.of(
+                new NodeHealthSummary(4, 4, 16000, 8000, 64L << 30, 32L << 30)));
+
+        assertEquals(0.5, evaluator().score(CLUSTER_ID, null), 1e-9);
+    }
+}
@@ -0,0 +1,102 @@
+package com.multikube_rest_service.services.provider;
+
+import com.multikube_rest_service.common.enums.ClusterStatus;
+import com.multikube_rest_service.entities.provider.KubernetesCluster;
+import com.multikube_rest_service.repositories.provider.ClusterStatusUpdate;
+import com.multikube_rest_service.repositories.provider.KubernetesClusterRepository;
+import com.multikube_rest_service.services.events.StatusChangeEvent;
+import com.multikube_rest_service.services.provider.health.ClusterHealthHistory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link ClusterVerifier}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ClusterVerifierTest {
+
+    @Mock
+    private KubernetesClusterRepository clusterRepository;
+    @Mock
+    private ProviderClusterService providerClusterService;
+    @Mock
+    private ClusterHealthHistory healthHistory;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private ClusterVerifier verifier() {
+        return new ClusterVerifier(clusterRepository, providerClusterService, healthHistory, eventPublisher, executor);
+    }
+
+    private KubernetesCluster givenPendingCluster() {
+        KubernetesCluster cluster = new KubernetesCluster();
+        cluster.setId(1L);
+        cluster.setVersion(0L);
+        cluster.setStatus(ClusterStatus.PENDING_VERIFICATION);
+        when(clusterRepository.findById(1L)).thenReturn(Optional.of(cluster));
+        return cluster;
+    }
+
+    @Test
+    void verify_reachableCluster_shouldWriteStatusWithScannedVersionAndPublishEvent() {
+        KubernetesCluster cluster = givenPendingCluster();
+        ClusterProbeResult result = new ClusterProbeResult(ClusterStatus.ACTIVE, 12L, "v1.30.1", Timestamp.from(Instant.now()));
+        when(providerClusterService.probeConnectivity(cluster)).thenReturn(result);
+        ClusterStatusUpdate update = new ClusterStatusUpdate(1L, 0L, ClusterStatus.ACTIVE);
+        when(clusterRepository.updateStatusesIfUnchanged(List.of(update))).thenReturn(List.of(update));
+
+        verifier().verify(1L);
+
+        verify(healthHistory).record(1L, result);
+        verify(clusterRepository).recordProbeObservations(any());
+        verify(eventPublisher).publishEvent(any(StatusChangeEvent.class));
+    }
+
+    @Test
+    void verify_clusterEditedMeanwhile_shouldNotPublishEvent() {
+        KubernetesCluster cluster = givenPendingCluster();
+        when(providerClusterService.probeConnectivity(cluster)).thenReturn(
+                new ClusterProbeResult(ClusterStatus.UNREACHABLE, null, null, Timestamp.from(Instant.now())));
+        when(clusterRepository.updateStatusesIfUnchanged(any())).thenReturn(List.of());
+
+        verifier().verify(1L);
+
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void verify_rateLimitedOrDeletedCluster_shouldWriteNothing() {
+        KubernetesCluster cluster = givenPendingCluster();
+        when(providerClusterService.probeConnectivity(cluster)).thenReturn(null);
+        when(clusterRepository.findById(2L)).thenReturn(Optional.empty());
+
+        verifier().verify(1L);
+        verifier().verify(2L);
+
+        verify(clusterRepository, never()).recordProbeObservations(any());
+        verify(clusterRepository, never()).updateStatusesIfUnchanged(any());
+        assertEquals(1, mockingDetails(providerClusterService).getInvocations().size());
+    }
+}
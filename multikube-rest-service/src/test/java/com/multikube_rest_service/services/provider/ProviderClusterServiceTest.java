@@ -0,0 +1,190 @@
+package com.multikube_rest_service.services.provider;
+
+import com.multikube_rest_service.common.encryption.KubeconfigEncryptor;
+import com.multikube_rest_service.common.enums.ClusterStatus;
+import com.multikube_rest_service.entities.provider.KubernetesCluster;
+import com.multikube_rest_service.exceptions.ClusterUnavailableException;
+import com.multikube_rest_service.mappers.provider.KubernetesClusterMapper;
+import com.multikube_rest_service.repositories.TenantRepository;
+import com.multikube_rest_service.repositories.UserRepository;
+import com.multikube_rest_service.repositories.provider.ClusterAllocationRepository;
+import com.multikube_rest_service.repositories.provider.KubernetesClusterRepository;
+import com.multikube_rest_service.repositories.tenant.TenantNamespaceRepository;
+import com.multikube_rest_service.services.kubernetes.clients.KubernetesApiClientPool;
+import com.multikube_rest_service.services.kubernetes.informers.ClusterInformerCache;
+import com.multikube_rest_service.services.kubernetes.informers.ClusterNodeWatcher;
+import com.multikube_rest_service.services.kubernetes.resilience.ClusterCallGuard;
+import com.multikube_rest_service.services.kubernetes.resilience.KubernetesCall;
+import io.kubernetes.client.openapi.ApiClient;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the connectivity probe of the {@link ProviderClusterService}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ProviderClusterServiceTest {
+
+    private static final Long CLUSTER_ID = 1L;
+    private static final String REVIEW_PATH = "/apis/authorization.k8s.io/v1/selfsubjectaccessreviews";
+    private static final String VERSION = """
+            {"major": "1", "minor": "31", "gitVersion": "v1.31.2", "gitCommit": "abc", "gitTreeState": "clean",
+             "buildDate": "2024-10-22T00:00:00Z", "goVersion": "go1.22", "compiler": "gc", "platform": "linux/amd64"}
+            """;
+
+    @Mock
+    private KubernetesClusterRepository clusterRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private KubeconfigEncryptor kubeconfigEncryptor;
+    @Mock
+    private KubernetesClusterMapper clusterMapper;
+    @Mock
+    private ClusterAllocationRepository clusterAllocationRepository;
+    @Mock
+    private TenantRepository tenantRepository;
+    @Mock
+    private TenantNamespaceRepository tenantNamespaceRepository;
+    @Mock
+    private KubernetesApiClientPool apiClientPool;
+    @Mock
+    private ClusterCallGuard callGuard;
+    @Mock
+    private ClusterInformerCache informerCache;
+    @Mock
+    private ClusterNodeWatcher nodeWatcher;
+    @Mock
+    private ClusterHealthEvaluator healthEvaluator;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final List<Request> requests = Collections.synchronizedList(new ArrayList<>());
+    private ProviderClusterService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ProviderClusterService(clusterRepository, userRepository, kubeconfigEncryptor, clusterMapper,
+                clusterAllocationRepository, tenantRepository, tenantNamespaceRepository, apiClientPool, callGuard, informerCache,
+                nodeWatcher, healthEvaluator, eventPublisher);
+    }
+
+    /**
+     * Serves the probe's calls through the guard from canned responses instead of a cluster.
+     */
+    private void givenApiServer(int reviewCode, String reviewBody) throws Exception {
+        when(callGuard.call(eq(CLUSTER_ID), any())).thenAnswer(invocation -> invocation.<KubernetesCall<?>>getArgument(1).execute());
+        ApiClient apiClient = new ApiClient().setBasePath("https://cluster.test");
+        apiClient.setHttpClient(new OkHttpClient.Builder().addInterceptor(chain -> {
+            requests.add(chain.request());
+            boolean review = chain.request().url().encodedPath().equals(REVIEW_PATH);
+            return new Response.Builder().request(chain.request()).protocol(Protocol.HTTP_1_1).message("")
+                    .code(review ? reviewCode : 200)
+                    .body(ResponseBody.create(review ? reviewBody : VERSION, MediaType.get("application/json")))
+                    .build();
+        }).build());
+        when(apiClientPool.getClient(any())).thenReturn(apiClient);
+    }
+
+    private static String review(boolean allowed) {
+        return "{\"apiVersion\": \"authorization.k8s.io/v1\", \"kind\": \"SelfSubjectAccessReview\", \"spec\": {}, "
+                + "\"status\": {\"allowed\": " + allowed + "}}";
+    }
+
+    private static KubernetesCluster cluster(ClusterStatus status, String serverVersion) {
+        KubernetesCluster cluster = new KubernetesCluster();
+        cluster.setId(CLUSTER_ID);
+        cluster.setKubeconfigEncrypted("encrypted");
+        cluster.setStatus(status);
+        cluster.setServerVersion(serverVersion);
+        return cluster;
+    }
+
+    @Test
+    void probeConnectivity_newClusterWithValidCredentials_shouldReviewAccessAndReadVersion() throws Exception {
+        givenApiServer(201, review(true));
+        when(healthEvaluator.evaluate(eq(CLUSTER_ID), eq(ClusterStatus.PENDING_VERIFICATION), anyLong())).thenReturn(ClusterStatus.ACTIVE);
+
+        ClusterProbeResult result = service.probeConnectivity(cluster(ClusterStatus.PENDING_VERIFICATION, null));
+
+        assertEquals(ClusterStatus.ACTIVE, result.status());
+        assertEquals("v1.31.2", result.serverVersion());
+        assertNotNull(result.latencyMs());
+        assertEquals("POST", requests.get(0).method());
+        assertEquals(REVIEW_PATH, requests.get(0).url().encodedPath());
+        assertEquals("/version/", requests.get(1).url().encodedPath());
+    }
+
+    @Test
+    void probeConnectivity_reachableClusterWithKnownVersion_shouldOnlyReviewAccess() throws Exception {
+        givenApiServer(201, review(true));
+        when(healthEvaluator.evaluate(eq(CLUSTER_ID), eq(ClusterStatus.ACTIVE), anyLong())).thenReturn(ClusterStatus.ACTIVE);
+
+        ClusterProbeResult result = service.probeConnectivity(cluster(ClusterStatus.ACTIVE, "v1.31.2"));
+
+        assertEquals(ClusterStatus.ACTIVE, result.status());
+        assertNull(result.serverVersion());
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void probeConnectivity_informersFailToStart_shouldStillStartNodeWatch() throws Exception {
+        givenApiServer(201, review(true));
+        KubernetesCluster cluster = cluster(ClusterStatus.ACTIVE, "v1.31.2");
+        doThrow(new IllegalStateException("no watch permission")).when(informerCache).ensureStarted(cluster);
+        when(healthEvaluator.evaluate(eq(CLUSTER_ID), eq(ClusterStatus.ACTIVE), anyLong())).thenReturn(ClusterStatus.ACTIVE);
+
+        ClusterProbeResult result = service.probeConnectivity(cluster);
+
+        assertEquals(ClusterStatus.ACTIVE, result.status());
+        verify(nodeWatcher).ensureStarted(cluster);
+    }
+
+    @Test
+    void probeConnectivity_credentialsRejected_shouldBeErrorNotUnreachable() throws Exception {
+        givenApiServer(401, "{\"apiVersion\": \"v1\", \"kind\": \"Status\", \"status\": \"Failure\", \"code\": 401}");
+
+        ClusterProbeResult result = service.probeConnectivity(cluster(ClusterStatus.ACTIVE, "v1.31.2"));
+
+        assertEquals(ClusterStatus.ERROR, result.status());
+        verifyNoInteractions(healthEvaluator, informerCache);
+    }
+
+    @Test
+    void probeConnectivity_credentialsMayNotCreateNamespaces_shouldBeError() throws Exception {
+        givenApiServer(201, review(false));
+
+        ClusterProbeResult result = service.probeConnectivity(cluster(ClusterStatus.ACTIVE, "v1.31.2"));
+
+        assertEquals(ClusterStatus.ERROR, result.status());
+        verifyNoInteractions(healthEvaluator, informerCache);
+    }
+
+    @Test
+    void probeConnectivity_circuitOpen_shouldSkipWithoutCalling() throws Exception {
+        when(callGuard.call(eq(CLUSTER_ID), any())).thenThrow(new ClusterUnavailableException("open"));
+
+        assertNull(service.probeConnectivity(cluster(ClusterStatus.ACTIVE, "v1.31.2")));
+        verifyNoInteractions(healthEvaluator);
+    }
+}
@@ -0,0 +1,173 @@
+package com.multikube_rest_service.services.provider.health;
+
+import com.multikube_rest_service.common.enums.ClusterStatus;
+import com.multikube_rest_service.common.enums.HealthResolution;
+import com.multikube_rest_service.repositories.provider.ClusterHealthBucket;
+import com.multikube_rest_service.repositories.provider.ClusterHealthBucketRepository;
+import com.multikube_rest_service.services.provider.ClusterProbeResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link ClusterHealthHistory}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ClusterHealthHistoryTest {
+
+    private static final long MINUTE = HealthResolution.MINUTE.bucketMs();
+    private static final long HOUR = HealthResolution.HOUR.bucketMs();
+    // An hour-aligned point in time, so that bucket boundaries are predictable.
+    private static final long T0 = 1_000 * HOUR;
+
+    @Mock
+    private ClusterHealthBucketRepository bucketRepository;
+
+    private ClusterHealthHistory history() {
+        return new ClusterHealthHistory(bucketRepository, 6, 30);
+    }
+
+    @Test
+    void summarize_recentWindow_shouldUseMinuteBucketsAndComputeAvailability() {
+        ClusterHealthHistory history = history();
+        history.record(1L, probe(ClusterStatus.ACTIVE, 40L, T0));
+        history.record(1L, probe(ClusterStatus.ACTIVE, 40L, T0 + MINUTE));
+        history.record(1L, probe(ClusterStatus.ACTIVE, 40L, T0 + 2 * MINUTE));
+        history.record(1L, probe(ClusterStatus.UNREACHABLE, null, T0 + 3 * MINUTE));
+        history.record(2L, probe(ClusterStatus.UNREACHABLE, null, T0));
+
+        ClusterHealthSummary summary = history.summarize(1L, T0, T0 + HOUR);
+
+        assertEquals(HealthResolution.MINUTE, summary.resolution());
+        assertEquals(4, summary.probes());
+        assertEquals(3, summary.successes());
+        assertEquals(0.75, summary.availability());
+        assertEquals(3, summary.latencySamples());
+        // Only the last minute of the window.
+        assertEquals(1, history.summarize(1L, T0 + 3 * MINUTE, T0 + HOUR).probes());
+    }
+
+    @Test
+    void summarize_longWindow_shouldUseHourBucketsAndEstimatePercentiles() {
+        ClusterHealthHistory history = history();
+        for (int i = 0; i < 98; i++) {
+            history.record(1L, probe(ClusterStatus.ACTIVE, 8L, T0 + i * HOUR / 20));
+        }
+        history.record(1L, probe(ClusterStatus.ACTIVE, 400L, T0 + 5 * HOUR));
+        history.record(1L, probe(ClusterStatus.ACTIVE, 20_000L, T0 + 6 * HOUR));
+
+        ClusterHealthSummary summary = history.summarize(1L, T0 - 6 * 24 * HOUR, T0 + 7 * HOUR);
+
+        assertEquals(HealthResolution.HOUR, summary.resolution());
+        assertEquals(100, summary.probes());
+        assertEquals(10L, summary.latencyPercentile(50));
+        assertEquals(10L, summary.latencyPercentile(98));
+        assertEquals(500L, summary.latencyPercentile(99));
+        assertEquals(10_000L, summary.latencyPercentile(100));
+    }
+
+    @Test
+    void summarize_unknownCluster_shouldBeEmpty() {
+        ClusterHealthSummary summary = history().summarize(1L, T0, T0 + HOUR);
+
+        assertEquals(0, summary.probes());
+        assertNull(summary.availability());
+        assertNull(summary.latencyPercentile(99));
+    }
+
+    @Test
+    void record_bucketOlderThanRing_shouldBeOverwritten() {
+        ClusterHealthHistory history = history();
+        history.record(1L, probe(ClusterStatus.ACTIVE, 8L, T0));
+        // Six hours later the minute ring wraps around to the same slot.
+        history.record(1L, probe(ClusterStatus.UNREACHABLE, null, T0 + 6 * HOUR));
+        // A probe older than the bucket now in the slot is dropped.
+        history.record(1L, probe(ClusterStatus.ACTIVE, 8L, T0 + 1_000));
+        // The hour ring still holds both hours.
+        assertEquals(3, history.summarize(1L, T0 - 24 * HOUR, T0 + 7 * HOUR).probes());
+
+        history.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ClusterHealthBucket>> captor = ArgumentCaptor.forClass(List.class);
+        verify(bucketRepository).saveAll(captor.capture());
+        List<ClusterHealthBucket> minuteBuckets = captor.getValue().stream()
+                .filter(bucket -> bucket.resolution() == HealthResolution.MINUTE)
+                .toList();
+        assertEquals(1, minuteBuckets.size());
+        assertEquals(T0 + 6 * HOUR, minuteBuckets.get(0).bucketStart());
+        assertEquals(0, minuteBuckets.get(0).successes());
+    }
+
+    @Test
+    void flush_shouldWriteOnlyProbesRecordedSinceLastFlush() {
+        ClusterHealthHistory history = history();
+        history.record(1L, probe(ClusterStatus.ACTIVE, 8L, T0));
+        history.record(1L, probe(ClusterStatus.ACTIVE, 8L, T0 + 1_000));
+
+        history.flush();
+        history.flush();
+        // A later probe in the same bucket is written as an increment, not as the bucket's new total.
+        history.record(1L, probe(ClusterStatus.ACTIVE, 8L, T0 + 2_000));
+        history.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ClusterHealthBucket>> captor = ArgumentCaptor.forClass(List.class);
+        verify(bucketRepository, times(3)).saveAll(captor.capture());
+        List<ClusterHealthBucket> written = captor.getAllValues().get(0);
+        assertEquals(2, written.size());
+        assertTrue(written.stream().allMatch(bucket -> bucket.probes() == 2 && bucket.bucketStart() == T0));
+        assertTrue(captor.getAllValues().get(1).isEmpty());
+        assertTrue(captor.getAllValues().get(2).stream().allMatch(bucket -> bucket.probes() == 1 && bucket.bucketStart() == T0));
+        verify(bucketRepository, times(6)).deleteBefore(any(), anyLong());
+    }
+
+    @Test
+    void flush_failedWrite_shouldRetryBucketsOnNextFlush() {
+        ClusterHealthHistory history = history();
+        history.record(1L, probe(ClusterStatus.ACTIVE, 8L, T0));
+        doThrow(new DataIntegrityViolationException("cluster deleted")).doNothing().when(bucketRepository).saveAll(anyList());
+
+        history.flush();
+        history.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ClusterHealthBucket>> captor = ArgumentCaptor.forClass(List.class);
+        verify(bucketRepository, times(2)).saveAll(captor.capture());
+        assertEquals(2, captor.getAllValues().get(1).size());
+        assertTrue(captor.getAllValues().get(1).stream().allMatch(bucket -> bucket.probes() == 1));
+    }
+
+    @Test
+    void summarize_shouldAddStoredBucketsToUnflushedProbes() {
+        int[] counts = new int[LatencyHistogram.BINS];
+        counts[LatencyHistogram.binOf(8)] = 3;
+        // Stored by another replica, e.g. the previous owner of the cluster.
+        when(bucketRepository.findBetween(1L, HealthResolution.HOUR, T0 - 7 * 24 * HOUR, T0 + HOUR)).thenReturn(List.of(
+                new ClusterHealthBucket(1L, HealthResolution.HOUR, T0, 4, 3, counts)));
+        ClusterHealthHistory history = history();
+        history.record(1L, probe(ClusterStatus.ACTIVE, 8L, T0));
+
+        ClusterHealthSummary summary = history.summarize(1L, T0 - 7 * 24 * HOUR, T0 + HOUR);
+
+        assertEquals(5, summary.probes());
+        assertEquals(4, summary.successes());
+        assertEquals(4, summary.latencySamples());
+    }
+
+    private static ClusterProbeResult probe(ClusterStatus status, Long latencyMs, long timeMs) {
+        return new ClusterProbeResult(status, latencyMs, null, new Timestamp(timeMs));
+    }
+}
@@ -0,0 +1,109 @@
+package com.multikube_rest_service.services.tenant;
+
+import com.multikube_rest_service.common.enums.OutboxOperation;
+import com.multikube_rest_service.repositories.provider.KubernetesClusterRepository;
+import com.multikube_rest_service.repositories.tenant.KubernetesOutboxRepository;
+import com.multikube_rest_service.repositories.tenant.TenantNamespaceRepository;
+import com.multikube_rest_service.repositories.tenant.TenantWorkloadRepository;
+import com.multikube_rest_service.services.kubernetes.KubernetesClientService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the after-commit dispatch of the {@link KubernetesOutboxRelay} against a real transaction manager, so that the
+ * claim made by the listener is checked to be committed rather than left in the finished recording transaction.
+ */
+@SpringJUnitConfig(KubernetesOutboxListenerTest.Config.class)
+class KubernetesOutboxListenerTest {
+
+    private static final String URL = "jdbc:h2:mem:outbox-listener;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private KubernetesOutboxRelay relay;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ExecutorService executor;
+
+    @Test
+    void onEntryAdded_afterCommit_shouldCommitClaimBeforeSubmitting() {
+        // Read on a connection of its own when the dispatch is submitted, i.e. still within the after-commit callback.
+        JdbcTemplate otherConnection = new JdbcTemplate(new DriverManagerDataSource(URL, "sa", ""));
+        List<Integer> attemptsSeen = new ArrayList<>();
+        when(executor.submit(any(Runnable.class))).thenAnswer(invocation -> {
+            attemptsSeen.add(otherConnection.queryForObject("SELECT attempts FROM kubernetes_outbox", Integer.class));
+            return null;
+        });
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> relay.enqueue(OutboxOperation.APPLY_WORKLOAD, 5L));
+
+        assertEquals(List.of(1), attemptsSeen);
+        // Claimed until the database time plus the claim time, so not due meanwhile.
+        assertEquals(0, new JdbcTemplate(new DriverManagerDataSource(URL, "sa", "")).queryForObject(
+                "SELECT COUNT(*) FROM kubernetes_outbox WHERE next_attempt_at <= CURRENT_TIMESTAMP", Integer.class));
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    static class Config {
+
+        @Bean
+        DataSource dataSource() {
+            DriverManagerDataSource dataSource = new DriverManagerDataSource(URL, "sa", "");
+            new JdbcTemplate(dataSource).execute("""
+                    CREATE TABLE kubernetes_outbox (
+                        id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                        operation VARCHAR(32) NOT NULL,
+                        resource_id BIGINT NOT NULL,
+                        attempts INT NOT NULL DEFAULT 0,
+                        next_attempt_at TIMESTAMP NOT NULL,
+                        last_error VARCHAR(1024),
+                        created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)
+                    """);
+            return dataSource;
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(DataSource dataSource) {
+            return new DataSourceTransactionManager(dataSource);
+        }
+
+        @Bean
+        KubernetesOutboxRepository outboxRepository(DataSource dataSource) {
+            return new KubernetesOutboxRepository(new JdbcTemplate(dataSource));
+        }
+
+        @Bean
+        ExecutorService executor() {
+            return mock(ExecutorService.class);
+        }
+
+        @Bean
+        KubernetesOutboxRelay relay(KubernetesOutboxRepository outboxRepository, ApplicationEventPublisher eventPublisher,
+                                    PlatformTransactionManager transactionManager, ExecutorService executor) {
+            return new KubernetesOutboxRelay(outboxRepository, mock(TenantWorkloadRepository.class), mock(TenantNamespaceRepository.class),
+                    mock(KubernetesClusterRepository.class), mock(KubernetesClientService.class), eventPublisher, transactionManager,
+                    executor, new SimpleMeterRegistry(), 50, 120_000, 1000, 60_000, 8);
+        }
+    }
+}
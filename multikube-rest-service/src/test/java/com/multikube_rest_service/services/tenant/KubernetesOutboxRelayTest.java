@@ -0,0 +1,264 @@
+package com.multikube_rest_service.services.tenant;
+
+import com.multikube_rest_service.common.enums.NamespaceStatus;
+import com.multikube_rest_service.common.enums.OutboxOperation;
+import com.multikube_rest_service.common.enums.ResourceStatus;
+import com.multikube_rest_service.common.enums.SyncStatus;
+import com.multikube_rest_service.entities.Tenant;
+import com.multikube_rest_service.entities.provider.KubernetesCluster;
+import com.multikube_rest_service.entities.tenant.TenantNamespace;
+import com.multikube_rest_service.entities.tenant.TenantNamespaceConfiguration;
+import com.multikube_rest_service.entities.tenant.TenantWorkload;
+import com.multikube_rest_service.repositories.provider.KubernetesClusterRepository;
+import com.multikube_rest_service.repositories.tenant.KubernetesOutboxEntry;
+import com.multikube_rest_service.repositories.tenant.KubernetesOutboxRepository;
+import com.multikube_rest_service.repositories.tenant.TenantNamespaceRepository;
+import com.multikube_rest_service.repositories.tenant.TenantWorkloadRepository;
+import com.multikube_rest_service.services.events.StatusChangeEvent;
+import com.multikube_rest_service.services.kubernetes.ApplyResult;
+import com.multikube_rest_service.services.kubernetes.KubernetesClientService;
+import com.multikube_rest_service.services.kubernetes.factories.KubernetesResource;
+import io.kubernetes.client.openapi.ApiException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link KubernetesOutboxRelay}.
+ */
+@ExtendWith(MockitoExtension.class)
+class KubernetesOutboxRelayTest {
+
+    private static final String YAML = """
+            apiVersion: apps/v1
+            kind: Deployment
+            metadata:
+              name: web
+            """;
+
+    @Mock
+    private KubernetesOutboxRepository outboxRepository;
+    @Mock
+    private TenantWorkloadRepository workloadRepository;
+    @Mock
+    private TenantNamespaceRepository namespaceRepository;
+    @Mock
+    private KubernetesClusterRepository clusterRepository;
+    @Mock
+    private KubernetesClientService kubernetesClientService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private ExecutorService executor;
+
+    private KubernetesCluster cluster;
+    private TenantNamespace namespace;
+    private KubernetesOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new KubernetesOutboxRelay(outboxRepository, workloadRepository, namespaceRepository, clusterRepository,
+                kubernetesClientService, eventPublisher, transactionManager, executor, new SimpleMeterRegistry(),
+                50, 120000, 1000, 60000, 3);
+
+        cluster = new KubernetesCluster();
+        cluster.setId(1L);
+        cluster.setName("prod");
+        Tenant tenant = new Tenant();
+        tenant.setId(5L);
+        namespace = new TenantNamespace();
+        namespace.setId(10L);
+        namespace.setName("team-a");
+        namespace.setTenant(tenant);
+        namespace.setKubernetesCluster(cluster);
+        lenient().when(clusterRepository.findById(1L)).thenReturn(Optional.of(cluster));
+        lenient().when(outboxRepository.delete(anyLong())).thenReturn(true);
+    }
+
+    private TenantWorkload pendingWorkload(Long id, String kind, String name, String yaml) {
+        TenantWorkload workload = new TenantWorkload();
+        workload.setId(id);
+        workload.setK8sKind(kind);
+        workload.setK8sName(name);
+        workload.setYamlContent(yaml);
+        workload.setContentHash("hash");
+        workload.setStatus(ResourceStatus.PROCESSING);
+        workload.setTenantNamespace(namespace);
+        return workload;
+    }
+
+    private TenantWorkload givenPendingWorkload() {
+        TenantWorkload workload = pendingWorkload(20L, "Deployment", "web", YAML);
+        when(workloadRepository.findById(20L)).thenReturn(Optional.of(workload));
+        return workload;
+    }
+
+    private static KubernetesOutboxEntry entry(OutboxOperation operation, Long resourceId, int attempts) {
+        return new KubernetesOutboxEntry(100L, operation, resourceId, attempts);
+    }
+
+    @Test
+    void dispatch_workloadApplied_shouldActivateWorkloadAndDeleteEntry() throws Exception {
+        TenantWorkload workload = givenPendingWorkload();
+        when(kubernetesClientService.apply(eq(cluster), eq("team-a"), eq(YAML), anyMap())).thenReturn(3L);
+
+        relay.dispatch(entry(OutboxOperation.APPLY_WORKLOAD, 20L, 1));
+
+        assertEquals(ResourceStatus.ACTIVE, workload.getStatus());
+        assertEquals(SyncStatus.IN_SYNC, workload.getSyncStatus());
+        assertEquals("hash", workload.getAppliedHash());
+        assertEquals(3L, workload.getAppliedGeneration());
+        verify(outboxRepository).delete(100L);
+        verify(eventPublisher).publishEvent(any(StatusChangeEvent.class));
+    }
+
+    @Test
+    void dispatch_transientFailure_shouldRescheduleWithBackoff() throws Exception {
+        TenantWorkload workload = givenPendingWorkload();
+        when(kubernetesClientService.apply(any(), any(), any(), anyMap())).thenThrow(new ApiException(503, "unavailable"));
+
+        relay.dispatch(entry(OutboxOperation.APPLY_WORKLOAD, 20L, 2));
+
+        verify(outboxRepository).reschedule(eq(100L), eq(2000L), contains("unavailable"));
+        verify(outboxRepository, never()).delete(anyLong());
+        assertEquals(ResourceStatus.PROCESSING, workload.getStatus());
+    }
+
+    @Test
+    void dispatch_rejectedByApiServer_shouldMarkErrorWithoutRetry() throws Exception {
+        TenantWorkload workload = givenPendingWorkload();
+        when(kubernetesClientService.apply(any(), any(), any(), anyMap())).thenThrow(new ApiException(422, "invalid"));
+
+        relay.dispatch(entry(OutboxOperation.APPLY_WORKLOAD, 20L, 1));
+
+        assertEquals(ResourceStatus.ERROR, workload.getStatus());
+        assertTrue(workload.getStatusDetails().contains("invalid"));
+        verify(outboxRepository, never()).reschedule(anyLong(), anyLong(), anyString());
+        verify(outboxRepository).delete(100L);
+    }
+
+    @Test
+    void dispatch_completedByAnotherAttempt_shouldNotWriteResult() throws Exception {
+        TenantWorkload workload = givenPendingWorkload();
+        when(kubernetesClientService.apply(any(), any(), any(), anyMap())).thenReturn(3L);
+        when(outboxRepository.delete(100L)).thenReturn(false);
+
+        relay.dispatch(entry(OutboxOperation.APPLY_WORKLOAD, 20L, 1));
+
+        assertEquals(ResourceStatus.PROCESSING, workload.getStatus());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void dispatch_workloadBundle_shouldApplyInOneCallAndRecordEachResult() {
+        TenantWorkload deployment = pendingWorkload(20L, "Deployment", "web", YAML);
+        TenantWorkload configMap = pendingWorkload(21L, "ConfigMap", "settings", "kind: ConfigMap");
+        deployment.setBundleId(20L);
+        configMap.setBundleId(20L);
+        when(workloadRepository.findByBundleIdOrderById(20L)).thenReturn(List.of(deployment, configMap));
+        when(workloadRepository.findAllById(List.of(20L, 21L))).thenReturn(List.of(deployment, configMap));
+        when(kubernetesClientService.applyAll(eq(cluster), eq("team-a"), any(), anyMap())).thenAnswer(invocation -> {
+            List<KubernetesResource> resources = invocation.getArgument(2);
+            return List.of(ApplyResult.failure(resources.get(0), "Not applied"), ApplyResult.success(resources.get(1), null));
+        });
+
+        relay.dispatch(entry(OutboxOperation.APPLY_WORKLOAD_BUNDLE, 20L, 1));
+
+        // One call for the whole bundle, so that the ConfigMap stage is applied before the Deployment.
+        verify(kubernetesClientService).applyAll(eq(cluster), eq("team-a"),
+                argThat(resources -> resources.stream().map(KubernetesResource::k8sKind).toList().equals(List.of("Deployment", "ConfigMap"))),
+                anyMap());
+        assertEquals(ResourceStatus.ERROR, deployment.getStatus());
+        assertEquals("Not applied", deployment.getStatusDetails());
+        assertEquals(ResourceStatus.ACTIVE, configMap.getStatus());
+        verify(outboxRepository).delete(100L);
+        verify(eventPublisher, times(2)).publishEvent(any(StatusChangeEvent.class));
+    }
+
+    @Test
+    void dispatch_namespaceCreatedByEarlierAttempt_shouldApplyConfigurationsAndActivate() throws Exception {
+        TenantNamespaceConfiguration config = new TenantNamespaceConfiguration();
+        config.setId(30L);
+        config.setK8sKind("NetworkPolicy");
+        config.setK8sName("default-deny");
+        config.setYamlContent("kind: NetworkPolicy");
+        config.setContentHash("config-hash");
+        config.setStatus(ResourceStatus.PROCESSING);
+        namespace.getConfigurations().add(config);
+        namespace.setStatus(NamespaceStatus.CREATING);
+        when(namespaceRepository.findById(10L)).thenReturn(Optional.of(namespace));
+        when(kubernetesClientService.createNamespaceAsync(cluster, "team-a")).thenReturn(CompletableFuture.failedFuture(new ApiException(409, "already exists")));
+        when(kubernetesClientService.isManagedNamespace(cluster, "team-a")).thenReturn(true);
+        when(kubernetesClientService.applyAllAsync(eq(cluster), eq("team-a"), any(), anyMap())).thenAnswer(invocation -> {
+            List<KubernetesResource> resources = invocation.getArgument(2);
+            return CompletableFuture.completedFuture(List.of(ApplyResult.success(resources.get(0), 1L)));
+        });
+
+        relay.dispatch(entry(OutboxOperation.CREATE_NAMESPACE, 10L, 2));
+
+        assertEquals(NamespaceStatus.ACTIVE, namespace.getStatus());
+        assertEquals(ResourceStatus.ACTIVE, config.getStatus());
+        assertEquals("config-hash", config.getAppliedHash());
+        verify(outboxRepository).delete(100L);
+    }
+
+    @Test
+    void dispatch_namespaceExistsOnFirstAttempt_shouldFailCreation() throws Exception {
+        namespace.setStatus(NamespaceStatus.CREATING);
+        when(namespaceRepository.findById(10L)).thenReturn(Optional.of(namespace));
+        when(kubernetesClientService.createNamespaceAsync(cluster, "team-a")).thenReturn(CompletableFuture.failedFuture(new ApiException(409, "already exists")));
+
+        relay.dispatch(entry(OutboxOperation.CREATE_NAMESPACE, 10L, 1));
+
+        assertEquals(NamespaceStatus.FAILED_CREATION, namespace.getStatus());
+        verify(kubernetesClientService, never()).applyAllAsync(any(), any(), any(), anyMap());
+    }
+
+    @Test
+    void dispatch_unmanagedNamespaceExistsOnRetry_shouldFailCreation() throws Exception {
+        namespace.setStatus(NamespaceStatus.CREATING);
+        when(namespaceRepository.findById(10L)).thenReturn(Optional.of(namespace));
+        when(kubernetesClientService.createNamespaceAsync(cluster, "team-a")).thenReturn(CompletableFuture.failedFuture(new ApiException(409, "already exists")));
+        when(kubernetesClientService.isManagedNamespace(cluster, "team-a")).thenReturn(false);
+
+        relay.dispatch(entry(OutboxOperation.CREATE_NAMESPACE, 10L, 2));
+
+        assertEquals(NamespaceStatus.FAILED_CREATION, namespace.getStatus());
+        verify(kubernetesClientService, never()).applyAllAsync(any(), any(), any(), anyMap());
+    }
+
+    @Test
+    void dispatch_clusterUnavailableWhileCreatingNamespace_shouldRescheduleWithBackoff() throws Exception {
+        namespace.setStatus(NamespaceStatus.CREATING);
+        when(namespaceRepository.findById(10L)).thenReturn(Optional.of(namespace));
+        when(kubernetesClientService.createNamespaceAsync(cluster, "team-a"))
+                .thenReturn(CompletableFuture.failedFuture(new ApiException(503, "unavailable")));
+
+        relay.dispatch(entry(OutboxOperation.CREATE_NAMESPACE, 10L, 1));
+
+        verify(outboxRepository).reschedule(eq(100L), eq(1000L), contains("unavailable"));
+        assertEquals(NamespaceStatus.CREATING, namespace.getStatus());
+        verify(kubernetesClientService, never()).applyAllAsync(any(), any(), any(), anyMap());
+    }
+}
@@ -0,0 +1,267 @@
+package com.multikube_rest_service.services.tenant;
+
+import com.multikube_rest_service.auth.JwtUserDetails;
+import com.multikube_rest_service.common.enums.NamespaceStatus;
+import com.multikube_rest_service.common.enums.OutboxOperation;
+import com.multikube_rest_service.common.enums.ResourceStatus;
+import com.multikube_rest_service.dtos.requests.tenant.CreateWorkloadRequest;
+import com.multikube_rest_service.entities.Tenant;
+import com.multikube_rest_service.entities.User;
+import com.multikube_rest_service.entities.provider.KubernetesCluster;
+import com.multikube_rest_service.entities.tenant.TenantNamespace;
+import com.multikube_rest_service.entities.tenant.TenantWorkload;
+import com.multikube_rest_service.mappers.tenant.TenantWorkloadMapper;
+import com.multikube_rest_service.repositories.UserRepository;
+import com.multikube_rest_service.repositories.tenant.TenantNamespaceRepository;
+import com.multikube_rest_service.repositories.tenant.TenantWorkloadRepository;
+import com.multikube_rest_service.services.events.StatusChangeEvent;
+import com.multikube_rest_service.services.kubernetes.KubernetesClientService;
+import com.multikube_rest_service.services.kubernetes.PropagationPolicy;
+import com.multikube_rest_service.services.kubernetes.factories.KubernetesResourceFactoryImpl;
+import io.kubernetes.client.openapi.ApiException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link TenantWorkloadService}.
+ */
+@ExtendWith(MockitoExtension.class)
+class TenantWorkloadServiceTest {
+
+    private static final Long TENANT_ID = 5L;
+    private static final Long NAMESPACE_ID = 10L;
+    private static final String BUNDLE = """
+            apiVersion: apps/v1
+            kind: Deployment
+            metadata:
+              name: web
+            ---
+            apiVersion: v1
+            kind: ConfigMap
+            metadata:
+              name: settings
+            """;
+
+    @Mock
+    private TenantWorkloadRepository workloadRepository;
+    @Mock
+    private TenantNamespaceRepository namespaceRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private TenantWorkloadMapper workloadMapper;
+    @Mock
+    private KubernetesClientService kubernetesClientService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private KubernetesOutboxRelay outboxRelay;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TenantNamespace namespace;
+    private TenantWorkloadService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TenantWorkloadService(workloadRepository, namespaceRepository, userRepository, workloadMapper,
+                new KubernetesResourceFactoryImpl(), kubernetesClientService, eventPublisher, outboxRelay,
+                new TenantResourcePolicy(new String[]{"ConfigMap", "Deployment"}), transactionManager);
+
+        JwtUserDetails userDetails = new JwtUserDetails("user@tenant.com", 1L, TENANT_ID);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+
+        KubernetesCluster cluster = new KubernetesCluster();
+        cluster.setId(1L);
+        Tenant tenant = new Tenant();
+        tenant.setId(TENANT_ID);
+        namespace = new TenantNamespace();
+        namespace.setId(NAMESPACE_ID);
+        namespace.setName("team-a");
+        namespace.setStatus(NamespaceStatus.ACTIVE);
+        namespace.setTenant(tenant);
+        namespace.setKubernetesCluster(cluster);
+        lenient().when(userRepository.findById(1L)).thenReturn(Optional.of(new User()));
+        lenient().when(namespaceRepository.findByTenantIdAndId(TENANT_ID, NAMESPACE_ID)).thenReturn(Optional.of(namespace));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static CreateWorkloadRequest request(String yaml) {
+        CreateWorkloadRequest request = new CreateWorkloadRequest();
+        request.setName("shop");
+        request.setYamlContent(yaml);
+        return request;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void createWorkloadBundle_shouldStoreOneRecordPerDocumentAndQueueOneBundleApply() {
+        when(workloadRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<TenantWorkload> workloads = invocation.getArgument(0);
+            for (int i = 0; i < workloads.size(); i++) {
+                workloads.get(i).setId(30L + i);
+            }
+            return workloads;
+        });
+
+        service.createWorkloadBundle(NAMESPACE_ID, request(BUNDLE));
+
+        // Applied by the outbox relay after commit, in one call that keeps the stage order.
+        ArgumentCaptor<List<TenantWorkload>> saved = ArgumentCaptor.forClass(List.class);
+        verify(workloadRepository).saveAll(saved.capture());
+        List<TenantWorkload> workloads = saved.getValue();
+        assertEquals(List.of("shop (Deployment/web)", "shop (ConfigMap/settings)"), workloads.stream().map(TenantWorkload::getName).toList());
+        assertTrue(workloads.stream().allMatch(workload -> workload.getStatus() == ResourceStatus.PROCESSING));
+        assertTrue(workloads.stream().allMatch(workload -> workload.getBundleId().equals(30L)));
+        verify(outboxRelay).enqueue(OutboxOperation.APPLY_WORKLOAD_BUNDLE, 30L);
+        verifyNoInteractions(kubernetesClientService);
+        verify(eventPublisher, times(2)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void createWorkloadBundle_repeatedResource_shouldRejectBeforeApplying() {
+        String yaml = BUNDLE + """
+                ---
+                apiVersion: v1
+                kind: ConfigMap
+                metadata:
+                  name: settings
+                """;
+
+        assertThrows(IllegalArgumentException.class, () -> service.createWorkloadBundle(NAMESPACE_ID, request(yaml)));
+
+        verifyNoInteractions(kubernetesClientService);
+        verify(workloadRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void createWorkload_multipleDocuments_shouldPointToBundleEndpoint() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> service.createWorkload(NAMESPACE_ID, request(BUNDLE)));
+
+        assertTrue(e.getMessage().contains("bundle"));
+        verifyNoInteractions(outboxRelay);
+    }
+
+    @Test
+    void createWorkload_namespaceStillCreating_shouldReject() {
+        namespace.setStatus(NamespaceStatus.CREATING);
+
+        assertThrows(IllegalStateException.class, () -> service.createWorkload(NAMESPACE_ID, request(BUNDLE)));
+
+        verifyNoInteractions(outboxRelay);
+        verify(workloadRepository, never()).save(any());
+    }
+
+    @Test
+    void createWorkloadBundle_namespaceCreationFailed_shouldRejectBeforeApplying() {
+        namespace.setStatus(NamespaceStatus.FAILED_CREATION);
+
+        assertThrows(IllegalStateException.class, () -> service.createWorkloadBundle(NAMESPACE_ID, request(BUNDLE)));
+
+        verifyNoInteractions(kubernetesClientService);
+        verify(workloadRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void createWorkload_clusterScopedKind_shouldReject() {
+        String yaml = """
+                apiVersion: rbac.authorization.k8s.io/v1
+                kind: ClusterRoleBinding
+                metadata:
+                  name: cluster-admin
+                """;
+
+        assertThrows(IllegalArgumentException.class, () -> service.createWorkload(NAMESPACE_ID, request(yaml)));
+
+        verifyNoInteractions(outboxRelay);
+        verify(workloadRepository, never()).save(any());
+    }
+
+    @Test
+    void createWorkloadBundle_namespaceInBundle_shouldRejectBeforeApplying() {
+        String yaml = BUNDLE + """
+                ---
+                apiVersion: v1
+                kind: Namespace
+                metadata:
+                  name: kube-system
+                """;
+
+        assertThrows(IllegalArgumentException.class, () -> service.createWorkloadBundle(NAMESPACE_ID, request(yaml)));
+
+        verifyNoInteractions(kubernetesClientService);
+    }
+
+    private TenantWorkload givenWorkload() {
+        User creator = new User();
+        creator.setId(1L);
+        TenantWorkload workload = new TenantWorkload();
+        workload.setId(20L);
+        workload.setName("web");
+        workload.setYamlContent(BUNDLE);
+        workload.setStatus(ResourceStatus.ACTIVE);
+        workload.setTenantNamespace(namespace);
+        workload.setCreatedByUser(creator);
+        when(workloadRepository.findByIdAndTenantNamespaceId(20L, NAMESPACE_ID)).thenReturn(Optional.of(workload));
+        return workload;
+    }
+
+    @Test
+    void deleteWorkload_shouldCallClusterBetweenTransactions() throws Exception {
+        TenantWorkload workload = givenWorkload();
+
+        service.deleteWorkload(NAMESPACE_ID, 20L, PropagationPolicy.FOREGROUND);
+
+        // The checks commit before the cluster call, and the record is dropped in a transaction of its own after it.
+        InOrder order = inOrder(transactionManager, kubernetesClientService, workloadRepository);
+        order.verify(transactionManager).commit(any());
+        order.verify(kubernetesClientService).delete(namespace.getKubernetesCluster(), "team-a", BUNDLE, PropagationPolicy.FOREGROUND);
+        order.verify(workloadRepository).delete(workload);
+        order.verify(transactionManager).commit(any());
+        verify(eventPublisher).publishEvent(any(StatusChangeEvent.class));
+    }
+
+    @Test
+    void deleteWorkload_stillProcessing_shouldRejectBeforeCallingCluster() {
+        givenWorkload().setStatus(ResourceStatus.PROCESSING);
+
+        assertThrows(IllegalStateException.class, () -> service.deleteWorkload(NAMESPACE_ID, 20L, PropagationPolicy.FOREGROUND));
+
+        verifyNoInteractions(kubernetesClientService);
+        verify(workloadRepository, never()).delete(any(TenantWorkload.class));
+    }
+
+    @Test
+    void deleteWorkload_clusterRefuses_shouldKeepRecord() throws Exception {
+        givenWorkload();
+        doThrow(new ApiException(500, "internal error")).when(kubernetesClientService).delete(any(), any(), any(), any());
+
+        assertThrows(IllegalStateException.class, () -> service.deleteWorkload(NAMESPACE_ID, 20L, PropagationPolicy.FOREGROUND));
+
+        verify(workloadRepository, never()).delete(any(TenantWorkload.class));
+        verify(transactionManager, times(1)).commit(any());
+    }
+}
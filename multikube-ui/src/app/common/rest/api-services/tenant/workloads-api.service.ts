@@ -25,6 +25,17 @@ export class TenantWorkloadsApiService {
         return this.http.post<WorkloadResponse>(url, workload);
     }
 
+    /**
+     * Creates one workload per document of a multi-document YAML bundle within a specific namespace.
+     * @param namespaceId The ID of the parent namespace.
+     * @param workload The request payload containing the bundle name and the multi-document YAML.
+     * @returns An Observable of the created TenantWorkloads, in document order.
+     */
+    createWorkloadBundle(namespaceId: number, workload: CreateWorkloadRequest): Observable<WorkloadResponse[]> {
+        const url = `${this.baseUrl}/${namespaceId}/workloads/bundle`;
+        return this.http.post<WorkloadResponse[]>(url, workload);
+    }
+
     /**
      * Retrieves a paginated list of workloads for a specific namespace.
      * @param namespaceId The ID of the parent namespace.
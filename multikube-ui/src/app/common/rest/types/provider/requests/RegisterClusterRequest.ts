@@ -1,5 +1,8 @@
+import {ApiContentType} from '../responses/ClusterResponse';
+
 export interface RegisterClusterRequest {
     name: string,
     description: string,
     kubeconfig: string,
+    apiContentType?: ApiContentType,
 }
@@ -5,6 +5,10 @@ export interface ClusterResponse {
     providerUserId: number,
     providerUsername: string,
     status: ClusterStatus,
+    apiContentType: ApiContentType,
+    apiLatencyMs?: number,
+    serverVersion?: string,
+    lastProbedAt?: string,
     createdAt: string,
     updatedAt: string
     allocation?: ClusterAllocation;
@@ -24,3 +28,8 @@ export enum ClusterStatus {
     DELETING = "DELETING",             // Marked for deletion
     ERROR = "ERROR"                 // An unspecified error state
 }
+
+export enum ApiContentType {
+    JSON = "JSON",
+    PROTOBUF = "PROTOBUF"           // Only for the metadata listing when deleting collections; all else is JSON
+}